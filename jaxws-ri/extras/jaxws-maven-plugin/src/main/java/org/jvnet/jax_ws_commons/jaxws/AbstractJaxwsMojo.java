@@ -392,7 +392,19 @@ abstract class AbstractJaxwsMojo extends AbstractMojo {
         return new String[0];
     }
 
-    private String[] getCP() throws DependencyResolutionException {
+    /**
+     * The classpath of the tool and of the invoker, resolved by the first execution.
+     */
+    private String[] toolClasspath;
+
+    private synchronized String[] getCP() throws DependencyResolutionException {
+        if (toolClasspath == null) {
+            toolClasspath = resolveCP();
+        }
+        return toolClasspath;
+    }
+
+    private String[] resolveCP() throws DependencyResolutionException {
         Map<String, org.eclipse.aether.artifact.Artifact> cp = new HashMap<String, org.eclipse.aether.artifact.Artifact>();
         Plugin p = pluginDescriptor.getPlugin();
         boolean toolsFound = false;
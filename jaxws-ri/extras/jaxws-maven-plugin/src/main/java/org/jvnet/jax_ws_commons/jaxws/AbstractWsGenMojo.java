@@ -24,6 +24,8 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import jakarta.jws.WebService;
 import java.util.List;
@@ -109,6 +111,31 @@ abstract class AbstractWsGenMojo extends AbstractJaxwsMojo {
     @Parameter
     private File metadata;
 
+    /**
+     * The folder containing the manifests used to determine if the output is stale.
+     * A manifest records the wsgen arguments and the digests of the classes on the
+     * wsgen classpath of the last run.
+     *
+     * @since 4.0
+     */
+    @Parameter(defaultValue = "${project.build.directory}/jaxws/stale")
+    private File staleFile;
+
+    /**
+     * Inputs shared by all the SEIs, read before wsgen runs.
+     */
+    private BuildManifest inputs;
+
+    /**
+     * Whether wsgen runs for one of the SEIs.
+     */
+    private boolean stale;
+
+    /**
+     * Arguments of each processed SEI.
+     */
+    private final Map<String, List<String>> seiArgs = new LinkedHashMap<>();
+
     protected abstract File getResourceDestDir();
 
     protected abstract File getClassesDir();
@@ -133,16 +160,22 @@ abstract class AbstractWsGenMojo extends AbstractJaxwsMojo {
         if (allSeis.isEmpty()) {
             throw new MojoFailureException("No @jakarta.jws.WebService found.");
         }
+        inputs = getInputs(getStoredManifest(allSeis));
         for (String aSei : allSeis) {
             processSei(aSei);
         }
+        storeManifests();
     }
 
     protected void processSei(String sei) throws MojoExecutionException {
-        getLog().info("Processing: " + sei);
         List<String> args = getWsGenArgs(sei, true);
-        getLog().info("jaxws:wsgen args: " + args);
-        exec(args);
+        if (isOutputStale(sei, args)) {
+            getLog().info("Processing: " + sei);
+            getLog().info("jaxws:wsgen args: " + args);
+            exec(args);
+        } else {
+            getLog().info("Ignoring: " + sei);
+        }
         if (metadata != null) {
             try {
                 FileUtils.copyFileToDirectory(metadata, getClassesDir());
@@ -234,6 +267,99 @@ abstract class AbstractWsGenMojo extends AbstractJaxwsMojo {
         return args;
     }
 
+    /**
+     * Returns true if the inputs of the given SEI differ from the ones of
+     * the last run, as recorded in its manifest. The arguments are kept
+     * to record the manifest once all the SEIs are processed.
+     *
+     * @param aSei web service
+     * @param args wsgen arguments for the SEI
+     * @return True if the inputs have been modified since the last build.
+     */
+    protected boolean isOutputStale(String aSei, List<String> args) {
+        seiArgs.put(aSei, args);
+        boolean isStale = inputs == null;
+        if (!isStale && getGenWSDL()) {
+            String[] wsdls = getResourceDestDir().list();
+            isStale = wsdls == null || wsdls.length == 0;
+        }
+        if (!isStale) {
+            isStale = !new BuildManifest(inputs, args).isSameAs(getStaleFile(aSei));
+        }
+        stale |= isStale;
+        return isStale;
+    }
+
+    /**
+     * Reads the classes on the wsgen classpath, with the metadata file.
+     * The archives are only read when they differ in size or modification
+     * time from the ones of the given manifest.
+     *
+     * @param previous the manifest of an earlier run, or null
+     * @return the inputs, or null if one cannot be read
+     */
+    private BuildManifest getInputs(BuildManifest previous) {
+        BuildManifest manifest = new BuildManifest(new ArrayList<String>());
+        try {
+            for (String path : getExtraClasspath().split(File.pathSeparator)) {
+                File f = new File(path);
+                if (f.isDirectory()) {
+                    manifest.addDirectory(f, ".class");
+                } else if (f.isFile()) {
+                    manifest.addArchive(f, previous);
+                }
+            }
+            if (metadata != null) {
+                manifest.addFile(metadata);
+            }
+        } catch (IOException ioe) {
+            getLog().debug(ioe);
+            return null;
+        }
+        return manifest;
+    }
+
+    /**
+     * Returns a stored manifest of one of the given SEIs. All of them record
+     * the same classpath.
+     *
+     * @return the manifest, or null if none is stored
+     */
+    private BuildManifest getStoredManifest(Set<String> allSeis) {
+        for (String aSei : allSeis) {
+            BuildManifest stored = BuildManifest.load(getStaleFile(aSei));
+            if (stored != null) {
+                return stored;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores the manifests of the processed SEIs. When wsgen ran, the classes
+     * directories are read again, as wsgen adds its own classes to them; the
+     * archives are taken from the inputs.
+     */
+    private void storeManifests() throws MojoExecutionException {
+        BuildManifest outputs = stale ? getInputs(inputs) : inputs;
+        if (outputs == null) {
+            return;
+        }
+        try {
+            for (Map.Entry<String, List<String>> e : seiArgs.entrySet()) {
+                File stFile = getStaleFile(e.getKey());
+                new BuildManifest(outputs, e.getValue()).store(stFile);
+                getLog().debug("Manifest stored.[" + stFile.getAbsolutePath() + "]");
+            }
+        } catch (IOException ioe) {
+            throw new MojoExecutionException(ioe.getMessage(), ioe);
+        }
+    }
+
+    private File getStaleFile(String aSei) {
+        return new File(staleFile, "." + getClass().getSimpleName() + "-" + aSei);
+    }
+
     private String getRelativePath(File root, File f) {
         return root.toURI().relativize(f.toURI()).getPath();
     }
@@ -0,0 +1,295 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Oracle licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jvnet.jax_ws_commons.jaxws;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Formatter;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * The inputs of one run of a tool, with the SHA-256 digests of their content.
+ * <p>
+ * The manifest of the last successful run is stored in a file. A new run is only
+ * needed when the manifest of the current inputs differs from it, so inputs that
+ * are touched but not changed (a checkout, a clean build of the classes) don't cause
+ * the sources to be generated again.
+ * </p>
+ *
+ */
+final class BuildManifest {
+
+    private static final String WSDL_NS = "http://schemas.xmlsoap.org/wsdl/";
+    private static final String XSD_NS = "http://www.w3.org/2001/XMLSchema";
+    private static final String ARGS = "args";
+    private static final String INPUT = "input:";
+    private static final String STAT = "stat:";
+
+    private final Map<String, String> entries = new TreeMap<String, String>();
+
+    /**
+     * @param args the arguments of the tool; a change of any of them requires a new run.
+     */
+    BuildManifest(List<String> args) {
+        entries.put(ARGS, String.valueOf(args));
+    }
+
+    /**
+     * @param inputs the inputs shared by several runs of the tool
+     * @param args the arguments of this run
+     */
+    BuildManifest(BuildManifest inputs, List<String> args) {
+        entries.putAll(inputs.entries);
+        entries.put(ARGS, String.valueOf(args));
+    }
+
+    /**
+     * Adds a file to the inputs.
+     */
+    void addFile(File file) throws IOException {
+        entries.put(INPUT + file.getAbsolutePath(), digest(file));
+    }
+
+    /**
+     * Adds an archive to the inputs. Its digest is taken from the given manifest,
+     * without reading the archive, when the archive still has the size and the
+     * modification time recorded there.
+     *
+     * @param previous the manifest of an earlier run, or null
+     */
+    void addArchive(File file, BuildManifest previous) throws IOException {
+        String path = file.getAbsolutePath();
+        String stat = file.length() + "," + file.lastModified();
+        String digest = null;
+        if (previous != null && stat.equals(previous.entries.get(STAT + path))) {
+            digest = previous.entries.get(INPUT + path);
+        }
+        entries.put(INPUT + path, digest != null ? digest : digest(file));
+        // not compared, an archive that is touched but not changed needs no new run
+        entries.put(STAT + path, stat);
+    }
+
+    /**
+     * Adds all the files of a directory that have one of the given extensions.
+     */
+    void addDirectory(File dir, String extension) throws IOException {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File f : files) {
+            if (f.isDirectory()) {
+                addDirectory(f, extension);
+            } else if (f.getName().endsWith(extension)) {
+                addFile(f);
+            }
+        }
+    }
+
+    /**
+     * Adds a WSDL or a schema, and all the WSDLs and schemas it imports or includes,
+     * as resolved from the <code>location</code> and <code>schemaLocation</code> attributes.
+     *
+     * @return the documents that were added, the given one first
+     */
+    Set<String> addDocument(URL document) throws IOException {
+        Set<String> added = new LinkedHashSet<String>();
+        Deque<URL> toRead = new ArrayDeque<URL>();
+        toRead.add(document);
+        URL url;
+        while ((url = toRead.poll()) != null) {
+            String key = url.toExternalForm();
+            if (!added.add(key)) {
+                continue;
+            }
+            byte[] content = read(url);
+            entries.put(INPUT + key, digest(content));
+            try {
+                for (String location : getImports(content)) {
+                    try {
+                        toRead.add(new URL(url, location));
+                    } catch (MalformedURLException e) {
+                        // not a document that can be read here, the tool reports it
+                    }
+                }
+            } catch (XMLStreamException e) {
+                // the tool reports the document as invalid
+            }
+        }
+        return added;
+    }
+
+    /**
+     * @return true if the stored manifest is the same as this one
+     */
+    boolean isSameAs(File stored) {
+        BuildManifest that = load(stored);
+        if (that == null) {
+            return false;
+        }
+        return that.getInputs().equals(getInputs());
+    }
+
+    /**
+     * Reads a stored manifest.
+     *
+     * @return the manifest, or null if there is none or it cannot be read
+     */
+    static BuildManifest load(File stored) {
+        if (!stored.isFile()) {
+            return null;
+        }
+        Properties p = new Properties();
+        try (InputStream is = new FileInputStream(stored)) {
+            p.load(is);
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+        BuildManifest manifest = new BuildManifest(Collections.<String>emptyList());
+        manifest.entries.clear();
+        for (String key : p.stringPropertyNames()) {
+            manifest.entries.put(key, p.getProperty(key));
+        }
+        return manifest;
+    }
+
+    /**
+     * Stores this manifest, as the one of the last successful run.
+     */
+    void store(File file) throws IOException {
+        File dir = file.getParentFile();
+        if (!dir.mkdirs() && !dir.exists()) {
+            throw new IOException("Cannot create directory: " + dir.getAbsolutePath());
+        }
+        Properties p = new Properties();
+        p.putAll(entries);
+        try (OutputStream os = new FileOutputStream(file)) {
+            p.store(os, null);
+        }
+    }
+
+    /**
+     * @return the entries that decide whether a new run is needed
+     */
+    private Map<String, String> getInputs() {
+        Map<String, String> inputs = new TreeMap<String, String>(entries);
+        inputs.keySet().removeIf(key -> key.startsWith(STAT));
+        return inputs;
+    }
+
+    private static byte[] read(URL url) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        try (InputStream is = url.openStream()) {
+            int n;
+            while ((n = is.read(buffer)) != -1) {
+                content.write(buffer, 0, n);
+            }
+        }
+        return content.toByteArray();
+    }
+
+    private static Set<String> getImports(byte[] content) throws XMLStreamException {
+        Set<String> locations = new HashSet<String>();
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        XMLStreamReader reader = factory.createXMLStreamReader(new ByteArrayInputStream(content));
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                String ns = reader.getNamespaceURI();
+                String name = reader.getLocalName();
+                String location = null;
+                if (WSDL_NS.equals(ns) && "import".equals(name)) {
+                    location = reader.getAttributeValue(null, "location");
+                } else if (XSD_NS.equals(ns)
+                        && ("import".equals(name) || "include".equals(name) || "redefine".equals(name))) {
+                    location = reader.getAttributeValue(null, "schemaLocation");
+                }
+                if (location != null && !location.isEmpty()) {
+                    locations.add(location);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return locations;
+    }
+
+    private static String digest(byte[] content) {
+        MessageDigest md = newDigest();
+        md.update(content);
+        return toHex(md.digest());
+    }
+
+    private static String digest(File file) throws IOException {
+        MessageDigest md = newDigest();
+        byte[] buffer = new byte[8192];
+        try (InputStream is = new FileInputStream(file)) {
+            int n;
+            while ((n = is.read(buffer)) != -1) {
+                md.update(buffer, 0, n);
+            }
+        }
+        return toHex(md.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String toHex(byte[] digest) {
+        Formatter formatter = new Formatter();
+        for (byte b : digest) {
+            formatter.format("%02x", b);
+        }
+        return formatter.toString();
+    }
+}
@@ -21,6 +21,12 @@ import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
@@ -28,10 +34,18 @@ import java.net.URLClassLoader;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.Formatter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.logging.Level;
@@ -43,6 +57,7 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.settings.Proxy;
 import org.apache.maven.settings.Settings;
+import org.codehaus.plexus.util.FileUtils;
 
 /**
  * 
@@ -240,7 +255,24 @@ abstract class WsImportMojo extends AbstractJaxwsMojo
     private List<String> xjcArgs;
 
     /**
-     * The folder containing flag files used to determine if the output is stale.
+     * Number of WSDLs processed at the same time, each by its own wsimport process.
+     * <p>
+     * Each process writes to its own temporary directories, which are then merged
+     * into the output directories in the order of the WSDLs, so a file generated
+     * from several WSDLs, like the <code>ObjectFactory</code> of a shared schema,
+     * ends up as if the WSDLs were processed one after the other. Such a file is
+     * logged when its content differs from one WSDL to the other.
+     * </p>
+     *
+     * @since 4.0
+     */
+    @Parameter(defaultValue = "1")
+    private int threads;
+
+    /**
+     * The folder containing the manifests used to determine if the output is stale.
+     * A manifest records the wsimport arguments and the digests of the WSDL, of the
+     * WSDLs and schemas it imports, and of the binding and catalog files of the last run.
      */
     @Parameter(defaultValue = "${project.build.directory}/jaxws/stale")
     private File staleFile;
@@ -260,8 +292,10 @@ abstract class WsImportMojo extends AbstractJaxwsMojo
                 getLog().info("No WSDLs are found to process, Specify atleast one of the following parameters: wsdlFiles, wsdlDirectory or wsdlUrls.");
                 return;
             }
-            this.processWsdlViaUrls();
-            this.processLocalWsdlFiles(wsdls);
+            List<WsImport> imports = new ArrayList<WsImport>();
+            this.processWsdlViaUrls(imports);
+            this.processLocalWsdlFiles(wsdls, imports);
+            this.run(imports);
         } catch (MojoExecutionException e) {
             throw e;
         } catch (IOException e) {
@@ -282,21 +316,19 @@ abstract class WsImportMojo extends AbstractJaxwsMojo
     /**
      *
      */
-    private void processLocalWsdlFiles(URL[] wsdls)
-            throws MojoExecutionException, IOException {
+    private void processLocalWsdlFiles(URL[] wsdls, List<WsImport> imports)
+            throws MojoExecutionException {
         for (URL u : wsdls) {
             String url = u.toExternalForm();
-            if (isOutputStale(url)) {
-                getLog().info("Processing: " + url);
-                String relPath = null;
-                if ("file".equals(u.getProtocol())) {
-                    relPath = getRelativePath(new File(u.getPath()));
-                }
-                ArrayList<String> args = getWsImportArgs(relPath);
-                args.add("\"" + url + "\"");
-                getLog().info("jaxws:wsimport args: " + args);
-                exec(args);
-                touchStaleFile(url);
+            String relPath = null;
+            if ("file".equals(u.getProtocol())) {
+                relPath = getRelativePath(new File(u.getPath()));
+            }
+            ArrayList<String> args = getWsImportArgs(relPath);
+            args.add("\"" + url + "\"");
+            BuildManifest manifest = getManifest(url, args);
+            if (isOutputStale(url, manifest)) {
+                imports.add(new WsImport(url, args, manifest));
             } else {
                 getLog().info("Ignoring: " + url);
             }
@@ -308,23 +340,185 @@ abstract class WsImportMojo extends AbstractJaxwsMojo
     /**
      * process external wsdl
      */
-    private void processWsdlViaUrls()
-            throws MojoExecutionException, IOException {
+    private void processWsdlViaUrls(List<WsImport> imports)
+            throws MojoExecutionException {
         for (int i = 0; wsdlUrls != null && i < wsdlUrls.size(); i++) {
             String wsdlUrl = wsdlUrls.get(i).toString();
-            if (isOutputStale(wsdlUrl)) {
-                getLog().info("Processing: " + wsdlUrl);
-                ArrayList<String> args = getWsImportArgs(null);
-                args.add("\"" + wsdlUrl + "\"");
-                getLog().info("jaxws:wsimport args: " + args);
-                exec(args);
-                touchStaleFile(wsdlUrl);
+            ArrayList<String> args = getWsImportArgs(null);
+            args.add("\"" + wsdlUrl + "\"");
+            BuildManifest manifest = getManifest(wsdlUrl, args);
+            if (isOutputStale(wsdlUrl, manifest)) {
+                imports.add(new WsImport(wsdlUrl, args, manifest));
+            } else {
+                getLog().info("Ignoring: " + wsdlUrl);
             }
             //http://java.net/jira/browse/JAX_WS_COMMONS-95
             addSourceRoot(getSourceDestDir().getAbsolutePath());
         }
     }
 
+    /**
+     * Runs wsimport for each of the WSDLs, on up to <code>threads</code> of them at a time.
+     */
+    private void run(List<WsImport> imports) throws MojoExecutionException, IOException {
+        if (threads <= 1 || imports.size() <= 1) {
+            for (WsImport wsImport : imports) {
+                wsImport.call();
+                wsImport.storeManifest();
+            }
+            return;
+        }
+
+        getLog().info("Processing " + imports.size() + " WSDLs with " + threads + " threads");
+        File tmpDir = new File(project.getBuild().getDirectory(), "jaxws/wsimport");
+        if (!tmpDir.mkdirs() && !tmpDir.exists()) {
+            throw new MojoExecutionException("Cannot create directory: " + tmpDir.getAbsolutePath());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, imports.size()));
+        try {
+            for (WsImport wsImport : imports) {
+                wsImport.isolate(Files.createTempDirectory(tmpDir.toPath(), "wsdl").toFile());
+            }
+            List<Future<Void>> results = executor.invokeAll(imports);
+            MojoExecutionException failure = null;
+            Map<Path, String> generated = new HashMap<Path, String>();
+            for (int i = 0; i < results.size(); i++) {
+                WsImport wsImport = imports.get(i);
+                try {
+                    results.get(i).get();
+                    // in the order of the WSDLs, as if they were processed one after the other
+                    wsImport.merge(generated);
+                    wsImport.storeManifest();
+                } catch (ExecutionException e) {
+                    getLog().error("Processing of " + wsImport.wsdl + " failed", e.getCause());
+                    if (failure == null) {
+                        failure = e.getCause() instanceof MojoExecutionException
+                                ? (MojoExecutionException) e.getCause()
+                                : new MojoExecutionException(e.getCause().getMessage(), e.getCause());
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException(e.getMessage(), e);
+        } finally {
+            executor.shutdownNow();
+            for (WsImport wsImport : imports) {
+                if (wsImport.tmpDir != null) {
+                    FileUtils.deleteDirectory(wsImport.tmpDir);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the files generated into <code>from</code> to the same place in <code>to</code>,
+     * replacing the files there.
+     *
+     * @param generated the files moved so far by this execution, and the WSDLs they were generated from
+     * @param wsdl the WSDL the files were generated from
+     * @return the files an earlier WSDL of this execution generated with a different content, and that WSDL
+     */
+    static Map<Path, String> merge(final Path from, final Path to, final Map<Path, String> generated,
+            final String wsdl) throws IOException {
+        final Map<Path, String> conflicts = new HashMap<Path, String>();
+        if (!Files.isDirectory(from)) {
+            return conflicts;
+        }
+        Files.walkFileTree(from, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Path target = to.resolve(from.relativize(file).toString());
+                String previous = generated.put(target, wsdl);
+                if (previous != null && !Arrays.equals(Files.readAllBytes(file), Files.readAllBytes(target))) {
+                    conflicts.put(target, previous);
+                }
+                Files.createDirectories(target.getParent());
+                Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return conflicts;
+    }
+
+    /**
+     * The wsimport run of one WSDL.
+     */
+    private final class WsImport implements Callable<Void> {
+        private final String wsdl;
+        private final List<String> args;
+        private final BuildManifest manifest;
+        /**
+         * The output directories, and the temporary ones the run writes to instead, if any.
+         */
+        private final Map<File, File> outputs = new HashMap<File, File>();
+        private File tmpDir;
+
+        WsImport(String wsdl, List<String> args, BuildManifest manifest) {
+            this.wsdl = wsdl;
+            this.args = args;
+            this.manifest = manifest;
+        }
+
+        /**
+         * Makes the run write to directories of its own, so that it does not overwrite
+         * files generated by a concurrent run.
+         */
+        void isolate(File dir) {
+            tmpDir = dir;
+            for (int i = 0; i < args.size() - 1; i++) {
+                String option = args.get(i);
+                if ("-d".equals(option) || "-s".equals(option) || "-implDestDir".equals(option)) {
+                    File output = new File(unquote(args.get(i + 1)));
+                    File tmp = outputs.get(output);
+                    if (tmp == null) {
+                        tmp = new File(dir, option.substring(1));
+                        tmp.mkdirs();
+                        outputs.put(output, tmp);
+                    }
+                    args.set(i + 1, "'" + tmp.getAbsolutePath() + "'");
+                }
+            }
+        }
+
+        @Override
+        public Void call() throws MojoExecutionException, IOException {
+            getLog().info("Processing: " + wsdl);
+            getLog().info("jaxws:wsimport args: " + args);
+            exec(args);
+            return null;
+        }
+
+        /**
+         * Moves the files of an isolated run to the output directories.
+         */
+        void merge(Map<Path, String> generated) throws IOException {
+            for (Map.Entry<File, File> output : outputs.entrySet()) {
+                Map<Path, String> conflicts = WsImportMojo.merge(output.getValue().toPath(), output.getKey().toPath(),
+                        generated, wsdl);
+                for (Map.Entry<Path, String> conflict : conflicts.entrySet()) {
+                    getLog().warn(conflict.getKey() + " is generated differently from " + conflict.getValue()
+                            + " and " + wsdl + ", the one from " + wsdl + " is used");
+                }
+            }
+        }
+
+        void storeManifest() throws IOException {
+            if (manifest != null) {
+                File stFile = getStaleFile(wsdl);
+                manifest.store(stFile);
+                getLog().debug("Manifest stored.[" + stFile.getAbsolutePath() + "]");
+            }
+        }
+    }
+
+    private static String unquote(String arg) {
+        return arg.length() > 1 && arg.startsWith("'") && arg.endsWith("'") ? arg.substring(1, arg.length() - 1) : arg;
+    }
+
     /**
      * 
      * @return wsimport's command arguments
@@ -636,64 +830,59 @@ abstract class WsImportMojo extends AbstractJaxwsMojo
     }
 
     /**
-     * Returns true if given WSDL resource or any binding file is newer
-     * than the <code>staleFlag</code> file.
-     * 
-     * @return True if wsdl files have been modified since the last build.
+     * Computes the manifest of the inputs of a wsimport run.
+     *
+     * @return the manifest, or null if an input cannot be read; wsimport then
+     *         runs and reports the problem.
      */
-    private boolean isOutputStale(String resource) {
-        File[] sourceBindings = getBindingFiles();
-        File stFile = new File(staleFile, STALE_FILE_PREFIX + getHash(resource));
-        boolean stale = !stFile.exists();
-        if (!stale) {
-            getLog().debug("Stale flag file exists, comparing to wsdls and bindings.");
-            long staleMod = stFile.lastModified();
-
+    private BuildManifest getManifest(String resource, List<String> args) {
+        BuildManifest manifest = new BuildManifest(args);
+        try {
+            URL wsdl;
             try {
                 //resource can be URL
-                URL sourceWsdl = new URL(resource);
-                if (sourceWsdl.openConnection().getLastModified() > staleMod) {
-                    getLog().debug(resource + " is newer than the stale flag file.");
-                    stale = true;
-                }
+                wsdl = new URL(resource);
             } catch (MalformedURLException mue) {
                 //or a file
-                File sourceWsdl = new File(resource);
-                if (sourceWsdl.lastModified() > staleMod) {
-                    getLog().debug(resource + " is newer than the stale flag file.");
-                    stale = true;
-                }
-            } catch (IOException ioe) {
-                //possible error while openning connection
-                getLog().error(ioe);
+                wsdl = new File(resource).toURI().toURL();
             }
-
-            for (File sourceBinding : sourceBindings) {
-                if (sourceBinding.lastModified() > staleMod) {
-                    getLog().debug(sourceBinding.getName() + " is newer than the stale flag file.");
-                    stale = true;
-                }
+            for (String document : manifest.addDocument(wsdl)) {
+                getLog().debug("Manifest input: " + document);
+            }
+            for (File binding : getBindingFiles()) {
+                manifest.addFile(binding);
+            }
+            if (catalog != null) {
+                manifest.addFile(catalog);
             }
+        } catch (IOException ioe) {
+            //possible error while openning connection
+            getLog().debug(ioe);
+            return null;
         }
-        return stale;
+        return manifest;
     }
 
-    private void touchStaleFile(String resource) throws IOException {
-        File stFile = new File(staleFile, STALE_FILE_PREFIX + getHash(resource));
-        if (!stFile.exists()) {
-            File staleDir = stFile.getParentFile();
-            if (!staleDir.mkdirs() && !staleDir.exists()) {
-                getLog().warn("Cannot create directory: " + staleDir.getAbsolutePath());
-            }
-            if (!stFile.createNewFile()) {
-                getLog().warn("Cannot create file: " + stFile.getAbsolutePath());
-            }
-            getLog().debug("Stale flag file created.[" + stFile.getAbsolutePath() + "]");
-        } else {
-            if (!stFile.setLastModified(System.currentTimeMillis())) {
-                getLog().warn("Stale file has not been updated!");
-            }
+    /**
+     * Returns true if the inputs of the given WSDL resource differ from
+     * the ones of the last run, as recorded in its manifest.
+     *
+     * @return True if the inputs have been modified since the last build.
+     */
+    private boolean isOutputStale(String resource, BuildManifest manifest) {
+        if (manifest == null) {
+            return true;
+        }
+        File stFile = getStaleFile(resource);
+        if (manifest.isSameAs(stFile)) {
+            return false;
         }
+        getLog().debug("Inputs of " + resource + " differ from the manifest.[" + stFile.getAbsolutePath() + "]");
+        return true;
+    }
+
+    private File getStaleFile(String resource) {
+        return new File(staleFile, STALE_FILE_PREFIX + getHash(resource));
     }
 
     private String getHash(String s) {
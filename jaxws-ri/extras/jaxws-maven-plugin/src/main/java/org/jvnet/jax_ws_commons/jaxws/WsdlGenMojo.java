@@ -71,9 +71,13 @@ public class WsdlGenMojo extends AbstractWsGenMojo {
     }
 
     protected void processSei(String sei) throws MojoExecutionException {
-        getLog().info("Processing: " + sei);
         List<String> args = getWsGenArgs(sei, false);
         args.add("-Xnosource");
+        if (!isOutputStale(sei, args)) {
+            getLog().info("Ignoring: " + sei);
+            return;
+        }
+        getLog().info("Processing: " + sei);
         getLog().info("jaxws:wsgen args: " + args);
         exec(args);
     }
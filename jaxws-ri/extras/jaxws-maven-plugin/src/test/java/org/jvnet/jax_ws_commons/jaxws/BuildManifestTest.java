@@ -0,0 +1,136 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Oracle licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jvnet.jax_ws_commons.jaxws;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Set;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BuildManifestTest {
+
+    @Test
+    public void testImports() throws IOException {
+        File dir = Files.createTempDirectory("manifest").toFile();
+        File wsdl = write(dir, "service.wsdl",
+                "<definitions xmlns='http://schemas.xmlsoap.org/wsdl/'>"
+                + "<import namespace='urn:types' location='types.wsdl'/></definitions>");
+        File types = write(dir, "types.wsdl",
+                "<definitions xmlns='http://schemas.xmlsoap.org/wsdl/'><types>"
+                + "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema'>"
+                + "<xs:include schemaLocation='xsd/common.xsd'/></xs:schema></types></definitions>");
+        File common = write(dir, "xsd/common.xsd",
+                "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema'/>");
+        write(dir, "unrelated.xsd",
+                "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema'/>");
+        File stored = new File(dir, "stale/.service");
+
+        BuildManifest manifest = manifest(wsdl);
+        Set<String> documents = manifest.addDocument(wsdl.toURI().toURL());
+        Assert.assertEquals(documents.size(), 3);
+        Assert.assertEquals(documents.iterator().next(), wsdl.toURI().toURL().toExternalForm());
+        Assert.assertTrue(documents.contains(common.toURI().toURL().toExternalForm()));
+        Assert.assertFalse(manifest.isSameAs(stored));
+        manifest.store(stored);
+        Assert.assertTrue(manifest(wsdl).isSameAs(stored));
+
+        // touched, not changed
+        Assert.assertTrue(types.setLastModified(types.lastModified() + 10000));
+        write(dir, "unrelated.xsd", "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema' version='2'/>");
+        Assert.assertTrue(manifest(wsdl).isSameAs(stored));
+
+        write(dir, "xsd/common.xsd", "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema' version='2'/>");
+        Assert.assertFalse(manifest(wsdl).isSameAs(stored));
+    }
+
+    @Test
+    public void testArgs() throws IOException {
+        File dir = Files.createTempDirectory("manifest").toFile();
+        File classes = new File(dir, "classes");
+        write(classes, "a/A.class", "A");
+        write(classes, "a/A.txt", "A");
+        File stored = new File(dir, ".a.A");
+
+        BuildManifest inputs = new BuildManifest(Arrays.asList("-d", "target"));
+        inputs.addDirectory(classes, ".class");
+        new BuildManifest(inputs, Arrays.asList("a.A")).store(stored);
+
+        Assert.assertTrue(new BuildManifest(inputs, Arrays.asList("a.A")).isSameAs(stored));
+        Assert.assertFalse(new BuildManifest(inputs, Arrays.asList("-keep", "a.A")).isSameAs(stored));
+
+        write(classes, "a/A.txt", "B");
+        BuildManifest changed = new BuildManifest(Arrays.asList("a.A"));
+        changed.addDirectory(classes, ".class");
+        Assert.assertTrue(changed.isSameAs(stored));
+
+        write(classes, "a/jaxws/Hello.class", "Hello");
+        changed = new BuildManifest(Arrays.asList("a.A"));
+        changed.addDirectory(classes, ".class");
+        Assert.assertFalse(changed.isSameAs(stored));
+    }
+
+    @Test
+    public void testArchives() throws IOException {
+        File dir = Files.createTempDirectory("manifest").toFile();
+        File jar = write(dir, "lib.jar", "A");
+        File stored = new File(dir, ".a.A");
+
+        BuildManifest inputs = new BuildManifest(Arrays.asList("a.A"));
+        inputs.addArchive(jar, BuildManifest.load(stored));
+        inputs.store(stored);
+        BuildManifest previous = BuildManifest.load(stored);
+        Assert.assertNotNull(previous);
+
+        // touched, not changed
+        Assert.assertTrue(jar.setLastModified(jar.lastModified() + 10000));
+        BuildManifest touched = new BuildManifest(Arrays.asList("a.A"));
+        touched.addArchive(jar, previous);
+        Assert.assertTrue(touched.isSameAs(stored));
+
+        // the archive is not read again while its size and time are the same
+        long time = jar.lastModified();
+        write(dir, "lib.jar", "B");
+        Assert.assertTrue(jar.setLastModified(time));
+        BuildManifest same = new BuildManifest(Arrays.asList("a.A"));
+        same.addArchive(jar, touched);
+        Assert.assertTrue(same.isSameAs(stored));
+
+        write(dir, "lib.jar", "BB");
+        BuildManifest changed = new BuildManifest(Arrays.asList("a.A"));
+        changed.addArchive(jar, touched);
+        Assert.assertFalse(changed.isSameAs(stored));
+    }
+
+    private static BuildManifest manifest(File wsdl) throws IOException {
+        BuildManifest manifest = new BuildManifest(Arrays.asList("-keep", wsdl.getPath()));
+        manifest.addDocument(wsdl.toURI().toURL());
+        return manifest;
+    }
+
+    private static File write(File dir, String name, String content) throws IOException {
+        File f = new File(dir, name);
+        f.getParentFile().mkdirs();
+        Files.write(f.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return f;
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2011, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2022 Oracle and/or its affiliates. All rights reserved.
  *
  * Oracle licenses this file to You under the Apache License, Version 2.0
  * (the "License"); you may not use this file except in compliance with
@@ -19,6 +19,12 @@
 package org.jvnet.jax_ws_commons.jaxws;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import org.apache.maven.settings.Settings;
 import org.apache.maven.settings.io.xpp3.SettingsXpp3Reader;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
@@ -50,4 +56,43 @@ public class WsImportMojoTest {
         proxyString = WsImportMojo.getActiveHttpProxy(s);
         Assert.assertEquals(proxyString, "proxyuser2@proxy1-auth2:7777");
     }
+
+    @Test
+    public void testMerge() throws IOException {
+        Path first = Files.createTempDirectory("first");
+        Path second = Files.createTempDirectory("second");
+        Path out = Files.createTempDirectory("out");
+        write(first, "shared/ObjectFactory.java", "first");
+        write(first, "shared/package-info.java", "package shared;");
+        write(first, "a/A.java", "a");
+        write(second, "shared/ObjectFactory.java", "second");
+        write(second, "shared/package-info.java", "package shared;");
+        write(second, "b/B.java", "b");
+        write(out, "old/Old.java", "old");
+
+        Map<Path, String> generated = new HashMap<Path, String>();
+        Assert.assertTrue(WsImportMojo.merge(first, out, generated, "first.wsdl").isEmpty());
+        Map<Path, String> conflicts = WsImportMojo.merge(second, out, generated, "second.wsdl");
+
+        // the files are kept as if the WSDLs were processed one after the other
+        Assert.assertEquals(conflicts, Collections.singletonMap(out.resolve("shared/ObjectFactory.java"), "first.wsdl"));
+        Assert.assertEquals(read(out, "shared/ObjectFactory.java"), "second");
+        Assert.assertEquals(read(out, "a/A.java"), "a");
+        Assert.assertEquals(read(out, "b/B.java"), "b");
+        Assert.assertEquals(read(out, "old/Old.java"), "old");
+        Assert.assertFalse(Files.exists(second.resolve("b/B.java")));
+        Assert.assertEquals(generated.get(out.resolve("a/A.java")), "first.wsdl");
+
+        Assert.assertTrue(WsImportMojo.merge(out.resolve("missing"), out, generated, "third.wsdl").isEmpty());
+    }
+
+    private static void write(Path dir, String name, String content) throws IOException {
+        Path file = dir.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(Path dir, String name) throws IOException {
+        return new String(Files.readAllBytes(dir.resolve(name)), StandardCharsets.UTF_8);
+    }
 }
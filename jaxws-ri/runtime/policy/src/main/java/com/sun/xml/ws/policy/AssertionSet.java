@@ -10,6 +10,7 @@
 
 package com.sun.xml.ws.policy;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -21,7 +22,6 @@ import javax.xml.namespace.QName;
 
 import com.sun.xml.ws.policy.privateutil.LocalizationMessages;
 import com.sun.xml.ws.policy.privateutil.PolicyUtils;
-import java.util.LinkedList;
 import java.util.List;
 
 /**
@@ -30,7 +30,7 @@ import java.util.List;
  * @author Fabian Ritzmann, Marek Potociar
  */
 public final class AssertionSet implements Iterable<PolicyAssertion>, Comparable<AssertionSet> {
-    private static final AssertionSet EMPTY_ASSERTION_SET = new AssertionSet(Collections.unmodifiableList(new LinkedList<PolicyAssertion>()));
+    private static final AssertionSet EMPTY_ASSERTION_SET = new AssertionSet(Collections.<PolicyAssertion>emptyList());
     /**
      * The comparator comapres policy assertions according to their publicly accessible attributes, in the following
      * order of attributes:
@@ -84,7 +84,11 @@ public final class AssertionSet implements Iterable<PolicyAssertion>, Comparable
     }
     
     private AssertionSet(final Collection<AssertionSet> alternatives) {
-        this.assertions = new LinkedList<PolicyAssertion>();
+        int size = 0;
+        for (AssertionSet alternative : alternatives) {
+            size += alternative.assertions.size();
+        }
+        this.assertions = new ArrayList<PolicyAssertion>(size);
         for (AssertionSet alternative : alternatives) {
             addAll(alternative.assertions);
         }
@@ -198,7 +202,7 @@ public final class AssertionSet implements Iterable<PolicyAssertion>, Comparable
             return EMPTY_ASSERTION_SET;
         }
         
-        final AssertionSet result = new AssertionSet(new LinkedList<PolicyAssertion>());
+        final AssertionSet result = new AssertionSet(new ArrayList<PolicyAssertion>(assertions.size()));
         result.addAll(assertions);
         Collections.sort(result.assertions, ASSERTION_COMPARATOR);
         
@@ -226,7 +230,7 @@ public final class AssertionSet implements Iterable<PolicyAssertion>, Comparable
      * (i.e. {@code null} value is never returned).
      */
     public Collection<PolicyAssertion> get(final QName name) {
-        final List<PolicyAssertion> matched = new LinkedList<PolicyAssertion>();
+        final List<PolicyAssertion> matched = new ArrayList<PolicyAssertion>();
         
         if (vocabulary.contains(name)) {
             // we iterate the assertion set only if we are sure we contain such assertion name in our vocabulary
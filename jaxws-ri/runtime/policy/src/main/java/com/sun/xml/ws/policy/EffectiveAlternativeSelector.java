@@ -13,8 +13,19 @@ package com.sun.xml.ws.policy;
 import com.sun.xml.ws.policy.privateutil.PolicyLogger;
 import com.sun.xml.ws.policy.privateutil.LocalizationMessages;
 import com.sun.xml.ws.policy.spi.PolicyAssertionValidator.Fitness;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Contains static methods for policy alternative selection. Given policy map is changed so that
@@ -122,6 +133,12 @@ public class EffectiveAlternativeSelector {
     }
     
     private static final PolicyLogger LOGGER = PolicyLogger.getLogger(EffectiveAlternativeSelector.class);
+
+    /**
+     * Number of scopes of one kind from which their alternatives are selected in parallel,
+     * 0 to always select them on the calling thread. Not final for the tests.
+     */
+    static volatile int parallelThreshold = getParallelThreshold();
     
     /**
      * Does the selection for policy map bound to given modifier.
@@ -147,29 +164,161 @@ public class EffectiveAlternativeSelector {
             final AssertionValidationProcessor validationProcessor)
             throws PolicyException {
         final PolicyMap map = modifier.getMap();
-        for (PolicyMapKey mapKey : map.getAllServiceScopeKeys()) {
-            final Policy oldPolicy = map.getServiceEffectivePolicy(mapKey);
-            modifier.setNewEffectivePolicyForServiceScope(mapKey, selectBestAlternative(oldPolicy, validationProcessor));
+        final List<PolicyMapKey> serviceKeys = new ArrayList<PolicyMapKey>(map.getAllServiceScopeKeys());
+        final Policy[] servicePolicies = selectBestAlternatives(serviceKeys, new ScopeReader() {
+            public Policy read(final PolicyMapKey key) throws PolicyException {
+                return map.getServiceEffectivePolicy(key);
+            }
+        }, validationProcessor);
+        for (int i = 0; i < servicePolicies.length; i++) {
+            modifier.setNewEffectivePolicyForServiceScope(serviceKeys.get(i), servicePolicies[i]);
         }
-        for (PolicyMapKey mapKey : map.getAllEndpointScopeKeys()) {
-            final Policy oldPolicy = map.getEndpointEffectivePolicy(mapKey);
-            modifier.setNewEffectivePolicyForEndpointScope(mapKey, selectBestAlternative(oldPolicy, validationProcessor));
+        final List<PolicyMapKey> endpointKeys = new ArrayList<PolicyMapKey>(map.getAllEndpointScopeKeys());
+        final Policy[] endpointPolicies = selectBestAlternatives(endpointKeys, new ScopeReader() {
+            public Policy read(final PolicyMapKey key) throws PolicyException {
+                return map.getEndpointEffectivePolicy(key);
+            }
+        }, validationProcessor);
+        for (int i = 0; i < endpointPolicies.length; i++) {
+            modifier.setNewEffectivePolicyForEndpointScope(endpointKeys.get(i), endpointPolicies[i]);
         }
-        for (PolicyMapKey mapKey : map.getAllOperationScopeKeys()) {
-            final Policy oldPolicy = map.getOperationEffectivePolicy(mapKey);
-            modifier.setNewEffectivePolicyForOperationScope(mapKey, selectBestAlternative(oldPolicy, validationProcessor));
+        final List<PolicyMapKey> operationKeys = new ArrayList<PolicyMapKey>(map.getAllOperationScopeKeys());
+        final Policy[] operationPolicies = selectBestAlternatives(operationKeys, new ScopeReader() {
+            public Policy read(final PolicyMapKey key) throws PolicyException {
+                return map.getOperationEffectivePolicy(key);
+            }
+        }, validationProcessor);
+        for (int i = 0; i < operationPolicies.length; i++) {
+            modifier.setNewEffectivePolicyForOperationScope(operationKeys.get(i), operationPolicies[i]);
         }
-        for (PolicyMapKey mapKey : map.getAllInputMessageScopeKeys()) {
-            final Policy oldPolicy = map.getInputMessageEffectivePolicy(mapKey);
-            modifier.setNewEffectivePolicyForInputMessageScope(mapKey, selectBestAlternative(oldPolicy, validationProcessor));
+        final List<PolicyMapKey> inputKeys = new ArrayList<PolicyMapKey>(map.getAllInputMessageScopeKeys());
+        final Policy[] inputPolicies = selectBestAlternatives(inputKeys, new ScopeReader() {
+            public Policy read(final PolicyMapKey key) throws PolicyException {
+                return map.getInputMessageEffectivePolicy(key);
+            }
+        }, validationProcessor);
+        for (int i = 0; i < inputPolicies.length; i++) {
+            modifier.setNewEffectivePolicyForInputMessageScope(inputKeys.get(i), inputPolicies[i]);
         }
-        for (PolicyMapKey mapKey : map.getAllOutputMessageScopeKeys()) {
-            final Policy oldPolicy = map.getOutputMessageEffectivePolicy(mapKey);
-            modifier.setNewEffectivePolicyForOutputMessageScope(mapKey, selectBestAlternative(oldPolicy, validationProcessor));
+        final List<PolicyMapKey> outputKeys = new ArrayList<PolicyMapKey>(map.getAllOutputMessageScopeKeys());
+        final Policy[] outputPolicies = selectBestAlternatives(outputKeys, new ScopeReader() {
+            public Policy read(final PolicyMapKey key) throws PolicyException {
+                return map.getOutputMessageEffectivePolicy(key);
+            }
+        }, validationProcessor);
+        for (int i = 0; i < outputPolicies.length; i++) {
+            modifier.setNewEffectivePolicyForOutputMessageScope(outputKeys.get(i), outputPolicies[i]);
         }
-        for (PolicyMapKey mapKey : map.getAllFaultMessageScopeKeys()) {
-            final Policy oldPolicy = map.getFaultMessageEffectivePolicy(mapKey);
-            modifier.setNewEffectivePolicyForFaultMessageScope(mapKey, selectBestAlternative(oldPolicy, validationProcessor));
+        final List<PolicyMapKey> faultKeys = new ArrayList<PolicyMapKey>(map.getAllFaultMessageScopeKeys());
+        final Policy[] faultPolicies = selectBestAlternatives(faultKeys, new ScopeReader() {
+            public Policy read(final PolicyMapKey key) throws PolicyException {
+                return map.getFaultMessageEffectivePolicy(key);
+            }
+        }, validationProcessor);
+        for (int i = 0; i < faultPolicies.length; i++) {
+            modifier.setNewEffectivePolicyForFaultMessageScope(faultKeys.get(i), faultPolicies[i]);
+        }
+    }
+
+    /**
+     * Selects the best alternative of the effective policy of each of the scopes.
+     *
+     * The policy map is only read here, so if the {@code parallelThreshold} system property is
+     * set and there are at least that many scopes, they are shared between the calling thread
+     * and the {@link Workers}. The assertion validators have to be thread safe then. The new
+     * policies are set afterwards, on the calling thread.
+     */
+    private static Policy[] selectBestAlternatives(final List<PolicyMapKey> keys, final ScopeReader reader,
+            final AssertionValidationProcessor validationProcessor) throws PolicyException {
+        final Policy[] result = new Policy[keys.size()];
+        final int threshold = parallelThreshold;
+        if (threshold <= 0 || result.length < threshold || Workers.PARALLELISM < 2) {
+            selectBestAlternatives(keys, reader, validationProcessor, result, 0, 1);
+            return result;
+        }
+
+        // the validators are looked up through the context class loader of the calling thread
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        final int parallelism = Math.min(Workers.PARALLELISM, result.length);
+        final List<Future<Void>> futures = new ArrayList<Future<Void>>(parallelism - 1);
+        try {
+            for (int worker = 1; worker < parallelism; worker++) {
+                final int first = worker;
+                futures.add(Workers.EXECUTOR.submit(new Callable<Void>() {
+                    public Void call() throws PolicyException {
+                        final Thread thread = Thread.currentThread();
+                        thread.setContextClassLoader(contextClassLoader);
+                        try {
+                            selectBestAlternatives(keys, reader, validationProcessor, result, first, parallelism);
+                        } finally {
+                            thread.setContextClassLoader(null);
+                        }
+                        return null;
+                    }
+                }));
+            }
+            selectBestAlternatives(keys, reader, validationProcessor, result, 0, parallelism);
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw LOGGER.logSevereException(new PolicyException(e));
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof PolicyException) {
+                throw (PolicyException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw LOGGER.logSevereException(new PolicyException(cause));
+        } finally {
+            for (Future<Void> future : futures) {
+                future.cancel(false);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Selects the alternatives of every {@code step}-th scope, starting with the {@code first} one.
+     */
+    private static void selectBestAlternatives(final List<PolicyMapKey> keys, final ScopeReader reader,
+            final AssertionValidationProcessor validationProcessor, final Policy[] result, final int first,
+            final int step) throws PolicyException {
+        for (int i = first; i < result.length; i += step) {
+            result[i] = selectBestAlternative(reader.read(keys.get(i)), validationProcessor);
+        }
+    }
+
+    private interface ScopeReader {
+        Policy read(PolicyMapKey key) throws PolicyException;
+    }
+
+    /**
+     * Daemon threads that select alternatives in parallel, created when the first parallel
+     * selection needs them.
+     */
+    private static final class Workers {
+        static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+        static final ExecutorService EXECUTOR;
+
+        static {
+            final AtomicInteger count = new AtomicInteger();
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(PARALLELISM, PARALLELISM,
+                    60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                        public Thread newThread(final Runnable r) {
+                            final Thread thread = new Thread(r, "EffectiveAlternativeSelector-" + count.incrementAndGet());
+                            thread.setDaemon(true);
+                            // set by each task, do not keep the one of the thread that happened to start us
+                            thread.setContextClassLoader(null);
+                            return thread;
+                        }
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            EXECUTOR = executor;
         }
     }
     
@@ -221,9 +370,16 @@ public class EffectiveAlternativeSelector {
         Collection<AssertionSet> alternativeSet = null;
         if (bestAlternative != null) {
             // return a policy containing just the picked alternative
-            alternativeSet = new LinkedList<AssertionSet>();
-            alternativeSet.add(bestAlternative);
+            alternativeSet = Collections.singletonList(bestAlternative);
         }
         return Policy.createPolicy(policy.getNamespaceVersion(), policy.getName(), policy.getId(), alternativeSet);
     }
+
+    private static int getParallelThreshold() {
+        try {
+            return Integer.getInteger(EffectiveAlternativeSelector.class.getName() + ".parallelThreshold", 0);
+        } catch (SecurityException e) {
+            return 0;
+        }
+    }
 }
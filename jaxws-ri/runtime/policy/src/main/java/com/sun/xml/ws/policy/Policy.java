@@ -13,11 +13,10 @@ package com.sun.xml.ws.policy;
 import com.sun.xml.ws.policy.sourcemodel.wspolicy.NamespaceVersion;
 import com.sun.xml.ws.policy.privateutil.LocalizationMessages;
 import com.sun.xml.ws.policy.privateutil.PolicyUtils;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
@@ -39,14 +38,14 @@ public class Policy implements Iterable<AssertionSet> {
      * Constant represents empty list of assertion sets. This represents the content of a 'NULL' policy - a policy with
      * no alternatives. The constant supports memory effective creation of 'NULL' policy objects.
      */
-    private static final List<AssertionSet> NULL_POLICY_ASSERTION_SETS = Collections.unmodifiableList(new LinkedList<AssertionSet>());
+    private static final List<AssertionSet> NULL_POLICY_ASSERTION_SETS = Collections.emptyList();
     
     /**
      * Constant represents list of assertion sets with single empty assertion set. This represents the content of
      * an 'EMPTY' policy - a policy with a single empty alternative. The constant supports memory effective creation
      * of 'EMPTY' policy objects.
      */
-    private static final List<AssertionSet> EMPTY_POLICY_ASSERTION_SETS = Collections.unmodifiableList(new LinkedList<AssertionSet>(Arrays.asList(new AssertionSet[] {AssertionSet.emptyAssertionSet()})));
+    private static final List<AssertionSet> EMPTY_POLICY_ASSERTION_SETS = Collections.singletonList(AssertionSet.emptyAssertionSet());
     
     /**
      * Constant represents empty vocabulary of a 'NULL' or 'EMPTY' policies. The constant supports memory effective
@@ -300,7 +299,7 @@ public class Policy implements Iterable<AssertionSet> {
             this.vocabulary = EMPTY_VOCABULARY;
             this.immutableVocabulary = EMPTY_VOCABULARY;
         } else {
-            this.assertionSets = new LinkedList<AssertionSet>();
+            this.assertionSets = new ArrayList<AssertionSet>(sets.size());
             this.vocabulary = new TreeSet<QName>(PolicyUtils.Comparison.QNAME_COMPARATOR);
             this.immutableVocabulary = Collections.unmodifiableCollection(this.vocabulary);
             
@@ -371,7 +370,7 @@ public class Policy implements Iterable<AssertionSet> {
             this.vocabulary = EMPTY_VOCABULARY;
             this.immutableVocabulary = EMPTY_VOCABULARY;
         } else {
-            this.assertionSets = new LinkedList<AssertionSet>();
+            this.assertionSets = new ArrayList<AssertionSet>(sets.size());
             this.vocabulary = new TreeSet<QName>(PolicyUtils.Comparison.QNAME_COMPARATOR);
             this.immutableVocabulary = Collections.unmodifiableCollection(this.vocabulary);
             
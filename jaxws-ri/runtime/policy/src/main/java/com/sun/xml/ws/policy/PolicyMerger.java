@@ -14,7 +14,6 @@ import com.sun.xml.ws.policy.privateutil.PolicyUtils;
 import com.sun.xml.ws.policy.sourcemodel.wspolicy.NamespaceVersion;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
 
 /**
  * Merge policies and return the effective policy.
@@ -59,7 +58,7 @@ public final class PolicyMerger {
             return policies.iterator().next();
         }
         
-        final Collection<Collection<AssertionSet>> alternativeSets = new LinkedList<Collection<AssertionSet>>();
+        final Collection<Collection<AssertionSet>> alternativeSets = new ArrayList<Collection<AssertionSet>>(policies.size());
         final StringBuilder id = new StringBuilder();
         NamespaceVersion mergedVersion = policies.iterator().next().getNamespaceVersion();
         for (Policy policy : policies) {
@@ -13,8 +13,8 @@ package com.sun.xml.ws.policy;
 import com.sun.xml.ws.policy.privateutil.LocalizationMessages;
 import com.sun.xml.ws.policy.privateutil.PolicyLogger;
 import com.sun.xml.ws.policy.privateutil.PolicyUtils;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.List;
 
 /**
@@ -26,7 +26,7 @@ import java.util.List;
 final class PolicyScope {
     private static final PolicyLogger LOGGER = PolicyLogger.getLogger(PolicyScope.class);
     
-    private final List<PolicySubject> subjects = new LinkedList<PolicySubject>();
+    private final List<PolicySubject> subjects = new ArrayList<PolicySubject>();
     
     PolicyScope(final List<PolicySubject> initialSubjects) {
         if (initialSubjects != null && !initialSubjects.isEmpty()) {
@@ -52,7 +52,7 @@ final class PolicyScope {
      * @return effective policy of the scope
      */
     Policy getEffectivePolicy(final PolicyMerger merger) throws PolicyException {
-        final LinkedList<Policy> policies = new LinkedList<Policy>();
+        final List<Policy> policies = new ArrayList<Policy>(subjects.size());
         for (PolicySubject subject : subjects) {
             policies.add(subject.getEffectivePolicy(merger));
         }
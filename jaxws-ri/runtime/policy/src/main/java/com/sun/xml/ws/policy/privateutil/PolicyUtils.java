@@ -208,7 +208,7 @@ public final class PolicyUtils {
             }
 
             // creating defensive and modifiable copy of the base
-            final Collection<E> base = new LinkedList<E>();
+            final Collection<E> base = new ArrayList<E>();
             if (initialBase != null && !initialBase.isEmpty()) {
                 base.addAll(initialBase);
             }
@@ -256,7 +256,7 @@ public final class PolicyUtils {
 
                             if (semiCombinationIndex + actualSemiCombinationCollectionSize < newSemiCombinationCollectionSize) {
                                 // this is not the last optionElement => we create a new combination copy for the next child
-                                combinations.add(new LinkedList<E>(semiCombination));
+                                combinations.add(new ArrayList<E>(semiCombination));
                             }
 
                             semiCombination.add(optionElement);
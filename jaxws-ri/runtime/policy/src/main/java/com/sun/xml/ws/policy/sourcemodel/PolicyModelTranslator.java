@@ -41,8 +41,8 @@ import java.util.ServiceLoader;
 public class PolicyModelTranslator {
     
     private static final class ContentDecomposition {
-        final List<Collection<ModelNode>> exactlyOneContents = new LinkedList<Collection<ModelNode>>();
-        final List<ModelNode> assertions = new LinkedList<ModelNode>();
+        final List<Collection<ModelNode>> exactlyOneContents = new ArrayList<Collection<ModelNode>>();
+        final List<ModelNode> assertions = new ArrayList<ModelNode>();
         
         void reset() {
             exactlyOneContents.clear();
@@ -64,13 +64,13 @@ public class PolicyModelTranslator {
     private static final class RawAlternative {
         private static final PolicyLogger LOGGER = PolicyLogger.getLogger(PolicyModelTranslator.RawAlternative.class);
         
-        final List<RawPolicy> allNestedPolicies = new LinkedList<RawPolicy>(); // used to track the nested policies which need to be normalized
+        final List<RawPolicy> allNestedPolicies = new ArrayList<RawPolicy>(); // used to track the nested policies which need to be normalized
         final Collection<RawAssertion> nestedAssertions;
         
         RawAlternative(Collection<ModelNode> assertionNodes) throws PolicyException {
-            this.nestedAssertions = new LinkedList<RawAssertion>();
+            this.nestedAssertions = new ArrayList<RawAssertion>(assertionNodes.size());
             for (ModelNode node : assertionNodes) {
-                RawAssertion assertion = new RawAssertion(node, new LinkedList<ModelNode>());
+                RawAssertion assertion = new RawAssertion(node, new ArrayList<ModelNode>());
                 nestedAssertions.add(assertion);
                 
                 for (ModelNode assertionNodeChild : assertion.originalNode.getChildren()) {
@@ -81,7 +81,7 @@ public class PolicyModelTranslator {
                         case POLICY:
                         case POLICY_REFERENCE:
                             if (assertion.nestedAlternatives == null) {
-                                assertion.nestedAlternatives = new LinkedList<RawAlternative>();
+                                assertion.nestedAlternatives = new ArrayList<RawAlternative>();
                                 RawPolicy nestedPolicy;
                                 if (assertionNodeChild.getType() == ModelNode.Type.POLICY) {
                                     nestedPolicy = new RawPolicy(assertionNodeChild, assertion.nestedAlternatives);
@@ -126,7 +126,7 @@ public class PolicyModelTranslator {
     protected PolicyModelTranslator(final Collection<PolicyAssertionCreator> creators) throws PolicyException {
         LOGGER.entering(creators);
 
-        final Collection<PolicyAssertionCreator> allCreators = new LinkedList<PolicyAssertionCreator>();
+        final Collection<PolicyAssertionCreator> allCreators = new ArrayList<PolicyAssertionCreator>();
         for (PolicyAssertionCreator creator : ServiceLoader.load(PolicyAssertionCreator.class)) {
             allCreators.add(creator);
         }
@@ -236,7 +236,7 @@ public class PolicyModelTranslator {
         final Queue<RawPolicy> policyQueue = new LinkedList<RawPolicy>();
         final Queue<Collection<ModelNode>> contentQueue = new LinkedList<Collection<ModelNode>>();
         
-        final RawPolicy rootPolicy = new RawPolicy(model.getRootNode(), new LinkedList<RawAlternative>());
+        final RawPolicy rootPolicy = new RawPolicy(model.getRootNode(), new ArrayList<RawAlternative>());
         RawPolicy processedPolicy = rootPolicy;
         do {
             Collection<ModelNode> processedContent = processedPolicy.originalContent;
@@ -259,7 +259,7 @@ public class PolicyModelTranslator {
         } while ((processedPolicy = policyQueue.poll()) != null);
         
         // normalize nested policies to contain single alternative only
-        final Collection<AssertionSet> assertionSets = new LinkedList<AssertionSet>();
+        final Collection<AssertionSet> assertionSets = new ArrayList<AssertionSet>(rootPolicy.alternatives.size());
         for (RawAlternative rootAlternative : rootPolicy.alternatives) {
             final Collection<AssertionSet> normalizedAlternatives = normalizeRawAlternative(rootAlternative);
             assertionSets.addAll(normalizedAlternatives);
@@ -321,7 +321,7 @@ public class PolicyModelTranslator {
      * Expands content of 'EXACTLY_ONE' node. Direct 'EXACTLY_ONE' child nodes are dissolved in the process.
      */
     private Collection<ModelNode> expandsExactlyOneContent(final Collection<ModelNode> content) throws PolicyException {
-        final Collection<ModelNode> result = new LinkedList<ModelNode>();
+        final Collection<ModelNode> result = new ArrayList<ModelNode>(content.size());
         
         final Queue<ModelNode> eoContentQueue = new LinkedList<ModelNode>(content);
         ModelNode node;
@@ -348,8 +348,8 @@ public class PolicyModelTranslator {
     }
     
     private List<AssertionSet> normalizeRawAlternative(final RawAlternative alternative) throws AssertionCreationException, PolicyException {
-        final List<PolicyAssertion> normalizedContentBase = new LinkedList<PolicyAssertion>();
-        final Collection<List<PolicyAssertion>> normalizedContentOptions = new LinkedList<List<PolicyAssertion>>();
+        final List<PolicyAssertion> normalizedContentBase = new ArrayList<PolicyAssertion>(alternative.nestedAssertions.size());
+        final Collection<List<PolicyAssertion>> normalizedContentOptions = new ArrayList<List<PolicyAssertion>>();
         if (!alternative.nestedAssertions.isEmpty()) {
             final Queue<RawAssertion> nestedAssertionsQueue = new LinkedList<RawAssertion>(alternative.nestedAssertions);
             RawAssertion rawAssertion;
@@ -365,7 +365,7 @@ public class PolicyModelTranslator {
             }
         }
         
-        final List<AssertionSet> options = new LinkedList<AssertionSet>();
+        final List<AssertionSet> options = new ArrayList<AssertionSet>();
         if (normalizedContentOptions.isEmpty()) {
             // we do not have any options to combine => returning this assertion
             options.add(AssertionSet.createAssertionSet(normalizedContentBase));
@@ -390,7 +390,7 @@ public class PolicyModelTranslator {
             }
         }
         
-        final List<AssertionSet> nestedAlternatives = new LinkedList<AssertionSet>();
+        final List<AssertionSet> nestedAlternatives = new ArrayList<AssertionSet>();
         if (assertion.nestedAlternatives != null && !assertion.nestedAlternatives.isEmpty()) {
             final Queue<RawAlternative> nestedAlternativeQueue = new LinkedList<RawAlternative>(assertion.nestedAlternatives);
             RawAlternative rawAlternative;
@@ -401,7 +401,7 @@ public class PolicyModelTranslator {
             // more elements in the result indicate that we will have to create combinations
         }
         
-        final List<PolicyAssertion> assertionOptions = new LinkedList<PolicyAssertion>();
+        final List<PolicyAssertion> assertionOptions = new ArrayList<PolicyAssertion>(Math.max(nestedAlternatives.size(), 1));
         final boolean nestedAlternativesAvailable = !nestedAlternatives.isEmpty();
         if (nestedAlternativesAvailable) {
             for (AssertionSet nestedAlternative : nestedAlternatives) {
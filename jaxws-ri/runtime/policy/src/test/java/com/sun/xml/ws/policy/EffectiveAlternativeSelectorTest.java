@@ -17,8 +17,14 @@ import com.sun.xml.ws.policy.sourcemodel.PolicySourceModel;
 import com.sun.xml.ws.policy.sourcemodel.wspolicy.NamespaceVersion;
 import static com.sun.xml.ws.policy.testutils.PolicyResourceLoader.loadPolicy;
 
+import com.sun.xml.ws.policy.spi.PolicyAssertionValidator;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.xml.namespace.QName;
 
 import junit.framework.TestCase;
@@ -371,4 +377,77 @@ public class EffectiveAlternativeSelectorTest extends TestCase {
         assertTrue(extender.getMap().getEndpointEffectivePolicy(key).isNull());
     }
 
+    /**
+     * Without the parallelThreshold property all scopes are selected on the calling thread.
+     */
+    public void testDoSelectionManyOperations() throws PolicyException {
+        final Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+        selectManyOperations(threads, Collections.newSetFromMap(new ConcurrentHashMap<ClassLoader, Boolean>()));
+        assertEquals(Collections.singleton(Thread.currentThread()), threads);
+    }
+
+    /**
+     * Enough scopes of one kind to select their alternatives in parallel once enabled.
+     */
+    public void testDoSelectionParallel() throws PolicyException {
+        final Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+        final Set<ClassLoader> loaders = Collections.newSetFromMap(new ConcurrentHashMap<ClassLoader, Boolean>());
+        final ClassLoader loader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        final Thread thread = Thread.currentThread();
+        final ClassLoader old = thread.getContextClassLoader();
+        final int threshold = EffectiveAlternativeSelector.parallelThreshold;
+        EffectiveAlternativeSelector.parallelThreshold = 64;
+        thread.setContextClassLoader(loader);
+        try {
+            selectManyOperations(threads, loaders);
+        } finally {
+            thread.setContextClassLoader(old);
+            EffectiveAlternativeSelector.parallelThreshold = threshold;
+        }
+        if (Runtime.getRuntime().availableProcessors() > 1) {
+            assertTrue(threads.size() > 1);
+        }
+        // the validators see the context class loader of the calling thread
+        assertEquals(Collections.singleton(loader), loaders);
+    }
+
+    private void selectManyOperations(final Set<Thread> threads, final Set<ClassLoader> loaders) throws PolicyException {
+        final PolicyMapExtender extender = PolicyMapExtender.createPolicyMapExtender();
+        final PolicyMap map = PolicyMap.createPolicyMap(Arrays.asList(new PolicyMapMutator[] {extender}));
+
+        final PolicyMapKey[] keys = new PolicyMapKey[500];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = PolicyMap.createWsdlOperationScopeKey(
+                    new QName("service"), new QName("port"), new QName("operation" + i));
+            extender.putOperationSubject(keys[i], new PolicySubject("dummy" + i, this.multipleAlternativesPolicy));
+        }
+
+        final EffectivePolicyModifier modifier = EffectivePolicyModifier.createEffectivePolicyModifier();
+        modifier.connect(map);
+        final PolicyAssertionValidator validator = new PolicyAssertionValidator() {
+            public Fitness validateClientSide(PolicyAssertion assertion) {
+                threads.add(Thread.currentThread());
+                loaders.add(Thread.currentThread().getContextClassLoader());
+                return Fitness.SUPPORTED;
+            }
+
+            public Fitness validateServerSide(PolicyAssertion assertion) {
+                return validateClientSide(assertion);
+            }
+
+            public String[] declareSupportedDomains() {
+                return new String[] {"test1", "test2"};
+            }
+        };
+        EffectiveAlternativeSelector.selectAlternatives(modifier,
+                new AssertionValidationProcessor(Collections.singletonList(validator)) { });
+
+        assertEquals(keys.length, map.getAllOperationScopeKeys().size());
+        for (PolicyMapKey key : keys) {
+            final Policy result = map.getOperationEffectivePolicy(key);
+            assertEquals(1, result.getNumberOfAssertionSets());
+            assertTrue(result.contains(this.assertion1Name) ^ result.contains(this.assertion2Name));
+        }
+    }
+
 }
@@ -19,6 +19,8 @@ import com.sun.xml.ws.client.ResponseContext;
 import jakarta.xml.ws.WebServiceContext;
 
 import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map.Entry;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
@@ -66,13 +68,26 @@ public abstract class BaseDistributedPropertySet extends BasePropertySet impleme
     /**
      * All {@link PropertySet}s that are bundled into this {@link PropertySet}.
      */
-    private final Map<Class<? extends com.oracle.webservices.api.message.PropertySet>, PropertySet> satellites 
-        = new IdentityHashMap<Class<? extends com.oracle.webservices.api.message.PropertySet>, PropertySet>();
+    private Map<Class<? extends com.oracle.webservices.api.message.PropertySet>, PropertySet> satellites;
 
-    private final Map<String, Object> viewthis;
+    /**
+     * Map view of the properties of this object alone.
+     * Created lazily, as most instances never need it.
+     */
+    private Map<String, Object> viewthis;
     
     public BaseDistributedPropertySet() {
-        this.viewthis = super.createView();
+    }
+
+    private Collection<PropertySet> satelliteValues() {
+        return satellites == null ? Collections.<PropertySet>emptyList() : satellites.values();
+    }
+
+    private Map<String, Object> viewthis() {
+        if (viewthis == null) {
+            viewthis = super.createView();
+        }
+        return viewthis;
     }
     
     @Override
@@ -82,15 +97,24 @@ public abstract class BaseDistributedPropertySet extends BasePropertySet impleme
 
     @Override
     public void addSatellite(@NotNull Class<? extends com.oracle.webservices.api.message.PropertySet> keyClass, @NotNull PropertySet satellite) {
+        if (satellites == null) {
+            // usually only a couple of satellites per instance
+            satellites = new IdentityHashMap<Class<? extends com.oracle.webservices.api.message.PropertySet>, PropertySet>(4);
+        }
         satellites.put(keyClass, satellite);
     }
 
     @Override
     public void removeSatellite(PropertySet satellite) {
-        satellites.remove(satellite.getClass());
+        if (satellites != null) {
+            satellites.remove(satellite.getClass());
+        }
     }
 
     public void copySatelliteInto(@NotNull DistributedPropertySet r) {
+        if (satellites == null) {
+            return;
+        }
         for (Map.Entry<Class<? extends com.oracle.webservices.api.message.PropertySet>, PropertySet> entry : satellites.entrySet()) {
             r.addSatellite(entry.getKey(), entry.getValue());
         }
@@ -103,12 +127,15 @@ public abstract class BaseDistributedPropertySet extends BasePropertySet impleme
     
     @Override
     public @Nullable <T extends com.oracle.webservices.api.message.PropertySet> T getSatellite(Class<T> satelliteClass) {
+        if (satellites == null) {
+            return null;
+        }
         T satellite = (T) satellites.get(satelliteClass);
         if (satellite != null) {
             return satellite;
         }
         
-        for (PropertySet child : satellites.values()) {
+        for (PropertySet child : satelliteValues()) {
             if (satelliteClass.isInstance(child)) {
                 return satelliteClass.cast(child);
             }
@@ -125,13 +152,16 @@ public abstract class BaseDistributedPropertySet extends BasePropertySet impleme
 
     @Override
     public Map<Class<? extends com.oracle.webservices.api.message.PropertySet>, com.oracle.webservices.api.message.PropertySet> getSatellites() {
+        if (satellites == null) {
+            satellites = new IdentityHashMap<Class<? extends com.oracle.webservices.api.message.PropertySet>, PropertySet>(4);
+        }
         return satellites;
     }
     
     @Override
     public Object get(Object key) {
         // check satellites
-        for (PropertySet child : satellites.values()) {
+        for (PropertySet child : satelliteValues()) {
             if (child.supports(key)) {
                 return child.get(key);
             }
@@ -144,7 +174,7 @@ public abstract class BaseDistributedPropertySet extends BasePropertySet impleme
     @Override
     public Object put(String key, Object value) {
         // check satellites
-        for (PropertySet child : satellites.values()) {
+        for (PropertySet child : satelliteValues()) {
             if(child.supports(key)) {
                 return child.put(key,value);
             }
@@ -156,9 +186,9 @@ public abstract class BaseDistributedPropertySet extends BasePropertySet impleme
 
     @Override
     public boolean containsKey(Object key) {
-        if (viewthis.containsKey(key))
+        if (viewthis().containsKey(key))
             return true;
-        for (PropertySet child : satellites.values()) {
+        for (PropertySet child : satelliteValues()) {
             if (child.containsKey(key)) {
                 return true;
             }
@@ -169,7 +199,7 @@ public abstract class BaseDistributedPropertySet extends BasePropertySet impleme
     @Override
     public boolean supports(Object key) {
         // check satellites
-        for (PropertySet child : satellites.values()) {
+        for (PropertySet child : satelliteValues()) {
             if (child.supports(key)) {
                 return true;
             }
@@ -181,7 +211,7 @@ public abstract class BaseDistributedPropertySet extends BasePropertySet impleme
     @Override
     public Object remove(Object key) {
         // check satellites
-        for (PropertySet child : satellites.values()) {
+        for (PropertySet child : satelliteValues()) {
             if (child.supports(key)) {
                 return child.remove(key);
             }
@@ -193,13 +223,13 @@ public abstract class BaseDistributedPropertySet extends BasePropertySet impleme
     @Override
     protected void createEntrySet(Set<Entry<String, Object>> core) {
         super.createEntrySet(core);
-        for (PropertySet child : satellites.values()) {
+        for (PropertySet child : satelliteValues()) {
             ((BasePropertySet) child).createEntrySet(core);
         }
     }
     
     protected Map<String, Object> asMapLocal() {
-        return viewthis;
+        return viewthis();
     }
     
     protected boolean supportsLocal(Object key) {
@@ -209,19 +239,19 @@ public abstract class BaseDistributedPropertySet extends BasePropertySet impleme
     class DistributedMapView extends AbstractMap<String, Object> {
         @Override
         public Object get(Object key) {
-            for (PropertySet child : satellites.values()) {
+            for (PropertySet child : satelliteValues()) {
                 if (child.supports(key)) {
                     return child.get(key);
                 }
             }
             
-            return viewthis.get(key);
+            return viewthis().get(key);
         }
         
         @Override
         public int size() {
-            int size = viewthis.size();
-            for (PropertySet child : satellites.values()) {
+            int size = viewthis().size();
+            for (PropertySet child : satelliteValues()) {
                 size += child.asMap().size();
             }
             return size;
@@ -229,9 +259,9 @@ public abstract class BaseDistributedPropertySet extends BasePropertySet impleme
 
         @Override
         public boolean containsKey(Object key) {
-            if (viewthis.containsKey(key))
+            if (viewthis().containsKey(key))
                 return true;
-            for (PropertySet child : satellites.values()) {
+            for (PropertySet child : satelliteValues()) {
                 if (child.asMap().containsKey(key))
                     return true;
             }
@@ -241,14 +271,14 @@ public abstract class BaseDistributedPropertySet extends BasePropertySet impleme
         @Override
         public Set<Entry<String, Object>> entrySet() {
             Set<Entry<String, Object>> entries = new HashSet<Entry<String, Object>>();
-            for (PropertySet child : satellites.values()) {
+            for (PropertySet child : satelliteValues()) {
                 for (Entry<String,Object> entry : child.asMap().entrySet()) {
                     // the code below is here to avoid entries.addAll(child.asMap().entrySet()); which works differently on JDK6/7
                     // see DMI_ENTRY_SETS_MAY_REUSE_ENTRY_OBJECTS
                     entries.add(new SimpleImmutableEntry<String, Object>(entry.getKey(), entry.getValue()));
                 }
             }
-            for (Entry<String,Object> entry : viewthis.entrySet()) {
+            for (Entry<String,Object> entry : viewthis().entrySet()) {
                 // the code below is here to avoid entries.addAll(child.asMap().entrySet()); which works differently on JDK6/7
                 // see DMI_ENTRY_SETS_MAY_REUSE_ENTRY_OBJECTS
                 entries.add(new SimpleImmutableEntry<String, Object>(entry.getKey(), entry.getValue()));
@@ -259,30 +289,32 @@ public abstract class BaseDistributedPropertySet extends BasePropertySet impleme
 
         @Override
         public Object put(String key, Object value) {
-            for (PropertySet child : satellites.values()) {
+            for (PropertySet child : satelliteValues()) {
                 if (child.supports(key)) {
                     return child.put(key, value);
                 }
             }
             
-            return viewthis.put(key, value);
+            return viewthis().put(key, value);
         }
 
         @Override
         public void clear() {
-            satellites.clear();
-            viewthis.clear();
+            if (satellites != null) {
+                satellites.clear();
+            }
+            viewthis().clear();
         }
 
         @Override
         public Object remove(Object key) {
-            for (PropertySet child : satellites.values()) {
+            for (PropertySet child : satelliteValues()) {
                 if (child.supports(key)) {
                     return child.remove(key);
                 }
             }
             
-            return viewthis.remove(key);
+            return viewthis().remove(key);
         }
     }
 
@@ -24,7 +24,7 @@ import org.xml.sax.ErrorHandler;
 import org.xml.sax.SAXException;
 
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.DocumentBuilder;
 import jakarta.xml.soap.SOAPException;
 import jakarta.xml.soap.SOAPMessage;
 import jakarta.xml.soap.SOAPHeader;
@@ -33,7 +33,6 @@ import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
-import javax.xml.transform.Transformer;
 
 /**
  * Used to represent outbound endpoint reference header,
@@ -96,7 +95,6 @@ final class EPRHeader extends AbstractHeaderImpl {
             // TODO what about in-scope namespaces
             // Not very efficient consider implementing a stream buffer
             // processor that produces a DOM node from the buffer.
-            Transformer t = XmlUtil.newTransformer();
             SOAPHeader header = saaj.getSOAPHeader();
             if (header == null)
                 header = saaj.getSOAPPart().getEnvelope().addHeader();
@@ -108,9 +106,13 @@ final class EPRHeader extends AbstractHeaderImpl {
             epr.writeTo(localName, w);
             w.flush();
             ByteArrayInputStream bais = new ByteArrayInputStream(baos.toByteArray());
-            DocumentBuilderFactory fac = XmlUtil.newDocumentBuilderFactory(false);
-            fac.setNamespaceAware(true);
-            Node eprNode = fac.newDocumentBuilder().parse(bais).getDocumentElement();
+            DocumentBuilder db = XmlUtil.takeDocumentBuilder(false);
+            Node eprNode;
+            try {
+                eprNode = db.parse(bais).getDocumentElement();
+            } finally {
+                XmlUtil.recycleDocumentBuilder(false, db);
+            }
             Node eprNodeToAdd = header.getOwnerDocument().importNode(eprNode, true);
             header.appendChild(eprNodeToAdd);
         } catch (Exception e) {
@@ -12,28 +12,66 @@ package com.sun.xml.ws.api.addressing;
 
 import com.sun.istack.NotNull;
 
+import com.sun.xml.ws.api.EndpointAddress;
 import com.sun.xml.ws.api.WSBinding;
 import com.sun.xml.ws.api.WSService;
 import com.sun.xml.ws.api.message.Packet;
 import com.sun.xml.ws.api.pipe.ClientTubeAssemblerContext;
+import com.sun.xml.ws.api.pipe.Engine;
 import com.sun.xml.ws.api.pipe.Fiber;
 import com.sun.xml.ws.api.pipe.TransportTubeFactory;
 import com.sun.xml.ws.api.pipe.Tube;
 import com.sun.xml.ws.api.server.WSEndpoint;
 import com.sun.xml.ws.binding.BindingImpl;
+import com.sun.xml.ws.util.Pool;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
 
 /**
  * Delivers response messages targeted at non-anonymous endpoint addresses
+ *
+ * <p>
+ * The transport tubes that deliver the responses are kept for each endpoint and
+ * destination address, so that the responses to the same address reuse them.
+ * The {@code maxConcurrency} system property of this class bounds how many responses
+ * are delivered to one address at the same time; a response above it is queued and
+ * sent when a delivery to that address is done, without blocking the calling thread.
+ * By default there is no bound. The {@code cacheSize} one sets how many addresses are
+ * kept per endpoint, the least recently used ones are dropped first and their tubes
+ * are destroyed once their deliveries are done.
+ *
  * @since 2.2.6
  */
 public class NonAnonymousResponseProcessor {
 	private static final NonAnonymousResponseProcessor DEFAULT = new NonAnonymousResponseProcessor();
+
+    private static final int CACHE_SIZE = getInteger("cacheSize", 64);
+    private static final int MAX_CONCURRENCY = getInteger("maxConcurrency", 0);
+
+    private final int cacheSize;
+    private final int maxConcurrency;
+
+    /**
+     * Destinations of the responses of each endpoint, keyed by address.
+     */
+    private final Map<WSEndpoint<?>, Map<String, Destination>> destinations = new WeakHashMap<>();
 	
 	public static NonAnonymousResponseProcessor getDefault() {
 		return DEFAULT;
 	}
 	
-	protected NonAnonymousResponseProcessor() {}
+	protected NonAnonymousResponseProcessor() {
+        this(CACHE_SIZE, MAX_CONCURRENCY);
+    }
+
+    NonAnonymousResponseProcessor(int cacheSize, int maxConcurrency) {
+        this.cacheSize = cacheSize;
+        this.maxConcurrency = maxConcurrency;
+    }
 	
     /**
      * Send a response to a non-anonymous address. Also closes the transport back channel
@@ -69,16 +107,8 @@ public class NonAnonymousResponseProcessor {
 	        }
         }
 
-        // we need to assemble a pipeline to talk to this endpoint.
-		WSEndpoint<?> endpoint = packet.endpoint;
-		WSBinding binding = endpoint.getBinding();
-        Tube transport = TransportTubeFactory.create(Thread.currentThread().getContextClassLoader(),
-            new ClientTubeAssemblerContext(
-            		packet.endpointAddress, endpoint.getPort(), (WSService) null, 
-            		binding, endpoint.getContainer(),
-            		((BindingImpl) binding).createCodec(), null, null));
-        Fiber fiber = endpoint.getEngine().createFiber();
-        fiber.start(transport, packet, fiberCallback);
+        // we need a pipeline to talk to this endpoint.
+        deliver(packet, fiberCallback);
         
         // then we'll proceed the rest like one-way.
         Packet copy = packet.copy(false);
@@ -86,4 +116,168 @@ public class NonAnonymousResponseProcessor {
         
         return copy;
 	}
+
+    private void deliver(Packet packet, Fiber.CompletionCallback callback) {
+        WSEndpoint<?> endpoint = packet.endpoint;
+        Map<String, Destination> cache;
+        synchronized (destinations) {
+            cache = destinations.get(endpoint);
+            if (cache == null) {
+                cache = new LinkedHashMap<String, Destination>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Destination> eldest) {
+                        if (size() > cacheSize) {
+                            eldest.getValue().close();
+                            return true;
+                        }
+                        return false;
+                    }
+                };
+                destinations.put(endpoint, cache);
+            }
+        }
+        String key = packet.endpointAddress.toString();
+        Delivery delivery;
+        synchronized (cache) {
+            // a destination is closed only when it is dropped from the cache,
+            // so the one we get here still accepts deliveries
+            Destination destination = cache.get(key);
+            if (destination == null) {
+                destination = new Destination(endpoint, createTransport(endpoint, packet.endpointAddress), maxConcurrency);
+                cache.put(key, destination);
+            }
+            delivery = destination.admit(packet, callback);
+        }
+        if (delivery != null) {
+            delivery.start();
+        }
+    }
+
+    /**
+     * Creates the transport tube that delivers the responses to the given address.
+     */
+    Tube createTransport(WSEndpoint<?> endpoint, EndpointAddress address) {
+		WSBinding binding = endpoint.getBinding();
+        return TransportTubeFactory.create(Thread.currentThread().getContextClassLoader(),
+            new ClientTubeAssemblerContext(
+            		address, endpoint.getPort(), (WSService) null, 
+            		binding, endpoint.getContainer(),
+            		((BindingImpl) binding).createCodec(), null, null));
+    }
+
+    private static int getInteger(String name, int defaultValue) {
+        try {
+            return Integer.getInteger(NonAnonymousResponseProcessor.class.getName() + "." + name, defaultValue);
+        } catch (SecurityException se) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Transport tubes to one address, copied from the first one with {@link com.sun.xml.ws.api.pipe.TubeCloner}.
+     */
+    private static final class Destination {
+        private final Engine engine;
+        private final Tube master;
+        private final Pool.TubePool pool;
+        private final int maxConcurrency;
+        /**
+         * Deliveries waiting for one of the running ones to complete.
+         */
+        private final Queue<Delivery> waiting = new ArrayDeque<>();
+        private int running;
+        private boolean closed;
+
+        Destination(WSEndpoint<?> endpoint, Tube transport, int maxConcurrency) {
+            this.engine = endpoint.getEngine();
+            this.master = transport;
+            this.pool = new Pool.TubePool(transport);
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        /**
+         * @return the delivery to start, or null if it waits for a running one
+         */
+        synchronized Delivery admit(Packet packet, Fiber.CompletionCallback callback) {
+            Delivery delivery = new Delivery(this, packet, callback);
+            if (maxConcurrency > 0 && running >= maxConcurrency) {
+                waiting.add(delivery);
+                return null;
+            }
+            running++;
+            return delivery;
+        }
+
+        /**
+         * @param transport the tube to reuse, or null
+         */
+        void complete(Tube transport) {
+            Delivery next;
+            boolean destroy;
+            synchronized (this) {
+                if (transport != null) {
+                    pool.recycle(transport);
+                }
+                next = waiting.poll();
+                if (next == null) {
+                    running--;
+                }
+                destroy = next == null && closed && running == 0;
+            }
+            if (next != null) {
+                next.start();
+            } else if (destroy) {
+                master.preDestroy();
+            }
+        }
+
+        /**
+         * Releases the transport tubes once the deliveries in progress are done.
+         */
+        void close() {
+            boolean destroy;
+            synchronized (this) {
+                closed = true;
+                destroy = running == 0;
+            }
+            if (destroy) {
+                master.preDestroy();
+            }
+        }
+    }
+
+    private static final class Delivery implements Fiber.CompletionCallback {
+        private final Destination destination;
+        private final Packet packet;
+        private final Fiber.CompletionCallback callback;
+        private Tube transport;
+
+        Delivery(Destination destination, Packet packet, Fiber.CompletionCallback callback) {
+            this.destination = destination;
+            this.packet = packet;
+            this.callback = callback;
+        }
+
+        void start() {
+            transport = destination.pool.take();
+            destination.engine.createFiber().start(transport, packet, this);
+        }
+
+        @Override
+        public void onCompletion(@NotNull Packet response) {
+            destination.complete(transport);
+            if (callback != null) {
+                callback.onCompletion(response);
+            }
+        }
+
+        @Override
+        public void onCompletion(@NotNull Throwable error) {
+            // the tube might be in a wrong state, so it's not reused
+            destination.complete(null);
+            if (callback != null) {
+                callback.onCompletion(error);
+            }
+        }
+    }
 }
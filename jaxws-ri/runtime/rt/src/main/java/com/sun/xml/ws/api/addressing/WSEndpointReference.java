@@ -49,6 +49,7 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.Source;
+import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.StreamResult;
@@ -962,7 +963,12 @@ public final class WSEndpointReference  implements WSDLExtension {
         try {
             // debug convenience
             StringWriter sw = new StringWriter();
-            XmlUtil.newTransformer().transform(asSource("EndpointReference"),new StreamResult(sw));
+            Transformer t = XmlUtil.takeTransformer(true);
+            try {
+                t.transform(asSource("EndpointReference"),new StreamResult(sw));
+            } finally {
+                XmlUtil.recycleTransformer(true, t);
+            }
             return sw.toString();
         } catch (TransformerException e) {
             return e.toString();
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.api.client;
+
+import com.sun.istack.Nullable;
+
+import jakarta.xml.ws.WebServiceFeature;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Sets the {@link Executor} that completes the {@link CompletableFuture}s of
+ * the asynchronous invocations of a proxy or a {@link jakarta.xml.ws.Dispatch}.
+ *
+ * <p>
+ * Without this feature, the futures are completed directly on the thread that
+ * completes the invocation, so the dependent stages run there too. They must then
+ * not block, or they hold up the processing of other responses.
+ *
+ * @see CompletableResponses
+ */
+public class AsyncCompletionFeature extends WebServiceFeature {
+
+    private final Executor executor;
+
+    /**
+     * Completes the futures directly.
+     */
+    public AsyncCompletionFeature() {
+        this(null);
+    }
+
+    /**
+     * @param executor
+     *      completes the futures, or null to complete them directly.
+     */
+    public AsyncCompletionFeature(@Nullable Executor executor) {
+        this.enabled = true;
+        this.executor = executor;
+    }
+
+    /**
+     * @return null if the futures are completed directly
+     */
+    public @Nullable Executor getExecutor() {
+        return executor;
+    }
+
+    @Override
+    public String getID() {
+        return AsyncCompletionFeature.class.getName();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.api.client;
+
+import com.sun.istack.NotNull;
+import com.sun.xml.ws.client.AsyncResponseImpl;
+
+import jakarta.xml.ws.Dispatch;
+import jakarta.xml.ws.Response;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Gets the asynchronous responses of proxies and {@link Dispatch}es as
+ * {@link CompletableFuture}s, to compose concurrent invocations without blocking
+ * a thread on each of them:
+ *
+ * <pre>
+ * CompletableFuture&lt;Source&gt; a = CompletableResponses.invoke(portA, request);
+ * CompletableFuture&lt;Source&gt; b = CompletableResponses.invoke(portB, request);
+ * CompletableFuture.allOf(a, b).thenRun(() -&gt; merge(a.join(), b.join()));
+ * </pre>
+ *
+ * A future is completed when the invocation completes, on the thread that completes
+ * it, or through the executor of the {@link AsyncCompletionFeature} of the binding.
+ * Cancelling it cancels the invocation.
+ */
+public final class CompletableResponses {
+
+    private CompletableResponses() {}
+
+    /**
+     * Gets a {@link Response} of the JAX-WS RI as a {@link CompletableFuture}.
+     *
+     * @param response
+     *      returned by an asynchronous method of a proxy, or by {@link Dispatch#invokeAsync(Object)}.
+     * @throws IllegalArgumentException
+     *      if the response doesn't come from the JAX-WS RI
+     */
+    public static <T> @NotNull CompletableFuture<T> of(@NotNull Response<T> response) {
+        if (!(response instanceof AsyncResponseImpl)) {
+            throw new IllegalArgumentException("Not a response of the JAX-WS RI: " + response.getClass().getName());
+        }
+        return ((AsyncResponseImpl<T>) response).toCompletableFuture();
+    }
+
+    /**
+     * Invokes a {@link Dispatch} asynchronously.
+     */
+    public static <T> @NotNull CompletableFuture<T> invoke(@NotNull Dispatch<T> dispatch, T msg) {
+        return of(dispatch.invokeAsync(msg));
+    }
+}
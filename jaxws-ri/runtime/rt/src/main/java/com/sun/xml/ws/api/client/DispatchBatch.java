@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.api.client;
+
+import com.sun.istack.NotNull;
+
+import jakarta.xml.ws.Dispatch;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends many independent requests through one {@link Dispatch}, with bounded concurrency.
+ *
+ * <p>
+ * The requests are sent asynchronously, so up to {@code maxConcurrency} of them are
+ * on the wire at the same time, and the next one is sent as soon as one completes.
+ * Each result is given to a {@link Listener} as it completes, and the batch returns
+ * its {@link Statistics}:
+ *
+ * <pre>
+ * DispatchBatch&lt;Source&gt; batch = new DispatchBatch&lt;&gt;(dispatch, 16);
+ * DispatchBatch.Statistics stats = batch.invokeAll(requests, new DispatchBatch.Listener&lt;Source&gt;() {
+ *     public void onResponse(int index, Source response) { ... }
+ *     public void onFailure(int index, Throwable error) { ... }
+ * });
+ * </pre>
+ *
+ * <p>
+ * With the HTTP transport, the requests share the keep-alive connections of
+ * {@link java.net.HttpURLConnection}, which keeps {@code http.maxConnections}
+ * idle connections per endpoint. Set it to at least {@code maxConcurrency},
+ * or connections are closed and opened again as the batch goes.
+ *
+ * <p>
+ * A batch can be invoked many times, but not concurrently.
+ *
+ * @param <T> the type of the requests and responses of the {@link Dispatch}
+ * @see CompletableResponses
+ */
+public final class DispatchBatch<T> {
+
+    private final Dispatch<T> dispatch;
+    private final int maxConcurrency;
+
+    /**
+     * @param dispatch
+     *      sends the requests. Its request context is shared by all of them.
+     * @param maxConcurrency
+     *      how many requests can be sent and not completed at the same time.
+     */
+    public DispatchBatch(@NotNull Dispatch<T> dispatch, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        this.dispatch = dispatch;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Sends the requests, and waits until all of them are completed.
+     *
+     * <p>
+     * The listener is called on the threads that complete the requests, concurrently,
+     * so it must be thread-safe and shouldn't block. An exception thrown by the listener
+     * is counted as a failure of the request.
+     *
+     * @param requests
+     *      sent in their iteration order; results are numbered in that order.
+     * @throws InterruptedException
+     *      if the thread is interrupted while it waits; requests already sent still
+     *      complete, but no other one is sent.
+     */
+    public @NotNull Statistics invokeAll(@NotNull Iterable<? extends T> requests, @NotNull final Listener<? super T> listener)
+            throws InterruptedException {
+        final Semaphore permits = new Semaphore(maxConcurrency);
+        final Recorder recorder = new Recorder();
+        long start = System.nanoTime();
+        int index = 0;
+        for (T request : requests) {
+            permits.acquire();
+            final int i = index++;
+            final long sent = System.nanoTime();
+            CompletableFuture<T> response;
+            try {
+                response = CompletableResponses.invoke(dispatch, request);
+            } catch (RuntimeException e) {
+                // counted as a failure, so that its permit is released
+                response = new CompletableFuture<T>();
+                response.completeExceptionally(e);
+            }
+            response.whenComplete((value, error) -> {
+                boolean failed = error != null;
+                try {
+                    if (failed) {
+                        listener.onFailure(i, error);
+                    } else {
+                        listener.onResponse(i, value);
+                    }
+                } catch (RuntimeException e) {
+                    failed = true;
+                } finally {
+                    recorder.record(System.nanoTime() - sent, failed);
+                    permits.release();
+                }
+            });
+        }
+        // every permit is back once the last request is completed
+        permits.acquire(maxConcurrency);
+        permits.release(maxConcurrency);
+        return recorder.statistics(System.nanoTime() - start);
+    }
+
+    /**
+     * Receives the results of a batch as they complete.
+     */
+    public interface Listener<T> {
+        /**
+         * @param index the position of the request in the batch
+         */
+        void onResponse(int index, T response);
+
+        /**
+         * @param index the position of the request in the batch
+         * @param error the exception that {@link Dispatch#invoke(Object)} would throw
+         */
+        void onFailure(int index, Throwable error);
+    }
+
+    /**
+     * Collects the latencies of the requests of one batch.
+     */
+    private static final class Recorder {
+        private long[] latencies = new long[64];
+        private int count;
+        private int failures;
+
+        synchronized void record(long latency, boolean failed) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+            if (failed) {
+                failures++;
+            }
+        }
+
+        synchronized Statistics statistics(long elapsed) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Statistics(sorted, failures, elapsed);
+        }
+    }
+
+    /**
+     * Throughput and latency of a batch.
+     */
+    public static final class Statistics {
+        private final long[] latencies;
+        private final int failures;
+        private final long elapsed;
+
+        Statistics(long[] latencies, int failures, long elapsed) {
+            this.latencies = latencies;
+            this.failures = failures;
+            this.elapsed = elapsed;
+        }
+
+        /**
+         * Number of requests of the batch.
+         */
+        public int getCount() {
+            return latencies.length;
+        }
+
+        /**
+         * Number of requests that failed.
+         */
+        public int getFailures() {
+            return failures;
+        }
+
+        /**
+         * Time from the first request sent to the last one completed.
+         */
+        public long getElapsed(TimeUnit unit) {
+            return unit.convert(elapsed, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Requests completed per second.
+         */
+        public double getThroughput() {
+            return elapsed == 0 ? 0 : latencies.length * 1e9 / elapsed;
+        }
+
+        /**
+         * Mean time from sending a request to its completion.
+         */
+        public long getMeanLatency(TimeUnit unit) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            long total = 0;
+            for (long l : latencies) {
+                total += l;
+            }
+            return unit.convert(total / latencies.length, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Latency under which the given percentage of the requests completed.
+         *
+         * @param percentile between 0 and 100, for example 99 for the 99th percentile
+         */
+        public long getLatency(double percentile, TimeUnit unit) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+            }
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * latencies.length);
+            return unit.convert(latencies[Math.max(rank, 1) - 1], TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + getCount() + ", failures=" + failures
+                    + ", elapsed=" + getElapsed(TimeUnit.MILLISECONDS) + "ms"
+                    + ", throughput=" + Math.round(getThroughput()) + "/s"
+                    + ", latency mean=" + getMeanLatency(TimeUnit.MICROSECONDS) + "us"
+                    + " p50=" + getLatency(50, TimeUnit.MICROSECONDS) + "us"
+                    + " p99=" + getLatency(99, TimeUnit.MICROSECONDS) + "us"
+                    + " max=" + getLatency(100, TimeUnit.MICROSECONDS) + "us";
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.api.client;
+
+import com.sun.istack.NotNull;
+import com.sun.xml.ws.api.ha.HaInfo;
+
+import jakarta.xml.ws.WebServiceFeature;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads the requests of a proxy or a {@link jakarta.xml.ws.Dispatch} over several
+ * endpoint addresses, instead of the single address of the port. While the feature is
+ * enabled, the {@link jakarta.xml.ws.BindingProvider#ENDPOINT_ADDRESS_PROPERTY} request
+ * context property is ignored.
+ *
+ * <p>
+ * Each request goes to one of the instances, chosen by the {@link Policy}. A request
+ * that carries a {@link HaInfo} in its {@link com.sun.xml.ws.api.message.Packet#HA_INFO}
+ * request context property sticks to the instance of its key, so all the requests of
+ * a key land on the same instance. When that instance is ejected, they go to the
+ * {@link HaInfo#getReplicaInstance() replica instance} if it is one of the instances.
+ *
+ * <p>
+ * An instance whose requests fail with {@link #getMaxConsecutiveFailures()} consecutive
+ * exceptions is ejected: it receives no request for {@link #getBaseEjectionTime(TimeUnit)},
+ * multiplied by the number of times it was ejected in a row. At least one instance is
+ * never ejected. SOAP faults are responses, not failures.
+ *
+ * <pre>
+ * Map&lt;String, String&gt; instances = new LinkedHashMap&lt;&gt;();
+ * instances.put("instance1", "http://host1:8080/hello");
+ * instances.put("instance2", "http://host2:8080/hello");
+ * Hello port = service.getHelloPort(new LoadBalancingFeature(Policy.POWER_OF_TWO_CHOICES, instances));
+ * </pre>
+ *
+ * <p>
+ * The numbers of outstanding requests and the failures are counted per proxy or
+ * {@link jakarta.xml.ws.Dispatch}. Requests are not retried on another instance.
+ */
+public class LoadBalancingFeature extends WebServiceFeature {
+
+    /**
+     * How an instance is chosen for a request.
+     */
+    public enum Policy {
+        /**
+         * The instance with the fewest outstanding requests.
+         */
+        LEAST_OUTSTANDING_REQUESTS,
+        /**
+         * Of two random instances, the one with fewer outstanding requests.
+         */
+        POWER_OF_TWO_CHOICES
+    }
+
+    private final Policy policy;
+    private final Map<String, String> instances;
+    private int maxConsecutiveFailures = 5;
+    private long baseEjectionTime = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * @param addresses
+     *      endpoint addresses, each of them also the name of its instance.
+     */
+    public LoadBalancingFeature(@NotNull Policy policy, @NotNull String... addresses) {
+        this(policy, toInstances(addresses));
+    }
+
+    /**
+     * @param instances
+     *      endpoint addresses, keyed by the name of their instance.
+     */
+    public LoadBalancingFeature(@NotNull Policy policy, @NotNull Map<String, String> instances) {
+        if (instances.isEmpty()) {
+            throw new IllegalArgumentException("no endpoint address");
+        }
+        this.enabled = true;
+        this.policy = policy;
+        this.instances = Collections.unmodifiableMap(new LinkedHashMap<String, String>(instances));
+    }
+
+    private static Map<String, String> toInstances(String... addresses) {
+        Map<String, String> instances = new LinkedHashMap<String, String>();
+        for (String address : addresses) {
+            instances.put(address, address);
+        }
+        return instances;
+    }
+
+    public @NotNull Policy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * @return endpoint addresses, keyed by the name of their instance
+     */
+    public @NotNull Map<String, String> getInstances() {
+        return instances;
+    }
+
+    public int getMaxConsecutiveFailures() {
+        return maxConsecutiveFailures;
+    }
+
+    /**
+     * @param maxConsecutiveFailures
+     *      number of consecutive failures that eject an instance. The default is 5.
+     */
+    public void setMaxConsecutiveFailures(int maxConsecutiveFailures) {
+        if (maxConsecutiveFailures < 1) {
+            throw new IllegalArgumentException("maxConsecutiveFailures must be positive: " + maxConsecutiveFailures);
+        }
+        this.maxConsecutiveFailures = maxConsecutiveFailures;
+    }
+
+    public long getBaseEjectionTime(@NotNull TimeUnit unit) {
+        return unit.convert(baseEjectionTime, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param time
+     *      how long an instance is ejected the first time. The default is 30 seconds.
+     */
+    public void setBaseEjectionTime(long time, @NotNull TimeUnit unit) {
+        if (time < 0) {
+            throw new IllegalArgumentException("time must not be negative: " + time);
+        }
+        this.baseEjectionTime = unit.toMillis(time);
+    }
+
+    @Override
+    public String getID() {
+        return LoadBalancingFeature.class.getName();
+    }
+}
@@ -17,6 +17,7 @@ import org.glassfish.ha.store.api.BackingStoreException;
 import org.glassfish.ha.store.api.BackingStoreFactory;
 import org.glassfish.ha.store.spi.BackingStoreFactoryRegistry;
 
+import java.io.File;
 import java.io.Serializable;
 
 /**
@@ -37,6 +38,12 @@ public enum HighAvailabilityProvider {
          * In-memory replicated {@link BackingStoreFactory} implementation
          */
         IN_MEMORY("replicated"), // FIXME replace with a constant reference when available
+        /**
+         * Embedded {@link BackingStoreFactory} implementation that keeps the data in memory
+         * and writes it behind to a file of the {@link HighAvailabilityProvider#initLocalStore(File) local store directory},
+         * available outside an HA environment
+         */
+        LOCAL("metro-local"),
         /**
          * NOOP implementation of {@link BackingStoreFactory} interface
          */
@@ -114,6 +121,8 @@ public enum HighAvailabilityProvider {
 
     private volatile HaEnvironment haEnvironment = HaEnvironment.NO_HA_ENVIRONMENT;
 
+    private volatile File localStoreDirectory;
+
     /**
      * This method is not meant to be used directly by the user of the Metro
      * {@link HighAvailabilityProvider} class.
@@ -139,6 +148,36 @@ public enum HighAvailabilityProvider {
         return haEnvironment.isDisabledJreplica();
     }
 
+    /**
+     * Sets the directory of the files of the {@link StoreType#LOCAL} backing stores,
+     * which is otherwise read from the
+     * {@code com.sun.xml.ws.api.ha.HighAvailabilityProvider.localStoreDirectory}
+     * system property.
+     *
+     * The stores created afterwards read back the data their files contain, so e.g.
+     * the instances of a stateful web service survive a restart of the process.
+     *
+     * @param directory local store directory, {@code null} to use the system property
+     */
+    public void initLocalStore(final File directory) {
+        this.localStoreDirectory = directory;
+    }
+
+    /**
+     * Provides information on whether {@link StoreType#LOCAL} backing stores
+     * have a directory for their files.
+     *
+     * @return {@code true} in case a local store directory is set, {@code false} otherwise
+     */
+    public boolean isLocalStoreConfigured() {
+        return getLocalStoreDirectory() != null;
+    }
+
+    private File getLocalStoreDirectory() {
+        final File directory = this.localStoreDirectory;
+        return directory != null ? directory : LocalBackingStoreFactory.DIRECTORY;
+    }
+
     /**
      * Creates {@link BackingStoreConfiguration} instance initialized  with
      * all mandatory fields. This instance can be used to create {@link BackingStore}
@@ -170,7 +209,8 @@ public enum HighAvailabilityProvider {
     /**
      * Retrieves {@link BackingStoreFactory} implementation of the requested type.
      * In case this method is executed outside an HA environment (e.g. standalone mode),
-     * {@link StoreType#NOOP} implementation is returned.
+     * {@link StoreType#NOOP} implementation is returned, unless {@link StoreType#LOCAL}
+     * implementation is requested.
      *
      * @param type type of the {@link BackingStoreFactory} implementation to be retrieved
      *
@@ -183,6 +223,11 @@ public enum HighAvailabilityProvider {
      * available.
      */
     public BackingStoreFactory getBackingStoreFactory(final StoreType type) throws HighAvailabilityProviderException {
+        if (type == StoreType.LOCAL) {
+            LocalBackingStoreFactory.register(type.storeTypeId);
+            return getSafeBackingStoreFactory(type);
+        }
+
         if (!isHaEnvironmentConfigured()) {
             return getSafeBackingStoreFactory(StoreType.NOOP);
         }
@@ -234,6 +279,9 @@ public enum HighAvailabilityProvider {
                 backingStoreName,
                 keyClass,
                 valueClass);
+        if (factory instanceof LocalBackingStoreFactory) {
+            bsConfig.setBaseDirectory(getLocalStoreDirectory());
+        }
         try {
             return factory.createBackingStore(bsConfig);
         } catch (BackingStoreException ex) {
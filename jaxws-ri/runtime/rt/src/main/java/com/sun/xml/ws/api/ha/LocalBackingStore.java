@@ -0,0 +1,529 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.api.ha;
+
+import com.sun.istack.logging.Logger;
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+import org.glassfish.ha.store.api.Storeable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * {@link BackingStore} that keeps its values in memory and writes them behind
+ * to an append-only file of the base directory of its configuration, so they
+ * survive a restart of the process.
+ *
+ * <p>
+ * {@link #save} only keeps a reference to the value and marks its key, so that a request
+ * does not pay for the serialization. The values saved or removed since the last write are
+ * serialized and appended to the file every {@link LocalBackingStoreFactory#FLUSH_INTERVAL}
+ * milliseconds, or at once if the configuration
+ * {@link BackingStoreConfiguration#isSynchronousSave() saves synchronously}.
+ * A value saved many times in between is serialized once, in its latest state.
+ * {@link Storeable} values are serialized with their {@code _storeable_writeState} method,
+ * the others with an {@link ObjectOutputStream}.
+ *
+ * <p>
+ * A value may be changed by a request while it is serialized. The request saves it again
+ * once it is done, which marks its key again, so the next write replaces a state that was
+ * torn that way. A {@link ConcurrentModificationException} during the serialization
+ * leaves the key marked, and the value is serialized again with the next write.
+ *
+ * <p>
+ * When the store is created, the file is read back and its values are deserialized
+ * when they are first {@link #load loaded}. The file is rewritten with the live values
+ * only when it gets twice as large as them.
+ */
+final class LocalBackingStore<K extends Serializable, V extends Serializable> extends BackingStore<K, V> {
+
+    private static final Logger LOGGER = Logger.getLogger(LocalBackingStore.class);
+
+    private static final int MAGIC = 0x4d4c5331;
+    private static final byte SAVE = 1;
+    private static final byte REMOVE = 2;
+
+    /**
+     * Files smaller than that are never compacted.
+     */
+    private static final long COMPACTION_THRESHOLD = 1024 * 1024;
+
+    private final LocalBackingStoreFactory factory;
+    private final long flushInterval;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<K, Entry<V>>();
+    /**
+     * Keys saved or removed since the last write.
+     */
+    private final Set<K> dirty = ConcurrentHashMap.newKeySet();
+
+    private boolean stringKeys;
+    private boolean synchronousSave;
+    private File file;
+    private ScheduledExecutorService flusher;
+
+    private final Object fileLock = new Object();
+    // guarded by fileLock
+    private FileChannel channel;
+    private final Map<K, Integer> recordSizes = new HashMap<K, Integer>();
+    private long liveSize;
+
+    LocalBackingStore(LocalBackingStoreFactory factory, long flushInterval) {
+        this.factory = factory;
+        this.flushInterval = flushInterval;
+    }
+
+    @Override
+    protected void initialize(BackingStoreConfiguration<K, V> conf) throws BackingStoreException {
+        super.initialize(conf);
+        File directory = conf.getBaseDirectory();
+        if (directory == null) {
+            throw new BackingStoreException("No directory for the local backing store " + conf.getStoreName());
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new BackingStoreException("Cannot create the local backing store directory " + directory);
+        }
+        stringKeys = conf.getKeyClazz() == String.class;
+        synchronousSave = conf.isSynchronousSave();
+        file = new File(directory, fileName(conf.getStoreName()));
+        try {
+            long end = read();
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            if (end == 0) {
+                channel.truncate(0);
+                channel.write(ByteBuffer.allocate(4).putInt(0, MAGIC));
+            } else if (channel.size() > end) {
+                // drops the record of an interrupted write
+                channel.truncate(end);
+            }
+            channel.position(channel.size());
+        } catch (IOException e) {
+            throw new BackingStoreException("Cannot open the local backing store file " + file, e);
+        }
+        if (!synchronousSave) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "Metro local backing store " + conf.getStoreName());
+                t.setDaemon(true);
+                return t;
+            });
+            flusher.scheduleWithFixedDelay(this::flushQuietly, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static String fileName(String storeName) {
+        StringBuilder name = new StringBuilder(storeName.length() + 16);
+        for (int i = 0; i < storeName.length(); i++) {
+            char c = storeName.charAt(i);
+            name.append(Character.isLetterOrDigit(c) || c == '.' || c == '-' ? c : '_');
+        }
+        // different names may look the same once sanitized
+        return name.append('-').append(Integer.toHexString(storeName.hashCode())).append(".store").toString();
+    }
+
+    /**
+     * Reads the file back.
+     *
+     * @return the end of the last complete record, 0 if the file is new
+     */
+    private long read() throws IOException {
+        if (file.length() < 4) {
+            return 0;
+        }
+        long position;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                // left as it is, the directory may be the wrong one
+                throw new IOException(file + " is not a local backing store file");
+            }
+            position = 4;
+            while (true) {
+                int op = in.read();
+                if (op == -1) {
+                    break;
+                }
+                if (op != SAVE && op != REMOVE) {
+                    LOGGER.log(Level.WARNING, "Unexpected record in {0} at offset {1}, the rest of the file is ignored",
+                            new Object[] {file, position});
+                    break;
+                }
+                K key;
+                int size;
+                try {
+                    byte[] keyBytes = new byte[length(in, position)];
+                    in.readFully(keyBytes);
+                    key = toKey(keyBytes);
+                    size = 1 + 4 + keyBytes.length;
+                    if (op == SAVE) {
+                        long lastAccess = in.readLong();
+                        long maxIdle = in.readLong();
+                        byte[] state = new byte[length(in, position)];
+                        in.readFully(state);
+                        size += 8 + 8 + 4 + state.length;
+                        entries.put(key, new Entry<V>(null, state, lastAccess, maxIdle));
+                        recordSize(key, size);
+                    } else {
+                        entries.remove(key);
+                        recordSize(key, -1);
+                    }
+                } catch (EOFException e) {
+                    // interrupted write
+                    break;
+                } catch (ClassNotFoundException e) {
+                    throw new IOException(e);
+                }
+                position += size;
+            }
+        }
+        return position;
+    }
+
+    private int length(DataInputStream in, long position) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > file.length() - position) {
+            // garbage of an interrupted write
+            throw new EOFException();
+        }
+        return length;
+    }
+
+    @Override
+    public BackingStoreFactory getBackingStoreFactory() {
+        return factory;
+    }
+
+    @Override
+    public V load(K key, String version) throws BackingStoreException {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.value != null) {
+            return entry.value;
+        }
+        V value;
+        try {
+            value = toValue(entry);
+        } catch (Exception e) {
+            throw new BackingStoreException("Cannot read the value of " + key + " in " + file, e);
+        }
+        entries.replace(key, entry, new Entry<V>(value, entry.state, entry.lastAccess, entry.maxIdle));
+        return value;
+    }
+
+    @Override
+    public String save(K key, V value, boolean isNew) throws BackingStoreException {
+        long lastAccess = System.currentTimeMillis();
+        long maxIdle = getBackingStoreConfiguration().getMaxIdleTimeInSeconds() * 1000L;
+        if (value instanceof Storeable) {
+            lastAccess = ((Storeable) value)._storeable_getLastAccessTime();
+            maxIdle = ((Storeable) value)._storeable_getMaxIdleTime();
+        }
+        entries.put(key, new Entry<V>(value, null, lastAccess, maxIdle));
+        changed(key);
+        return null;
+    }
+
+    @Override
+    public void remove(K key) throws BackingStoreException {
+        if (entries.remove(key) != null) {
+            changed(key);
+        }
+    }
+
+    @Override
+    public void updateTimestamp(K key, long time) throws BackingStoreException {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entries.replace(key, entry, new Entry<V>(entry.value, entry.state, time, entry.maxIdle))) {
+            changed(key);
+        }
+    }
+
+    @Override
+    public int removeExpired() throws BackingStoreException {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+            Entry<V> entry = e.getValue();
+            if (entry.maxIdle > 0 && now - entry.lastAccess > entry.maxIdle && entries.remove(e.getKey(), entry)) {
+                dirty.add(e.getKey());
+                removed++;
+            }
+        }
+        if (removed > 0 && synchronousSave) {
+            flush();
+        }
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    private void changed(K key) throws BackingStoreException {
+        dirty.add(key);
+        if (synchronousSave) {
+            flush();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (BackingStoreException e) {
+            LOGGER.log(Level.WARNING, e.getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Appends the values saved or removed since the last write to the file.
+     */
+    void flush() throws BackingStoreException {
+        synchronized (fileLock) {
+            if (channel == null || dirty.isEmpty()) {
+                return;
+            }
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(buffer);
+            Map<K, Integer> sizes = new HashMap<K, Integer>();
+            for (Iterator<K> it = dirty.iterator(); it.hasNext(); ) {
+                K key = it.next();
+                it.remove();
+                Entry<V> entry = entries.get(key);
+                try {
+                    if (entry == null) {
+                        sizes.put(key, -1);
+                        writeRemove(out, toBytes(key));
+                    } else {
+                        if (entry.state == null) {
+                            entry.state = toState(entry.value);
+                        }
+                        sizes.put(key, writeSave(out, toBytes(key), entry));
+                    }
+                } catch (ConcurrentModificationException e) {
+                    // changed by a request, serialized again with the next write
+                    dirty.add(key);
+                    LOGGER.log(Level.FINE, "The value of " + key + " changed while it was written", e);
+                } catch (IOException | RuntimeException e) {
+                    // the value is written again when it is saved again
+                    LOGGER.log(Level.WARNING, "Cannot write the value of " + key + " to " + file, e);
+                }
+            }
+            try {
+                ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(false);
+                for (Map.Entry<K, Integer> e : sizes.entrySet()) {
+                    recordSize(e.getKey(), e.getValue());
+                }
+                long size = channel.size();
+                if (size > COMPACTION_THRESHOLD && size > 2 * liveSize) {
+                    compact();
+                }
+            } catch (IOException e) {
+                throw new BackingStoreException("Cannot write to the local backing store file " + file, e);
+            }
+        }
+    }
+
+    private void recordSize(K key, int size) {
+        Integer previous = size < 0 ? recordSizes.remove(key) : recordSizes.put(key, size);
+        liveSize += Math.max(size, 0) - (previous != null ? previous : 0);
+    }
+
+    /**
+     * Rewrites the file with the live values only.
+     */
+    private void compact() throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        recordSizes.clear();
+        liveSize = 0;
+        try (FileOutputStream fos = new FileOutputStream(tmp)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos));
+            out.writeInt(MAGIC);
+            for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+                Entry<V> entry = e.getValue();
+                if (entry.state != null) {
+                    recordSize(e.getKey(), writeSave(out, toBytes(e.getKey()), entry));
+                }
+                // else it is dirty, and written with the next flush
+            }
+            out.flush();
+            fos.getFD().sync();
+        }
+        channel.close();
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+        channel.position(channel.size());
+    }
+
+    private static void writeRemove(DataOutputStream out, byte[] key) throws IOException {
+        out.writeByte(REMOVE);
+        out.writeInt(key.length);
+        out.write(key);
+    }
+
+    private static int writeSave(DataOutputStream out, byte[] key, Entry<?> entry) throws IOException {
+        byte[] state = entry.state;
+        out.writeByte(SAVE);
+        out.writeInt(key.length);
+        out.write(key);
+        out.writeLong(entry.lastAccess);
+        out.writeLong(entry.maxIdle);
+        out.writeInt(state.length);
+        out.write(state);
+        return 1 + 4 + key.length + 8 + 8 + 4 + state.length;
+    }
+
+    private byte[] toBytes(K key) throws IOException {
+        if (stringKeys) {
+            return ((String) key).getBytes(StandardCharsets.UTF_8);
+        }
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = createObjectOutputStream(bos)) {
+            oos.writeObject(key);
+        }
+        return bos.toByteArray();
+    }
+
+    private byte[] toState(V value) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        if (value instanceof Storeable) {
+            ((Storeable) value)._storeable_writeState(bos);
+        } else {
+            try (ObjectOutputStream oos = createObjectOutputStream(bos)) {
+                oos.writeObject(value);
+            }
+        }
+        return bos.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private K toKey(byte[] bytes) throws IOException, ClassNotFoundException {
+        if (stringKeys) {
+            return (K) new String(bytes, StandardCharsets.UTF_8);
+        }
+        try (ObjectInputStream in = createObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (K) in.readObject();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V toValue(Entry<V> entry) throws Exception {
+        Class<V> valueClass = getBackingStoreConfiguration().getValueClazz();
+        if (Storeable.class.isAssignableFrom(valueClass)) {
+            Constructor<V> constructor = valueClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            V value = constructor.newInstance();
+            ((Storeable) value)._storeable_readState(new ByteArrayInputStream(entry.state));
+            return value;
+        }
+        try (ObjectInputStream in = createObjectInputStream(new ByteArrayInputStream(entry.state))) {
+            return (V) in.readObject();
+        }
+    }
+
+    /**
+     * Writes the changed values to the file, and closes it.
+     */
+    @Override
+    public void close() throws BackingStoreException {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        synchronized (fileLock) {
+            if (channel == null) {
+                return;
+            }
+            try {
+                flush();
+            } finally {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    LOGGER.log(Level.FINE, "Cannot close " + file, e);
+                }
+                channel = null;
+            }
+        }
+    }
+
+    /**
+     * Closes the store, and deletes its file.
+     */
+    @Override
+    public void destroy() throws BackingStoreException {
+        dirty.clear();
+        close();
+        entries.clear();
+        if (!file.delete() && file.exists()) {
+            throw new BackingStoreException("Cannot delete the local backing store file " + file);
+        }
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    private static final class Entry<V> {
+        /**
+         * {@code null} until the value read from the file is loaded.
+         */
+        final V value;
+        /**
+         * Serialized value, {@code null} until it is written.
+         */
+        volatile byte[] state;
+        final long lastAccess;
+        final long maxIdle;
+
+        Entry(V value, byte[] state, long lastAccess, long maxIdle) {
+            this.value = value;
+            this.state = state;
+            this.lastAccess = lastAccess;
+            this.maxIdle = maxIdle;
+        }
+    }
+}
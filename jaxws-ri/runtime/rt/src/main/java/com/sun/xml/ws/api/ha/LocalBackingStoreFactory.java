@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.api.ha;
+
+import com.sun.istack.logging.Logger;
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+import org.glassfish.ha.store.api.BackingStoreTransaction;
+import org.glassfish.ha.store.spi.BackingStoreFactoryRegistry;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.logging.Level;
+
+/**
+ * {@link BackingStoreFactory} of the {@link HighAvailabilityProvider.StoreType#LOCAL}
+ * stores, which keep their data in the memory of the process and write it to a
+ * file in the local store directory.
+ *
+ * @see LocalBackingStore
+ */
+final class LocalBackingStoreFactory implements BackingStoreFactory {
+
+    private static final Logger LOGGER = Logger.getLogger(LocalBackingStoreFactory.class);
+
+    /**
+     * Local store directory set with the
+     * {@code com.sun.xml.ws.api.ha.HighAvailabilityProvider.localStoreDirectory}
+     * system property, or {@code null}.
+     */
+    static final File DIRECTORY;
+
+    /**
+     * Milliseconds between two writes of the changed data to the file, set with the
+     * {@code com.sun.xml.ws.api.ha.HighAvailabilityProvider.localStoreFlushInterval}
+     * system property. The default is 1 second.
+     */
+    static final long FLUSH_INTERVAL;
+
+    static {
+        String directory = null;
+        long flushInterval = 1000L;
+        try {
+            directory = System.getProperty(HighAvailabilityProvider.class.getName() + ".localStoreDirectory");
+            flushInterval = Long.getLong(HighAvailabilityProvider.class.getName() + ".localStoreFlushInterval", flushInterval);
+        } catch (SecurityException se) {
+            LOGGER.log(Level.CONFIG, "Cannot read ''{0}'' property, using defaults.",
+                    new Object[] {HighAvailabilityProvider.class.getName() + ".localStore*"});
+        }
+        DIRECTORY = directory != null && !directory.isEmpty() ? new File(directory) : null;
+        FLUSH_INTERVAL = flushInterval > 0 ? flushInterval : 1000L;
+    }
+
+    /**
+     * Registers a factory with the {@link BackingStoreFactoryRegistry}, unless one is
+     * already registered for the type.
+     */
+    static synchronized void register(String storeTypeId) {
+        if (!BackingStoreFactoryRegistry.getRegisteredTypes().contains(storeTypeId)) {
+            BackingStoreFactoryRegistry.register(storeTypeId, new LocalBackingStoreFactory());
+        }
+    }
+
+    @Override
+    public <K extends Serializable, V extends Serializable> BackingStore<K, V> createBackingStore(
+            BackingStoreConfiguration<K, V> conf) throws BackingStoreException {
+        LocalBackingStore<K, V> store = new LocalBackingStore<K, V>(this, FLUSH_INTERVAL);
+        store.initialize(conf);
+        return store;
+    }
+
+    @Override
+    public BackingStoreTransaction createBackingStoreTransaction() {
+        return new BackingStoreTransaction() {
+            @Override
+            public void commit() {
+                // every operation is applied immediately
+            }
+        };
+    }
+}
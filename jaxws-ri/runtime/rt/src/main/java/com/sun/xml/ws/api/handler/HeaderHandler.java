@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.api.handler;
+
+import javax.xml.namespace.QName;
+import java.util.Set;
+
+/**
+ * The <code>HeaderHandler</code> is a {@link MessageHandler} that only
+ * reads and writes the headers of a message, for example security or
+ * correlation headers.
+ *
+ * <p>
+ * It runs in the same place of the chain as the other <code>MessageHandler</code>s,
+ * before the SOAP handlers on inbound messages, but never converts the message
+ * to SAAJ and does not need the property map of the context. A handler that
+ * keeps to {@link HeaderHandlerContext#getHeaders()} and
+ * {@link HeaderHandlerContext#getPacket()} leaves a streamed body as it is.
+ *
+ * <p>
+ * A <code>HeaderHandler</code> can be configured in a handler-chain file
+ * like any other handler. The <code>soap-header</code> elements of the
+ * handler, which are ignored for other handlers, are passed to
+ * {@link #setHeaders(Set)} before its <code>@PostConstruct</code> method is called.
+ *
+ * @since 4.0
+ */
+public interface HeaderHandler extends MessageHandler<HeaderHandlerContext> {
+
+    /**
+     * Called with the <code>soap-header</code> elements configured for this handler
+     * in a handler-chain file. The default implementation ignores them.
+     *
+     * @param headers <code>QNames</code> of the configured header blocks, never empty
+     */
+    default void setHeaders(Set<QName> headers) {
+    }
+}
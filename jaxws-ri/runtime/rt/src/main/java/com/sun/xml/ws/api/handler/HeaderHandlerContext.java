@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.api.handler;
+
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
+import com.sun.xml.ws.api.message.MessageHeaders;
+import com.sun.xml.ws.api.message.Packet;
+
+/**
+ * The <code>HeaderHandlerContext</code> interface extends
+ * <code>MessageHandlerContext</code> with direct access to the headers
+ * of the message and to the {@link Packet} that carries it.
+ *
+ * <p>
+ * Properties of the packet are best read and written through
+ * {@link #getPacket()}; the <code>java.util.Map</code> methods of this
+ * context still work, but the map view is built on their first use.
+ *
+ * @see HeaderHandler
+ * @since 4.0
+ */
+public interface HeaderHandlerContext extends MessageHandlerContext {
+
+    /**
+     * Gets the headers of the message in this context.
+     * Headers can be added or removed in place.
+     *
+     * @return The headers of the message, or <code>null</code> if
+     *         the context has no message, as after a one-way request
+     */
+    public @Nullable MessageHeaders getHeaders();
+
+    /**
+     * Gets the packet that carries the message.
+     */
+    public @NotNull Packet getPacket();
+
+    /**
+     * @return <code>true</code> if the message is outbound, the same as
+     *         the {@link jakarta.xml.ws.handler.MessageContext#MESSAGE_OUTBOUND_PROPERTY} property
+     */
+    public boolean isOutbound();
+}
@@ -30,6 +30,7 @@ import com.sun.xml.ws.client.dispatch.DispatchImpl;
 import com.sun.xml.ws.message.AttachmentSetImpl;
 import com.sun.xml.ws.message.StringHeader;
 import com.sun.xml.ws.message.jaxb.JAXBMessage;
+import com.sun.xml.ws.model.AbstractSEIModelImpl;
 import com.sun.xml.ws.spi.db.XMLBridge;
 import com.sun.xml.ws.fault.SOAPFaultBuilder;
 import org.jvnet.staxex.XMLStreamReaderEx;
@@ -336,6 +337,12 @@ public abstract class Message {
         } else {
             nsUri = getPayloadNamespaceURI();
         }
+        if (seiModel instanceof AbstractSEIModelImpl) {
+            if (nsUri == null) {
+                nsUri = "";
+            }
+            return ((AbstractSEIModelImpl) seiModel).getJavaMethod(nsUri, localPart);
+        }
         QName name = new QName(nsUri, localPart);
         return seiModel.getJavaMethod(name);
     }
@@ -60,6 +60,11 @@ class MessageWrapper extends StreamMessage {
         return streamDelegate.getBodyEpilogue();
     }
 
+    @Override
+    public String[] getHeaderInscopeNamespaces() {
+        return streamDelegate != null ? streamDelegate.getHeaderInscopeNamespaces() : new String[0];
+    }
+
     MessageWrapper(Packet p, Message m) {
         super(m.getSOAPVersion());
         packet = p;
@@ -42,6 +42,7 @@ import com.sun.xml.ws.encoding.MtomCodec;
 import com.sun.xml.ws.message.RelatesToHeader;
 import com.sun.xml.ws.message.StringHeader;
 import com.sun.xml.ws.util.DOMUtil;
+import com.sun.xml.ws.util.IndexedPropertyMap;
 import com.sun.xml.ws.util.xml.XmlUtil;
 import com.sun.xml.ws.wsdl.DispatchException;
 import com.sun.xml.ws.wsdl.OperationDispatcher;
@@ -166,7 +167,7 @@ public final class Packet
      * Creates an empty {@link Packet} that doesn't have any {@link Message}.
      */
     public Packet() {
-        this.invocationProperties = new HashMap<>();
+        this.invocationProperties = new IndexedPropertyMap();
     }
     
     /**
@@ -509,6 +510,18 @@ public final class Packet
      */
     public String acceptableMimeTypes;
 
+    /**
+     * The length in bytes of the inbound message, as announced by the
+     * transport meta-data (such as the HTTP {@code Content-Length} header),
+     * or -1 if it is not known, e.g. for a chunked HTTP request.
+     *
+     * <p>
+     * Codecs use it as a hint, and may read a small message completely before
+     * parsing it. It is set by the transport before the message is decoded,
+     * and it is not carried over to the response packet.
+     */
+    public long inboundContentLength = -1;
+
     /**
      * When non-null, this object is consulted to
      * implement {@link WebServiceContext} methods
@@ -720,6 +733,11 @@ public final class Packet
      * <p>
      * See <a href="#properties">class javadoc</a> for more discussion.
      *
+     * <p>
+     * The map is an {@link IndexedPropertyMap}, so that well-known properties
+     * do not allocate map entries, and nothing is allocated until the first
+     * property is set.
+     *
      * @see #getHandlerScopePropertyNames(boolean)
      */
     public final Map<String, Object> invocationProperties;
@@ -1119,6 +1137,54 @@ public final class Packet
         model = parse(Packet.class);
     }
 
+    // invocation properties that are set or read for most requests
+    // get a fixed slot in invocationProperties,
+    // see getInvocationProperty(int) and setInvocationProperty(int, Object)
+    public static final int HTTP_REQUEST_HEADERS_SLOT = IndexedPropertyMap.slot(MessageContext.HTTP_REQUEST_HEADERS);
+    public static final int HTTP_REQUEST_METHOD_SLOT = IndexedPropertyMap.slot(MessageContext.HTTP_REQUEST_METHOD);
+    public static final int QUERY_STRING_SLOT = IndexedPropertyMap.slot(MessageContext.QUERY_STRING);
+    public static final int PATH_INFO_SLOT = IndexedPropertyMap.slot(MessageContext.PATH_INFO);
+    public static final int SESSION_MAINTAIN_SLOT = IndexedPropertyMap.slot(BindingProvider.SESSION_MAINTAIN_PROPERTY);
+    public static final int SOAPACTION_USE_SLOT = IndexedPropertyMap.slot(BindingProvider.SOAPACTION_USE_PROPERTY);
+    public static final int USERNAME_SLOT = IndexedPropertyMap.slot(BindingProvider.USERNAME_PROPERTY);
+    public static final int PASSWORD_SLOT = IndexedPropertyMap.slot(BindingProvider.PASSWORD_PROPERTY);
+    public static final int REQUEST_TIMEOUT_SLOT = IndexedPropertyMap.slot(JAXWSProperties.REQUEST_TIMEOUT);
+    public static final int CONNECT_TIMEOUT_SLOT = IndexedPropertyMap.slot(JAXWSProperties.CONNECT_TIMEOUT);
+    public static final int STREAMING_CHUNK_SIZE_SLOT = IndexedPropertyMap.slot(JAXWSProperties.HTTP_CLIENT_STREAMING_CHUNK_SIZE);
+    public static final int SSL_SOCKET_FACTORY_SLOT = IndexedPropertyMap.slot(JAXWSProperties.SSL_SOCKET_FACTORY);
+    public static final int HOSTNAME_VERIFIER_SLOT = IndexedPropertyMap.slot(JAXWSProperties.HOSTNAME_VERIFIER);
+    public static final int REQUEST_AUTHENTICATOR_SLOT = IndexedPropertyMap.slot(JAXWSProperties.REQUEST_AUTHENTICATOR);
+
+    /**
+     * Gets an invocation property by the slot of its key, without looking the key up.
+     *
+     * @param slot a slot from {@link IndexedPropertyMap#slot(String)}, such as {@link #HTTP_REQUEST_HEADERS_SLOT}
+     * @return the value, same as {@code invocationProperties.get(key)}
+     */
+    public Object getInvocationProperty(int slot) {
+        return ((IndexedPropertyMap) invocationProperties).get(slot);
+    }
+
+    /**
+     * Sets an invocation property by the slot of its key, without looking the key up.
+     *
+     * @param slot a slot from {@link IndexedPropertyMap#slot(String)}, such as {@link #HTTP_REQUEST_HEADERS_SLOT}
+     * @return the previous value, same as {@code invocationProperties.put(key, value)}
+     */
+    public Object setInvocationProperty(int slot, Object value) {
+        return ((IndexedPropertyMap) invocationProperties).put(slot, value);
+    }
+
+    /**
+     * Removes an invocation property by the slot of its key, without looking the key up.
+     *
+     * @param slot a slot from {@link IndexedPropertyMap#slot(String)}
+     * @return the previous value, same as {@code invocationProperties.remove(key)}
+     */
+    public Object removeInvocationProperty(int slot) {
+        return ((IndexedPropertyMap) invocationProperties).remove(slot);
+    }
+
     @Override
     protected PropertyMap getPropertyMap() {
         return model;
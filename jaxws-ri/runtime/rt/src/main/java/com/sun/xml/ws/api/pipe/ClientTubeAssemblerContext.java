@@ -19,6 +19,7 @@ import com.sun.xml.ws.api.WSBinding;
 import com.sun.xml.ws.api.WSService;
 import com.sun.xml.ws.api.addressing.AddressingVersion;
 import com.sun.xml.ws.api.client.ClientPipelineHook;
+import com.sun.xml.ws.api.client.LoadBalancingFeature;
 import com.sun.xml.ws.api.client.WSPortInfo;
 import com.sun.xml.ws.api.model.SEIModel;
 import com.sun.xml.ws.api.model.wsdl.WSDLPort;
@@ -34,6 +35,7 @@ import com.sun.xml.ws.handler.ClientSOAPHandlerTube;
 import com.sun.xml.ws.handler.HandlerTube;
 import com.sun.xml.ws.protocol.soap.ClientMUTube;
 import com.sun.xml.ws.transport.DeferredTransportPipe;
+import com.sun.xml.ws.transport.LoadBalancingTransportTube;
 import com.sun.xml.ws.util.pipe.DumpTube;
 
 import jakarta.xml.ws.soap.SOAPBinding;
@@ -286,10 +288,17 @@ public class ClientTubeAssemblerContext {
 
     /**
      * Creates a transport pipe (for client), which becomes the terminal pipe.
+     * With an enabled {@link LoadBalancingFeature}, it spreads the requests over
+     * the addresses of the feature.
      */
     public Tube createTransportTube() {
         ClassLoader cl = Thread.currentThread().getContextClassLoader();
 
+        LoadBalancingFeature loadBalancing = binding.getFeature(LoadBalancingFeature.class);
+        if (loadBalancing != null && loadBalancing.isEnabled()) {
+            return new LoadBalancingTransportTube(cl, this, loadBalancing);
+        }
+
         // The application may configure the endpoint address through request context
         // using {@link BindingProvider#ENDPOINT_ADDRESS_PROPERTY}. Let us
         // defer the creation of actual transport until the service invocation,
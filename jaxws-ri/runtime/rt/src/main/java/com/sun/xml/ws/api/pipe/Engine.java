@@ -10,11 +10,14 @@
 
 package com.sun.xml.ws.api.pipe;
 
+import java.util.Arrays;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
 import com.sun.xml.ws.api.message.Packet;
 import com.sun.xml.ws.api.server.Container;
 import com.sun.xml.ws.api.server.ContainerResolver;
@@ -27,10 +30,29 @@ import com.sun.xml.ws.api.server.ContainerResolver;
  * @author Jitendra Kotamraju
  */
 public class Engine {
+    private static final FiberMonitor[] NO_MONITORS = new FiberMonitor[0];
+
+    /**
+     * If true, every engine keeps {@link FiberStatistics}.
+     */
+    private static final boolean STATISTICS = getBooleanSystemProperty(Engine.class.getName() + ".statistics");
+
     private volatile Executor threadPool;
     public final String id;
     private final Container container;
 
+    /**
+     * Copy-on-write array of the registered monitors.
+     */
+    private volatile FiberMonitor[] monitors = NO_MONITORS;
+
+    /**
+     * Kept once created, so that disabling the statistics does not
+     * discard what was collected.
+     */
+    private volatile FiberStatistics statistics;
+    private volatile boolean statisticsEnabled;
+
     String getId() { return id; }
     Container getContainer() { return container; }
     Executor getExecutor() { return threadPool; }
@@ -51,6 +73,9 @@ public class Engine {
     public Engine(String id, Container container) {
         this.id = id;
         this.container = container;
+        if (STATISTICS) {
+            enableFiberStatistics();
+        }
     }
 
     public void setExecutor(Executor threadPool) {
@@ -63,6 +88,7 @@ public class Engine {
                 threadPool = wrap(Executors.newCachedThreadPool(new DaemonThreadFactory()));
             }
         }
+        fiber.queued();
         threadPool.execute(fiber);
     }
     
@@ -83,6 +109,91 @@ public class Engine {
         return new Fiber(this);
     }
 
+    /**
+     * Registers a {@link FiberMonitor} that will receive the events
+     * of the fibers created from now on.
+     */
+    public synchronized void addFiberMonitor(@NotNull FiberMonitor monitor) {
+        FiberMonitor[] m = Arrays.copyOf(monitors, monitors.length + 1);
+        m[m.length - 1] = monitor;
+        monitors = m;
+    }
+
+    /**
+     * Unregisters a {@link FiberMonitor}.
+     * Fibers that already exist keep reporting to it until they complete.
+     */
+    public synchronized void removeFiberMonitor(@NotNull FiberMonitor monitor) {
+        FiberMonitor[] m = monitors;
+        for (int i = 0; i < m.length; i++) {
+            if (m[i] == monitor) {
+                FiberMonitor[] r = new FiberMonitor[m.length - 1];
+                System.arraycopy(m, 0, r, 0, i);
+                System.arraycopy(m, i + 1, r, i, m.length - i - 1);
+                monitors = r;
+                if (monitor == statistics) {
+                    statisticsEnabled = false;
+                }
+                return;
+            }
+        }
+    }
+
+    FiberMonitor[] getFiberMonitors() {
+        return monitors;
+    }
+
+    /**
+     * Starts collecting {@link FiberStatistics} for this engine,
+     * if not already done. Statistics that were disabled continue
+     * from the values collected before.
+     *
+     * @return the statistics of this engine
+     */
+    public synchronized @NotNull FiberStatistics enableFiberStatistics() {
+        if (statistics == null) {
+            statistics = new FiberStatistics();
+        }
+        if (!statisticsEnabled) {
+            addFiberMonitor(statistics);
+            statisticsEnabled = true;
+        }
+        return statistics;
+    }
+
+    /**
+     * Stops collecting {@link FiberStatistics} for the fibers created
+     * from now on. The values collected so far are kept.
+     */
+    public synchronized void disableFiberStatistics() {
+        if (statisticsEnabled) {
+            removeFiberMonitor(statistics);
+        }
+    }
+
+    /**
+     * @return true if the fibers created now are added to the statistics
+     */
+    public boolean isFiberStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    /**
+     * @return the statistics of this engine, or null if they were never enabled
+     * @see #enableFiberStatistics()
+     */
+    public @Nullable FiberStatistics getFiberStatistics() {
+        return statistics;
+    }
+
+    private static boolean getBooleanSystemProperty(String name) {
+        try {
+            return Boolean.getBoolean(name);
+        } catch (SecurityException e) {
+            return false;
+        }
+    }
+
     private static class DaemonThreadFactory implements ThreadFactory {
         static final AtomicInteger poolNumber = new AtomicInteger(1);
         final AtomicInteger threadNumber = new AtomicInteger(1);
@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
@@ -265,6 +266,34 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
      */
     private boolean startedSync;
 
+    /**
+     * {@link FiberMonitor}s of the owner {@link Engine}, captured when the fiber is created.
+     */
+    private final FiberMonitor[] monitors;
+
+    /**
+     * {@link System#nanoTime()} when the fiber was queued or suspended,
+     * only maintained when there are {@link #monitors}.
+     */
+    private long queuedAt;
+    private volatile long suspendedAt;
+
+    /**
+     * Set to 1 while {@link FiberMonitor#fiberSuspended} is reported and
+     * {@link FiberMonitor#fiberResumed} is not, so that a suspended fiber that
+     * is cancelled and a later resume do not both report the resume.
+     */
+    private volatile int suspensionReported;
+    private static final AtomicIntegerFieldUpdater<Fiber> SUSPENSION_REPORTED =
+            AtomicIntegerFieldUpdater.newUpdater(Fiber.class, "suspensionReported");
+
+    /**
+     * Set to 1 once {@link FiberMonitor#fiberCompleted} is reported.
+     */
+    private volatile int completionReported;
+    private static final AtomicIntegerFieldUpdater<Fiber> COMPLETION_REPORTED =
+            AtomicIntegerFieldUpdater.newUpdater(Fiber.class, "completionReported");
+
     /**
      * Callback to be invoked when a {@link Fiber} finishes execution.
      */
@@ -295,6 +324,104 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
         // if this is run from another fiber, then we naturally inherit its context classloader,
         // so this code works for fiber->fiber inheritance just fine.
         contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+        monitors = engine.getFiberMonitors();
+        for (FiberMonitor m : monitors) {
+            try {
+                m.fiberCreated(this);
+            } catch (RuntimeException e) {
+                monitorFailed(m, e);
+            }
+        }
+    }
+
+    /**
+     * Invoked by the {@link Engine} right before this fiber is passed to its executor.
+     */
+    void queued() {
+        if (monitors.length == 0) {
+            return;
+        }
+        queuedAt = System.nanoTime();
+        for (FiberMonitor m : monitors) {
+            try {
+                m.fiberQueued(this);
+            } catch (RuntimeException e) {
+                monitorFailed(m, e);
+            }
+        }
+    }
+
+    private void dequeued() {
+        long queueNanos = System.nanoTime() - queuedAt;
+        queuedAt = 0;
+        for (FiberMonitor m : monitors) {
+            try {
+                m.fiberDequeued(this, queueNanos);
+            } catch (RuntimeException e) {
+                monitorFailed(m, e);
+            }
+        }
+    }
+
+    private void tubeInvoked(Tube tube, FiberMonitor.Phase phase, long nanos) {
+        for (FiberMonitor m : monitors) {
+            try {
+                m.tubeInvoked(this, tube, phase, nanos);
+            } catch (RuntimeException e) {
+                monitorFailed(m, e);
+            }
+        }
+    }
+
+    private void reportSuspended() {
+        if (monitors.length == 0) {
+            return;
+        }
+        suspendedAt = System.nanoTime();
+        if (!SUSPENSION_REPORTED.compareAndSet(this, 0, 1)) {
+            return;
+        }
+        for (FiberMonitor m : monitors) {
+            try {
+                m.fiberSuspended(this);
+            } catch (RuntimeException e) {
+                monitorFailed(m, e);
+            }
+        }
+    }
+
+    private void reportResumed() {
+        if (monitors.length == 0 || !SUSPENSION_REPORTED.compareAndSet(this, 1, 0)) {
+            return;
+        }
+        long suspendedNanos = System.nanoTime() - suspendedAt;
+        for (FiberMonitor m : monitors) {
+            try {
+                m.fiberResumed(this, suspendedNanos);
+            } catch (RuntimeException e) {
+                monitorFailed(m, e);
+            }
+        }
+    }
+
+    private void reportCompleted(boolean canceled) {
+        if (monitors.length == 0 || !COMPLETION_REPORTED.compareAndSet(this, 0, 1)) {
+            return;
+        }
+        // a fiber cancelled while suspended is not suspended anymore
+        reportResumed();
+        for (FiberMonitor m : monitors) {
+            try {
+                m.fiberCompleted(this, canceled);
+            } catch (RuntimeException e) {
+                monitorFailed(m, e);
+            }
+        }
+    }
+
+    private void monitorFailed(FiberMonitor m, RuntimeException e) {
+        LOGGER.log(Level.FINE, "Monitor " + m + " threw exception on " + getName(), e);
     }
 
     /**
@@ -454,6 +581,7 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
                 LOGGER.log(Level.FINE, "{0} resuming. Will have suspendedCount={1}", new Object[]{getName(), suspendedCount-1});
                 packet = resumePacket;
                 if( --suspendedCount == 0 ) {
+                   reportResumed();
                    if (!isInsideSuspendCallbacks) {
                         List<Listener> listeners = getCurrentListeners();
                         for (Listener listener: listeners) {
@@ -587,6 +715,7 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
     @Override
     public void cancel(boolean mayInterrupt) {
         isCanceled = true;
+        reportCompleted(true);
         if (mayInterrupt) {
             // synchronized(this) is used as Thread running Fiber will be holding lock
             synchronized(this) {
@@ -614,6 +743,7 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
 
         List<Listener> listeners = getCurrentListeners();
         if (++suspendedCount == 1) {
+            reportSuspended();
             isInsideSuspendCallbacks = true;
             try {
                 for (Listener listener: listeners) {
@@ -774,6 +904,9 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
     @Deprecated
     @Override
     public void run() {
+        if (queuedAt != 0) {
+            dequeued();
+        }
         Container old = ContainerResolver.getDefault().enterContainer(owner.getContainer());
         try {
             assert !synchronous;
@@ -883,6 +1016,7 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
             if(!isCanceled && contsSize==0 && suspendedCount == 0) {
                 if(isTraceEnabled())
                     LOGGER.log(Level.FINE, "{0} completed", getName());
+                reportCompleted(false);
                 clearListeners();
                 condition.signalAll();
                 if (completionCallback != null) {
@@ -1074,6 +1208,7 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
 
         // if true, lots of debug messages to show what's being executed
         final boolean traceEnabled = LOGGER.isLoggable(Level.FINER);
+        final boolean timed = monitors.length > 0;
 
         try {
             boolean abortResponse = false;
@@ -1097,12 +1232,24 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
                         last = popCont();
                         if (traceEnabled)
                             LOGGER.log(Level.FINER, "{0} {1}.processException({2})", new Object[]{getName(), last, throwable});
-                        na = last.processException(throwable);
+                        if (timed) {
+                            long start = System.nanoTime();
+                            na = last.processException(throwable);
+                            tubeInvoked(last, FiberMonitor.Phase.EXCEPTION, System.nanoTime() - start);
+                        } else {
+                            na = last.processException(throwable);
+                        }
                     } else {
                         if(next!=null) {
                             if(traceEnabled)
                                 LOGGER.log(Level.FINER, "{0} {1}.processRequest({2})", new Object[]{getName(), next, packet != null ? "Packet@"+Integer.toHexString(packet.hashCode()) : "null"});
-                            na = next.processRequest(packet);
+                            if (timed) {
+                                long start = System.nanoTime();
+                                na = next.processRequest(packet);
+                                tubeInvoked(next, FiberMonitor.Phase.REQUEST, System.nanoTime() - start);
+                            } else {
+                                na = next.processRequest(packet);
+                            }
                             last = next;
                         } else {
                             if(contsSize==0 || abortResponse) {
@@ -1113,7 +1260,13 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
                             last = popCont();
                             if(traceEnabled)
                                 LOGGER.log(Level.FINER, "{0} {1}.processResponse({2})", new Object[]{getName(), last, packet != null ? "Packet@"+Integer.toHexString(packet.hashCode()) : "null"});
-                            na = last.processResponse(packet);
+                            if (timed) {
+                                long start = System.nanoTime();
+                                na = last.processResponse(packet);
+                                tubeInvoked(last, FiberMonitor.Phase.RESPONSE, System.nanoTime() - start);
+                            } else {
+                                na = last.processResponse(packet);
+                            }
                         }
                     }
 
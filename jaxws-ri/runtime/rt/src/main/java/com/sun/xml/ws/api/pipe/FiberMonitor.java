@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.api.pipe;
+
+import com.sun.istack.NotNull;
+
+/**
+ * Receives scheduling events of the {@link Fiber}s of an {@link Engine}.
+ *
+ * <p>
+ * Monitors are registered with {@link Engine#addFiberMonitor(FiberMonitor)}
+ * and see the fibers created after the registration. When no monitor is
+ * registered, the {@link Fiber} does not even read the clock.
+ *
+ * <p>
+ * Callbacks are invoked synchronously on the thread that runs the fiber,
+ * so implementations must be thread-safe and return quickly. A
+ * {@link RuntimeException} thrown by a callback is logged and ignored.
+ *
+ * @see FiberStatistics
+ */
+public interface FiberMonitor {
+
+    /**
+     * The {@link Tube} method invoked by the {@link Fiber}.
+     */
+    enum Phase {
+        REQUEST, RESPONSE, EXCEPTION
+    }
+
+    /**
+     * A fiber was created by {@link Engine#createFiber()}.
+     */
+    void fiberCreated(@NotNull Fiber fiber);
+
+    /**
+     * A fiber was handed to the executor of the {@link Engine}.
+     */
+    void fiberQueued(@NotNull Fiber fiber);
+
+    /**
+     * A queued fiber started running on a thread of the executor.
+     *
+     * @param queueNanos time spent waiting in the executor
+     */
+    void fiberDequeued(@NotNull Fiber fiber, long queueNanos);
+
+    /**
+     * A {@link Tube} method returned to the fiber.
+     *
+     * @param nanos time spent in the method, excluding the tubes it asked the fiber to invoke next
+     */
+    void tubeInvoked(@NotNull Fiber fiber, @NotNull Tube tube, @NotNull Phase phase, long nanos);
+
+    /**
+     * A fiber was suspended.
+     */
+    void fiberSuspended(@NotNull Fiber fiber);
+
+    /**
+     * A suspended fiber was resumed, or was cancelled while suspended,
+     * in which case it is invoked right before {@link #fiberCompleted}.
+     *
+     * @param suspendedNanos time spent suspended
+     */
+    void fiberResumed(@NotNull Fiber fiber, long suspendedNanos);
+
+    /**
+     * A fiber completed or was cancelled. Invoked at most once per fiber.
+     *
+     * @param canceled true if the fiber was cancelled with {@link Fiber#cancel(boolean)}
+     */
+    void fiberCompleted(@NotNull Fiber fiber, boolean canceled);
+}
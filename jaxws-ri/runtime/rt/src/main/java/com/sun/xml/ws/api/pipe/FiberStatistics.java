@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.api.pipe;
+
+import com.sun.istack.NotNull;
+import com.sun.xml.ws.util.LatencyHistogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link FiberMonitor} that keeps counters and latency histograms
+ * of the fibers of an {@link Engine}.
+ *
+ * <p>
+ * Enabled with {@link Engine#enableFiberStatistics()}, or for every engine
+ * with the {@code com.sun.xml.ws.api.pipe.Engine.statistics} system property.
+ * An engine keeps its statistics when they are disabled, and enabling them
+ * again continues to collect into the same object.
+ * Endpoint statistics are exposed through the endpoint MBean.
+ */
+public final class FiberStatistics implements FiberMonitor {
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder canceled = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder suspended = new LongAdder();
+
+    private final LatencyHistogram queueTime = new LatencyHistogram();
+    private final LatencyHistogram suspendTime = new LatencyHistogram();
+
+    /**
+     * Histograms of each tube class, indexed by {@link Phase#ordinal()}.
+     * A histogram is created the first time its method is invoked.
+     */
+    private final ConcurrentHashMap<Class<?>, AtomicReferenceArray<LatencyHistogram>> tubeTimes = new ConcurrentHashMap<>();
+
+    FiberStatistics() {
+    }
+
+    @Override
+    public void fiberCreated(@NotNull Fiber fiber) {
+        created.increment();
+    }
+
+    @Override
+    public void fiberQueued(@NotNull Fiber fiber) {
+        queued.increment();
+    }
+
+    @Override
+    public void fiberDequeued(@NotNull Fiber fiber, long queueNanos) {
+        queued.decrement();
+        queueTime.record(queueNanos);
+    }
+
+    @Override
+    public void tubeInvoked(@NotNull Fiber fiber, @NotNull Tube tube, @NotNull Phase phase, long nanos) {
+        AtomicReferenceArray<LatencyHistogram> histograms = tubeTimes.get(tube.getClass());
+        if (histograms == null) {
+            histograms = tubeTimes.computeIfAbsent(tube.getClass(),
+                    k -> new AtomicReferenceArray<>(Phase.values().length));
+        }
+        LatencyHistogram h = histograms.get(phase.ordinal());
+        if (h == null) {
+            h = new LatencyHistogram();
+            if (!histograms.compareAndSet(phase.ordinal(), null, h)) {
+                h = histograms.get(phase.ordinal());
+            }
+        }
+        h.record(nanos);
+    }
+
+    @Override
+    public void fiberSuspended(@NotNull Fiber fiber) {
+        suspended.increment();
+    }
+
+    @Override
+    public void fiberResumed(@NotNull Fiber fiber, long suspendedNanos) {
+        suspended.decrement();
+        suspendTime.record(suspendedNanos);
+    }
+
+    @Override
+    public void fiberCompleted(@NotNull Fiber fiber, boolean canceled) {
+        (canceled ? this.canceled : completed).increment();
+    }
+
+    /**
+     * @return the number of fibers created since the statistics were enabled
+     */
+    public long getCreatedCount() {
+        return created.sum();
+    }
+
+    /**
+     * @return the number of fibers that completed normally or with an exception
+     */
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    /**
+     * @return the number of fibers that were cancelled
+     */
+    public long getCanceledCount() {
+        return canceled.sum();
+    }
+
+    /**
+     * @return the number of fibers created and not yet completed or cancelled
+     */
+    public long getActiveCount() {
+        return created.sum() - completed.sum() - canceled.sum();
+    }
+
+    /**
+     * @return the number of fibers waiting in the executor for a thread
+     */
+    public long getQueuedCount() {
+        return queued.sum();
+    }
+
+    /**
+     * @return the number of suspended fibers
+     */
+    public long getSuspendedCount() {
+        return suspended.sum();
+    }
+
+    /**
+     * @return time spent by fibers waiting in the executor for a thread
+     */
+    public LatencyHistogram getQueueTime() {
+        return queueTime;
+    }
+
+    /**
+     * @return time spent by fibers suspended
+     */
+    public LatencyHistogram getSuspendTime() {
+        return suspendTime;
+    }
+
+    /**
+     * Gets the time spent in each tube method.
+     *
+     * @return histograms keyed by the tube class and method name,
+     *         for example {@code com.sun.xml.ws.server.InvokerTube.processRequest}
+     */
+    public Map<String, LatencyHistogram> getTubeTimes() {
+        Map<String, LatencyHistogram> r = new TreeMap<>();
+        for (Map.Entry<Class<?>, AtomicReferenceArray<LatencyHistogram>> e : tubeTimes.entrySet()) {
+            AtomicReferenceArray<LatencyHistogram> histograms = e.getValue();
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram h = histograms.get(phase.ordinal());
+                if (h != null) {
+                    r.put(e.getKey().getName() + '.' + methodName(phase), h);
+                }
+            }
+        }
+        return r;
+    }
+
+    private static String methodName(Phase phase) {
+        switch (phase) {
+            case REQUEST:
+                return "processRequest";
+            case RESPONSE:
+                return "processResponse";
+            default:
+                return "processException";
+        }
+    }
+}
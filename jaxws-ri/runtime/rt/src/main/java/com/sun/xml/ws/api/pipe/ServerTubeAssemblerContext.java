@@ -21,6 +21,7 @@ import com.sun.xml.ws.api.pipe.helper.PipeAdapter;
 import com.sun.xml.ws.api.server.ServerPipelineHook;
 import com.sun.xml.ws.api.server.WSEndpoint;
 import com.sun.xml.ws.binding.BindingImpl;
+import com.sun.xml.ws.client.HandlerConfiguration;
 import com.sun.xml.ws.developer.SchemaValidationFeature;
 import com.sun.xml.ws.handler.HandlerTube;
 import com.sun.xml.ws.handler.ServerLogicalHandlerTube;
@@ -131,17 +132,32 @@ public class ServerTubeAssemblerContext {
 
     /**
      * Creates a {@link Tube} that invokes protocol and logical handlers.
+     *
+     * <p>
+     * The handler chain of an endpoint does not change once it is deployed,
+     * so only the tubes for the kinds of handlers it has are added.
      */
     public @NotNull Tube createHandlerTube(@NotNull Tube next) {
         if (!binding.getHandlerChain().isEmpty()) {
-            HandlerTube cousin = new ServerLogicalHandlerTube(binding, seiModel, wsdlModel, next);
-            next = cousin;
+            HandlerConfiguration handlerConfig = ((BindingImpl) binding).getHandlerConfig();
+            HandlerTube cousin = null;
+            if (!handlerConfig.getLogicalHandlers().isEmpty() || !(binding instanceof SOAPBinding)) {
+                next = cousin = new ServerLogicalHandlerTube(binding, seiModel, wsdlModel, next);
+            }
             if (binding instanceof SOAPBinding) {
                 //Add SOAPHandlerTube
-                next = cousin = new ServerSOAPHandlerTube(binding, next, cousin);
+                if (!handlerConfig.getSoapHandlers().isEmpty()) {
+                    next = cousin = (cousin == null)
+                            ? new ServerSOAPHandlerTube(binding, wsdlModel, next)
+                            : new ServerSOAPHandlerTube(binding, next, cousin);
+                }
 
                 //Add MessageHandlerTube
-                next = new ServerMessageHandlerTube(seiModel, binding, next, cousin);
+                if (!handlerConfig.getMessageHandlers().isEmpty()) {
+                    next = (cousin == null)
+                            ? new ServerMessageHandlerTube(seiModel, binding, wsdlModel, next)
+                            : new ServerMessageHandlerTube(seiModel, binding, next, cousin);
+                }
             }
         }
         return next;
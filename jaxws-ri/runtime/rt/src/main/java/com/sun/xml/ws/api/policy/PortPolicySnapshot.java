@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.api.policy;
+
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
+import com.sun.xml.ws.api.model.wsdl.WSDLBoundFault;
+import com.sun.xml.ws.api.model.wsdl.WSDLBoundOperation;
+import com.sun.xml.ws.api.model.wsdl.WSDLPort;
+import com.sun.xml.ws.policy.Policy;
+import com.sun.xml.ws.policy.PolicyException;
+import com.sun.xml.ws.policy.PolicyMap;
+import com.sun.xml.ws.policy.PolicyMapKey;
+
+import javax.xml.namespace.QName;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The effective policies of a {@link WSDLPort}, computed once from a {@link PolicyMap}.
+ *
+ * <p>
+ * Every {@link PolicyMap} lookup merges the policies attached to the scope again.
+ * The tubeline assembly contexts take one snapshot of the port, once the policy map is
+ * complete, and hand it to all the tube creators of the tubeline. A tube shares it with
+ * its copies:
+ *
+ * <pre>
+ * PortPolicySnapshot policies = context.getPolicySnapshot();
+ * ...
+ * int ordinal = policies.ordinal(boundOperation);
+ * Policy input = policies.getInputMessagePolicy(ordinal);
+ * </pre>
+ *
+ * The bound operations are numbered in the order of {@link com.sun.xml.ws.api.model.wsdl.WSDLBoundPortType#getBindingOperations()},
+ * and the policies are looked up in arrays by that ordinal.
+ *
+ * <p>
+ * A snapshot is immutable: changes made to the policy map after it is created are not seen.
+ */
+public final class PortPolicySnapshot {
+
+    private final Policy servicePolicy;
+    private final Policy endpointPolicy;
+    private final WSDLBoundOperation[] operations;
+    private final Map<QName, Integer> ordinals;
+    private final Policy[] operationPolicies;
+    private final Policy[] inputMessagePolicies;
+    private final Policy[] outputMessagePolicies;
+    private final Map<String, Policy>[] faultMessagePolicies;
+
+    @SuppressWarnings("unchecked")
+    private PortPolicySnapshot(PolicyMap map, WSDLPort port) throws PolicyException {
+        final QName service = port.getOwner().getName();
+        final QName portName = port.getName();
+
+        final List<WSDLBoundOperation> boundOperations = new ArrayList<WSDLBoundOperation>();
+        for (WSDLBoundOperation operation : port.getBinding().getBindingOperations()) {
+            boundOperations.add(operation);
+        }
+        final int count = boundOperations.size();
+        operations = boundOperations.toArray(new WSDLBoundOperation[count]);
+        ordinals = new HashMap<QName, Integer>(count * 2);
+        operationPolicies = new Policy[count];
+        inputMessagePolicies = new Policy[count];
+        outputMessagePolicies = new Policy[count];
+        faultMessagePolicies = new Map[count];
+
+        if (map == null) {
+            servicePolicy = null;
+            endpointPolicy = null;
+        } else {
+            servicePolicy = map.getServiceEffectivePolicy(PolicyMap.createWsdlServiceScopeKey(service));
+            endpointPolicy = map.getEndpointEffectivePolicy(PolicyMap.createWsdlEndpointScopeKey(service, portName));
+        }
+
+        for (int i = 0; i < count; i++) {
+            final WSDLBoundOperation operation = operations[i];
+            ordinals.put(operation.getName(), i);
+            faultMessagePolicies[i] = Collections.emptyMap();
+            if (map == null) {
+                continue;
+            }
+
+            // the keys are built like PolicyWSDLParserExtension builds them, in the namespace of the binding
+            final String namespace = operation.getBoundPortType().getName().getNamespaceURI();
+            final QName operationName = new QName(namespace, operation.getName().getLocalPart());
+            operationPolicies[i] = map.getOperationEffectivePolicy(
+                    PolicyMap.createWsdlOperationScopeKey(service, portName, operationName));
+            final PolicyMapKey messageKey = PolicyMap.createWsdlMessageScopeKey(service, portName, operationName);
+            inputMessagePolicies[i] = map.getInputMessageEffectivePolicy(messageKey);
+            outputMessagePolicies[i] = map.getOutputMessageEffectivePolicy(messageKey);
+
+            Map<String, Policy> faults = null;
+            for (WSDLBoundFault fault : operation.getFaults()) {
+                final Policy policy = map.getFaultMessageEffectivePolicy(PolicyMap.createWsdlFaultMessageScopeKey(
+                        service, portName, operationName, new QName(namespace, fault.getName())));
+                if (policy != null) {
+                    if (faults == null) {
+                        faults = new HashMap<String, Policy>();
+                    }
+                    faults.put(fault.getName(), policy);
+                }
+            }
+            if (faults != null) {
+                faultMessagePolicies[i] = faults;
+            }
+        }
+    }
+
+    /**
+     * Computes the effective policies of a port.
+     *
+     * @param map the policy map, after the alternatives are selected. If it is null,
+     *        all the policies of the snapshot are null.
+     * @param port the port, with its binding
+     * @throws PolicyException if an effective policy could not be computed
+     */
+    public static @NotNull PortPolicySnapshot create(@Nullable PolicyMap map, @NotNull WSDLPort port) throws PolicyException {
+        return new PortPolicySnapshot(map, port);
+    }
+
+    /**
+     * @return the effective policy of the service of the port, or null if it has none
+     */
+    public @Nullable Policy getServicePolicy() {
+        return servicePolicy;
+    }
+
+    /**
+     * @return the effective policy of the port, or null if it has none
+     */
+    public @Nullable Policy getEndpointPolicy() {
+        return endpointPolicy;
+    }
+
+    /**
+     * @return the number of bound operations of the port
+     */
+    public int getOperationCount() {
+        return operations.length;
+    }
+
+    /**
+     * @param ordinal between 0 and {@link #getOperationCount()} - 1
+     */
+    public @NotNull WSDLBoundOperation getOperation(int ordinal) {
+        return operations[ordinal];
+    }
+
+    /**
+     * @param operationName the {@link WSDLBoundOperation#getName() name} of a bound operation
+     * @return the ordinal of the operation, or -1 if the port has no such operation
+     */
+    public int ordinal(@NotNull QName operationName) {
+        final Integer ordinal = ordinals.get(operationName);
+        return (ordinal == null) ? -1 : ordinal;
+    }
+
+    /**
+     * @return the ordinal of the operation, or -1 if the port has no operation of that name
+     */
+    public int ordinal(@NotNull WSDLBoundOperation operation) {
+        return ordinal(operation.getName());
+    }
+
+    /**
+     * @return the effective policy of the operation, or null if it has none
+     */
+    public @Nullable Policy getOperationPolicy(int ordinal) {
+        return operationPolicies[ordinal];
+    }
+
+    /**
+     * @return the effective policy of the input message of the operation, or null if it has none
+     */
+    public @Nullable Policy getInputMessagePolicy(int ordinal) {
+        return inputMessagePolicies[ordinal];
+    }
+
+    /**
+     * @return the effective policy of the output message of the operation, or null if it has none
+     */
+    public @Nullable Policy getOutputMessagePolicy(int ordinal) {
+        return outputMessagePolicies[ordinal];
+    }
+
+    /**
+     * @param faultName the {@link WSDLBoundFault#getName() name} of a fault of the operation
+     * @return the effective policy of the fault message, or null if it has none
+     */
+    public @Nullable Policy getFaultMessagePolicy(int ordinal, @NotNull String faultName) {
+        return faultMessagePolicies[ordinal].get(faultName);
+    }
+}
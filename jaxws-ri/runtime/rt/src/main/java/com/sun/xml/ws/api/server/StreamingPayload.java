@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.api.server;
+
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.message.StreamingPayloadMessage;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import jakarta.xml.ws.Provider;
+import jakarta.xml.ws.WebServiceException;
+
+/**
+ * Payload of a provider endpoint that processes messages too large to be held
+ * in memory, one body element at a time.
+ *
+ * <p>
+ * Endpoints implement {@link Provider}&lt;StreamingPayload&gt; or
+ * {@link AsyncProvider}&lt;StreamingPayload&gt;, in either service mode.
+ * The request is read through {@link #getReader()}, a cursor over the children
+ * of the SOAP body that pulls from the transport as it moves, so a slow endpoint
+ * slows down the client instead of buffering the request. The response is created
+ * with {@link #create(SOAPVersion, QName, Writer)}, and its {@link Writer} is only
+ * called when the response is sent, to write the body straight to the transport.
+ *
+ * <p>
+ * An {@link AsyncProvider} can hand the reader over to its own threads and return:
+ * the request stays open, and no thread of the JAX-WS RI is held, until the response
+ * is given to the {@link AsyncProviderCallback}. Those threads may stop between two
+ * elements, for example while the previous ones are stored:
+ *
+ * <pre>
+ * &#64;WebServiceProvider
+ * class BulkImport implements AsyncProvider&lt;StreamingPayload&gt; {
+ *     public void invoke(StreamingPayload request, AsyncProviderCallback&lt;StreamingPayload&gt; callback, WebServiceContext context) {
+ *         exec.execute(() -&gt; {
+ *             XMLStreamReader reader = request.getReader();
+ *             int count = 0;
+ *             while (reader.isStartElement()) {
+ *                 store.add(reader);   // reads one element, up to its end tag
+ *                 reader.nextTag();
+ *                 count++;
+ *             }
+ *             callback.send(StreamingPayload.create(SOAPVersion.SOAP_11, RESULT, w -&gt; {
+ *                 w.writeStartElement(RESULT.getNamespaceURI(), RESULT.getLocalPart());
+ *                 w.writeCharacters(String.valueOf(count));
+ *                 w.writeEndElement();
+ *             }));
+ *         });
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>
+ * Handlers, logging or security that need the whole message still work,
+ * but they buffer it.
+ *
+ * @see AsyncProvider
+ */
+public final class StreamingPayload {
+
+    private final Message message;
+
+    private StreamingPayload(Message message) {
+        this.message = message;
+    }
+
+    /**
+     * Wraps a request message.
+     */
+    public static @NotNull StreamingPayload of(@NotNull Message request) {
+        return new StreamingPayload(request);
+    }
+
+    /**
+     * Creates a response whose body is written by a {@link Writer}.
+     *
+     * @param soapVersion
+     *      SOAP version of the endpoint.
+     * @param payloadName
+     *      Name of the first element written by the writer. It is what the rest of the
+     *      runtime sees of the response without reading it, for example to tell a fault.
+     * @param writer
+     *      Writes the children of the SOAP body, once.
+     */
+    public static @NotNull StreamingPayload create(@NotNull SOAPVersion soapVersion, @NotNull QName payloadName, @NotNull Writer writer) {
+        return new StreamingPayload(new StreamingPayloadMessage(soapVersion, payloadName, writer));
+    }
+
+    /**
+     * Gets the cursor over the children of the SOAP body of a request.
+     *
+     * <p>
+     * The reader is on the start tag of the first child. Once the last child is
+     * read, it is on the end tag of the body. It can only be obtained once, as
+     * it consumes the message.
+     *
+     * @return null if the body is empty
+     */
+    public @Nullable XMLStreamReader getReader() {
+        if (!message.hasPayload()) {
+            return null;
+        }
+        try {
+            return message.readPayload();
+        } catch (XMLStreamException e) {
+            throw new WebServiceException(e);
+        }
+    }
+
+    /**
+     * Gets the message, for example to read its headers before the body.
+     */
+    public @NotNull Message getMessage() {
+        return message;
+    }
+
+    /**
+     * Writes the body of a response created with {@link StreamingPayload#create(SOAPVersion, QName, Writer)}.
+     */
+    public interface Writer {
+        /**
+         * Writes the children of the SOAP body.
+         *
+         * <p>
+         * It is called once, when the response is sent, and what it writes goes to
+         * the transport as it is written. As the response is already being sent,
+         * an exception can't be turned into a fault: it aborts the response.
+         */
+        void writeTo(@NotNull XMLStreamWriter writer) throws XMLStreamException;
+    }
+}
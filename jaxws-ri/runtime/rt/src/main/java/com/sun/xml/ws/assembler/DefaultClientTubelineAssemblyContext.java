@@ -24,10 +24,14 @@ import com.sun.xml.ws.api.model.SEIModel;
 import com.sun.xml.ws.api.model.wsdl.WSDLPort;
 import com.sun.xml.ws.api.pipe.ClientTubeAssemblerContext;
 import com.sun.xml.ws.api.pipe.Codec;
+import com.sun.xml.ws.api.policy.PortPolicySnapshot;
 import com.sun.xml.ws.api.server.Container;
 import com.sun.xml.ws.assembler.dev.ClientTubelineAssemblyContext;
+import com.sun.xml.ws.policy.PolicyException;
 import com.sun.xml.ws.policy.PolicyMap;
 
+import jakarta.xml.ws.WebServiceException;
+
 /**
  * The context is a wrapper around the existing JAX-WS {@link ClientTubeAssemblerContext} with additional features
  * 
@@ -37,6 +41,7 @@ class DefaultClientTubelineAssemblyContext extends TubelineAssemblyContextImpl i
 
     private final @NotNull ClientTubeAssemblerContext wrappedContext;
     private final PolicyMap policyMap;
+    private PortPolicySnapshot policySnapshot;
     private final WSPortInfo portInfo; // TODO: is this really needed?
     private final WSDLPort wsdlPort;
     // TODO: replace the PipeConfiguration
@@ -56,6 +61,17 @@ class DefaultClientTubelineAssemblyContext extends TubelineAssemblyContextImpl i
         return policyMap != null && !policyMap.isEmpty();
     }
 
+    public @Nullable PortPolicySnapshot getPolicySnapshot() {
+        if (policySnapshot == null && wsdlPort != null) {
+            try {
+                policySnapshot = PortPolicySnapshot.create(policyMap, wsdlPort);
+            } catch (PolicyException e) {
+                throw new WebServiceException(e);
+            }
+        }
+        return policySnapshot;
+    }
+
     /**
      * The created pipeline will be used to serve this port.
      * Null if the service isn't associated with any port definition in WSDL,
@@ -21,10 +21,14 @@ import com.sun.xml.ws.api.model.wsdl.WSDLPort;
 import com.sun.xml.ws.api.pipe.Codec;
 import com.sun.xml.ws.api.pipe.ServerTubeAssemblerContext;
 import com.sun.xml.ws.api.pipe.Tube;
+import com.sun.xml.ws.api.policy.PortPolicySnapshot;
 import com.sun.xml.ws.api.server.WSEndpoint;
 import com.sun.xml.ws.assembler.dev.ServerTubelineAssemblyContext;
+import com.sun.xml.ws.policy.PolicyException;
 import com.sun.xml.ws.policy.PolicyMap;
 
+import jakarta.xml.ws.WebServiceException;
+
 /**
  * The context is a wrapper around the existing JAX-WS {@link ServerTubeAssemblerContext} with additional features
  *
@@ -34,6 +38,7 @@ class DefaultServerTubelineAssemblyContext extends TubelineAssemblyContextImpl i
 
     private final @NotNull ServerTubeAssemblerContext wrappedContext;
     private final PolicyMap policyMap;
+    private PortPolicySnapshot policySnapshot;
     // TODO: add next tube getter/package-private setter
     // TODO: replace the PipeConfiguration
 
@@ -50,6 +55,17 @@ class DefaultServerTubelineAssemblyContext extends TubelineAssemblyContextImpl i
         return policyMap != null && !policyMap.isEmpty();
     }
 
+    public @Nullable PortPolicySnapshot getPolicySnapshot() {
+        if (policySnapshot == null && wrappedContext.getWsdlModel() != null) {
+            try {
+                policySnapshot = PortPolicySnapshot.create(policyMap, wrappedContext.getWsdlModel());
+            } catch (PolicyException e) {
+                throw new WebServiceException(e);
+            }
+        }
+        return policySnapshot;
+    }
+
     /**
      * The created pipeline will use seiModel to get java concepts for the endpoint
      *
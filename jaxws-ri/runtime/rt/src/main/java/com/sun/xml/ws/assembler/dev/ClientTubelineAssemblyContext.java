@@ -20,6 +20,7 @@ import com.sun.xml.ws.api.model.SEIModel;
 import com.sun.xml.ws.api.model.wsdl.WSDLPort;
 import com.sun.xml.ws.api.pipe.ClientTubeAssemblerContext;
 import com.sun.xml.ws.api.pipe.Codec;
+import com.sun.xml.ws.api.policy.PortPolicySnapshot;
 import com.sun.xml.ws.api.server.Container;
 import com.sun.xml.ws.policy.PolicyMap;
 
@@ -60,6 +61,24 @@ public interface ClientTubelineAssemblyContext extends TubelineAssemblyContext {
 
     PolicyMap getPolicyMap();
 
+    /**
+     * The effective policies of the port of the created pipeline, computed from {@link #getPolicyMap()}
+     * the first time they are asked for and shared by all the tubes of the pipeline. Tubes that look up
+     * the policies of the operations or messages should use it instead of querying the policy map.
+     *
+     * <p>
+     * The default implementation returns null, so tubes fall back to {@link #getPolicyMap()}
+     * with contexts that do not provide a snapshot.
+     *
+     * @return Null if the service isn't associated with any port definition in WSDL
+     *         or if the context does not provide a snapshot, and otherwise non-null.
+     * @throws jakarta.xml.ws.WebServiceException if an effective policy could not be computed
+     */
+    @Nullable
+    default PortPolicySnapshot getPolicySnapshot() {
+        return null;
+    }
+
     WSPortInfo getPortInfo();
 
     /**
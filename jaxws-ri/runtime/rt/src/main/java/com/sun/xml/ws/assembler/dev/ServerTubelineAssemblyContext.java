@@ -17,6 +17,7 @@ import com.sun.xml.ws.api.model.wsdl.WSDLPort;
 import com.sun.xml.ws.api.pipe.Codec;
 import com.sun.xml.ws.api.pipe.ServerTubeAssemblerContext;
 import com.sun.xml.ws.api.pipe.Tube;
+import com.sun.xml.ws.api.policy.PortPolicySnapshot;
 import com.sun.xml.ws.api.server.WSEndpoint;
 import com.sun.xml.ws.policy.PolicyMap;
 
@@ -50,6 +51,24 @@ public interface ServerTubelineAssemblyContext extends TubelineAssemblyContext {
 
     PolicyMap getPolicyMap();
 
+    /**
+     * The effective policies of the port of the created pipeline, computed from {@link #getPolicyMap()}
+     * the first time they are asked for and shared by all the tubes of the pipeline. Tubes that look up
+     * the policies of the operations or messages should use it instead of querying the policy map.
+     *
+     * <p>
+     * The default implementation returns null, so tubes fall back to {@link #getPolicyMap()}
+     * with contexts that do not provide a snapshot.
+     *
+     * @return Null if the service isn't associated with any port definition in WSDL
+     *         or if the context does not provide a snapshot, and otherwise non-null.
+     * @throws jakarta.xml.ws.WebServiceException if an effective policy could not be computed
+     */
+    @Nullable
+    default PortPolicySnapshot getPolicySnapshot() {
+        return null;
+    }
+
     /**
      * The created pipeline will use seiModel to get java concepts for the endpoint
      *
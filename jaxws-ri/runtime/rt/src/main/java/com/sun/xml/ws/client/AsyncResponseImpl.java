@@ -18,6 +18,10 @@ import jakarta.xml.ws.AsyncHandler;
 import jakarta.xml.ws.Response;
 import jakarta.xml.ws.WebServiceException;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.FutureTask;
 
 /**
@@ -25,6 +29,11 @@ import java.util.concurrent.FutureTask;
  * request to Fiber and returns. When the Fiber finishes the execution, it sets
  * response in the {@link FutureTask}
  *
+ * <p>
+ * The response is also available as a {@link CompletableFuture}, which is completed
+ * along with the {@link FutureTask}, on the thread that completes the Fiber unless
+ * a completion {@link Executor} is set.
+ *
  * @author Jitendra Kotamraju
  */
 public final class AsyncResponseImpl<T> extends FutureTask<T> implements Response<T>, ResponseContextReceiver {
@@ -38,6 +47,16 @@ public final class AsyncResponseImpl<T> extends FutureTask<T> implements Respons
     private final Runnable callable;
     private Cancelable cancelable;
 
+    /**
+     * {@link CompletableFuture} view of this response, created on demand.
+     */
+    private volatile CompletableFuture<T> completableFuture;
+
+    /**
+     * Completes {@link #completableFuture}, or null to complete it directly.
+     */
+    private volatile Executor completionExecutor;
+
     /**
      *
      * @param runnable
@@ -111,6 +130,77 @@ public final class AsyncResponseImpl<T> extends FutureTask<T> implements Respons
         }
     }
     
+    /**
+     * Sets the {@link Executor} that completes the {@link CompletableFuture}
+     * of this response, or null to complete it on the thread that completes
+     * the Fiber.
+     */
+    public void setCompletionExecutor(@Nullable Executor executor) {
+        this.completionExecutor = executor;
+    }
+
+    /**
+     * Gets this response as a {@link CompletableFuture}.
+     *
+     * <p>
+     * Cancelling the returned future cancels this response.
+     */
+    public CompletableFuture<T> toCompletableFuture() {
+        CompletableFuture<T> cf = completableFuture;
+        if (cf == null) {
+            synchronized (this) {
+                cf = completableFuture;
+                if (cf == null) {
+                    cf = new CompletableFuture<T>() {
+                        @Override
+                        public boolean cancel(boolean mayInterruptIfRunning) {
+                            AsyncResponseImpl.this.cancel(mayInterruptIfRunning);
+                            return super.cancel(mayInterruptIfRunning);
+                        }
+                    };
+                    completableFuture = cf;
+                }
+            }
+            // the response may have been done before the future was published
+            if (isDone()) {
+                complete(cf);
+            }
+        }
+        return cf;
+    }
+
+    @Override
+    protected void done() {
+        final CompletableFuture<T> cf = completableFuture;
+        if (cf == null) {
+            return;
+        }
+        Executor executor = completionExecutor;
+        if (executor == null) {
+            complete(cf);
+        } else {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    complete(cf);
+                }
+            });
+        }
+    }
+
+    private void complete(CompletableFuture<T> cf) {
+        try {
+            cf.complete(get());
+        } catch (ExecutionException e) {
+            cf.completeExceptionally(e.getCause());
+        } catch (CancellationException e) {
+            cf.completeExceptionally(e);
+        } catch (InterruptedException e) {
+            // can't happen, the task is done
+            Thread.currentThread().interrupt();
+        }
+    }
+
     public void setCancelable(Cancelable cancelable) {
     	this.cancelable = cancelable;
     }
@@ -304,7 +304,7 @@ public final class RequestContext extends BaseDistributedPropertySet {
     private void mergeRequestHeaders(Packet packet) {
         //for bug 12883765
         //retrieve headers which is set in soap message
-        Headers packetHeaders = (Headers) packet.invocationProperties.get(HTTP_REQUEST_HEADERS);
+        Headers packetHeaders = (Headers) packet.getInvocationProperty(Packet.HTTP_REQUEST_HEADERS_SLOT);
         //retrieve headers from request context
         Map<String, List<String>> myHeaders = (Map<String, List<String>>) asMap().get(HTTP_REQUEST_HEADERS);
         if ((packetHeaders != null) && (myHeaders != null)) {
@@ -330,7 +330,7 @@ public final class RequestContext extends BaseDistributedPropertySet {
     private void fillSOAPAction(Packet packet, boolean isAddressingEnabled) {
         final boolean p = packet.packetTakesPriorityOverRequestContext;
         final String  localSoapAction    = p ? packet.soapAction : soapAction;
-        final Boolean localSoapActionUse = p ? (Boolean) packet.invocationProperties.get(BindingProvider.SOAPACTION_USE_PROPERTY)
+        final Boolean localSoapActionUse = p ? (Boolean) packet.getInvocationProperty(Packet.SOAPACTION_USE_SLOT)
                                              : soapActionUse;
 
         //JAX-WS-596: Check the semantics of SOAPACTION_USE_PROPERTY before using the SOAPACTION_URI_PROPERTY for
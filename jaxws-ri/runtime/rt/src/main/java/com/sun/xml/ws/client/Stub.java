@@ -25,6 +25,7 @@ import com.sun.xml.ws.api.WSBinding;
 import com.sun.xml.ws.api.WSService;
 import com.sun.xml.ws.api.addressing.AddressingVersion;
 import com.sun.xml.ws.api.addressing.WSEndpointReference;
+import com.sun.xml.ws.api.client.AsyncCompletionFeature;
 import com.sun.xml.ws.api.client.WSPortInfo;
 import com.sun.xml.ws.api.message.AddressingUtils;
 import com.sun.xml.ws.api.message.Header;
@@ -507,6 +508,10 @@ public abstract class Stub implements WSBindingProvider, ResponseContextReceiver
         configureFiber(fiber);
         
         receiver.setCancelable(fiber);
+        AsyncCompletionFeature completion = binding.getFeature(AsyncCompletionFeature.class);
+        if (completion != null) {
+            receiver.setCompletionExecutor(completion.getExecutor());
+        }
         
         // check race condition on cancel
         if (receiver.isCancelled()) {
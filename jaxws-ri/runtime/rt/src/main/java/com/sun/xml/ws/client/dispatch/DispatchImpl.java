@@ -378,14 +378,14 @@ public abstract class DispatchImpl<T> extends Stub implements Dispatch<T> {
 
         String pathInfo = null;
         String queryString = null;
-        if (p && message.invocationProperties.get(MessageContext.PATH_INFO) != null) {
-            pathInfo = (String) message.invocationProperties.get(MessageContext.PATH_INFO);
+        if (p && message.getInvocationProperty(Packet.PATH_INFO_SLOT) != null) {
+            pathInfo = (String) message.getInvocationProperty(Packet.PATH_INFO_SLOT);
         } else if (requestContext.get(MessageContext.PATH_INFO) != null) {
             pathInfo = (String) requestContext.get(MessageContext.PATH_INFO);
         }
 
-        if (p && message.invocationProperties.get(MessageContext.QUERY_STRING) != null) {
-            queryString = (String) message.invocationProperties.get(MessageContext.QUERY_STRING);
+        if (p && message.getInvocationProperty(Packet.QUERY_STRING_SLOT) != null) {
+            queryString = (String) message.getInvocationProperty(Packet.QUERY_STRING_SLOT);
         } else if (requestContext.get(MessageContext.QUERY_STRING) != null) {
             queryString = (String) requestContext.get(MessageContext.QUERY_STRING);
         }
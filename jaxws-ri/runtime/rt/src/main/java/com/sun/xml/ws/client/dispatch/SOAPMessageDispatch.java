@@ -25,7 +25,6 @@ import jakarta.xml.soap.SOAPException;
 import jakarta.xml.soap.SOAPMessage;
 import jakarta.xml.ws.Service;
 import jakarta.xml.ws.WebServiceException;
-import jakarta.xml.ws.handler.MessageContext;
 
 import java.util.Iterator;
 
@@ -58,7 +57,7 @@ public class SOAPMessageDispatch extends com.sun.xml.ws.client.dispatch.Dispatch
             ch.add(mh.getName(), mh.getValue());
         }
         Packet packet = new Packet(SAAJFactory.create(arg));
-        packet.invocationProperties.put(MessageContext.HTTP_REQUEST_HEADERS, ch);
+        packet.setInvocationProperty(Packet.HTTP_REQUEST_HEADERS_SLOT, ch);
         return packet;
     }
 
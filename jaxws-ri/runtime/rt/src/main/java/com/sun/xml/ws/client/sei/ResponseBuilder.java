@@ -588,10 +588,10 @@ public abstract class ResponseBuilder {
                 } else {                
                     try {                        
                         tempParts.add(new PartBuilder(
-                                    wp.getOwner().getBindingContext().getElementPropertyAccessor(
+                                    RepeatedElementBridge.adapt(wp.getOwner().getBindingContext().getElementPropertyAccessor(
                                         wrapperType,
                                         name.getNamespaceURI(),
-                                        p.getName().getLocalPart()),
+                                        p.getName().getLocalPart()), p.getTypeInfo()),
                                     setterFactory.get(p)
                                 ));
                         // wrapper parameter itself always bind to body, and
@@ -17,6 +17,7 @@ import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.attachment.AttachmentMarshaller;
 import jakarta.xml.bind.attachment.AttachmentUnmarshaller;
 import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.Result;
@@ -27,7 +28,9 @@ import org.xml.sax.ContentHandler;
 
 import org.glassfish.jaxb.runtime.api.Bridge;
 import org.glassfish.jaxb.runtime.api.CompositeStructure;
+import com.sun.xml.ws.api.streaming.XMLStreamWriterFactory;
 import com.sun.xml.ws.spi.db.BindingContext;
+import com.sun.xml.ws.spi.db.RepeatedElementBridge;
 import com.sun.xml.ws.spi.db.XMLBridge;
 import com.sun.xml.ws.spi.db.TypeInfo;
 import com.sun.xml.ws.spi.db.WrapperComposite;
@@ -37,6 +40,15 @@ public class WrapperBridge<T> implements XMLBridge<T> {
     private JAXBRIContextWrapper parent;
     private org.glassfish.jaxb.runtime.api.Bridge<T> bridge;
 
+    /**
+     * Marshals the composites that hold inlined repeated elements, which
+     * a {@link CompositeStructure} can't express, one item at a time.
+     * The items of one-shot composites are produced as they are written.
+     *
+     * @see WrapperComposite#isOneShot()
+     */
+    private com.sun.xml.ws.spi.db.WrapperBridge<T> repeated;
+
     public WrapperBridge(JAXBRIContextWrapper p, org.glassfish.jaxb.runtime.api.Bridge<T> b) {
         parent = p;
         bridge = b;
@@ -62,6 +74,23 @@ public class WrapperBridge<T> implements XMLBridge<T> {
         return bridge.hashCode();
     }
 
+    private static boolean hasRepeatedElements(Object o) {
+        WrapperComposite w = (WrapperComposite) o;
+        for (XMLBridge b : w.bridges) {
+            if (b instanceof RepeatedElementBridge) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private com.sun.xml.ws.spi.db.WrapperBridge<T> repeated() {
+        if (repeated == null) {
+            repeated = new com.sun.xml.ws.spi.db.WrapperBridge<T>(parent, getTypeInfo());
+        }
+        return repeated;
+    }
+
     static CompositeStructure convert(Object o) {
         WrapperComposite w = (WrapperComposite) o;
         CompositeStructure cs = new CompositeStructure();
@@ -75,6 +104,10 @@ public class WrapperBridge<T> implements XMLBridge<T> {
 
     @Override
     public final void marshal(T object, ContentHandler contentHandler, AttachmentMarshaller am) throws JAXBException {
+        if (hasRepeatedElements(object)) {
+            repeated().marshal(object, contentHandler, am);
+            return;
+        }
         bridge.marshal((T) convert(object), contentHandler, am);
 //		bridge.marshal(object, contentHandler, am);
     }
@@ -88,6 +121,18 @@ public class WrapperBridge<T> implements XMLBridge<T> {
 
     @Override
     public void marshal(T object, OutputStream output, NamespaceContext nsContext, AttachmentMarshaller am) throws JAXBException {
+        if (hasRepeatedElements(object)) {
+            XMLStreamWriter w = XMLStreamWriterFactory.create(output);
+            try {
+                repeated().marshal(object, w, am);
+                w.flush();
+            } catch (XMLStreamException e) {
+                throw new JAXBException(e);
+            } finally {
+                XMLStreamWriterFactory.recycle(w);
+            }
+            return;
+        }
         bridge.marshal((T) convert(object), output, nsContext, am);
     }
 
@@ -99,6 +144,10 @@ public class WrapperBridge<T> implements XMLBridge<T> {
 
     @Override
     public final void marshal(T object, XMLStreamWriter output, AttachmentMarshaller am) throws JAXBException {
+        if (hasRepeatedElements(object)) {
+            repeated().marshal(object, output, am);
+            return;
+        }
         bridge.marshal((T) convert(object), output, am);
     }
 
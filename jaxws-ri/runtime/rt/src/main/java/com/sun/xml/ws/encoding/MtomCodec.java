@@ -26,6 +26,7 @@ import com.sun.xml.ws.developer.StreamingDataHandler;
 import com.sun.xml.ws.message.MimeAttachmentSet;
 import com.sun.xml.ws.streaming.XMLStreamWriterUtil;
 import com.sun.xml.ws.util.ByteArrayDataSource;
+import com.sun.xml.ws.util.IndexedPropertyMap;
 import com.sun.xml.ws.util.xml.NamespaceContextExAdaper;
 import com.sun.xml.ws.util.xml.XMLStreamReaderFilter;
 import com.sun.xml.ws.util.xml.XMLStreamWriterFilter;
@@ -73,6 +74,7 @@ public class MtomCodec extends MimeCodec {
     private final MTOMFeature mtomFeature;
     private final SerializationFeature sf;
     private final static String DECODED_MESSAGE_CHARSET = "decodedMessageCharset";
+    private static final int DECODED_MESSAGE_CHARSET_SLOT = IndexedPropertyMap.slot(DECODED_MESSAGE_CHARSET);
 
     MtomCodec(SOAPVersion version, StreamSOAPCodec codec, WSFeatureList features){
         super(version, features);
@@ -141,7 +143,7 @@ public class MtomCodec extends MimeCodec {
         if(packet.getMessage() != null){
             try {
                 String encoding = getPacketEncoding(packet);
-                packet.invocationProperties.remove(DECODED_MESSAGE_CHARSET);
+                packet.removeInvocationProperty(DECODED_MESSAGE_CHARSET_SLOT);
 
                 String actionParameter = getActionParameter(packet, version);
                 String soapXopContentType = getSOAPXopContentType(encoding, version, actionParameter);
@@ -280,9 +282,9 @@ public class MtomCodec extends MimeCodec {
         }
 
         if (charset != null) {
-            packet.invocationProperties.put(DECODED_MESSAGE_CHARSET, charset);
+            packet.setInvocationProperty(DECODED_MESSAGE_CHARSET_SLOT, charset);
         } else {
-            packet.invocationProperties.remove(DECODED_MESSAGE_CHARSET);
+            packet.removeInvocationProperty(DECODED_MESSAGE_CHARSET_SLOT);
         }
 
         // we'd like to reuse those reader objects but unfortunately decoder may be reused
@@ -307,7 +309,7 @@ public class MtomCodec extends MimeCodec {
     public static String determinePacketEncoding(Packet packet) {
         if (packet != null && packet.endpoint != null) {
             // Use request message's encoding for Server-side response messages
-            String charset = (String)packet.invocationProperties.get(DECODED_MESSAGE_CHARSET);
+            String charset = (String)packet.getInvocationProperty(DECODED_MESSAGE_CHARSET_SLOT);
             return charset == null
                     ? SOAPBindingCodec.DEFAULT_ENCODING : charset;
         } 
@@ -36,6 +36,7 @@ import com.sun.xml.ws.message.stream.StreamMessage;
 import com.sun.xml.ws.protocol.soap.VersionMismatchException;
 import com.sun.xml.ws.server.UnsupportedMediaException;
 import com.sun.xml.ws.streaming.XMLStreamReaderUtil;
+import com.sun.xml.ws.util.IndexedPropertyMap;
 import com.sun.xml.ws.util.ServiceFinder;
 
 import javax.xml.stream.XMLStreamConstants;
@@ -43,15 +44,18 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
 import jakarta.xml.ws.WebServiceException;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.SequenceInputStream;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A stream SOAP codec.
@@ -74,6 +78,21 @@ public abstract class StreamSOAPCodec implements com.sun.xml.ws.api.pipe.StreamS
     // response messages with the request message's encoding
     // it will stored in the packet.invocationProperties
     private final static String DECODED_MESSAGE_CHARSET = "decodedMessageCharset";
+    private static final int DECODED_MESSAGE_CHARSET_SLOT = IndexedPropertyMap.slot(DECODED_MESSAGE_CHARSET);
+
+    private static final LongAdder BUFFERED_DECODES = new LongAdder();
+    private static final LongAdder STREAMING_DECODES = new LongAdder();
+
+    private static volatile int bufferedDecodeThreshold = 2048;
+
+    static {
+        try {
+            bufferedDecodeThreshold = Integer.getInteger(
+                    StreamSOAPCodec.class.getName() + ".bufferedDecodeThreshold", 2048);
+        } catch (SecurityException se) {
+            // use the default
+        }
+    }
 
     /*package*/ StreamSOAPCodec(SOAPVersion soapVersion) {
         this(soapVersion, null);
@@ -108,7 +127,7 @@ public abstract class StreamSOAPCodec implements com.sun.xml.ws.api.pipe.StreamS
     public ContentType encode(Packet packet, OutputStream out) {
         if (packet.getMessage() != null) {
             String encoding = getPacketEncoding(packet);
-            packet.invocationProperties.remove(DECODED_MESSAGE_CHARSET);
+            packet.removeInvocationProperty(DECODED_MESSAGE_CHARSET_SLOT);
             XMLStreamWriter writer = XMLStreamWriterFactory.create(out, encoding);
             try {
                 packet.getMessage().writeTo(writer);
@@ -212,11 +231,75 @@ public abstract class StreamSOAPCodec implements com.sun.xml.ws.api.pipe.StreamS
             throw new UnsupportedMediaException(charset);
         }
         if (charset != null) {
-            packet.invocationProperties.put(DECODED_MESSAGE_CHARSET, charset);
+            packet.setInvocationProperty(DECODED_MESSAGE_CHARSET_SLOT, charset);
+        } else {
+            packet.removeInvocationProperty(DECODED_MESSAGE_CHARSET_SLOT);
+        }
+        long length = packet.inboundContentLength;
+        if (length > 0 && length <= bufferedDecodeThreshold) {
+            packet.setMessage(decodeBuffered(in, (int) length, charset, att));
         } else {
-            packet.invocationProperties.remove(DECODED_MESSAGE_CHARSET);
+            STREAMING_DECODES.increment();
+            packet.setMessage(streamDecoder.decode(in, charset, att, soapVersion));
+        }
+    }
+
+    /**
+     * Reads a small message into an array of its announced size, and closes the
+     * transport stream before the message is parsed, so that the transport does
+     * not wait for the application to consume the message. The parser then reads
+     * from memory. Falls back to the streaming path if the message turns out to be
+     * longer than announced.
+     */
+    private Message decodeBuffered(InputStream in, int length, String charset, AttachmentSet att) throws IOException {
+        byte[] data = new byte[length];
+        int size = 0;
+        int len;
+        while (size < length && (len = in.read(data, size, length - size)) >= 0) {
+            size += len;
+        }
+        int next = size < length ? -1 : in.read();
+        if (next >= 0) {
+            STREAMING_DECODES.increment();
+            InputStream rest = new SequenceInputStream(new ByteArrayInputStream(new byte[] {(byte) next}), in);
+            return streamDecoder.decode(new SequenceInputStream(new ByteArrayInputStream(data), rest),
+                    charset, att, soapVersion);
+        }
+        in.close();
+        BUFFERED_DECODES.increment();
+        return streamDecoder.decode(new ByteArrayInputStream(data, 0, size), charset, att, soapVersion);
+    }
+
+    /**
+     * Number of messages decoded from a fully buffered request
+     * since the class was loaded.
+     *
+     * @see #setBufferedDecodeThreshold(int)
+     */
+    public static long getBufferedDecodeCount() {
+        return BUFFERED_DECODES.sum();
+    }
+
+    /**
+     * Number of messages decoded by streaming from the transport
+     * since the class was loaded.
+     */
+    public static long getStreamingDecodeCount() {
+        return STREAMING_DECODES.sum();
+    }
+
+    /**
+     * Sets the largest announced message size, in bytes, for which the
+     * message is read completely before it is parsed. Larger messages and
+     * messages of unknown size are always streamed. 0 disables buffering.
+     *
+     * @param threshold the size in bytes, must not be negative
+     */
+    public static void setBufferedDecodeThreshold(int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold must not be negative");
         }
-        packet.setMessage(streamDecoder.decode(in, charset, att, soapVersion));
+        bufferedDecodeThreshold = threshold;
     }
 
     public void decode(ReadableByteChannel in, String contentType, Packet response, AttachmentSet att ) {
@@ -287,7 +370,7 @@ public abstract class StreamSOAPCodec implements com.sun.xml.ws.api.pipe.StreamS
 
         if (packet != null && packet.endpoint != null) {
             // Use request message's encoding for Server-side response messages
-            String charset = (String)packet.invocationProperties.get(DECODED_MESSAGE_CHARSET);
+            String charset = (String)packet.getInvocationProperty(DECODED_MESSAGE_CHARSET_SLOT);
             return charset == null
                     ? SOAPBindingCodec.DEFAULT_ENCODING : charset;
         } 
@@ -109,12 +109,16 @@ public class XmlDataContentHandler implements DataContentHandler {
         Source source = (obj instanceof DataSource)
                 ? (Source)getContent((DataSource)obj) : (Source)obj;
         try {
-            Transformer transformer = XmlUtil.newTransformer();
-            if (charset != null) {
-                transformer.setOutputProperty(OutputKeys.ENCODING, charset);
+            Transformer transformer = XmlUtil.takeTransformer(true);
+            try {
+                if (charset != null) {
+                    transformer.setOutputProperty(OutputKeys.ENCODING, charset);
+                }
+                StreamResult result = new StreamResult(os);
+                transformer.transform(source, result);
+            } finally {
+                XmlUtil.recycleTransformer(true, transformer);
             }
-            StreamResult result = new StreamResult(os);
-            transformer.transform(source, result);
         } catch (Exception ex) {
             throw new IOException(
                 "Unable to run the JAXP transformer in XmlDataContentHandler "
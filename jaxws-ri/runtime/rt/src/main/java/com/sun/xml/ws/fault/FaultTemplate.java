@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.fault;
+
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
+import com.sun.xml.stream.buffer.MutableXMLStreamBuffer;
+import com.sun.xml.stream.buffer.XMLStreamBuffer;
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.model.ExceptionType;
+import com.sun.xml.ws.encoding.SOAPBindingCodec;
+import com.sun.xml.ws.encoding.soap.SerializationException;
+import com.sun.xml.ws.model.CheckedExceptionImpl;
+import com.sun.xml.ws.spi.db.XMLBridge;
+import com.sun.xml.ws.streaming.XMLStreamWriterUtil;
+
+import jakarta.xml.bind.JAXBException;
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The parts of the fault of a {@link CheckedExceptionImpl} that do not
+ * change from one exception to the next.
+ *
+ * <p>
+ * It is created once per checked exception and SOAP version. It creates the
+ * fault messages of
+ * {@link SOAPFaultBuilder#createSOAPFaultMessage(SOAPVersion, CheckedExceptionImpl, Throwable)}
+ * without a DOM or a JAXB bean for the fault: the markup around the fault
+ * string and the detail is kept as bytes, which are copied to the stream
+ * when the writer gives access to it, and only the fault string and the
+ * detail bean are taken from the exception.
+ */
+final class FaultTemplate {
+
+    private static final Logger LOGGER = Logger.getLogger(FaultTemplate.class.getName());
+
+    /**
+     * Prefix of the SOAP namespace when the writer has none bound to it,
+     * the one {@link com.sun.xml.ws.message.AbstractMessageImpl} writes the envelope with.
+     */
+    private static final String DEFAULT_PREFIX = "S";
+
+    /**
+     * Template of a checked exception whose detail can't be read by the template,
+     * for which the faults are built by {@link SOAPFaultBuilder} as before.
+     */
+    private static final FaultTemplate NONE = new FaultTemplate();
+
+    /**
+     * Templates of the checked exceptions, which go away with the model.
+     */
+    private static final Map<CheckedExceptionImpl, FaultTemplate> TEMPLATES =
+            Collections.synchronizedMap(new WeakHashMap<CheckedExceptionImpl, FaultTemplate>());
+
+    final SOAPVersion soapVersion;
+    private final XMLBridge bond;
+    private final QName detailEntryName;
+
+    /**
+     * Markup of the last prefix and language the fault was written with.
+     */
+    private volatile Markup markup;
+
+    /**
+     * Getter of the fault info, for WSDL exceptions.
+     */
+    private final Method faultInfoGetter;
+    /**
+     * Class of the detail bean, for user defined exceptions
+     * that aren't their own detail bean.
+     */
+    private final Class<?> detailBean;
+    /**
+     * Getters on the exception, and setters or fields on the detail bean,
+     * in the order of the fields of the detail bean.
+     */
+    private final Method[] getters;
+    private final Object[] setters;
+
+    private FaultTemplate() {
+        soapVersion = null;
+        bond = null;
+        detailEntryName = null;
+        faultInfoGetter = null;
+        detailBean = null;
+        getters = null;
+        setters = null;
+    }
+
+    private FaultTemplate(SOAPVersion soapVersion, CheckedExceptionImpl ce) throws ReflectiveOperationException {
+        this.soapVersion = soapVersion;
+        this.bond = ce.getBond();
+        this.detailEntryName = ce.getDetailType().tagName;
+        if (ce.getExceptionType() != ExceptionType.UserDefined) {
+            faultInfoGetter = ce.getFaultInfoGetter();
+            if (faultInfoGetter == null) {
+                throw new NoSuchMethodException("getFaultInfo");
+            }
+            detailBean = null;
+            getters = null;
+            setters = null;
+        } else if (ce.getExceptionClass().equals(ce.getDetailBean())) {
+            faultInfoGetter = null;
+            detailBean = null;
+            getters = null;
+            setters = null;
+        } else {
+            faultInfoGetter = null;
+            detailBean = ce.getDetailBean();
+            List<Method> g = new ArrayList<>();
+            List<Object> s = new ArrayList<>();
+            for (Field f : detailBean.getDeclaredFields()) {
+                Method em = ce.getExceptionClass().getMethod(SOAPFaultBuilder.getReadMethod(f));
+                g.add(em);
+                try {
+                    s.add(detailBean.getMethod(SOAPFaultBuilder.getWriteMethod(f), em.getReturnType()));
+                } catch (NoSuchMethodException ne) {
+                    // Try to use exception bean's public field to populate the value.
+                    s.add(detailBean.getField(f.getName()));
+                }
+            }
+            getters = g.toArray(new Method[0]);
+            setters = s.toArray();
+        }
+    }
+
+    /**
+     * Gets the template of a checked exception, creating it on first use.
+     *
+     * @return null if the faults of this exception can't be created from a template
+     */
+    static @Nullable FaultTemplate get(@NotNull SOAPVersion soapVersion, @NotNull CheckedExceptionImpl ce) {
+        FaultTemplate t = TEMPLATES.get(ce);
+        if (t == null || (t != NONE && t.soapVersion != soapVersion)) {
+            try {
+                t = new FaultTemplate(soapVersion, ce);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOGGER.log(Level.FINE, "No fault template for " + ce.getExceptionClass(), e);
+                t = NONE;
+            }
+            TEMPLATES.put(ce, t);
+        }
+        return t == NONE ? null : t;
+    }
+
+    /**
+     * Creates the fault message of an exception.
+     *
+     * @return null if the detail can't be written, in which case the caller
+     *         builds the fault the usual way to report the error the same way
+     */
+    @Nullable Message createMessage(@NotNull Throwable e) {
+        String faultString = e.getMessage();
+        if (faultString == null) {
+            faultString = e.toString();
+        }
+        Object detail = getDetail(e);
+        XMLStreamBuffer detailInfoset = null;
+        if (detail != null) {
+            try {
+                MutableXMLStreamBuffer buffer = new MutableXMLStreamBuffer();
+                bond.marshal(detail, buffer.createFromXMLStreamWriter(), null);
+                detailInfoset = buffer;
+            } catch (JAXBException ex) {
+                return null;
+            }
+        }
+        return new TemplateFaultMessage(this, faultString, detailInfoset);
+    }
+
+    @Nullable QName getDetailEntryName() {
+        return detailEntryName;
+    }
+
+    private Object getDetail(Throwable e) {
+        try {
+            if (faultInfoGetter != null) {
+                return faultInfoGetter.invoke(e);
+            }
+            if (detailBean == null) {
+                return e;
+            }
+            Object detail = detailBean.getDeclaredConstructor().newInstance();
+            for (int i = 0; i < getters.length; i++) {
+                Object value = getters[i].invoke(e);
+                if (setters[i] instanceof Method) {
+                    ((Method) setters[i]).invoke(detail, value);
+                } else {
+                    ((Field) setters[i]).set(detail, value);
+                }
+            }
+            return detail;
+        } catch (Exception ex) {
+            throw new SerializationException(ex);
+        }
+    }
+
+    /**
+     * Writes the fault element, with the prefix the writer has for the SOAP namespace.
+     */
+    void writeFault(XMLStreamWriter w, String faultString, @Nullable XMLStreamBuffer detail) throws XMLStreamException {
+        String prefix = w.getPrefix(soapVersion.nsUri);
+        boolean declare = prefix == null || prefix.isEmpty();
+        Markup m = markup(declare ? DEFAULT_PREFIX : prefix, declare);
+
+        String encoding = XMLStreamWriterUtil.getEncoding(w);
+        OutputStream os = encoding != null && encoding.equalsIgnoreCase(SOAPBindingCodec.UTF8_ENCODING)
+                ? XMLStreamWriterUtil.getOutputStream(w) : null;
+        if (os == null) {
+            m.write(w, faultString, detail);
+            return;
+        }
+        try {
+            os.write(m.start);
+            writeEscaped(os, faultString);
+            os.write(m.afterFaultString);
+            if (detail != null) {
+                os.write(m.startDetail);
+                // the detail declares the namespaces it uses
+                detail.writeToXMLStreamWriter(w, true);
+                w.flush();
+                os.write(m.endDetail);
+            }
+            os.write(m.end);
+        } catch (IOException e) {
+            throw new XMLStreamException(e);
+        }
+    }
+
+    private Markup markup(String prefix, boolean declare) {
+        String lang = Locale.getDefault().getLanguage();
+        Markup m = markup;
+        if (m == null || !m.prefix.equals(prefix) || m.declare != declare || !m.lang.equals(lang)) {
+            m = new Markup(soapVersion, prefix, declare, lang);
+            markup = m;
+        }
+        return m;
+    }
+
+    private static void writeEscaped(OutputStream os, String s) throws IOException {
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            String entity;
+            switch (s.charAt(i)) {
+                case '&': entity = "&amp;"; break;
+                case '<': entity = "&lt;"; break;
+                case '>': entity = "&gt;"; break;
+                default: continue;
+            }
+            os.write(s.substring(start, i).getBytes(StandardCharsets.UTF_8));
+            os.write(entity.getBytes(StandardCharsets.US_ASCII));
+            start = i + 1;
+        }
+        os.write(s.substring(start).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The parts of the fault element around the fault string and the detail,
+     * as the UTF-8 bytes that are copied to the stream.
+     */
+    private static final class Markup {
+        final String prefix;
+        final boolean declare;
+        final String lang;
+        final byte[] start;
+        final byte[] afterFaultString;
+        final byte[] startDetail;
+        final byte[] endDetail;
+        final byte[] end;
+
+        private final SOAPVersion soapVersion;
+        private final String faultCode;
+
+        Markup(SOAPVersion soapVersion, String prefix, boolean declare, String lang) {
+            this.soapVersion = soapVersion;
+            this.prefix = prefix;
+            this.declare = declare;
+            this.lang = lang;
+            this.faultCode = prefix + ':' + soapVersion.faultCodeServer.getLocalPart();
+
+            StringBuilder sb = new StringBuilder();
+            sb.append('<').append(prefix).append(":Fault");
+            if (declare) {
+                sb.append(" xmlns:").append(prefix).append("=\"").append(soapVersion.nsUri).append('"');
+            }
+            sb.append('>');
+            if (soapVersion == SOAPVersion.SOAP_12) {
+                sb.append('<').append(prefix).append(":Code><").append(prefix).append(":Value>")
+                        .append(faultCode)
+                        .append("</").append(prefix).append(":Value></").append(prefix).append(":Code>")
+                        .append('<').append(prefix).append(":Reason><").append(prefix).append(":Text xml:lang=\"")
+                        .append(lang).append("\">");
+                start = bytes(sb);
+                afterFaultString = bytes("</" + prefix + ":Text></" + prefix + ":Reason>");
+                startDetail = bytes("<" + prefix + ":Detail>");
+                endDetail = bytes("</" + prefix + ":Detail>");
+            } else {
+                sb.append("<faultcode>").append(faultCode).append("</faultcode><faultstring>");
+                start = bytes(sb);
+                afterFaultString = bytes("</faultstring>");
+                startDetail = bytes("<detail>");
+                endDetail = bytes("</detail>");
+            }
+            end = bytes("</" + prefix + ":Fault>");
+        }
+
+        private static byte[] bytes(CharSequence s) {
+            return s.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Writes the same fault element to a writer whose stream can't be reached.
+         */
+        void write(XMLStreamWriter w, String faultString, @Nullable XMLStreamBuffer detail) throws XMLStreamException {
+            String ns = soapVersion.nsUri;
+            w.writeStartElement(prefix, "Fault", ns);
+            if (declare) {
+                w.writeNamespace(prefix, ns);
+            }
+            if (soapVersion == SOAPVersion.SOAP_12) {
+                w.writeStartElement(prefix, "Code", ns);
+                w.writeStartElement(prefix, "Value", ns);
+                w.writeCharacters(faultCode);
+                w.writeEndElement();
+                w.writeEndElement();
+                w.writeStartElement(prefix, "Reason", ns);
+                w.writeStartElement(prefix, "Text", ns);
+                w.writeAttribute("xml", XMLConstants.XML_NS_URI, "lang", lang);
+                w.writeCharacters(faultString);
+                w.writeEndElement();
+                w.writeEndElement();
+                if (detail != null) {
+                    w.writeStartElement(prefix, "Detail", ns);
+                    detail.writeToXMLStreamWriter(w, true);
+                    w.writeEndElement();
+                }
+            } else {
+                w.writeStartElement("faultcode");
+                w.writeCharacters(faultCode);
+                w.writeEndElement();
+                w.writeStartElement("faultstring");
+                w.writeCharacters(faultString);
+                w.writeEndElement();
+                if (detail != null) {
+                    w.writeStartElement("detail");
+                    detail.writeToXMLStreamWriter(w, true);
+                    w.writeEndElement();
+                }
+            }
+            w.writeEndElement();
+        }
+    }
+}
@@ -174,6 +174,16 @@ public abstract class SOAPFaultBuilder {
      * @see #createSOAPFaultMessage(SOAPVersion, CheckedExceptionImpl, Throwable)
      */
     public static Message createSOAPFaultMessage(SOAPVersion soapVersion, CheckedExceptionImpl ceModel, Throwable ex, QName faultCode) {
+        if (ceModel != null && faultCode == null && USE_FAULT_TEMPLATES
+                && !(ex instanceof SOAPFaultException) && !(ex.getCause() instanceof SOAPFaultException)) {
+            FaultTemplate template = FaultTemplate.get(soapVersion, ceModel);
+            if (template != null) {
+                Message msg = template.createMessage(ex);
+                if (msg != null) {
+                    return msg;
+                }
+            }
+        }
         Object detail = getFaultDetail(ceModel, ex);
         if(soapVersion == SOAPVersion.SOAP_12)
             return createSOAP12Fault(soapVersion, ex, detail, ceModel, faultCode);
@@ -304,7 +314,7 @@ public abstract class SOAPFaultBuilder {
         }
     }
 
-    private static String getWriteMethod(Field f) {
+    static String getWriteMethod(Field f) {
         return "set" + StringUtils.capitalize(f.getName());
     }
 
@@ -344,7 +354,7 @@ public abstract class SOAPFaultBuilder {
         }
     }
 
-    private static String getReadMethod(Field f) {
+    static String getReadMethod(Field f) {
         if (f.getType().isAssignableFrom(boolean.class))
             return "is" + StringUtils.capitalize(f.getName());
         return "get" + StringUtils.capitalize(f.getName());
@@ -535,14 +545,23 @@ public abstract class SOAPFaultBuilder {
 
     /*package*/ static final String CAPTURE_STACK_TRACE_PROPERTY = SOAPFaultBuilder.class.getName()+".captureStackTrace";
 
+    /**
+     * False if the faults of checked exceptions are built without the cached
+     * {@link FaultTemplate}s, which is set with the {@code disableFaultTemplates} property.
+     */
+    private static final boolean USE_FAULT_TEMPLATES;
+
     static {
         boolean tmpVal = false;
+        boolean disableTemplates = false;
         try {
             tmpVal = Boolean.getBoolean(CAPTURE_STACK_TRACE_PROPERTY);
+            disableTemplates = Boolean.getBoolean(SOAPFaultBuilder.class.getName()+".disableFaultTemplates");
         } catch (SecurityException e) {
             // ignore
         }
         captureStackTrace = tmpVal;
+        USE_FAULT_TEMPLATES = !disableTemplates;
         JAXB_CONTEXT = createJAXBContext();
     }
 
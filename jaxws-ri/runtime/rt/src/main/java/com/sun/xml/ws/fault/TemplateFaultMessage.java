@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.fault;
+
+import com.sun.istack.Nullable;
+import com.sun.xml.stream.buffer.MutableXMLStreamBuffer;
+import com.sun.xml.stream.buffer.XMLStreamBuffer;
+import com.sun.xml.stream.buffer.XMLStreamBufferSource;
+import com.sun.xml.ws.api.message.HeaderList;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.MessageHeaders;
+import com.sun.xml.ws.message.AbstractMessageImpl;
+import com.sun.xml.ws.streaming.XMLStreamReaderUtil;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.Source;
+import jakarta.xml.ws.WebServiceException;
+
+import static javax.xml.stream.XMLStreamConstants.START_DOCUMENT;
+
+/**
+ * Fault {@link Message} written from a {@link FaultTemplate}.
+ *
+ * <p>
+ * The fault is written straight to the {@link XMLStreamWriter}. Any other
+ * access to the payload goes through an infoset of it, created on first use.
+ */
+final class TemplateFaultMessage extends AbstractMessageImpl {
+
+    private final FaultTemplate template;
+    private final String faultString;
+    private final @Nullable XMLStreamBuffer detail;
+
+    private HeaderList headers;
+    private XMLStreamBuffer infoset;
+
+    TemplateFaultMessage(FaultTemplate template, String faultString, @Nullable XMLStreamBuffer detail) {
+        super(template.soapVersion);
+        this.template = template;
+        this.faultString = faultString;
+        this.detail = detail;
+    }
+
+    /**
+     * Copy constructor.
+     */
+    private TemplateFaultMessage(TemplateFaultMessage that) {
+        super(that);
+        this.template = that.template;
+        this.faultString = that.faultString;
+        this.detail = that.detail;
+        this.infoset = that.infoset;
+        if (that.headers != null) {
+            this.headers = new HeaderList(that.headers);
+        }
+        this.attachmentSet = that.attachmentSet;
+    }
+
+    @Override
+    public boolean hasHeaders() {
+        return headers != null && headers.hasHeaders();
+    }
+
+    @Override
+    public MessageHeaders getHeaders() {
+        if (headers == null) {
+            headers = new HeaderList(getSOAPVersion());
+        }
+        return headers;
+    }
+
+    @Override
+    public String getPayloadLocalPart() {
+        return "Fault";
+    }
+
+    @Override
+    public String getPayloadNamespaceURI() {
+        return soapVersion.nsUri;
+    }
+
+    @Override
+    public boolean hasPayload() {
+        return true;
+    }
+
+    @Override
+    public boolean isFault() {
+        return true;
+    }
+
+    @Override
+    public @Nullable QName getFirstDetailEntryName() {
+        return detail != null ? template.getDetailEntryName() : null;
+    }
+
+    private XMLStreamBuffer infoset() {
+        if (infoset == null) {
+            try {
+                MutableXMLStreamBuffer buffer = new MutableXMLStreamBuffer();
+                writePayloadTo(buffer.createFromXMLStreamWriter());
+                infoset = buffer;
+            } catch (XMLStreamException e) {
+                throw new WebServiceException(e);
+            }
+        }
+        return infoset;
+    }
+
+    @Override
+    public Source readPayloadAsSource() {
+        return new XMLStreamBufferSource(infoset());
+    }
+
+    @Override
+    public XMLStreamReader readPayload() throws XMLStreamException {
+        XMLStreamReader reader = infoset().readAsXMLStreamReader();
+        if (reader.getEventType() == START_DOCUMENT) {
+            XMLStreamReaderUtil.nextElementContent(reader);
+        }
+        return reader;
+    }
+
+    @Override
+    public void writePayloadTo(XMLStreamWriter sw) throws XMLStreamException {
+        template.writeFault(sw, faultString, detail);
+    }
+
+    @Override
+    protected void writePayloadTo(ContentHandler contentHandler, ErrorHandler errorHandler, boolean fragment) throws SAXException {
+        infoset().writeTo(contentHandler, errorHandler, fragment);
+    }
+
+    @Override
+    public Message copy() {
+        return new TemplateFaultMessage(this).copyFrom(this);
+    }
+}
@@ -13,8 +13,6 @@ package com.sun.xml.ws.handler;
 import com.sun.istack.Nullable;
 import com.sun.xml.ws.api.WSBinding;
 import com.sun.xml.ws.api.handler.MessageHandler;
-import com.sun.xml.ws.api.message.Attachment;
-import com.sun.xml.ws.api.message.AttachmentSet;
 import com.sun.xml.ws.api.message.Packet;
 import com.sun.xml.ws.api.model.SEIModel;
 import com.sun.xml.ws.api.model.wsdl.WSDLPort;
@@ -23,14 +21,11 @@ import com.sun.xml.ws.api.pipe.TubeCloner;
 import com.sun.xml.ws.api.pipe.helper.AbstractFilterTubeImpl;
 import com.sun.xml.ws.binding.BindingImpl;
 import com.sun.xml.ws.client.HandlerConfiguration;
-import com.sun.xml.ws.message.DataHandlerAttachment;
 
-import jakarta.activation.DataHandler;
 import jakarta.xml.ws.WebServiceException;
 import jakarta.xml.ws.handler.MessageContext;
 import jakarta.xml.ws.handler.Handler;
 import java.util.*;
-import java.util.Map.Entry;
 
 /**
  * @author Rama Pulavarthi
@@ -76,15 +71,7 @@ public class ClientMessageHandlerTube extends HandlerTube {
         boolean handlerResult;
 
         //Lets copy all the MessageContext.OUTBOUND_ATTACHMENT_PROPERTY to the message
-        Map<String, DataHandler> atts = (Map<String, DataHandler>) context.get(MessageContext.OUTBOUND_MESSAGE_ATTACHMENTS);
-        AttachmentSet attSet = context.packet.getMessage().getAttachments();
-        for (Entry<String, DataHandler> entry : atts.entrySet()) {
-            String cid = entry.getKey();
-            if (attSet.get(cid) == null) {  // Otherwise we would be adding attachments twice
-                Attachment att = new DataHandlerAttachment(cid, atts.get(cid));
-                attSet.add(att);
-            }
-        }
+        context.addOutboundAttachments();
 
         try {
             //CLIENT-SIDE
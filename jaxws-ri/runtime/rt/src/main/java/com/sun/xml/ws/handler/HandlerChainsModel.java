@@ -12,6 +12,7 @@ package com.sun.xml.ws.handler;
 
 import com.sun.xml.ws.api.BindingID;
 import com.sun.xml.ws.api.WSBinding;
+import com.sun.xml.ws.api.handler.HeaderHandler;
 import com.sun.xml.ws.streaming.XMLStreamReaderUtil;
 import com.sun.xml.ws.transport.http.DeploymentDescriptorParser;
 import com.sun.xml.ws.util.HandlerAnnotationInfo;
@@ -115,9 +116,10 @@ public class HandlerChainsModel {
                     skipInitParamElement(reader);
                 }
 
-                // headers (ignored)
+                // headers (only used by HeaderHandlers)
                 while (reader.getName().equals(QNAME_HANDLER_HEADER)) {
-                    skipTextElement(reader);
+                    handler.getSoapHeaders().add(getHeaderQName(reader));
+                    XMLStreamReaderUtil.nextContent(reader);
                 }
 
                 // roles (not stored per handler)
@@ -250,10 +252,13 @@ public class HandlerChainsModel {
                     skipInitParamElement(reader);
                 }
 
-                // headers (ignored)
+                // headers (only used by HeaderHandlers)
+                Set<QName> headers = new HashSet<QName>();
                 while (reader.getName().equals(QNAME_HANDLER_HEADER)) {
-                    skipTextElement(reader);
+                    headers.add(getHeaderQName(reader));
+                    XMLStreamReaderUtil.nextContent(reader);
                 }
+                setHandlerHeaders(handler, headers);
 
                 // roles (not stored per handler)
                 while (reader.getName().equals(QNAME_HANDLER_ROLE)) {
@@ -311,6 +316,7 @@ public class HandlerChainsModel {
                     try {
                         Handler handlerClass = (Handler) loadClass(annotatedClass.getClassLoader(),
                                 handler.getHandlerClass()).newInstance();
+                        setHandlerHeaders(handlerClass, new HashSet<QName>(handler.getSoapHeaders()));
                         callHandlerPostConstruct(handlerClass);
                         handlerClassList.add(handlerClass);
                     } catch (InstantiationException ie){
@@ -341,6 +347,16 @@ public class HandlerChainsModel {
         }
     }
 
+    /**
+     * Passes the soap-header elements of a handler to a {@link HeaderHandler}.
+     * They are ignored for other handlers.
+     */
+    private static void setHandlerHeaders(Handler handler, Set<QName> headers) {
+        if (handler instanceof HeaderHandler && !headers.isEmpty()) {
+            ((HeaderHandler) handler).setHeaders(headers);
+        }
+    }
+
     private static void callHandlerPostConstruct(Object handlerClass) {
         // call @PostConstruct method on handler if present
         for (Method method : handlerClass.getClass().getMethods()) {
@@ -363,6 +379,17 @@ public class HandlerChainsModel {
         XMLStreamReaderUtil.nextElementContent(reader);
     }
 
+    /**
+     * Reads the QName of a soap-header element, which may have no prefix.
+     */
+    private static QName getHeaderQName(XMLStreamReader reader) {
+        String text = XMLStreamReaderUtil.getElementText(reader).trim();
+        int colon = text.indexOf(':');
+        String prefix = colon < 0 ? "" : text.substring(0, colon);
+        String namespaceURI = reader.getNamespaceContext().getNamespaceURI(prefix);
+        return new QName(namespaceURI == null ? "" : namespaceURI, text.substring(colon + 1));
+    }
+
     private static void skipTextElement(XMLStreamReader reader) {
         XMLStreamReaderUtil.nextContent(reader);
         XMLStreamReaderUtil.nextElementContent(reader);
@@ -509,6 +536,7 @@ public class HandlerChainsModel {
         String handlerName;
         String handlerClass;
         List<String> soapRoles;
+        List<QName> soapHeaders;
 
         java.lang.String id;
 
@@ -546,5 +574,12 @@ public class HandlerChainsModel {
             }
             return this.soapRoles;
         }
+
+        public List<QName> getSoapHeaders() {
+            if (soapHeaders == null) {
+                soapHeaders = new ArrayList<QName>();
+            }
+            return this.soapHeaders;
+        }
     }
 }
@@ -36,7 +36,11 @@ abstract class HandlerProcessor<C extends MessageUpdatableContext> {
     public enum Direction {
         OUTBOUND, INBOUND }
 
-    private List<? extends Handler> handlers; // may be logical/soap mixed
+    /**
+     * The chain, copied into an array once as it never changes
+     * for the life of this processor. May be logical/soap mixed.
+     */
+    private final Handler[] handlers;
 
     WSBinding binding;
     private int index = -1;
@@ -56,7 +60,7 @@ abstract class HandlerProcessor<C extends MessageUpdatableContext> {
         if (chain == null) { // should only happen in testing
             chain = new ArrayList<Handler>();
         }
-        handlers = chain;
+        handlers = chain.toArray(new Handler[0]);
         this.binding = binding;
     }
 
@@ -105,9 +109,9 @@ abstract class HandlerProcessor<C extends MessageUpdatableContext> {
         // call handlers
         try {
             if (direction == Direction.OUTBOUND) {
-                result = callHandleMessage(context, 0, handlers.size() - 1);
+                result = callHandleMessage(context, 0, handlers.length - 1);
             } else {
-                result = callHandleMessage(context, handlers.size() - 1, 0);
+                result = callHandleMessage(context, handlers.length - 1, 0);
             }
         } catch (ProtocolException pe) {
             logger.log(Level.FINER, "exception in handler chain", pe);
@@ -122,7 +126,7 @@ abstract class HandlerProcessor<C extends MessageUpdatableContext> {
                 if (direction == Direction.OUTBOUND) {
                     callHandleFault(context, getIndex() - 1, 0);
                 } else {
-                    callHandleFault(context, getIndex() + 1, handlers.size() - 1);
+                    callHandleFault(context, getIndex() + 1, handlers.length - 1);
                 }
                 return false;
             }
@@ -140,7 +144,7 @@ abstract class HandlerProcessor<C extends MessageUpdatableContext> {
                 if (direction == Direction.OUTBOUND) {
                     callHandleMessageReverse(context, getIndex() - 1, 0);
                 } else {
-                    callHandleMessageReverse(context, getIndex() + 1, handlers.size() - 1);
+                    callHandleMessageReverse(context, getIndex() + 1, handlers.length - 1);
                 }
             } else {
                 // Set handleFalse so that cousinTube is aware of false processing
@@ -172,16 +176,16 @@ abstract class HandlerProcessor<C extends MessageUpdatableContext> {
             if (isFault) {
                 // call handleFault on handlers
                 if (direction == Direction.OUTBOUND) {
-                    callHandleFault(context, 0, handlers.size() - 1);
+                    callHandleFault(context, 0, handlers.length - 1);
                 } else {
-                    callHandleFault(context, handlers.size() - 1, 0);
+                    callHandleFault(context, handlers.length - 1, 0);
                 }
             } else {
                 // call handleMessage on handlers                
                 if (direction == Direction.OUTBOUND) {
-                    callHandleMessageReverse(context, 0, handlers.size() - 1);
+                    callHandleMessageReverse(context, 0, handlers.length - 1);
                 } else {
-                    callHandleMessageReverse(context, handlers.size() - 1, 0);
+                    callHandleMessageReverse(context, handlers.length - 1, 0);
                 }
             }
         } catch (RuntimeException re) {
@@ -196,23 +200,17 @@ abstract class HandlerProcessor<C extends MessageUpdatableContext> {
      * MessageContext.MESSAGE_OUTBOUND_PROPERTY is changed.
      */
     private void reverseDirection(Direction origDirection, C context) {
-        if (origDirection == Direction.OUTBOUND) {
-            context.put(MessageContext.MESSAGE_OUTBOUND_PROPERTY, false);
-        } else {
-            context.put(MessageContext.MESSAGE_OUTBOUND_PROPERTY, true);
-        }
+        context.setOutbound(origDirection != Direction.OUTBOUND);
     }
 
     /**
      * Sets the Message Direction.
      * MessageContext.MESSAGE_OUTBOUND_PROPERTY is changed.
+     * This does not create the property map of the context, so a chain of
+     * {@link com.sun.xml.ws.api.handler.HeaderHandler}s runs without it.
      */
     private void setDirection(Direction direction, C context) {
-        if (direction == Direction.OUTBOUND) {
-            context.put(MessageContext.MESSAGE_OUTBOUND_PROPERTY, true);
-        } else {
-            context.put(MessageContext.MESSAGE_OUTBOUND_PROPERTY, false);
-        }
+        context.setOutbound(direction == Direction.OUTBOUND);
     }
 
     /**
@@ -246,9 +244,9 @@ abstract class HandlerProcessor<C extends MessageUpdatableContext> {
     */
     private boolean callHandleMessage(C context, int start, int end) {
         /* Do we need this check?
-        if (handlers.isEmpty() ||
+        if (handlers.length == 0 ||
                 start == -1 ||
-                start == handlers.size()) {
+                start == handlers.length) {
             return false;
         }
          */
@@ -256,7 +254,7 @@ abstract class HandlerProcessor<C extends MessageUpdatableContext> {
         try {
             if (start > end) {
                 while (i >= end) {
-                    if (!handlers.get(i).handleMessage(context)) {
+                    if (!handlers[i].handleMessage(context)) {
                         setIndex(i);
                         return false;
                     }
@@ -264,7 +262,7 @@ abstract class HandlerProcessor<C extends MessageUpdatableContext> {
                 }
             } else {
                 while (i <= end) {
-                    if (!handlers.get(i).handleMessage(context)) {
+                    if (!handlers[i].handleMessage(context)) {
                         setIndex(i);
                         return false;
                     }
@@ -289,9 +287,9 @@ abstract class HandlerProcessor<C extends MessageUpdatableContext> {
     */
     private boolean callHandleMessageReverse(C context, int start, int end) {
 
-        if (handlers.isEmpty() ||
+        if (handlers.length == 0 ||
                 start == -1 ||
-                start == handlers.size()) {
+                start == handlers.length) {
             return false;
         }
 
@@ -299,7 +297,7 @@ abstract class HandlerProcessor<C extends MessageUpdatableContext> {
 
         if (start > end) {
             while (i >= end) {
-                if (!handlers.get(i).handleMessage(context)) {
+                if (!handlers[i].handleMessage(context)) {
                     // Set handleFalse so that cousinTube is aware of false processing
                     setHandleFalseProperty();
                     return false;
@@ -308,7 +306,7 @@ abstract class HandlerProcessor<C extends MessageUpdatableContext> {
             }
         } else {
             while (i <= end) {
-                if (!handlers.get(i).handleMessage(context)) {
+                if (!handlers[i].handleMessage(context)) {
                     // Set handleFalse so that cousinTube is aware of false processing
                     setHandleFalseProperty();
                     return false;
@@ -327,9 +325,9 @@ abstract class HandlerProcessor<C extends MessageUpdatableContext> {
 
     private boolean callHandleFault(C context, int start, int end) {
 
-        if (handlers.isEmpty() ||
+        if (handlers.length == 0 ||
                 start == -1 ||
-                start == handlers.size()) {
+                start == handlers.length) {
             return false;
         }
 
@@ -337,7 +335,7 @@ abstract class HandlerProcessor<C extends MessageUpdatableContext> {
         if (start > end) {
             try {
                 while (i >= end) {
-                    if (!handlers.get(i).handleFault(context)) {
+                    if (!handlers[i].handleFault(context)) {
                         return false;
                     }
                     i--;
@@ -350,7 +348,7 @@ abstract class HandlerProcessor<C extends MessageUpdatableContext> {
         } else {
             try {
                 while (i <= end) {
-                    if (!handlers.get(i).handleFault(context)) {
+                    if (!handlers[i].handleFault(context)) {
                         return false;
                     }
                     i++;
@@ -370,14 +368,14 @@ abstract class HandlerProcessor<C extends MessageUpdatableContext> {
      * inclusive to allow both directions more easily.
      */
     void closeHandlers(MessageContext context, int start, int end) {
-        if (handlers.isEmpty() ||
+        if (handlers.length == 0 ||
                 start == -1) {
             return;
         }
         if (start > end) {
             for (int i = start; i >= end; i--) {
                 try {
-                    handlers.get(i).close(context);
+                    handlers[i].close(context);
                 } catch (RuntimeException re) {
                     logger.log(Level.INFO,
                             "Exception ignored during close", re);
@@ -386,7 +384,7 @@ abstract class HandlerProcessor<C extends MessageUpdatableContext> {
         } else {
             for (int i = start; i <= end; i++) {
                 try {
-                    handlers.get(i).close(context);
+                    handlers[i].close(context);
                 } catch (RuntimeException re) {
                     logger.log(Level.INFO,
                             "Exception ignored during close", re);
@@ -28,10 +28,24 @@ import java.util.List;
  */
 
 public abstract class HandlerTube extends AbstractFilterTubeImpl {
+    /**
+     * If true, a tube keeps one {@link MessageUpdatableContext} and resets it for
+     * each message instead of creating new ones. Tube instances are not shared
+     * between fibers, so neither is the context; handlers must not keep a
+     * reference to it after the call returns.
+     */
+    private static final boolean REUSE_CONTEXTS = getBooleanSystemProperty(
+            HandlerTube.class.getName() + ".reuseContexts");
+
     /**
      * handle hold reference to other Tube for inter-tube communication
      */
     HandlerTube cousinTube;
+    /**
+     * True if another handler tube has this one as its {@link #cousinTube}.
+     * The tube that has none drives the closing of the handlers.
+     */
+    boolean hasOuterTube;
     protected List<Handler> handlers;
     HandlerProcessor processor;
     boolean remedyActionTaken = false;
@@ -40,6 +54,7 @@ public abstract class HandlerTube extends AbstractFilterTubeImpl {
     boolean requestProcessingSucessful = false;
     private WSBinding binding;
     private HandlerConfiguration hc;
+    private MessageUpdatableContext context;
 
     public HandlerTube(Tube next, WSDLPort port, WSBinding binding) {
         super(next);
@@ -52,6 +67,7 @@ public abstract class HandlerTube extends AbstractFilterTubeImpl {
         this.cousinTube = cousinTube;
         this.binding = binding;
         if(cousinTube != null) {
+            cousinTube.hasOuterTube = true;
             this.port = cousinTube.port;
         } else {
             this.port = null;
@@ -68,6 +84,7 @@ public abstract class HandlerTube extends AbstractFilterTubeImpl {
         }
         this.port = that.port;   
         this.binding = that.binding;
+        this.hasOuterTube = that.hasOuterTube;
     }
     
     protected WSBinding getBinding() {
@@ -89,7 +106,7 @@ public abstract class HandlerTube extends AbstractFilterTubeImpl {
         // the roles and handlerchain after a stub/proxy is created.
         setUpProcessorInternal();
 
-        MessageUpdatableContext context = getContext(request);
+        MessageUpdatableContext context = context(request);
         boolean isOneWay = checkOneWay(request);
         try {
             if (!isHandlerChainEmpty()) {
@@ -118,6 +135,7 @@ public abstract class HandlerTube extends AbstractFilterTubeImpl {
         } finally {
             if(!requestProcessingSucessful) {
                 initiateClosing(context.getMessageContext());
+                releaseContext();
             }
         }
 
@@ -126,28 +144,32 @@ public abstract class HandlerTube extends AbstractFilterTubeImpl {
     @Override
     public NextAction processResponse(Packet response) {
         setupExchange();
-        MessageUpdatableContext context = getContext(response);
+        MessageUpdatableContext context = context(response);
         try {
-            if (isHandleFalse() || (response.getMessage() == null)) {
-                // Cousin HandlerTube returned false during Response processing.
-                // or it is oneway request
-                // or handler chain is empty
-                // Don't call handlers.
-                return doReturnWith(response);
-            }
-            
-            setUpProcessorInternal();
-            
-            boolean isFault = isHandleFault(response);
-            if (!isHandlerChainEmpty()) {
-                // Call handlers on Response
-                callHandlersOnResponse(context, isFault);
+            try {
+                if (isHandleFalse() || (response.getMessage() == null)) {
+                    // Cousin HandlerTube returned false during Response processing.
+                    // or it is oneway request
+                    // or handler chain is empty
+                    // Don't call handlers.
+                    return doReturnWith(response);
+                }
+
+                setUpProcessorInternal();
+
+                boolean isFault = isHandleFault(response);
+                if (!isHandlerChainEmpty()) {
+                    // Call handlers on Response
+                    callHandlersOnResponse(context, isFault);
+                }
+            } finally {
+                initiateClosing(context.getMessageContext());
             }
+            //Update Packet with user modifications
+            context.updatePacket();
         } finally {
-            initiateClosing(context.getMessageContext());
+            releaseContext();
         }
-        //Update Packet with user modifications
-        context.updatePacket();
 
         return doReturnWith(response);
 
@@ -159,8 +181,9 @@ public abstract class HandlerTube extends AbstractFilterTubeImpl {
             return doThrow(t);
         } finally {
         	Packet packet = Fiber.current().getPacket();
-            MessageUpdatableContext context = getContext(packet);
+            MessageUpdatableContext context = context(packet);
             initiateClosing(context.getMessageContext());
+            releaseContext();
             /* TODO revisit: commented this out as the modified packet is no longer used
                     In future if the message is propagated even when an exception
                     occurs, then uncomment context.updatePacket();
@@ -285,8 +308,11 @@ public abstract class HandlerTube extends AbstractFilterTubeImpl {
     
     private void setUpProcessorInternal() {
     	HandlerConfiguration hc = ((BindingImpl) binding).getHandlerConfig();
-    	if (hc != this.hc)
+    	if (hc != this.hc) {
     		resetProcessor();
+    		// the context may hold the roles of the old configuration
+    		context = null;
+    	}
     	this.hc = hc;
     	
     	setUpProcessor();
@@ -302,6 +328,40 @@ public abstract class HandlerTube extends AbstractFilterTubeImpl {
         return handlers.isEmpty();
     }
     abstract MessageUpdatableContext getContext(Packet p);
+
+    /**
+     * Gets the context for a packet, reusing the one of the previous
+     * message if {@link #REUSE_CONTEXTS} is set.
+     */
+    private MessageUpdatableContext context(Packet p) {
+        if (!REUSE_CONTEXTS) {
+            return getContext(p);
+        }
+        if (context == null) {
+            context = getContext(p);
+        } else {
+            context.reset(p);
+        }
+        return context;
+    }
+
+    /**
+     * Drops the packet of the reused context once the exchange is over,
+     * so that the tube does not keep the last message alive.
+     */
+    private void releaseContext() {
+        if (context != null) {
+            context.reset(null);
+        }
+    }
+
+    private static boolean getBooleanSystemProperty(String name) {
+        try {
+            return Boolean.getBoolean(name);
+        } catch (SecurityException e) {
+            return false;
+        }
+    }
     
     private boolean isHandleFault(Packet packet) {
         if (cousinTube != null) {
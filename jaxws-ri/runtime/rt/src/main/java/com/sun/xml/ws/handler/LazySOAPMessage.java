@@ -0,0 +1,530 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.handler;
+
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.message.Attachment;
+import com.sun.xml.ws.api.message.Header;
+import com.sun.xml.ws.api.message.HeaderList;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.MessageHeaders;
+import com.sun.xml.ws.api.message.saaj.SAAJFactory;
+import com.sun.xml.ws.api.message.saaj.SaajStaxWriter;
+import com.sun.xml.ws.message.saaj.SAAJHeader;
+import com.sun.xml.ws.message.stream.StreamMessage;
+import com.sun.xml.ws.util.xml.XMLStreamWriterFilter;
+
+import jakarta.xml.soap.AttachmentPart;
+import jakarta.xml.soap.MimeHeaders;
+import jakarta.xml.soap.SOAPBody;
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPEnvelope;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPHeader;
+import jakarta.xml.soap.SOAPHeaderElement;
+import jakarta.xml.soap.SOAPMessage;
+import jakarta.xml.soap.SOAPPart;
+import jakarta.xml.ws.WebServiceException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.w3c.dom.Node;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * {@link SOAPMessage} view of a {@link Message} that is built as late as possible.
+ *
+ * <p>
+ * {@link #getSOAPHeader()} only converts the headers, into a SAAJ envelope
+ * with an empty body. Any other access, starting with {@link #getSOAPBody()},
+ * fills the body and the attachments into the same envelope, so the
+ * {@link SOAPHeader} obtained before stays valid.
+ *
+ * <p>
+ * If the body was never accessed, {@link #toMessage()} copies the headers that
+ * were changed back into the original {@link Message}, so a handler that only
+ * looks at the headers does not turn a streamed body into a DOM, and headers
+ * that were only read stay as they were. The namespaces declared on the original
+ * envelope are declared on the SAAJ envelope too, and on every changed header
+ * when it is copied back, so prefixes used in header content keep resolving.
+ *
+ * @see SOAPMessageContextImpl#getMessage()
+ */
+final class LazySOAPMessage extends SOAPMessage {
+
+    private final Message message;
+    private final SOAPVersion soapVersion;
+
+    /**
+     * Envelope with the headers, and with the body once {@link #full} is true.
+     */
+    private SOAPMessage saaj;
+    private boolean full;
+
+    /**
+     * Headers of the message, the elements they were written to and copies of
+     * these elements as they were written, or null if the elements could not
+     * be matched with the headers.
+     */
+    private List<Header> originals;
+    private List<SOAPHeaderElement> written;
+    private List<Node> snapshots;
+
+    LazySOAPMessage(Message message, SOAPVersion soapVersion) {
+        this.message = message;
+        this.soapVersion = soapVersion;
+    }
+
+    /**
+     * Creates the envelope with the headers only.
+     */
+    private SOAPMessage headers() throws SOAPException {
+        if (saaj == null) {
+            SOAPMessage msg = soapVersion.getMessageFactory().createMessage();
+            if (message instanceof StreamMessage) {
+                declareNamespaces(msg.getSOAPPart().getEnvelope(),
+                        ((StreamMessage) message).getHeaderInscopeNamespaces());
+            }
+            List<Header> headers = new ArrayList<>();
+            if (message.hasHeaders()) {
+                for (Iterator<Header> it = message.getHeaders().getHeaders(); it.hasNext();) {
+                    Header h = it.next();
+                    h.writeTo(msg);
+                    headers.add(h);
+                }
+            }
+            List<SOAPHeaderElement> elements = headerElements(msg);
+            if (elements.size() == headers.size()) {
+                originals = headers;
+                written = elements;
+                snapshots = new ArrayList<>(elements.size());
+                for (SOAPHeaderElement e : elements) {
+                    snapshots.add(e.cloneNode(true));
+                }
+            }
+            saaj = msg;
+        }
+        return saaj;
+    }
+
+    /**
+     * Fills the body and the attachments into the envelope.
+     */
+    private SOAPMessage full() {
+        if (!full) {
+            try {
+                if (saaj == null) {
+                    saaj = message.readAsSOAPMessage();
+                } else {
+                    SaajStaxWriter writer = new SaajStaxWriter(saaj, soapVersion.nsUri);
+                    try {
+                        message.writeTo(new SkipHeaderWriter(writer, soapVersion.nsUri));
+                    } catch (XMLStreamException e) {
+                        throw (e.getCause() instanceof SOAPException) ? (SOAPException) e.getCause() : new SOAPException(e);
+                    }
+                    for (Attachment att : message.getAttachments()) {
+                        att.writeTo(saaj);
+                    }
+                    if (saaj.saveRequired()) {
+                        saaj.saveChanges();
+                    }
+                }
+            } catch (SOAPException e) {
+                throw new WebServiceException(e);
+            }
+            full = true;
+        }
+        return saaj;
+    }
+
+    /**
+     * Gets the {@link Message} that reflects the changes made through this view.
+     */
+    Message toMessage() {
+        if (full) {
+            return SAAJFactory.create(saaj);
+        }
+        if (saaj == null) {
+            return message;
+        }
+        MessageHeaders headers = message.getHeaders();
+        if (!(headers instanceof HeaderList)) {
+            return SAAJFactory.create(full());
+        }
+        List<Header> newHeaders = new ArrayList<>();
+        try {
+            for (SOAPHeaderElement e : headerElements(saaj)) {
+                Header original = unchanged(e);
+                if (original != null) {
+                    newHeaders.add(original);
+                } else {
+                    keepNamespaces(e);
+                    newHeaders.add(new SAAJHeader(e));
+                }
+            }
+        } catch (SOAPException e) {
+            throw new WebServiceException(e);
+        }
+        List<Header> list = headers.asList();
+        if (sameNames(list, newHeaders)) {
+            // ArrayList.set keeps the understood bits of HeaderList in place
+            for (int i = 0; i < newHeaders.size(); i++) {
+                if (list.get(i) != newHeaders.get(i)) {
+                    list.set(i, newHeaders.get(i));
+                }
+            }
+        } else {
+            for (int i = list.size() - 1; i >= 0; i--) {
+                list.remove(i);
+            }
+            for (Header h : newHeaders) {
+                headers.add(h);
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Gets the original header of an element that was not changed, or null.
+     */
+    private Header unchanged(SOAPHeaderElement e) {
+        if (written == null) {
+            return null;
+        }
+        for (int i = 0; i < written.size(); i++) {
+            if (written.get(i) == e) {
+                return e.isEqualNode(snapshots.get(i)) ? originals.get(i) : null;
+            }
+        }
+        return null;
+    }
+
+    private static List<SOAPHeaderElement> headerElements(SOAPMessage msg) throws SOAPException {
+        List<SOAPHeaderElement> elements = new ArrayList<>();
+        SOAPHeader header = msg.getSOAPHeader();
+        if (header != null) {
+            for (Iterator<SOAPHeaderElement> it = header.examineAllHeaderElements(); it.hasNext();) {
+                elements.add(it.next());
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Declares namespaces on the envelope, unless their prefix is already used there.
+     */
+    private static void declareNamespaces(SOAPEnvelope envelope, String[] namespaces) throws SOAPException {
+        for (int i = 0; i < namespaces.length; i += 2) {
+            if (envelope.getNamespaceURI(namespaces[i]) == null) {
+                envelope.addNamespaceDeclaration(namespaces[i], namespaces[i + 1]);
+            }
+        }
+    }
+
+    /**
+     * Declares on a header element the namespaces in scope from the header
+     * and the envelope, as the element is taken out of them.
+     */
+    private static void keepNamespaces(SOAPElement e) throws SOAPException {
+        for (Node n = e.getParentNode(); n instanceof SOAPElement; n = n.getParentNode()) {
+            SOAPElement ancestor = (SOAPElement) n;
+            for (Iterator<String> it = ancestor.getNamespacePrefixes(); it.hasNext();) {
+                String prefix = it.next();
+                String uri = ancestor.getNamespaceURI(prefix);
+                if (uri != null && !declaredOn(e, prefix)) {
+                    e.addNamespaceDeclaration(prefix, uri);
+                }
+            }
+        }
+    }
+
+    private static boolean declaredOn(SOAPElement e, String prefix) {
+        for (Iterator<String> it = e.getNamespacePrefixes(); it.hasNext();) {
+            if (prefix.equals(it.next())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean sameNames(List<Header> a, List<Header> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!a.get(i).getLocalPart().equals(b.get(i).getLocalPart())
+                    || !a.get(i).getNamespaceURI().equals(b.get(i).getNamespaceURI())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public SOAPHeader getSOAPHeader() throws SOAPException {
+        return full ? saaj.getSOAPHeader() : headers().getSOAPHeader();
+    }
+
+    @Override
+    public SOAPBody getSOAPBody() throws SOAPException {
+        return full().getSOAPBody();
+    }
+
+    @Override
+    public SOAPPart getSOAPPart() {
+        return full().getSOAPPart();
+    }
+
+    @Override
+    public void setContentDescription(String description) {
+        full().setContentDescription(description);
+    }
+
+    @Override
+    public String getContentDescription() {
+        return full().getContentDescription();
+    }
+
+    @Override
+    public void removeAllAttachments() {
+        full().removeAllAttachments();
+    }
+
+    @Override
+    public int countAttachments() {
+        return full().countAttachments();
+    }
+
+    @Override
+    public Iterator<AttachmentPart> getAttachments() {
+        return full().getAttachments();
+    }
+
+    @Override
+    public Iterator<AttachmentPart> getAttachments(MimeHeaders headers) {
+        return full().getAttachments(headers);
+    }
+
+    @Override
+    public void removeAttachments(MimeHeaders headers) {
+        full().removeAttachments(headers);
+    }
+
+    @Override
+    public AttachmentPart getAttachment(SOAPElement element) throws SOAPException {
+        return full().getAttachment(element);
+    }
+
+    @Override
+    public void addAttachmentPart(AttachmentPart attachmentPart) {
+        full().addAttachmentPart(attachmentPart);
+    }
+
+    @Override
+    public AttachmentPart createAttachmentPart() {
+        return full().createAttachmentPart();
+    }
+
+    @Override
+    public MimeHeaders getMimeHeaders() {
+        return full().getMimeHeaders();
+    }
+
+    @Override
+    public void saveChanges() throws SOAPException {
+        full().saveChanges();
+    }
+
+    @Override
+    public boolean saveRequired() {
+        return full().saveRequired();
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws SOAPException, IOException {
+        full().writeTo(out);
+    }
+
+    @Override
+    public void setProperty(String property, Object value) throws SOAPException {
+        full().setProperty(property, value);
+    }
+
+    @Override
+    public Object getProperty(String property) throws SOAPException {
+        return full().getProperty(property);
+    }
+
+    /**
+     * Drops the SOAP header element and everything inside it,
+     * as the headers are already in the envelope.
+     */
+    private static final class SkipHeaderWriter extends XMLStreamWriterFilter {
+        private final String envURI;
+        private int depth;
+        /**
+         * Depth of the header element while it is being skipped, 0 otherwise.
+         */
+        private int skipping;
+
+        SkipHeaderWriter(XMLStreamWriter writer, String envURI) {
+            super(writer);
+            this.envURI = envURI;
+        }
+
+        private boolean startElement(String ns, String localName) {
+            depth++;
+            if (skipping == 0 && depth == 2 && envURI.equals(ns) && "Header".equals(localName)) {
+                skipping = depth;
+            }
+            return skipping == 0;
+        }
+
+        @Override
+        public void writeStartElement(String localName) throws XMLStreamException {
+            if (startElement(null, localName)) {
+                writer.writeStartElement(localName);
+            }
+        }
+
+        @Override
+        public void writeStartElement(String ns, String localName) throws XMLStreamException {
+            if (startElement(ns, localName)) {
+                writer.writeStartElement(ns, localName);
+            }
+        }
+
+        @Override
+        public void writeStartElement(String prefix, String localName, String ns) throws XMLStreamException {
+            if (startElement(ns, localName)) {
+                writer.writeStartElement(prefix, localName, ns);
+            }
+        }
+
+        @Override
+        public void writeEmptyElement(String ns, String localName) throws XMLStreamException {
+            if (skipping == 0 && !(depth == 1 && envURI.equals(ns) && "Header".equals(localName))) {
+                writer.writeEmptyElement(ns, localName);
+            }
+        }
+
+        @Override
+        public void writeEmptyElement(String prefix, String localName, String ns) throws XMLStreamException {
+            if (skipping == 0 && !(depth == 1 && envURI.equals(ns) && "Header".equals(localName))) {
+                writer.writeEmptyElement(prefix, localName, ns);
+            }
+        }
+
+        @Override
+        public void writeEmptyElement(String localName) throws XMLStreamException {
+            if (skipping == 0) {
+                writer.writeEmptyElement(localName);
+            }
+        }
+
+        @Override
+        public void writeEndElement() throws XMLStreamException {
+            if (skipping == 0) {
+                writer.writeEndElement();
+            } else if (skipping == depth) {
+                skipping = 0;
+            }
+            depth--;
+        }
+
+        @Override
+        public void writeAttribute(String localName, String value) throws XMLStreamException {
+            if (skipping == 0) {
+                writer.writeAttribute(localName, value);
+            }
+        }
+
+        @Override
+        public void writeAttribute(String prefix, String ns, String localName, String value) throws XMLStreamException {
+            if (skipping == 0) {
+                writer.writeAttribute(prefix, ns, localName, value);
+            }
+        }
+
+        @Override
+        public void writeAttribute(String ns, String localName, String value) throws XMLStreamException {
+            if (skipping == 0) {
+                writer.writeAttribute(ns, localName, value);
+            }
+        }
+
+        @Override
+        public void writeNamespace(String prefix, String ns) throws XMLStreamException {
+            if (skipping == 0) {
+                writer.writeNamespace(prefix, ns);
+            }
+        }
+
+        @Override
+        public void writeDefaultNamespace(String ns) throws XMLStreamException {
+            if (skipping == 0) {
+                writer.writeDefaultNamespace(ns);
+            }
+        }
+
+        @Override
+        public void writeComment(String data) throws XMLStreamException {
+            if (skipping == 0) {
+                writer.writeComment(data);
+            }
+        }
+
+        @Override
+        public void writeProcessingInstruction(String target) throws XMLStreamException {
+            if (skipping == 0) {
+                writer.writeProcessingInstruction(target);
+            }
+        }
+
+        @Override
+        public void writeProcessingInstruction(String target, String data) throws XMLStreamException {
+            if (skipping == 0) {
+                writer.writeProcessingInstruction(target, data);
+            }
+        }
+
+        @Override
+        public void writeCData(String data) throws XMLStreamException {
+            if (skipping == 0) {
+                writer.writeCData(data);
+            }
+        }
+
+        @Override
+        public void writeEntityRef(String name) throws XMLStreamException {
+            if (skipping == 0) {
+                writer.writeEntityRef(name);
+            }
+        }
+
+        @Override
+        public void writeCharacters(String text) throws XMLStreamException {
+            if (skipping == 0) {
+                writer.writeCharacters(text);
+            }
+        }
+
+        @Override
+        public void writeCharacters(char[] text, int start, int len) throws XMLStreamException {
+            if (skipping == 0) {
+                writer.writeCharacters(text, start, len);
+            }
+        }
+    }
+}
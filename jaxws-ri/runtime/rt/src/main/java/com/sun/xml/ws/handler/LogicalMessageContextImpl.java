@@ -39,6 +39,10 @@ class LogicalMessageContextImpl extends MessageUpdatableContext implements Logic
         this.defaultJaxbContext = defaultJAXBContext;
     }
 
+    void resetMessage() {
+        lm = null;
+    }
+
     public LogicalMessage getMessage() {
         if(lm == null)
             lm = new LogicalMessageImpl(defaultJaxbContext, packet);
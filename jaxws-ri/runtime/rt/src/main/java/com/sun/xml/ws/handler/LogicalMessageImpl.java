@@ -307,9 +307,13 @@ class LogicalMessageImpl implements LogicalMessage {
         public Source getPayload() {
             assert (!(payloadSrc instanceof DOMSource));
             try {
-                Transformer transformer = XmlUtil.newTransformer();
+                Transformer transformer = XmlUtil.takeTransformer(true);
                 DOMResult domResult = new DOMResult();
-                transformer.transform(payloadSrc, domResult);
+                try {
+                    transformer.transform(payloadSrc, domResult);
+                } finally {
+                    XmlUtil.recycleTransformer(true, transformer);
+                }
                 DOMSource dom = new DOMSource(domResult.getNode());
                 lm = new DOMLogicalMessageImpl((DOMSource) dom);
                 payloadSrc = null;
@@ -12,8 +12,9 @@ package com.sun.xml.ws.handler;
 
 import com.sun.istack.Nullable;
 import com.sun.xml.ws.api.WSBinding;
-import com.sun.xml.ws.api.handler.MessageHandlerContext;
+import com.sun.xml.ws.api.handler.HeaderHandlerContext;
 import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.MessageHeaders;
 import com.sun.xml.ws.api.message.Packet;
 import com.sun.xml.ws.api.model.SEIModel;
 import com.sun.xml.ws.api.model.wsdl.WSDLPort;
@@ -21,9 +22,12 @@ import com.sun.xml.ws.api.model.wsdl.WSDLPort;
 import java.util.Set;
 
 /**
+ * Context of the {@link com.sun.xml.ws.api.handler.MessageHandler}s,
+ * including the {@link com.sun.xml.ws.api.handler.HeaderHandler}s.
+ *
  * @author Rama Pulavarthi
  */
-public class MessageHandlerContextImpl extends MessageUpdatableContext implements MessageHandlerContext {
+public class MessageHandlerContextImpl extends MessageUpdatableContext implements HeaderHandlerContext {
     private @Nullable SEIModel seiModel;
     private Set<String> roles;
     private WSBinding binding;
@@ -44,6 +48,15 @@ public class MessageHandlerContextImpl extends MessageUpdatableContext implement
         packet.setMessage(message);
     }
 
+    public MessageHeaders getHeaders() {
+        Message message = packet.getMessage();
+        return message != null ? message.getHeaders() : null;
+    }
+
+    public Packet getPacket() {
+        return packet;
+    }
+
     public Set<String> getRoles() {
         return roles;
     }
@@ -64,6 +77,10 @@ public class MessageHandlerContextImpl extends MessageUpdatableContext implement
        // Do Nothing
     }
 
+    void resetMessage() {
+       // Do Nothing
+    }
+
     void setPacketMessage(Message newMessage) {
         setMessage(newMessage);
     }
@@ -10,11 +10,15 @@
 
 package com.sun.xml.ws.handler;
 
+import com.sun.xml.ws.api.message.Attachment;
+import com.sun.xml.ws.api.message.AttachmentSet;
 import com.sun.xml.ws.api.message.Message;
 import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.message.DataHandlerAttachment;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import jakarta.activation.DataHandler;
 import jakarta.xml.ws.handler.MessageContext;
 
 /**
@@ -24,13 +28,98 @@ import jakarta.xml.ws.handler.MessageContext;
  * @author WS Development Team
  */
 public abstract class MessageUpdatableContext implements MessageContext {
-    final Packet packet;
+    Packet packet;
+    /**
+     * Map view of the packet properties, created on first use.
+     */
     private MessageContextImpl ctxt;
+    /**
+     * Value of {@link MessageContext#MESSAGE_OUTBOUND_PROPERTY},
+     * kept here until {@link #ctxt} is created.
+     */
+    private Boolean outbound;
+
     /** Creates a new instance of MessageUpdatableContext */
     public MessageUpdatableContext(Packet packet) {
-        ctxt = new MessageContextImpl(packet);
         this.packet = packet;
     }
+
+    /**
+     * Makes this context a view of another packet, so that a {@link HandlerTube}
+     * can keep one context for all the messages it processes.
+     */
+    void reset(Packet packet) {
+        this.packet = packet;
+        ctxt = null;
+        outbound = null;
+        resetMessage();
+    }
+
+    /**
+     * Drops the view of the message of the previous packet.
+     */
+    abstract void resetMessage();
+
+    /**
+     * Gets the map view of the packet properties. Handlers that only work
+     * on the message, such as {@link com.sun.xml.ws.api.handler.HeaderHandler}s,
+     * never get here.
+     */
+    private MessageContextImpl ctxt() {
+        if (ctxt == null) {
+            ctxt = new MessageContextImpl(packet);
+            if (outbound != null) {
+                ctxt.put(MessageContext.MESSAGE_OUTBOUND_PROPERTY, outbound);
+            }
+        }
+        return ctxt;
+    }
+
+    /**
+     * Sets the {@link MessageContext#MESSAGE_OUTBOUND_PROPERTY}.
+     */
+    void setOutbound(boolean value) {
+        outbound = value;
+        if (ctxt != null) {
+            ctxt.put(MessageContext.MESSAGE_OUTBOUND_PROPERTY, value);
+        }
+    }
+
+    /**
+     * @return true if the message is outbound
+     */
+    public boolean isOutbound() {
+        if (ctxt != null) {
+            return Boolean.TRUE.equals(ctxt.get(MessageContext.MESSAGE_OUTBOUND_PROPERTY));
+        }
+        return Boolean.TRUE.equals(outbound);
+    }
+
+    /**
+     * Adds the attachments of {@link MessageContext#OUTBOUND_MESSAGE_ATTACHMENTS}
+     * to the message, skipping those that are already there.
+     */
+    void addOutboundAttachments() {
+        Map<String, DataHandler> atts;
+        if (ctxt == null) {
+            // the property is only ever stored in the invocation properties,
+            // look there before creating the map view
+            atts = (Map<String, DataHandler>) packet.invocationProperties.get(MessageContext.OUTBOUND_MESSAGE_ATTACHMENTS);
+            if (atts == null || atts.isEmpty()) {
+                return;
+            }
+        } else {
+            atts = (Map<String, DataHandler>) ctxt.get(MessageContext.OUTBOUND_MESSAGE_ATTACHMENTS);
+        }
+        AttachmentSet attSet = packet.getMessage().getAttachments();
+        for (Map.Entry<String, DataHandler> entry : atts.entrySet()) {
+            String cid = entry.getKey();
+            if (attSet.get(cid) == null) { // Otherwise we would be adding attachments twice
+                Attachment att = new DataHandlerAttachment(cid, entry.getValue());
+                attSet.add(att);
+            }
+        }
+    }
     
     /**
      * Updates Message in the packet with user modifications
@@ -60,66 +149,69 @@ public abstract class MessageUpdatableContext implements MessageContext {
         updateMessage();
     }
     
-    MessageContextImpl getMessageContext() {
-        return ctxt;
+    /**
+     * Gets the context passed to {@link jakarta.xml.ws.handler.Handler#close}.
+     */
+    MessageContext getMessageContext() {
+        return ctxt();
     }
     
     public void setScope(String name, Scope scope) {
-        ctxt.setScope(name, scope);
+        ctxt().setScope(name, scope);
     }
 
     public Scope getScope(String name) {
-        return ctxt.getScope(name);
+        return ctxt().getScope(name);
     }
 
     /* java.util.Map methods below here */
 
     public void clear() {
-        ctxt.clear();
+        ctxt().clear();
     }
 
     public boolean containsKey(Object obj) {
-        return ctxt.containsKey(obj);
+        return ctxt().containsKey(obj);
     }
 
     public boolean containsValue(Object obj) {
-        return ctxt.containsValue(obj);
+        return ctxt().containsValue(obj);
     }
 
     public Set<Entry<String, Object>> entrySet() {
-        return ctxt.entrySet();
+        return ctxt().entrySet();
     }
 
     public Object get(Object obj) {
-        return ctxt.get(obj);
+        return ctxt().get(obj);
     }
 
     public boolean isEmpty() {
-        return ctxt.isEmpty();
+        return ctxt().isEmpty();
     }
 
     public Set<String> keySet() {
-        return ctxt.keySet();
+        return ctxt().keySet();
     }
 
     public Object put(String str, Object obj) {
-        return ctxt.put(str, obj);
+        return ctxt().put(str, obj);
     }
 
     public void putAll(Map<? extends String, ? extends Object> map) {
-        ctxt.putAll(map);
+        ctxt().putAll(map);
     }
 
     public Object remove(Object obj) {
-        return ctxt.remove(obj);
+        return ctxt().remove(obj);
     }
 
     public int size() {
-        return ctxt.size();
+        return ctxt().size();
     }
 
     public Collection<Object> values() {
-        return ctxt.values();
+        return ctxt().values();
     }
     
 }
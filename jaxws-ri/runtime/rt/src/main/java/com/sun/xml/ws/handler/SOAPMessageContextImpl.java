@@ -13,6 +13,7 @@ import com.sun.xml.ws.api.message.Header;
 import com.sun.xml.ws.api.message.Message;
 import com.sun.xml.ws.api.message.Packet;
 import com.sun.xml.ws.api.message.saaj.SAAJFactory;
+import com.sun.xml.ws.message.saaj.SAAJMessage;
 import com.sun.xml.ws.api.WSBinding;
 import com.sun.xml.ws.api.SOAPVersion;
 
@@ -38,6 +39,13 @@ import java.util.Set;
  */
 public class SOAPMessageContextImpl extends MessageUpdatableContext implements SOAPMessageContext {
 
+    /**
+     * If true, {@link #getMessage()} converts the whole message to SAAJ right away,
+     * instead of returning a {@link LazySOAPMessage}.
+     */
+    private static final boolean EAGER_SOAP_MESSAGE = getBooleanSystemProperty(
+            SOAPMessageContextImpl.class.getName() + ".eagerSOAPMessage");
+
     private Set<String> roles;
     private SOAPMessage soapMsg = null;
     private WSBinding binding;
@@ -48,11 +56,21 @@ public class SOAPMessageContextImpl extends MessageUpdatableContext implements S
         this.roles = roles;
     }
 
+    void resetMessage() {
+        soapMsg = null;
+    }
+
     public SOAPMessage getMessage() {
         if(soapMsg == null) {
             try {
             	Message m = packet.getMessage();
-            	soapMsg = m != null ? m.readAsSOAPMessage() : null;
+            	if (m == null) {
+            	    soapMsg = null;
+            	} else if (EAGER_SOAP_MESSAGE || m instanceof SAAJMessage || packet.getSAAJFactory() != null) {
+            	    soapMsg = m.readAsSOAPMessage();
+            	} else {
+            	    soapMsg = new LazySOAPMessage(m, binding.getSOAPVersion());
+            	}
             } catch (SOAPException e) {
                 throw new WebServiceException(e);
             }
@@ -79,11 +97,23 @@ public class SOAPMessageContextImpl extends MessageUpdatableContext implements S
         //Check if SOAPMessage has changed, if so construct new one,
         // Packet are handled through MessageContext
         if(soapMsg != null) {
-            packet.setMessage(SAAJFactory.create(soapMsg));
+            if (soapMsg instanceof LazySOAPMessage) {
+                packet.setMessage(((LazySOAPMessage) soapMsg).toMessage());
+            } else {
+                packet.setMessage(SAAJFactory.create(soapMsg));
+            }
             soapMsg = null;
         }
     }
 
+    private static boolean getBooleanSystemProperty(String name) {
+        try {
+            return Boolean.getBoolean(name);
+        } catch (SecurityException e) {
+            return false;
+        }
+    }
+
     public Object[] getHeaders(QName header, JAXBContext jaxbContext, boolean allRoles) {
         SOAPVersion soapVersion = binding.getSOAPVersion();
 
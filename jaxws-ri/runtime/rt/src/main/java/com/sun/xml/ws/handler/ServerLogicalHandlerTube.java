@@ -77,9 +77,10 @@ public class ServerLogicalHandlerTube extends HandlerTube {
     //should be overridden by DriverHandlerTubes
     @Override
     protected void initiateClosing(MessageContext mc) {
-         if (getBinding().getSOAPVersion() != null) {
+         if (hasOuterTube) {
             super.initiateClosing(mc);
         } else {
+            // XML/HTTP binding, or no SOAP or message handlers
             close(mc);
             super.initiateClosing(mc); 
         }
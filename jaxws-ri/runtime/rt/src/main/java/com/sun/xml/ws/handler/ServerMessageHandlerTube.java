@@ -12,23 +12,19 @@ package com.sun.xml.ws.handler;
 
 import com.sun.xml.ws.api.WSBinding;
 import com.sun.xml.ws.api.handler.MessageHandler;
-import com.sun.xml.ws.api.message.Attachment;
-import com.sun.xml.ws.api.message.AttachmentSet;
 import com.sun.xml.ws.api.message.Packet;
 import com.sun.xml.ws.api.model.SEIModel;
+import com.sun.xml.ws.api.model.wsdl.WSDLPort;
 import com.sun.xml.ws.api.pipe.Tube;
 import com.sun.xml.ws.api.pipe.TubeCloner;
 import com.sun.xml.ws.api.pipe.helper.AbstractFilterTubeImpl;
 import com.sun.xml.ws.binding.BindingImpl;
 import com.sun.xml.ws.client.HandlerConfiguration;
-import com.sun.xml.ws.message.DataHandlerAttachment;
 
-import jakarta.activation.DataHandler;
 import jakarta.xml.ws.WebServiceException;
 import jakarta.xml.ws.handler.MessageContext;
 import jakarta.xml.ws.handler.Handler;
 import java.util.*;
-import java.util.Map.Entry;
 
 /**
  * @author Rama Pulavarthi
@@ -37,6 +33,15 @@ public class ServerMessageHandlerTube extends HandlerTube{
     private SEIModel seiModel;
     private Set<String> roles;
 
+    /**
+     * Creates a tube for an endpoint that has message handlers only.
+     */
+    public ServerMessageHandlerTube(SEIModel seiModel, WSBinding binding, WSDLPort port, Tube next) {
+        super(next, port, binding);
+        this.seiModel = seiModel;
+        setUpHandlersOnce();
+    }
+
     public ServerMessageHandlerTube(SEIModel seiModel, WSBinding binding, Tube next, HandlerTube cousinTube) {
         super(next, cousinTube, binding);
         this.seiModel = seiModel;
@@ -66,15 +71,7 @@ public class ServerMessageHandlerTube extends HandlerTube{
 
     void callHandlersOnResponse(MessageUpdatableContext context, boolean handleFault) {
         //Lets copy all the MessageContext.OUTBOUND_ATTACHMENT_PROPERTY to the message
-        Map<String, DataHandler> atts = (Map<String, DataHandler>) context.get(MessageContext.OUTBOUND_MESSAGE_ATTACHMENTS);        
-        AttachmentSet attSet = context.packet.getMessage().getAttachments();
-        for (Entry<String, DataHandler> entry : atts.entrySet()) {
-            String cid = entry.getKey();
-            if (attSet.get(cid) == null) { // Otherwise we would be adding attachments twice
-                Attachment att = new DataHandlerAttachment(cid, atts.get(cid));
-                attSet.add(att);
-            }
-        }
+        context.addOutboundAttachments();
 
         try {
             //SERVER-SIDE
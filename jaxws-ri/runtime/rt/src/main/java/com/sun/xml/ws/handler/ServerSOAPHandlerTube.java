@@ -148,4 +148,13 @@ public class ServerSOAPHandlerTube extends HandlerTube {
         closeServersideHandlers(mc);
 
     }
+
+    // drives the closing when there are no message handlers
+    @Override
+    protected void initiateClosing(MessageContext mc) {
+        if (!hasOuterTube) {
+            close(mc);
+        }
+        super.initiateClosing(mc);
+    }
 }
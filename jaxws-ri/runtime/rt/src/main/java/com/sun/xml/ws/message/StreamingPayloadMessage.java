@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.message;
+
+import com.sun.istack.NotNull;
+import com.sun.xml.stream.buffer.MutableXMLStreamBuffer;
+import com.sun.xml.stream.buffer.XMLStreamBuffer;
+import com.sun.xml.stream.buffer.XMLStreamBufferSource;
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.message.HeaderList;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.MessageHeaders;
+import com.sun.xml.ws.api.server.StreamingPayload;
+import com.sun.xml.ws.streaming.XMLStreamReaderUtil;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.Source;
+import jakarta.xml.ws.WebServiceException;
+
+import static javax.xml.stream.XMLStreamConstants.START_DOCUMENT;
+
+/**
+ * {@link Message} whose payload is written by a {@link StreamingPayload.Writer}.
+ *
+ * <p>
+ * {@link #writePayloadTo(XMLStreamWriter)} calls the writer directly, so the payload
+ * goes to the transport as the application writes it. Any other access to the payload
+ * calls the writer into an infoset first, and reads that.
+ *
+ * @see StreamingPayload#create(SOAPVersion, QName, StreamingPayload.Writer)
+ */
+public final class StreamingPayloadMessage extends AbstractMessageImpl {
+
+    private final QName payloadName;
+    private StreamingPayload.Writer writer;
+
+    private HeaderList headers;
+    private XMLStreamBuffer infoset;
+
+    public StreamingPayloadMessage(@NotNull SOAPVersion soapVersion, @NotNull QName payloadName, @NotNull StreamingPayload.Writer writer) {
+        super(soapVersion);
+        this.payloadName = payloadName;
+        this.writer = writer;
+    }
+
+    /**
+     * Copy constructor.
+     */
+    private StreamingPayloadMessage(StreamingPayloadMessage that) {
+        super(that);
+        this.payloadName = that.payloadName;
+        this.infoset = that.infoset();
+        if (that.headers != null) {
+            this.headers = new HeaderList(that.headers);
+        }
+        this.attachmentSet = that.attachmentSet;
+    }
+
+    @Override
+    public boolean hasHeaders() {
+        return headers != null && headers.hasHeaders();
+    }
+
+    @Override
+    public MessageHeaders getHeaders() {
+        if (headers == null) {
+            headers = new HeaderList(getSOAPVersion());
+        }
+        return headers;
+    }
+
+    @Override
+    public String getPayloadLocalPart() {
+        return payloadName.getLocalPart();
+    }
+
+    @Override
+    public String getPayloadNamespaceURI() {
+        return payloadName.getNamespaceURI();
+    }
+
+    @Override
+    public boolean hasPayload() {
+        return true;
+    }
+
+    /**
+     * Takes the writer, which can only be called once.
+     */
+    private StreamingPayload.Writer writer() {
+        StreamingPayload.Writer w = writer;
+        if (w == null) {
+            throw new IllegalStateException("The payload was already written");
+        }
+        writer = null;
+        return w;
+    }
+
+    private XMLStreamBuffer infoset() {
+        if (infoset == null) {
+            try {
+                MutableXMLStreamBuffer buffer = new MutableXMLStreamBuffer();
+                writer().writeTo(buffer.createFromXMLStreamWriter());
+                infoset = buffer;
+            } catch (XMLStreamException e) {
+                throw new WebServiceException(e);
+            }
+        }
+        return infoset;
+    }
+
+    @Override
+    public Source readPayloadAsSource() {
+        return new XMLStreamBufferSource(infoset());
+    }
+
+    @Override
+    public XMLStreamReader readPayload() throws XMLStreamException {
+        XMLStreamReader reader = infoset().readAsXMLStreamReader();
+        if (reader.getEventType() == START_DOCUMENT) {
+            XMLStreamReaderUtil.nextElementContent(reader);
+        }
+        return reader;
+    }
+
+    @Override
+    public void writePayloadTo(XMLStreamWriter sw) throws XMLStreamException {
+        if (infoset != null) {
+            infoset.writeToXMLStreamWriter(sw, true);
+        } else {
+            writer().writeTo(sw);
+        }
+    }
+
+    @Override
+    protected void writePayloadTo(ContentHandler contentHandler, ErrorHandler errorHandler, boolean fragment) throws SAXException {
+        infoset().writeTo(contentHandler, errorHandler, fragment);
+    }
+
+    @Override
+    public Message copy() {
+        return new StreamingPayloadMessage(this).copyFrom(this);
+    }
+}
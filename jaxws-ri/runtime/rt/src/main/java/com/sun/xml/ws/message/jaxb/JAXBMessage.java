@@ -14,6 +14,7 @@ import com.sun.istack.FragmentContentHandler;
 import com.sun.xml.stream.buffer.MutableXMLStreamBuffer;
 import com.sun.xml.stream.buffer.XMLStreamBuffer;
 import com.sun.xml.stream.buffer.XMLStreamBufferResult;
+import com.sun.xml.stream.buffer.XMLStreamBufferSource;
 import com.sun.xml.ws.api.SOAPVersion;
 import com.sun.xml.ws.api.message.AttachmentSet;
 import com.sun.xml.ws.api.message.Header;
@@ -28,6 +29,7 @@ import com.sun.xml.ws.message.RootElementSniffer;
 import com.sun.xml.ws.message.stream.StreamMessage;
 import com.sun.xml.ws.spi.db.BindingContext;
 import com.sun.xml.ws.spi.db.BindingContextFactory;
+import com.sun.xml.ws.spi.db.WrapperComposite;
 import com.sun.xml.ws.spi.db.XMLBridge;
 import com.sun.xml.ws.streaming.XMLStreamWriterUtil;
 import com.sun.xml.ws.streaming.XMLStreamReaderUtil;
@@ -91,6 +93,21 @@ public final class JAXBMessage extends AbstractMessageImpl implements StreamingS
      */
     private XMLStreamBuffer infoset;
 
+    /**
+     * True if {@link #jaxbObject} can only be marshalled once, as it holds items
+     * that are produced while they are written, for example a {@link java.util.stream.Stream}
+     * returned by an endpoint. The payload is then written straight to the transport,
+     * and any other access to it goes through {@link #infoset}.
+     *
+     * @see WrapperComposite#isOneShot()
+     */
+    private boolean oneShot;
+
+    /**
+     * True once a one-shot {@link #jaxbObject} is marshalled.
+     */
+    private boolean marshalled;
+
     public static Message create(BindingContext context, Object jaxbObject, SOAPVersion soapVersion, MessageHeaders headers, AttachmentSet attachments) {
         if(!context.hasSwaRef()) {
             return new JAXBMessage(context,jaxbObject,soapVersion,headers,attachments);
@@ -209,6 +226,7 @@ public final class JAXBMessage extends AbstractMessageImpl implements StreamingS
         this.nsUri = tagName.getNamespaceURI();
         this.localName = tagName.getLocalPart();
         this.attachmentSet = new AttachmentSetImpl();
+        this.oneShot = jaxbObject instanceof WrapperComposite && ((WrapperComposite) jaxbObject).isOneShot();
     }
 
     /**
@@ -224,6 +242,11 @@ public final class JAXBMessage extends AbstractMessageImpl implements StreamingS
         this.jaxbObject = that.jaxbObject;
         this.bridge = that.bridge;
         this.rawContext = that.rawContext;
+        if (that.oneShot) {
+            // both messages read the payload from the same infoset
+            this.oneShot = true;
+            this.infoset = that.oneShotInfoset();
+        }
         this.copyFrom(that);
     }
     
@@ -284,11 +307,17 @@ public final class JAXBMessage extends AbstractMessageImpl implements StreamingS
 
     @Override
     public Source readPayloadAsSource() {
+        if (oneShot) {
+            return new XMLStreamBufferSource(oneShotInfoset());
+        }
         return new JAXBBridgeSource(bridge,jaxbObject);
     }
 
     @Override
     public <T> T readPayloadAsJAXB(Unmarshaller unmarshaller) throws JAXBException {
+        if (oneShot) {
+            return (T) unmarshaller.unmarshal(new XMLStreamBufferSource(oneShotInfoset()));
+        }
         JAXBResult out = new JAXBResult(unmarshaller);
         // since the bridge only produces fragments, we need to fire start/end document.
         try {
@@ -308,8 +337,22 @@ public final class JAXBMessage extends AbstractMessageImpl implements StreamingS
 
     @Override
     public XMLStreamReader readPayload() throws XMLStreamException {
+        XMLStreamReader reader = infoset().readAsXMLStreamReader();
+        if(reader.getEventType()== START_DOCUMENT)
+            XMLStreamReaderUtil.nextElementContent(reader);
+        return reader;
+    }
+
+    /**
+     * Marshals the JAXB object into an infoset, once.
+     */
+    private XMLStreamBuffer infoset() throws XMLStreamException {
        try {
             if(infoset==null) {
+                if (oneShot && marshalled) {
+                    // the items went to the transport, as with StreamingPayloadMessage
+                    throw new IllegalStateException("The payload was already written");
+                }
 				if (rawContext != null) {
 	                XMLStreamBufferResult sbr = new XMLStreamBufferResult();
 					Marshaller m = rawContext.createMarshaller();
@@ -322,21 +365,33 @@ public final class JAXBMessage extends AbstractMessageImpl implements StreamingS
 				    infoset = buffer;
 				}
             }
-            XMLStreamReader reader = infoset.readAsXMLStreamReader();
-            if(reader.getEventType()== START_DOCUMENT)
-                XMLStreamReaderUtil.nextElementContent(reader);
-            return reader;
+            return infoset;
         } catch (JAXBException e) {
            // bug 6449684, spec 4.3.4
            throw new WebServiceException(e);
         }
     }
 
+    /**
+     * Gets the infoset that is read instead of a one-shot JAXB object.
+     */
+    private XMLStreamBuffer oneShotInfoset() {
+        try {
+            return infoset();
+        } catch (XMLStreamException e) {
+            throw new WebServiceException(e);
+        }
+    }
+
     /**
      * Writes the payload as SAX events.
      */
     @Override
     protected void writePayloadTo(ContentHandler contentHandler, ErrorHandler errorHandler, boolean fragment) throws SAXException {
+        if (oneShot) {
+            oneShotInfoset().writeTo(contentHandler, errorHandler, fragment);
+            return;
+        }
         try {
             if(fragment)
                 contentHandler = new FragmentContentHandler(contentHandler);
@@ -359,6 +414,16 @@ public final class JAXBMessage extends AbstractMessageImpl implements StreamingS
 
     @Override
     public void writePayloadTo(XMLStreamWriter sw) throws XMLStreamException {
+        if (oneShot) {
+            if (infoset != null) {
+                infoset.writeToXMLStreamWriter(sw, true);
+                return;
+            }
+            if (marshalled) {
+                throw new IllegalStateException("The payload was already written");
+            }
+            marshalled = true;
+        }
         try {
             // MtomCodec sets its own AttachmentMarshaller
             AttachmentMarshaller am = (sw instanceof MtomStreamWriter)
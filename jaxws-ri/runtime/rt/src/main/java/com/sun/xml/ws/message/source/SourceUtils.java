@@ -90,8 +90,12 @@ final class SourceUtils {
             SAXSource saxSrc = (SAXSource)src;
             SAXResult saxResult = new SAXResult(sniffer);
             try {
-                Transformer tr = XmlUtil.newTransformer();
-                tr.transform(saxSrc, saxResult);
+                Transformer tr = XmlUtil.takeTransformer(true);
+                try {
+                    tr.transform(saxSrc, saxResult);
+                } finally {
+                    XmlUtil.recycleTransformer(true, tr);
+                }
             } catch (TransformerConfigurationException e) {
                 throw new WebServiceException(e);
             } catch (TransformerException e) {
@@ -32,7 +32,6 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMResult;
 import java.util.List;
 import java.util.Set;
@@ -179,11 +178,14 @@ public abstract class StreamHeader extends AbstractHeaderImpl {
             // TODO what about in-scope namespaces
             // Not very efficient consider implementing a stream buffer
             // processor that produces a DOM node from the buffer.
-            TransformerFactory tf = XmlUtil.newTransformerFactory(true);
-            Transformer t = tf.newTransformer();
+            Transformer t = XmlUtil.takeTransformer(true);
             XMLStreamBufferSource source = new XMLStreamBufferSource(_mark);
             DOMResult result = new DOMResult();
-            t.transform(source, result);
+            try {
+                t.transform(source, result);
+            } finally {
+                XmlUtil.recycleTransformer(true, t);
+            }
             Node d = result.getNode();
             if(d.getNodeType() == Node.DOCUMENT_NODE)
                 d = d.getFirstChild();
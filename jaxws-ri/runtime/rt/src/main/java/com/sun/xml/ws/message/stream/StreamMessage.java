@@ -93,6 +93,11 @@ public class StreamMessage extends AbstractMessageImpl implements StreamingSOAP
 
     private String payloadNamespaceURI;
 
+    /**
+     * {@link #getPayloadQName()}, created on first use.
+     */
+    private QName payloadQName;
+
     /**
      * Used only for debugging. This records where the message was consumed.
      */
@@ -598,6 +603,42 @@ public class StreamMessage extends AbstractMessageImpl implements StreamingSOAP
         return true;
     }
 
+    /**
+     * Gets the namespaces declared on the envelope and the header elements,
+     * which are in scope of every header.
+     *
+     * @return array of the even length of the form { prefix0, uri0, prefix1, uri1, ... }
+     */
+    public @NotNull String[] getHeaderInscopeNamespaces() {
+        if (envelopeReader != null) readEnvelope(this);
+        NamespaceSupport nss = new NamespaceSupport();
+        nss.pushContext();
+        for (int i = 0; i < envelopeTag.ns.length; i += 2) {
+            nss.declarePrefix(envelopeTag.ns[i], envelopeTag.ns[i+1]);
+        }
+        if (headerTag != null) {
+            nss.pushContext();
+            for (int i = 0; i < headerTag.ns.length; i += 2) {
+                nss.declarePrefix(headerTag.ns[i], headerTag.ns[i+1]);
+            }
+        }
+        List<String> inscope = new ArrayList<String>();
+        for (Enumeration en = nss.getPrefixes(); en.hasMoreElements(); ) {
+            String prefix = (String) en.nextElement();
+            if ("xml".equals(prefix)) {
+                continue;
+            }
+            inscope.add(prefix);
+            inscope.add(nss.getURI(prefix));
+        }
+        String defaultUri = nss.getURI("");
+        if (defaultUri != null && !defaultUri.isEmpty()) {
+            inscope.add("");
+            inscope.add(defaultUri);
+        }
+        return inscope.toArray(new String[inscope.size()]);
+    }
+
     public String getBodyPrologue() {
         if ( envelopeReader != null ) readEnvelope(this);
         return bodyPrologue;
@@ -757,7 +798,15 @@ public class StreamMessage extends AbstractMessageImpl implements StreamingSOAP
     public boolean isPayloadStreamReader() { return true; }
 
     public QName getPayloadQName() {
-        return this.hasPayload() ? new QName(payloadNamespaceURI, payloadLocalName) : null;
+        if (!this.hasPayload()) {
+            return null;
+        }
+        QName name = payloadQName;
+        // the cached name is only reused for the very same strings
+        if (name == null || name.getLocalPart() != payloadLocalName || name.getNamespaceURI() != payloadNamespaceURI) {
+            payloadQName = name = new QName(payloadNamespaceURI, payloadLocalName);
+        }
+        return name;
     }
     
     public XMLStreamReader readToBodyStarTag() {
@@ -33,6 +33,7 @@ import com.sun.xml.ws.spi.db.BindingInfo;
 import com.sun.xml.ws.spi.db.XMLBridge;
 import com.sun.xml.ws.spi.db.TypeInfo;
 import com.sun.xml.ws.util.Pool;
+import com.sun.xml.ws.util.QNameInterner;
 import com.sun.xml.ws.developer.UsesJAXBContextFeature;
 import com.sun.xml.ws.developer.JAXBContextFactory;
 import com.sun.xml.ws.binding.WebServiceFeatureList;
@@ -78,9 +79,35 @@ public abstract class AbstractSEIModelImpl implements SEIModel {
             return;
         }
         populateMaps();
+        internKnownNames();
         createJAXBContext();
     }
 
+    /**
+     * Adds the element names of the parameters and faults to {@link #knownNames}.
+     * The payload names were added by {@link #populateMaps()}.
+     */
+    private void internKnownNames() {
+        for (JavaMethodImpl jm : javaMethods) {
+            internParameterNames(jm.getRequestParameters());
+            internParameterNames(jm.getResponseParameters());
+            for (CheckedExceptionImpl ce : jm.getCheckedExceptions()) {
+                knownNames.intern(ce.getDetailType().tagName);
+            }
+        }
+    }
+
+    private void internParameterNames(List<ParameterImpl> params) {
+        for (ParameterImpl p : params) {
+            if (p.getName() != null) {
+                knownNames.intern(p.getName());
+            }
+            if (p.isWrapperStyle()) {
+                internParameterNames(((WrapperParameter) p).getWrapperChildren());
+            }
+        }
+    }
+
     public BindingInfo databindingInfo() {
         return databindingInfo;
     }
@@ -286,6 +313,24 @@ public abstract class AbstractSEIModelImpl implements SEIModel {
         return nameToJM.get(name);
     }
 
+    /**
+     * Same as {@link #getJavaMethod(QName)}, without creating a {@link QName}.
+     */
+    public JavaMethodImpl getJavaMethod(@NotNull String nsUri, @NotNull String localPart) {
+        QName name = knownNames.find(nsUri, localPart);
+        return name != null ? nameToJM.get(name) : null;
+    }
+
+    /**
+     * Gets the element names known to this model: the payloads, the parameters,
+     * the headers and the fault details.
+     *
+     * @return canonical instances of the names, shared by all the requests of the endpoint
+     */
+    public QNameInterner getKnownNames() {
+        return knownNames;
+    }
+
     @Override
     public JavaMethod getJavaMethodForWsdlOperation(QName operationName) {
         return wsdlOpToJM.get(operationName);
@@ -381,7 +426,7 @@ public abstract class AbstractSEIModelImpl implements SEIModel {
 
 
     void put(QName name, JavaMethodImpl jm) {
-        nameToJM.put(name, jm);
+        nameToJM.put(knownNames.intern(name), jm);
     }
 
     void put(Method method, JavaMethodImpl jm) {
@@ -510,6 +555,7 @@ public abstract class AbstractSEIModelImpl implements SEIModel {
      * Payload QName to the method that handles it.
      */
     private Map<QName,JavaMethodImpl> nameToJM = new HashMap<>();
+    private final QNameInterner knownNames = new QNameInterner();
     /**
      * Wsdl Operation QName to the method that handles it.
      */
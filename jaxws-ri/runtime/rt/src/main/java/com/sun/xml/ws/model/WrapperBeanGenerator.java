@@ -28,9 +28,11 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 import jakarta.xml.bind.annotation.XmlAttachmentRef;
 import jakarta.xml.bind.annotation.XmlElement;
@@ -65,8 +67,35 @@ public class WrapperBeanGenerator {
             super(annReader, nav, beanMemberFactory);
         }
 
+        /**
+         * JAXB can't bind the {@link Iterator} and {@link Stream} parameters and
+         * return values, their items are kept in a {@link List} field.
+         *
+         * @see com.sun.xml.ws.spi.db.RepeatedElementBridge#adapt
+         */
         @Override
         protected java.lang.reflect.Type getSafeType(java.lang.reflect.Type type) {
+            if (type instanceof ParameterizedType) {
+                final ParameterizedType p = (ParameterizedType) type;
+                if (p.getRawType().equals(Iterator.class) || p.getRawType().equals(Stream.class)) {
+                    return new ParameterizedType() {
+                        @Override
+                        public java.lang.reflect.Type[] getActualTypeArguments() {
+                            return p.getActualTypeArguments();
+                        }
+
+                        @Override
+                        public java.lang.reflect.Type getRawType() {
+                            return List.class;
+                        }
+
+                        @Override
+                        public java.lang.reflect.Type getOwnerType() {
+                            return null;
+                        }
+                    };
+                }
+            }
             return type;
         }
 
@@ -34,6 +34,7 @@ abstract class BuilderHandler{
     Map<String,PolicySourceModel> policyStore;
     Collection<String> policyURIs;
     Object policySubject;
+    private Map<String,Policy> translatedPolicies;
     
     /**
      * Creates a new instance of BuilderHandler
@@ -44,12 +45,22 @@ abstract class BuilderHandler{
         this.policySubject = policySubject;
     }
     
-    final void populate(final PolicyMapExtender policyMapExtender) throws PolicyException {
+    /**
+     * @param translatedPolicies policies already translated from the policy store, by policy URI.
+     *        Policies translated here are added to it, so that each of them is only translated once
+     *        for all the handlers sharing the store.
+     */
+    final void populate(final PolicyMapExtender policyMapExtender, final Map<String,Policy> translatedPolicies) throws PolicyException {
         if (null == policyMapExtender) {
             throw LOGGER.logSevereException(new PolicyException(PolicyMessages.WSP_1006_POLICY_MAP_EXTENDER_CAN_NOT_BE_NULL()));
         }
         
-        doPopulate(policyMapExtender);
+        this.translatedPolicies = translatedPolicies;
+        try {
+            doPopulate(policyMapExtender);
+        } finally {
+            this.translatedPolicies = null;
+        }
     }
     
     protected abstract void doPopulate(final PolicyMapExtender policyMapExtender) throws PolicyException;
@@ -69,13 +80,25 @@ abstract class BuilderHandler{
             if (sourceModel == null) {
                 throw LOGGER.logSevereException(new PolicyException(PolicyMessages.WSP_1005_POLICY_REFERENCE_DOES_NOT_EXIST(policyURI)));
             } else {
-                result.add(ModelTranslator.getTranslator().translate(sourceModel));
+                result.add(translate(policyURI, sourceModel));
             }
         }
         
         return result;
     }
     
+    private Policy translate(final String policyURI, final PolicySourceModel sourceModel) throws PolicyException {
+        // policies are immutable, so the subjects referencing the same policy can share it
+        Policy policy = (translatedPolicies == null) ? null : translatedPolicies.get(policyURI);
+        if (policy == null) {
+            policy = ModelTranslator.getTranslator().translate(sourceModel);
+            if (translatedPolicies != null) {
+                translatedPolicies.put(policyURI, policy);
+            }
+        }
+        return policy;
+    }
+    
     final Collection<PolicySubject> getPolicySubjects() throws PolicyException {
         final Collection<Policy> policies = getPolicies();
         final Collection<PolicySubject> result =  new ArrayList<PolicySubject>(policies.size());
@@ -10,15 +10,18 @@
 
 package com.sun.xml.ws.policy.jaxws;
 
+import com.sun.xml.ws.policy.Policy;
 import com.sun.xml.ws.policy.PolicyException;
 import com.sun.xml.ws.policy.PolicyMap;
 import com.sun.xml.ws.policy.PolicyMapExtender;
 import com.sun.xml.ws.policy.PolicyMapMutator;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Used for populating changes into PolicyMap. Once a PolicyMap is created
@@ -32,7 +35,7 @@ class PolicyMapBuilder {
     /**
      * policyBuilders should contain list of registered PolicyBuilders
      */
-    private List<BuilderHandler> policyBuilders = new LinkedList<BuilderHandler>();
+    private List<BuilderHandler> policyBuilders = new ArrayList<BuilderHandler>();
         
     /**
      * Creates a new instance of PolicyMapBuilder
@@ -75,8 +78,11 @@ class PolicyMapBuilder {
             mutators.addAll(Arrays.asList(externalMutators));
         }
         final PolicyMap policyMap = PolicyMap.createPolicyMap(mutators);
+        // policies shared by many subjects (e.g. a security policy referenced by every operation)
+        // are translated once
+        final Map<String, Policy> translatedPolicies = new HashMap<String, Policy>();
         for(BuilderHandler builder : policyBuilders){
-            builder.populate(myExtender);
+            builder.populate(myExtender, translatedPolicies);
         }
         return policyMap;
     }
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.server;
+
+import com.sun.istack.NotNull;
+
+import javax.xml.namespace.QName;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link OperationStatistics} of the operations of an endpoint.
+ *
+ * @see WSEndpointImpl#getStatistics()
+ */
+public final class EndpointStatistics {
+
+    private final ConcurrentHashMap<QName, OperationStatistics> operations = new ConcurrentHashMap<>();
+
+    EndpointStatistics() {
+    }
+
+    /**
+     * Gets the statistics of an operation, creating them on first use.
+     *
+     * @param operationName name of the WSDL bound operation
+     */
+    public @NotNull OperationStatistics get(@NotNull QName operationName) {
+        OperationStatistics s = operations.get(operationName);
+        if (s == null) {
+            s = operations.computeIfAbsent(operationName, OperationStatistics::new);
+        }
+        return s;
+    }
+
+    /**
+     * @return the statistics of the operations invoked so far
+     */
+    public @NotNull Collection<OperationStatistics> getOperations() {
+        return Collections.unmodifiableCollection(operations.values());
+    }
+}
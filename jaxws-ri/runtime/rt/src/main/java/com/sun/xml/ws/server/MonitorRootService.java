@@ -15,6 +15,8 @@ import com.sun.xml.ws.api.BindingID;
 import com.sun.xml.ws.api.WSFeatureList;
 import com.sun.xml.ws.api.EndpointAddress;
 import com.sun.xml.ws.api.addressing.AddressingVersion;
+import com.sun.xml.ws.api.pipe.Engine;
+import com.sun.xml.ws.api.pipe.FiberStatistics;
 import com.sun.xml.ws.api.server.*;
 import com.sun.xml.ws.transport.http.HttpAdapter;
 import com.sun.xml.ws.util.RuntimeVersion;
@@ -168,6 +170,116 @@ public final class MonitorRootService extends MonitorBase {
     @Description("Show what goes across HTTP transport")
     public void dumpHTTPMessages(final boolean x) { HttpAdapter.setDump(x); }
 
+    //
+    // Items from Engine
+    //
+
+    @ManagedAttribute
+    @Description("If true: collect fiber statistics")
+    public boolean fiberStatisticsEnabled() {
+        final Engine engine = engine();
+        return engine != null && engine.isFiberStatisticsEnabled();
+    }
+
+    @ManagedAttribute
+    @Description("Collect fiber statistics")
+    public void fiberStatisticsEnabled(final boolean x) {
+        final Engine engine = engine();
+        if (engine == null) {
+            return;
+        }
+        if (x) {
+            engine.enableFiberStatistics();
+        } else {
+            engine.disableFiberStatistics();
+        }
+    }
+
+    @ManagedAttribute
+    @Description("Fibers created and not yet completed")
+    public long fibersActive() {
+        final FiberStatistics s = fiberStatistics();
+        return s != null ? s.getActiveCount() : -1;
+    }
+
+    @ManagedAttribute
+    @Description("Fibers waiting for an executor thread")
+    public long fibersQueued() {
+        final FiberStatistics s = fiberStatistics();
+        return s != null ? s.getQueuedCount() : -1;
+    }
+
+    @ManagedAttribute
+    @Description("Suspended fibers")
+    public long fibersSuspended() {
+        final FiberStatistics s = fiberStatistics();
+        return s != null ? s.getSuspendedCount() : -1;
+    }
+
+    @ManagedAttribute
+    @Description("Completed fibers")
+    public long fibersCompleted() {
+        final FiberStatistics s = fiberStatistics();
+        return s != null ? s.getCompletedCount() : -1;
+    }
+
+    @ManagedAttribute
+    @Description("Time fibers wait for an executor thread, in microseconds")
+    public String fiberQueueTime() {
+        final FiberStatistics s = fiberStatistics();
+        return s != null ? s.getQueueTime().toString() : null;
+    }
+
+    @ManagedAttribute
+    @Description("Time fibers spend suspended, in microseconds")
+    public String fiberSuspendTime() {
+        final FiberStatistics s = fiberStatistics();
+        return s != null ? s.getSuspendTime().toString() : null;
+    }
+
+    @ManagedAttribute
+    @Description("Time spent in each tube method, in microseconds")
+    public List<String> tubeTimes() {
+        final FiberStatistics s = fiberStatistics();
+        if (s == null) {
+            return null;
+        }
+        final List<String> r = new ArrayList<>();
+        s.getTubeTimes().forEach((k, v) -> r.add(k + ": " + v));
+        return r;
+    }
+
+    //
+    // Items from EndpointStatistics
+    //
+
+    @ManagedAttribute
+    @Description("Invocations, faults, bytes and latency of each operation, latencies in microseconds")
+    public List<String> operationStatistics() {
+        if (!(endpoint instanceof WSEndpointImpl)) {
+            return null;
+        }
+        final List<String> r = new ArrayList<>();
+        for (OperationStatistics s : ((WSEndpointImpl) endpoint).getStatistics().getOperations()) {
+            r.add(s.toString());
+        }
+        Collections.sort(r);
+        return r;
+    }
+
+    private Engine engine() {
+        try {
+            return endpoint.getEngine();
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private FiberStatistics fiberStatistics() {
+        final Engine engine = engine();
+        return engine != null ? engine.getFiberStatistics() : null;
+    }
+
 }
 
 // End of file.
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.server;
+
+import com.oracle.webservices.api.message.BasePropertySet;
+import com.sun.xml.ws.util.LatencyHistogram;
+
+import javax.xml.namespace.QName;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime statistics of a single WSDL operation of an endpoint.
+ *
+ * <p>
+ * Invocations, faults and latency are recorded by the
+ * {@link com.sun.xml.ws.server.sei.SEIInvokerTube}, and the response
+ * size by the {@link com.sun.xml.ws.transport.http.HttpAdapter}, which
+ * finds this object as a satellite of the response packet. It has no
+ * properties, so handlers do not see it in their message context.
+ *
+ * @see EndpointStatistics
+ */
+public final class OperationStatistics extends BasePropertySet {
+
+    private static final PropertyMap model = parse(OperationStatistics.class);
+
+    private final QName operationName;
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder faults = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    OperationStatistics(QName operationName) {
+        this.operationName = operationName;
+    }
+
+    /**
+     * Records a completed invocation.
+     *
+     * @param nanos time from the start of the unmarshalling of the request parameters to the
+     *        end of the creation of the response message, which includes the endpoint method
+     *        but not the other tubes nor the transport encoding
+     * @param fault true if the invocation returned a fault or the request could not be unmarshalled
+     * @param requestBytes size of the request, or -1 if unknown
+     */
+    public void invoked(long nanos, boolean fault, long requestBytes) {
+        invocations.increment();
+        if (fault) {
+            faults.increment();
+        }
+        if (requestBytes > 0) {
+            bytesIn.add(requestBytes);
+        }
+        latency.record(nanos);
+    }
+
+    /**
+     * Records the size of a response written by the transport.
+     */
+    public void responseWritten(long bytes) {
+        bytesOut.add(bytes);
+    }
+
+    public QName getOperationName() {
+        return operationName;
+    }
+
+    public long getInvocationCount() {
+        return invocations.sum();
+    }
+
+    public long getFaultCount() {
+        return faults.sum();
+    }
+
+    /**
+     * @return the total size of the requests whose size was known; a chunked
+     *         HTTP request without a {@code Content-Length} adds nothing
+     */
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    @Override
+    protected PropertyMap getPropertyMap() {
+        return model;
+    }
+
+    /**
+     * @return a one line summary, with latencies in microseconds
+     */
+    @Override
+    public String toString() {
+        return operationName + ": invocations=" + getInvocationCount()
+                + " faults=" + getFaultCount()
+                + " bytesIn=" + getBytesIn()
+                + " bytesOut=" + getBytesOut()
+                + " latency[" + latency + "]";
+    }
+}
@@ -84,15 +84,22 @@ public final class StatefulInstanceResolver<T> extends AbstractMultiInstanceReso
     // deserialization of web service class
     private final ClassLoader appCL;
 
-    private final boolean haEnabled;
+    private final StoreType storeType;
 
     // Used for {@link BackingStore#load()} and {@link BackingStore#save()}
     // Keep this a static class, otherwise enclosed object will be pulled in
     // during serialization
     private static final class HAInstance<T> implements Storeable {
+        // starts the compact state, an object stream starts with STREAM_MAGIC instead
+        private static final short COMPACT_FORMAT = 1;
+
         transient @NotNull T instance;
         private byte[] buf;
 
+        // the replicated store of GlassFish keeps the state that the other members
+        // of the cluster read, only the local store writes the compact one
+        private transient boolean compact;
+
         private long lastAccess = 0L;
 
         private boolean isNew = false;
@@ -107,10 +114,11 @@ public final class StatefulInstanceResolver<T> extends AbstractMultiInstanceReso
             // Storeable objects require public no-arg constructor
         }
 
-        public HAInstance(T instance, long timeout) {
+        public HAInstance(T instance, long timeout, boolean compact) {
             this.instance = instance;
             lastAccess = System.currentTimeMillis();
             maxIdleTime = timeout;
+            this.compact = compact;
         }
 
         public T getInstance(final ClassLoader cl) {
@@ -177,33 +185,70 @@ public final class StatefulInstanceResolver<T> extends AbstractMultiInstanceReso
 
         @Override
         public void _storeable_writeState(OutputStream os) throws IOException {
-            ByteArrayOutputStream bos = new ByteArrayOutputStream();
-            ObjectOutputStream boos = new ObjectOutputStream(bos);
-            boos.writeObject(instance);
-            boos.close();
-            this.buf = bos.toByteArray();        // convert instance to byte[]
-
-            ObjectOutputStream oos = new ObjectOutputStream(os);
-            oos.writeLong(version);
-            oos.writeLong(lastAccess);
-            oos.writeLong(maxIdleTime);
-            oos.writeBoolean(isNew);
-            oos.writeInt(buf.length);
-            oos.write(buf);
-            oos.close();
+            if (instance != null || buf == null) {
+                ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                ObjectOutputStream boos = new ObjectOutputStream(bos);
+                boos.writeObject(instance);
+                boos.close();
+                this.buf = bos.toByteArray();        // convert instance to byte[]
+            }
+
+            if (compact) {
+                // Only the instance needs an ObjectOutputStream, the fields around it are
+                // written as plain data
+                DataOutputStream dos = new DataOutputStream(os);
+                dos.writeShort(COMPACT_FORMAT);
+                writeFields(dos);
+                dos.flush();
+            } else {
+                ObjectOutputStream oos = new ObjectOutputStream(os);
+                writeFields(oos);
+                oos.close();
+            }
+        }
+
+        private void writeFields(DataOutput out) throws IOException {
+            out.writeLong(version);
+            out.writeLong(lastAccess);
+            out.writeLong(maxIdleTime);
+            out.writeBoolean(isNew);
+            out.writeInt(buf.length);
+            out.write(buf);
         }
 
         @Override
         public void _storeable_readState(InputStream is) throws IOException {
-            ObjectInputStream ois = new ObjectInputStream(is);
-            version = ois.readLong();
-            lastAccess = ois.readLong();
-            maxIdleTime = ois.readLong();
-            isNew = ois.readBoolean();
-            int len = ois.readInt();
+            PushbackInputStream in = new PushbackInputStream(is, 2);
+            int b1 = in.read();
+            int b2 = in.read();
+            if (b2 != -1) {
+                in.unread(b2);
+            }
+            if (b1 != -1) {
+                in.unread(b1);
+            }
+            if ((short) (b1 << 8 | b2) == ObjectStreamConstants.STREAM_MAGIC) {
+                ObjectInputStream ois = new ObjectInputStream(in);
+                readFields(ois);
+                ois.close();
+            } else {
+                DataInputStream dis = new DataInputStream(in);
+                if (dis.readShort() != COMPACT_FORMAT) {
+                    throw new StreamCorruptedException("Unknown state of a stateful web service instance");
+                }
+                compact = true;
+                readFields(dis);
+            }
+        }
+
+        private void readFields(DataInput in) throws IOException {
+            version = in.readLong();
+            lastAccess = in.readLong();
+            maxIdleTime = in.readLong();
+            isNew = in.readBoolean();
+            int len = in.readInt();
             buf = new byte[len];
-            ois.readFully(buf);
-            ois.close();
+            in.readFully(buf);
         }
     }
 
@@ -279,15 +324,18 @@ public final class StatefulInstanceResolver<T> extends AbstractMultiInstanceReso
         super(clazz);
         appCL = clazz.getClassLoader();
 
-        boolean ha = false;
-        if (HighAvailabilityProvider.INSTANCE.isHaEnvironmentConfigured()) {
+        StoreType type = StoreType.NOOP;
+        if (HighAvailabilityProvider.INSTANCE.isHaEnvironmentConfigured()
+                || HighAvailabilityProvider.INSTANCE.isLocalStoreConfigured()) {
             if (Serializable.class.isAssignableFrom(clazz)) {
+                // the replicated store is preferred to the local one inside an HA environment
+                type = HighAvailabilityProvider.INSTANCE.isHaEnvironmentConfigured() ? StoreType.IN_MEMORY : StoreType.LOCAL;
+            } else {
                 logger.log(Level.WARNING,"{0}" + " doesn''t implement Serializable. High availibility is disabled i.e." +
                         "if a failover happens, stateful instance state is not failed over.", clazz);
-                ha = true;
             }
         }
-        haEnabled = ha;
+        storeType = type;
 
     }
 
@@ -503,16 +551,20 @@ public final class StatefulInstanceResolver<T> extends AbstractMultiInstanceReso
                     throw new WebServiceException("Unable to write EPR Reference parameters " + h, e);
                 }
             }
-            Transformer t = XmlUtil.newTransformer();
-            for (Source s : recipe.getMetadata()) {
-                try {
-                    DOMResult r = new DOMResult();
-                    t.transform(s, r);
-                    Document d = (Document) r.getNode();
-                    metadata.add(d.getDocumentElement());
-                } catch (TransformerException e) {
-                    throw new IllegalArgumentException("Unable to write EPR metadata " + s, e);
+            Transformer t = XmlUtil.takeTransformer(true);
+            try {
+                for (Source s : recipe.getMetadata()) {
+                    try {
+                        DOMResult r = new DOMResult();
+                        t.transform(s, r);
+                        Document d = (Document) r.getNode();
+                        metadata.add(d.getDocumentElement());
+                    } catch (TransformerException e) {
+                        throw new IllegalArgumentException("Unable to write EPR metadata " + s, e);
+                    }
                 }
+            } finally {
+                XmlUtil.recycleTransformer(true, t);
             }
 
         }
@@ -625,9 +677,8 @@ public final class StatefulInstanceResolver<T> extends AbstractMultiInstanceReso
         TimerTask expiredTask;
 
         HAMap() {
-            StoreType type = haEnabled ? StoreType.IN_MEMORY : StoreType.NOOP;
             bs = HighAvailabilityProvider.INSTANCE.createBackingStore(
-                    HighAvailabilityProvider.INSTANCE.getBackingStoreFactory(type),
+                    HighAvailabilityProvider.INSTANCE.getBackingStoreFactory(storeType),
                     owner.getServiceName() + ":" + owner.getPortName() + ":STATEFUL_WEB_SERVICE",
                     String.class,
                     HAInstance.class);
@@ -689,7 +740,7 @@ public final class StatefulInstanceResolver<T> extends AbstractMultiInstanceReso
 
             instances.put(id, newi);
             reverseInstances.put(newi.instance, id);
-            HAInstance<T> hai = new HAInstance<T>(newi.instance, timeoutMilliseconds);
+            HAInstance<T> hai = new HAInstance<T>(newi.instance, timeoutMilliseconds, storeType == StoreType.LOCAL);
             HighAvailabilityProvider.saveTo(bs, id, hai, isNew);
         }
 
@@ -723,7 +774,12 @@ public final class StatefulInstanceResolver<T> extends AbstractMultiInstanceReso
         synchronized void destroy() {
             instances.clear();
             reverseInstances.clear();
-            HighAvailabilityProvider.destroy(bs);
+            if (storeType == StoreType.LOCAL) {
+                // keeps the instances for the next start of the endpoint
+                HighAvailabilityProvider.close(bs);
+            } else {
+                HighAvailabilityProvider.destroy(bs);
+            }
         }
 
         Collection<Instance> values() {
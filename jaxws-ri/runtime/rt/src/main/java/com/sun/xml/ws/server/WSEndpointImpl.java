@@ -77,6 +77,7 @@ public /*final*/ class WSEndpointImpl<T> extends WSEndpoint<T> implements LazyMO
     private final ServiceDefinitionImpl serviceDef;
     private final SOAPVersion soapVersion;
     private final Engine engine;
+    private final EndpointStatistics statistics = new EndpointStatistics();
     private final @NotNull Codec masterCodec;
     private final @NotNull PolicyMap endpointPolicy;
     private final Pool<Tube> tubePool;
@@ -294,6 +295,13 @@ public /*final*/ class WSEndpointImpl<T> extends WSEndpoint<T> implements LazyMO
         return engine;
     }
 
+    /**
+     * Gets the per-operation runtime statistics of this endpoint.
+     */
+    public @NotNull EndpointStatistics getStatistics() {
+        return statistics;
+    }
+
     @Override
     public void schedule(final Packet request, final CompletionCallback callback, FiberContextSwitchInterceptor interceptor) {
         processAsync(request, callback, interceptor, true);
@@ -29,6 +29,11 @@ import java.util.logging.Logger;
 /**
  * This {@link Tube} is used to invoke the {@link AsyncProvider} endpoints.
  *
+ * <p>
+ * The fiber stays suspended until the endpoint calls back, so an
+ * {@link AsyncProvider}&lt;{@link com.sun.xml.ws.api.server.StreamingPayload}&gt;
+ * can keep reading the request from its own threads in the meantime.
+ *
  * @author Jitendra Kotamraju
  */
 public // TODO needed by factory
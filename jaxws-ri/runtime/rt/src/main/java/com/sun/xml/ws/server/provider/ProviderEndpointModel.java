@@ -13,6 +13,7 @@ package com.sun.xml.ws.server.provider;
 import com.sun.istack.NotNull;
 import com.sun.xml.ws.api.WSBinding;
 import com.sun.xml.ws.api.server.AsyncProvider;
+import com.sun.xml.ws.api.server.StreamingPayload;
 import com.sun.xml.ws.resources.ServerMessages;
 import com.sun.xml.ws.spi.db.BindingHelper;
 
@@ -80,7 +81,7 @@ final class ProviderEndpointModel<T> {
             throw new WebServiceException(ServerMessages.PROVIDER_INVALID_PARAMETER_TYPE(implementorClass.getName(),types[0]));
         datatype = (Class)types[0];
 
-        if (mode == Service.Mode.PAYLOAD && datatype!=Source.class) {
+        if (mode == Service.Mode.PAYLOAD && datatype!=Source.class && datatype!=StreamingPayload.class) {
             // Illegal to have PAYLOAD && SOAPMessage
             // Illegal to have PAYLOAD && DataSource
             throw new IllegalArgumentException(
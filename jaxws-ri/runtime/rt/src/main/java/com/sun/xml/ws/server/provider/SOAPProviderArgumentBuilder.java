@@ -17,6 +17,7 @@ import com.sun.xml.ws.api.message.Message;
 import com.sun.xml.ws.api.message.Messages;
 import com.sun.xml.ws.api.message.Packet;
 import com.sun.xml.ws.api.model.wsdl.WSDLPort;
+import com.sun.xml.ws.api.server.StreamingPayload;
 import com.sun.xml.ws.fault.SOAPFaultBuilder;
 import com.sun.xml.ws.resources.ServerMessages;
 
@@ -44,6 +45,9 @@ abstract class SOAPProviderArgumentBuilder<T> extends ProviderArgumentsBuilder<T
     }
 
     static ProviderArgumentsBuilder create(ProviderEndpointModel model, SOAPVersion soapVersion) {
+        if (model.datatype == StreamingPayload.class) {
+            return new StreamingPayloadArgumentBuilder(soapVersion);
+        }
         if (model.mode == Service.Mode.PAYLOAD) {
             return new PayloadSource(soapVersion);
         } else {
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.server.provider;
+
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.server.StreamingPayload;
+import com.sun.xml.ws.fault.SOAPFaultBuilder;
+
+/**
+ * {@link ProviderArgumentsBuilder} of the {@link StreamingPayload} endpoints.
+ * Neither the request nor the response is read here: the endpoint reads the
+ * request, and the codec writes the response.
+ */
+final class StreamingPayloadArgumentBuilder extends ProviderArgumentsBuilder<StreamingPayload> {
+    private final SOAPVersion soapVersion;
+
+    StreamingPayloadArgumentBuilder(SOAPVersion soapVersion) {
+        this.soapVersion = soapVersion;
+    }
+
+    @Override
+    /*protected*/ public StreamingPayload getParameter(Packet packet) {
+        return StreamingPayload.of(packet.getMessage());
+    }
+
+    @Override
+    protected Message getResponseMessage(StreamingPayload returnValue) {
+        return returnValue.getMessage();
+    }
+
+    @Override
+    protected Message getResponseMessage(Exception e) {
+        return SOAPFaultBuilder.createSOAPFaultMessage(soapVersion, null, e);
+    }
+}
@@ -21,6 +21,7 @@ import com.sun.xml.ws.model.ParameterImpl;
 import com.sun.xml.ws.model.WrapperParameter;
 import com.sun.xml.ws.resources.ServerMessages;
 import com.sun.xml.ws.spi.db.RepeatedElementBridge;
+import com.sun.xml.ws.spi.db.RepeatedElementBridge.LazyCollectionHandler;
 import com.sun.xml.ws.spi.db.XMLBridge;
 import com.sun.xml.ws.spi.db.DatabindingException;
 import com.sun.xml.ws.spi.db.PropertyAccessor;
@@ -78,6 +79,17 @@ public abstract class EndpointArgumentsBuilder {
     public abstract void readRequest(Message request, Object[] args)
         throws JAXBException, XMLStreamException;
 
+    /**
+     * Closes the arguments whose items are read as the endpoint iterates over
+     * them, and with them the reader of the request, once the invocation is
+     * complete.
+     *
+     * @param args
+     *      The Java arguments given to the SEI method invocation.
+     */
+    void closeLazyArguments(Object[] args) {
+    }
+
     static final class None extends EndpointArgumentsBuilder {
         private None(){
         }
@@ -124,6 +136,7 @@ public abstract class EndpointArgumentsBuilder {
     static final class WrappedPartBuilder {
         private final XMLBridge bridge;
         private final EndpointValueSetter setter;
+        private final boolean lazy;
 
         /**
          * @param bridge
@@ -132,13 +145,35 @@ public abstract class EndpointArgumentsBuilder {
          *      specifies how the obtained value is returned to the endpoint.
          */
         public WrappedPartBuilder(XMLBridge bridge, EndpointValueSetter setter) {
+            this(bridge, setter, false);
+        }
+
+        /**
+         * @param lazy
+         *      true if the part is the last one of the wrapper, and its repeated
+         *      elements can be unmarshalled as the endpoint iterates over them.
+         */
+        WrappedPartBuilder(XMLBridge bridge, EndpointValueSetter setter, boolean lazy) {
             this.bridge = bridge;
             this.setter = setter;
+            this.lazy = lazy && bridge instanceof RepeatedElementBridge
+                    && ((RepeatedElementBridge) bridge).collectionHandler() instanceof LazyCollectionHandler;
         }
 
-        void readRequest( Object[] args, XMLStreamReader r, AttachmentSet att) throws JAXBException {
+        /**
+         * @return
+         *      true if the reader was handed over to the endpoint, which reads
+         *      the rest of the body and closes it.
+         */
+        boolean readRequest( Object[] args, XMLStreamReader r, AttachmentSet att) throws JAXBException {
             Object obj = null;
             AttachmentUnmarshallerImpl au = (att != null)?new AttachmentUnmarshallerImpl(att):null;
+            if (lazy) {
+                RepeatedElementBridge rbridge = (RepeatedElementBridge)bridge;
+                RepeatedElementIterator items = new RepeatedElementIterator(r, r.getName(), rbridge, au);
+                setter.put(((LazyCollectionHandler) rbridge.collectionHandler()).convert(items, items::close), args);
+                return true;
+            }
             if (bridge instanceof RepeatedElementBridge) {
                 RepeatedElementBridge rbridge = (RepeatedElementBridge)bridge; 
                 ArrayList list = new ArrayList();
@@ -152,6 +187,7 @@ public abstract class EndpointArgumentsBuilder {
                 obj = bridge.unmarshal(r, au);
             }
             setter.put(obj,args);
+            return false;
         }
     }
     
@@ -172,8 +208,9 @@ public abstract class EndpointArgumentsBuilder {
                 // no corresponding part found. ignore
                 XMLStreamReaderUtil.skipElement(reader);
                 reader.nextTag();
-            } else {
-                part.readRequest(args,reader, msg.getAttachments());
+            } else if (part.readRequest(args,reader, msg.getAttachments())) {
+                // the endpoint reads the rest of the body
+                return;
             }
             XMLStreamReaderUtil.toNextTag(reader, name);
         }
@@ -233,6 +270,13 @@ public abstract class EndpointArgumentsBuilder {
                 builder.readRequest(msg,args);
             }
         }
+
+        @Override
+        void closeLazyArguments(Object[] args) {
+            for (EndpointArgumentsBuilder builder : builders) {
+                builder.closeLazyArguments(args);
+            }
+        }
     }
 
     
@@ -553,6 +597,10 @@ public abstract class EndpointArgumentsBuilder {
 
         private final XMLBridge wrapper;
         private boolean dynamicWrapper;
+        /**
+         * Index of the argument whose items are read lazily, or -1.
+         */
+        private int lazyArgument = -1;
         
         public DocLit(WrapperParameter wp, Mode skipMode) {
             wrapperName = wp.getName();
@@ -561,6 +609,12 @@ public abstract class EndpointArgumentsBuilder {
             dynamicWrapper = WrapperComposite.class.equals(wrapperType);
             List<PartBuilder> parts = new ArrayList<PartBuilder>();
             List<ParameterImpl> children = wp.getWrapperChildren();
+            ParameterImpl last = null;
+            for (ParameterImpl p : children) {
+                if (p.getMode() != skipMode) {
+                    last = p;
+                }
+            }
             for (ParameterImpl p : children) {
                 if (p.getMode() == skipMode) {
                     continue;
@@ -575,13 +629,18 @@ public abstract class EndpointArgumentsBuilder {
                         if (wrappedParts == null) wrappedParts = new HashMap<QName,WrappedPartBuilder>();
                         XMLBridge xmlBridge = p.getInlinedRepeatedElementBridge();
                         if (xmlBridge == null) xmlBridge = p.getXMLBridge();
-                        wrappedParts.put( p.getName(), new WrappedPartBuilder(xmlBridge, EndpointValueSetter.get(p)));
+                        WrappedPartBuilder part = new WrappedPartBuilder(xmlBridge, EndpointValueSetter.get(p),
+                                p == last && p.getMode() == Mode.IN);
+                        if (part.lazy) {
+                            lazyArgument = p.getIndex();
+                        }
+                        wrappedParts.put( p.getName(), part);
                     } else {
                         parts.add( new PartBuilder(
-                                wp.getOwner().getBindingContext().getElementPropertyAccessor(
+                                RepeatedElementBridge.adapt(wp.getOwner().getBindingContext().getElementPropertyAccessor(
                                     wrapperType,
                                     name.getNamespaceURI(),
-                                    p.getName().getLocalPart()),
+                                    p.getName().getLocalPart()), p.getTypeInfo()),
                                 EndpointValueSetter.get(p)
                             ) );
                     // wrapper parameter itself always bind to body, and
@@ -629,6 +688,13 @@ public abstract class EndpointArgumentsBuilder {
             }
         }
 
+        @Override
+        void closeLazyArguments(Object[] args) {
+            if (lazyArgument >= 0) {
+                RepeatedElementIterator.close(args[lazyArgument]);
+            }
+        }
+
         /**
          * Unmarshals each wrapped part into a JAXB object and moves it
          * to the expected place.
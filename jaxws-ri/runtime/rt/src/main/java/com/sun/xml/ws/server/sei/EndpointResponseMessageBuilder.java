@@ -19,6 +19,7 @@ import com.sun.xml.ws.model.WrapperParameter;
 import com.sun.xml.ws.spi.db.BindingContext;
 import com.sun.xml.ws.spi.db.XMLBridge;
 import com.sun.xml.ws.spi.db.PropertyAccessor;
+import com.sun.xml.ws.spi.db.RepeatedElementBridge;
 import com.sun.xml.ws.spi.db.WrapperComposite;
 
 import jakarta.xml.bind.JAXBException;
@@ -224,9 +225,9 @@ public abstract class EndpointResponseMessageBuilder {
                     if (parameterBridges[i] == null) parameterBridges[i] = children.get(i).getXMLBridge();
                 } else {
                     try {
-                        accessors[i] =
+                        accessors[i] = RepeatedElementBridge.adapt(
                             p.getOwner().getBindingContext().getElementPropertyAccessor(
-                            wrapper, name.getNamespaceURI(), name.getLocalPart() );
+                            wrapper, name.getNamespaceURI(), name.getLocalPart() ), p.getTypeInfo());
                     } catch (JAXBException e) {
                         throw new WebServiceException(  // TODO: i18n
                             wrapper+" do not have a property of the name "+name,e);
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.server.sei;
+
+import com.sun.xml.ws.api.streaming.XMLStreamReaderFactory;
+import com.sun.xml.ws.message.AttachmentUnmarshallerImpl;
+import com.sun.xml.ws.spi.db.RepeatedElementBridge;
+import com.sun.xml.ws.streaming.XMLStreamReaderUtil;
+
+import jakarta.xml.bind.JAXBException;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import jakarta.xml.ws.WebServiceException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * Unmarshals the repeated elements of the last wrapped part as the endpoint
+ * asks for them, instead of all of them before the endpoint is invoked.
+ *
+ * <p>
+ * The iterator owns the reader of the body: it closes it once it is past
+ * the last element, or when {@link #close()} is called. The invocation
+ * closes it when the endpoint returns, so the items can't be read after that.
+ */
+final class RepeatedElementIterator implements Iterator<Object> {
+    private final XMLStreamReader reader;
+    private final QName name;
+    private final RepeatedElementBridge bridge;
+    private final AttachmentUnmarshallerImpl au;
+    private boolean closed;
+
+    RepeatedElementIterator(XMLStreamReader reader, QName name, RepeatedElementBridge bridge, AttachmentUnmarshallerImpl au) {
+        this.reader = reader;
+        this.name = name;
+        this.bridge = bridge;
+        this.au = au;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (reader.getEventType() == XMLStreamReader.START_ELEMENT && name.equals(reader.getName())) {
+            return true;
+        }
+        // we are done with the body
+        close();
+        return false;
+    }
+
+    @Override
+    public Object next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            Object item = bridge.unmarshal(reader, au);
+            XMLStreamReaderUtil.toNextTag(reader, name);
+            return item;
+        } catch (JAXBException e) {
+            close();
+            throw new WebServiceException(e);
+        }
+    }
+
+    /**
+     * Closes the lazily read items given to the endpoint, an instance of this
+     * class or a {@link Stream} of it.
+     */
+    static void close(Object items) {
+        if (items instanceof RepeatedElementIterator) {
+            ((RepeatedElementIterator) items).close();
+        } else if (items instanceof Stream) {
+            ((Stream<?>) items).close();
+        }
+    }
+
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new WebServiceException(e);
+        }
+        XMLStreamReaderFactory.recycle(reader);
+    }
+}
@@ -15,13 +15,20 @@ import com.sun.istack.NotNull;
 import com.sun.xml.ws.api.WSBinding;
 import com.sun.xml.ws.api.message.Message;
 import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.model.WSDLOperationMapping;
 import com.sun.xml.ws.api.pipe.NextAction;
 import com.sun.xml.ws.api.server.Invoker;
+import com.sun.xml.ws.api.server.WSEndpoint;
 import com.sun.xml.ws.client.sei.MethodHandler;
 import com.sun.xml.ws.model.AbstractSEIModelImpl;
+import com.sun.xml.ws.server.EndpointStatistics;
 import com.sun.xml.ws.server.InvokerTube;
+import com.sun.xml.ws.server.OperationStatistics;
+import com.sun.xml.ws.server.WSEndpointImpl;
 import com.sun.xml.ws.wsdl.DispatchException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 /**
  * This pipe is used to invoke SEI based endpoints.
@@ -37,23 +44,52 @@ public class SEIInvokerTube extends InvokerTube {
     private final WSBinding binding;
     private final AbstractSEIModelImpl model;
 
+    /**
+     * Statistics of the endpoint, or null if the endpoint does not keep any.
+     */
+    private EndpointStatistics statistics;
+
     public SEIInvokerTube(AbstractSEIModelImpl model,Invoker invoker, WSBinding binding) {
         super(invoker);
         this.binding = binding;
         this.model = model;
     }
 
+    @Override
+    public void setEndpoint(WSEndpoint endpoint) {
+        super.setEndpoint(endpoint);
+        if (endpoint instanceof WSEndpointImpl) {
+            statistics = ((WSEndpointImpl) endpoint).getStatistics();
+        }
+    }
+
     /**
      * This binds the parameters for SEI endpoints and invokes the endpoint method. The
      * return value, and response Holder arguments are used to create a new {@link Message}
      * that traverses through the Pipeline to transport.
      */
     public @NotNull NextAction processRequest(@NotNull Packet req) {
-        	JavaCallInfo call = model.getDatabinding().deserializeRequest(req);
+            final long start = statistics != null ? System.nanoTime() : 0;
+            JavaCallInfo call;
+            try {
+                call = model.getDatabinding().deserializeRequest(req);
+            } catch (RuntimeException | Error e) {
+                if (statistics != null) {
+                    record(req, null, true, System.nanoTime() - start);
+                }
+                throw e;
+            }
+            boolean closeBackChannel = false;
         	if (call.getException() == null) {
 	        	try {
 	        		if (req.getMessage().isOneWay(model.getPort()) && req.transportBackChannel != null) {
-	        			req.transportBackChannel.close();
+	        			if (hasIterableArguments(call.getParameters())) {
+	        				// the endpoint may still read the body, which the transport
+	        				// would otherwise buffer to complete the exchange
+	        				closeBackChannel = true;
+	        			} else {
+	        				req.transportBackChannel.close();
+	        			}
 	        		}
 	        		Object ret = getInvoker(req).invoke(req, call.getMethod(), call.getParameters());
 	        		call.setReturnValue(ret);
@@ -64,14 +100,56 @@ public class SEIInvokerTube extends InvokerTube {
 				}
 			} else if (call.getException() instanceof DispatchException) {
 			    DispatchException e = (DispatchException)call.getException();
-			    return doReturnWith(req.createServerResponse(e.fault, model.getPort(), null, binding));
+			    Packet res = req.createServerResponse(e.fault, model.getPort(), null, binding);
+			    if (statistics != null) {
+			        record(req, res, true, System.nanoTime() - start);
+			    }
+			    return doReturnWith(res);
 			}
                         Packet res = (Packet) model.getDatabinding().serializeResponse(call);        	
+            if (closeBackChannel) {
+                // the lazy arguments are closed with the body by now
+                req.transportBackChannel.close();
+            }
 			res = req.relateServerResponse(res, req.endpoint.getPort(), model, req.endpoint.getBinding());
             assert res != null;
+            if (statistics != null) {
+                record(req, res, call.getException() != null, System.nanoTime() - start);
+            }
             return doReturnWith(res);
     }
 
+    /**
+     * Tells if the items of an argument may be read from the request as the
+     * endpoint iterates over them, see {@link RepeatedElementIterator}.
+     */
+    private static boolean hasIterableArguments(Object[] args) {
+        if (args != null) {
+            for (Object arg : args) {
+                if (arg instanceof Iterator || arg instanceof Stream) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param res the response, or null if there is none
+     */
+    private void record(Packet req, Packet res, boolean fault, long nanos) {
+        WSDLOperationMapping mapping = req.getWSDLOperationMapping();
+        if (mapping == null) {
+            return;
+        }
+        OperationStatistics s = statistics.get(mapping.getOperationName());
+        s.invoked(nanos, fault, req.inboundContentLength);
+        if (res != null) {
+            // lets the transport count the bytes of the response
+            res.addSatellite(s);
+        }
+    }
+
     public @NotNull NextAction processResponse(@NotNull Packet response) {
         return doReturnWith(response);
     }
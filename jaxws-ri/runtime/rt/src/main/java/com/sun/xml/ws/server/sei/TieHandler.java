@@ -308,6 +308,10 @@ final public class TieHandler implements EndpointCallBridge {
 
     @Override
 	public Packet serializeResponse(JavaCallInfo call) {
+            if (call.getParameters() != null) {
+                // the invocation is complete
+                argumentsBuilder.closeLazyArguments(call.getParameters());
+            }
             Message msg = this.createResponse(call);
             Packet p = (msg == null) ? (Packet)packetFactory.createContext() : (Packet)packetFactory.createContext(msg);
             p.setState(Packet.State.ServerResponse);
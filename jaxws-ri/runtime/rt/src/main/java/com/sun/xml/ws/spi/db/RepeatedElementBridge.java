@@ -10,6 +10,7 @@
 
 package com.sun.xml.ws.spi.db;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Collection;
@@ -18,6 +19,10 @@ import java.util.Set;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.attachment.AttachmentMarshaller;
@@ -147,9 +152,93 @@ public class RepeatedElementBridge<T> implements XMLBridge<T> {
         public Object convert(List list) { return new HashSet(list);}
     };
     
+    /**
+     * {@link CollectionHandler} of a type whose items don't have to be all in memory,
+     * {@link Iterator} and {@link Stream}.
+     */
+    static public interface LazyCollectionHandler extends CollectionHandler {
+        /**
+         * Wraps items that are read as they are asked for.
+         *
+         * @param onClose
+         *      called once all the items are read, or when the stream is closed
+         */
+        Object convert(Iterator items, Runnable onClose);
+
+        /**
+         * The number of items isn't known before they are all read.
+         *
+         * @return -1
+         */
+        @Override
+        default int getSize(Object c) { return -1; }
+    }
+
+    static final LazyCollectionHandler IteratorHandler = new LazyCollectionHandler() {
+        @Override
+        public Iterator iterator(Object c) { return (Iterator) c; }
+        @Override
+        public Object convert(List list) { return list.iterator(); }
+        @Override
+        public Object convert(Iterator items, Runnable onClose) { return items; }
+    };
+
+    static final LazyCollectionHandler StreamHandler = new LazyCollectionHandler() {
+        @Override
+        public Iterator iterator(Object c) { return ((Stream) c).iterator(); }
+        @Override
+        public Object convert(List list) { return list.stream(); }
+        @Override
+        public Object convert(Iterator items, Runnable onClose) {
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(items, Spliterator.ORDERED), false)
+                    .onClose(onClose);
+        }
+    };
+
+    /**
+     * Adapts the accessor of a wrapper bean property to an {@link Iterator} or
+     * {@link Stream} parameter or return value, which the generated wrapper
+     * beans keep in a {@link List}.
+     *
+     * @return the accessor itself for the other types
+     */
+    static public PropertyAccessor adapt(final PropertyAccessor accessor, TypeInfo ti) {
+        Object type = Utils.REFLECTION_NAVIGATOR.erasure(ti.type);
+        if (!Iterator.class.equals(type) && !Stream.class.equals(type)) {
+            return accessor;
+        }
+        final CollectionHandler handler = Iterator.class.equals(type) ? IteratorHandler : StreamHandler;
+        return new PropertyAccessor() {
+            @Override
+            public Object get(Object bean) throws DatabindingException {
+                List list = (List) accessor.get(bean);
+                return (list != null) ? handler.convert(list) : null;
+            }
+
+            @Override
+            public void set(Object bean, Object value) throws DatabindingException {
+                List list = null;
+                if (value != null) {
+                    list = new ArrayList();
+                    for (Iterator it = handler.iterator(value); it.hasNext();) {
+                        list.add(it.next());
+                    }
+                    if (value instanceof Stream) {
+                        ((Stream) value).close();
+                    }
+                }
+                accessor.set(bean, list);
+            }
+        };
+    }
+
     static public CollectionHandler create(TypeInfo ti) {
         Class javaClass = (Class) ti.type;
-        if (javaClass.isArray()) {
+        if (Iterator.class.equals(javaClass)) {
+            return IteratorHandler;
+        } else if (Stream.class.equals(javaClass)) {
+            return StreamHandler;
+        } else if (javaClass.isArray()) {
             return new ArrayHandler((Class) ti.getItemType().type);
         } else if (List.class.equals(javaClass) || Collection.class.equals(javaClass)) {
             return ListHandler;
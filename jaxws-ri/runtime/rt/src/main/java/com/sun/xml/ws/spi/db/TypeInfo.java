@@ -15,7 +15,9 @@ import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import javax.xml.namespace.QName;
 import jakarta.xml.bind.annotation.XmlElementWrapper;
@@ -177,6 +179,13 @@ public final class TypeInfo {
         if ( base != null)  {
             return new TypeInfo(tagName, Utils.REFLECTION_NAVIGATOR.getTypeArgument(base,0), annotations);
         }    
+        // items of an Iterator or a Stream are read and written one at a time
+        if (Iterator.class.equals(type) || Stream.class.equals(type)) {
+            base = Utils.REFLECTION_NAVIGATOR.getBaseClass(t, (Class) type);
+            if (base != null) {
+                return new TypeInfo(tagName, Utils.REFLECTION_NAVIGATOR.getTypeArgument(base,0), annotations);
+            }
+        }
         return null;
     }
     
@@ -13,6 +13,7 @@ package com.sun.xml.ws.spi.db;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Iterator;
+import java.util.stream.BaseStream;
 
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.attachment.AttachmentMarshaller;
@@ -90,9 +91,13 @@ public class WrapperBridge<T> implements XMLBridge<T> {
         if (w.bridges != null) for (int i = 0; i < w.bridges.length; i++) {
             if (w.bridges[i] instanceof RepeatedElementBridge) {
                 RepeatedElementBridge rbridge = (RepeatedElementBridge) w.bridges[i];
-                for (Iterator itr = rbridge.collectionHandler().iterator(w.values[i]); itr.hasNext();) {
-                    rbridge.marshal(itr.next(), contentHandler, am);
-                }                
+                try {
+                    for (Iterator itr = rbridge.collectionHandler().iterator(w.values[i]); itr.hasNext();) {
+                        rbridge.marshal(itr.next(), contentHandler, am);
+                    }
+                } finally {
+                    close(w.values[i]);
+                }
             } else {
                 w.bridges[i].marshal(w.values[i], contentHandler, am);
             }
@@ -106,6 +111,16 @@ public class WrapperBridge<T> implements XMLBridge<T> {
 //      bridge.marshal(object, contentHandler, am);
     }
 
+    /**
+     * Releases what a {@link java.util.stream.Stream} of repeated elements holds,
+     * once its items are marshalled.
+     */
+    private static void close(Object items) {
+        if (items instanceof BaseStream) {
+            ((BaseStream) items).close();
+        }
+    }
+
     @Override
     public void marshal(T object, Node output) throws JAXBException {
         throw new UnsupportedOperationException();
@@ -149,9 +164,13 @@ public class WrapperBridge<T> implements XMLBridge<T> {
         if (w.bridges != null) for (int i = 0; i < w.bridges.length; i++) {
             if (w.bridges[i] instanceof RepeatedElementBridge) {
                 RepeatedElementBridge rbridge = (RepeatedElementBridge) w.bridges[i];
-                for (Iterator itr = rbridge.collectionHandler().iterator(w.values[i]); itr.hasNext();) {
-                    rbridge.marshal(itr.next(), output, am);
-                }                
+                try {
+                    for (Iterator itr = rbridge.collectionHandler().iterator(w.values[i]); itr.hasNext();) {
+                        rbridge.marshal(itr.next(), output, am);
+                    }
+                } finally {
+                    close(w.values[i]);
+                }
             } else {
                 w.bridges[i].marshal(w.values[i], output, am);
             }
@@ -10,6 +10,9 @@
 
 package com.sun.xml.ws.spi.db;
 
+import java.util.Iterator;
+import java.util.stream.BaseStream;
+
 /**
  * A JAXB Bean that works like a DOM.
  *
@@ -33,4 +36,20 @@ package com.sun.xml.ws.spi.db;
 public class WrapperComposite {
     public XMLBridge[] bridges;
     public Object[] values;
+
+    /**
+     * Checks if one of the values is an {@link Iterator} or a {@link BaseStream},
+     * whose items are produced as they are marshalled, so that this object
+     * can only be marshalled once.
+     */
+    public boolean isOneShot() {
+        if (bridges == null) return false;
+        for (int i = 0; i < bridges.length; i++) {
+            if (bridges[i] instanceof RepeatedElementBridge
+                    && (values[i] instanceof Iterator || values[i] instanceof BaseStream)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -844,8 +844,7 @@ public class DOMStreamReader implements XMLStreamReader, NamespaceContext {
     private static void displayDOM(Node node, java.io.OutputStream ostream) {
         try {
             System.out.println("\n====\n");
-            XmlUtil.newTransformer().transform(
-                new DOMSource(node), new StreamResult(ostream));
+            XmlUtil.identityTransform(new DOMSource(node), new StreamResult(ostream));
             System.out.println("\n====\n");
         }
         catch (Exception e) {
@@ -74,9 +74,13 @@ public class SourceReaderFactory {
             }
             else if (source instanceof SAXSource) {
                 // TODO: need SAX to StAX adapter here -- Use transformer for now
-                Transformer tx =  XmlUtil.newTransformer();
+                Transformer tx =  XmlUtil.takeTransformer(true);
                 DOMResult domResult = new DOMResult();
-                tx.transform(source, domResult);
+                try {
+                    tx.transform(source, domResult);
+                } finally {
+                    XmlUtil.recycleTransformer(true, tx);
+                }
                 return createSourceReader(
                     new DOMSource(domResult.getNode()),
                     rejectDTDs);
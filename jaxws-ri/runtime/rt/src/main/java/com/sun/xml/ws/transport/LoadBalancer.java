@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.transport;
+
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
+import com.sun.xml.ws.api.EndpointAddress;
+import com.sun.xml.ws.api.client.LoadBalancingFeature;
+import com.sun.xml.ws.api.ha.HaInfo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Chooses the instance of each request of a {@link LoadBalancingFeature},
+ * and ejects the instances that fail.
+ *
+ * <p>
+ * Shared by all the copies of a {@link LoadBalancingTransportTube}.
+ */
+final class LoadBalancer {
+
+    private static final Logger LOGGER = Logger.getLogger(LoadBalancer.class.getName());
+
+    /**
+     * The ejection time grows with the number of ejections in a row, up to this factor.
+     */
+    private static final int MAX_EJECTION_FACTOR = 10;
+
+    private final LoadBalancingFeature.Policy policy;
+    private final Instance[] instances;
+    private final Map<String, Instance> byName;
+    private final int maxConsecutiveFailures;
+    private final long baseEjectionTime;
+
+    LoadBalancer(@NotNull LoadBalancingFeature feature) {
+        policy = feature.getPolicy();
+        maxConsecutiveFailures = feature.getMaxConsecutiveFailures();
+        baseEjectionTime = feature.getBaseEjectionTime(TimeUnit.NANOSECONDS);
+        instances = new Instance[feature.getInstances().size()];
+        byName = new HashMap<String, Instance>();
+        int i = 0;
+        for (Map.Entry<String, String> e : feature.getInstances().entrySet()) {
+            instances[i] = new Instance(i, e.getKey(), EndpointAddress.create(e.getValue()));
+            byName.put(e.getKey(), instances[i]);
+            i++;
+        }
+    }
+
+    /**
+     * @return all the instances, in the order of the feature
+     */
+    @NotNull Instance[] getInstances() {
+        return instances;
+    }
+
+    /**
+     * Chooses the instance of a request, and counts the request as outstanding on it
+     * until {@link #succeeded} or {@link #failed} is called.
+     *
+     * @param haInfo HA information of the request, if any
+     */
+    @NotNull Instance select(@Nullable HaInfo haInfo) {
+        long now = System.nanoTime();
+        Instance selected = null;
+        if (haInfo != null && haInfo.getKey() != null) {
+            selected = stickyInstance(haInfo, now);
+        }
+        if (selected == null) {
+            selected = select(available(now));
+        }
+        selected.outstanding.incrementAndGet();
+        return selected;
+    }
+
+    private Instance stickyInstance(HaInfo haInfo, long now) {
+        Instance primary = highestScore(haInfo.getKey(), instances);
+        if (primary.isAvailable(now)) {
+            return primary;
+        }
+        Instance replica = haInfo.getReplicaInstance() != null ? byName.get(haInfo.getReplicaInstance()) : null;
+        if (replica != null && replica.isAvailable(now)) {
+            return replica;
+        }
+        // the keys of the ejected instance are spread over the other ones
+        return highestScore(haInfo.getKey(), available(now));
+    }
+
+    private Instance[] available(long now) {
+        List<Instance> available = null;
+        for (int i = 0; i < instances.length; i++) {
+            if (!instances[i].isAvailable(now)) {
+                if (available == null) {
+                    available = new ArrayList<Instance>(instances.length);
+                    for (int j = 0; j < i; j++) {
+                        available.add(instances[j]);
+                    }
+                }
+            } else if (available != null) {
+                available.add(instances[i]);
+            }
+        }
+        if (available == null) {
+            return instances;
+        }
+        return available.isEmpty() ? instances : available.toArray(new Instance[available.size()]);
+    }
+
+    private Instance select(Instance[] candidates) {
+        if (candidates.length == 1) {
+            return candidates[0];
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (policy) {
+            case POWER_OF_TWO_CHOICES: {
+                int i = random.nextInt(candidates.length);
+                int j = random.nextInt(candidates.length - 1);
+                if (j >= i) {
+                    j++;
+                }
+                return candidates[j].outstanding.get() < candidates[i].outstanding.get() ? candidates[j] : candidates[i];
+            }
+            case LEAST_OUTSTANDING_REQUESTS:
+            default: {
+                // starts at a random instance, so ties are spread
+                int start = random.nextInt(candidates.length);
+                Instance least = candidates[start];
+                for (int k = 1; k < candidates.length; k++) {
+                    Instance candidate = candidates[(start + k) % candidates.length];
+                    if (candidate.outstanding.get() < least.outstanding.get()) {
+                        least = candidate;
+                    }
+                }
+                return least;
+            }
+        }
+    }
+
+    /**
+     * Rendezvous hashing: the instances of a key only change when its instance is ejected.
+     */
+    private static Instance highestScore(String key, Instance[] candidates) {
+        Instance highest = null;
+        long highestScore = 0;
+        for (Instance candidate : candidates) {
+            long score = mix(((long) key.hashCode() << 32) ^ candidate.name.hashCode());
+            if (highest == null || score > highestScore) {
+                highest = candidate;
+                highestScore = score;
+            }
+        }
+        return highest;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * The instance returned a response.
+     */
+    void succeeded(@NotNull Instance instance) {
+        instance.outstanding.decrementAndGet();
+        synchronized (this) {
+            instance.consecutiveFailures = 0;
+            if (instance.ejections > 0 && instance.isAvailable(System.nanoTime())) {
+                instance.ejections = 0;
+                instance.ejected = false;
+            }
+        }
+    }
+
+    /**
+     * The request to the instance failed.
+     */
+    void failed(@NotNull Instance instance, @NotNull Throwable t) {
+        instance.outstanding.decrementAndGet();
+        long now = System.nanoTime();
+        synchronized (this) {
+            if (++instance.consecutiveFailures < maxConsecutiveFailures || !instance.isAvailable(now)) {
+                return;
+            }
+            int ejected = 0;
+            for (Instance i : instances) {
+                if (!i.isAvailable(now)) {
+                    ejected++;
+                }
+            }
+            if (ejected + 1 >= instances.length) {
+                // at least one instance is never ejected
+                return;
+            }
+            instance.consecutiveFailures = 0;
+            instance.ejections++;
+            long time = baseEjectionTime * Math.min(instance.ejections, MAX_EJECTION_FACTOR);
+            instance.ejectedUntil = now + time;
+            instance.ejected = true;
+        }
+        if (LOGGER.isLoggable(Level.WARNING)) {
+            LOGGER.log(Level.WARNING, "Instance {0} ({1}) is ejected for {2} ms after {3} consecutive failures, the last one: {4}",
+                    new Object[] {instance.name, instance.address, TimeUnit.NANOSECONDS.toMillis(instance.ejectedUntil - now),
+                    maxConsecutiveFailures, t.toString()});
+        }
+    }
+
+    /**
+     * An endpoint address of a {@link LoadBalancingFeature}.
+     */
+    static final class Instance {
+        final int index;
+        final String name;
+        final EndpointAddress address;
+        final AtomicInteger outstanding = new AtomicInteger();
+
+        // guarded by the LoadBalancer
+        int consecutiveFailures;
+        int ejections;
+        volatile long ejectedUntil;
+        volatile boolean ejected;
+
+        Instance(int index, String name, EndpointAddress address) {
+            this.index = index;
+            this.name = name;
+            this.address = address;
+        }
+
+        boolean isAvailable(long now) {
+            return !ejected || now - ejectedUntil >= 0;
+        }
+
+        int getOutstanding() {
+            return outstanding.get();
+        }
+    }
+}
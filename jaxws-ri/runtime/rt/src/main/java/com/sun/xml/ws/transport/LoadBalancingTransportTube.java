@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.transport;
+
+import com.sun.istack.NotNull;
+import com.sun.xml.ws.api.client.LoadBalancingFeature;
+import com.sun.xml.ws.api.ha.HaInfo;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.ClientTubeAssemblerContext;
+import com.sun.xml.ws.api.pipe.NextAction;
+import com.sun.xml.ws.api.pipe.Tube;
+import com.sun.xml.ws.api.pipe.TubeCloner;
+import com.sun.xml.ws.api.pipe.helper.AbstractTubeImpl;
+
+/**
+ * Transport {@link Tube} of a {@link LoadBalancingFeature}: sends each request
+ * to the transport of the instance the {@link LoadBalancer} chooses.
+ *
+ * <p>
+ * There is one {@link DeferredTransportPipe} per instance, so the transports keep
+ * their connections to their instance.
+ */
+public final class LoadBalancingTransportTube extends AbstractTubeImpl {
+
+    private final LoadBalancer balancer;
+    private final Tube[] transports;
+
+    /**
+     * Instance of the request being processed.
+     */
+    private LoadBalancer.Instance current;
+
+    public LoadBalancingTransportTube(ClassLoader classLoader, ClientTubeAssemblerContext context,
+                                      LoadBalancingFeature feature) {
+        balancer = new LoadBalancer(feature);
+        LoadBalancer.Instance[] instances = balancer.getInstances();
+        transports = new Tube[instances.length];
+        for (int i = 0; i < instances.length; i++) {
+            ClientTubeAssemblerContext instanceContext = new ClientTubeAssemblerContext(
+                    instances[i].address,
+                    context.getWsdlModel(),
+                    context.getBindingProvider(),
+                    context.getBinding(),
+                    context.getContainer(),
+                    context.getCodec().copy(),
+                    context.getSEIModel(),
+                    context.getSEI());
+            transports[i] = new DeferredTransportPipe(classLoader, instanceContext);
+        }
+    }
+
+    private LoadBalancingTransportTube(LoadBalancingTransportTube that, TubeCloner cloner) {
+        super(that, cloner);
+        balancer = that.balancer;
+        transports = new Tube[that.transports.length];
+        for (int i = 0; i < transports.length; i++) {
+            transports[i] = cloner.copy(that.transports[i]);
+        }
+    }
+
+    /**
+     * Sends the request to the address of the chosen instance. An address set with
+     * {@link jakarta.xml.ws.BindingProvider#ENDPOINT_ADDRESS_PROPERTY} is ignored.
+     */
+    @Override
+    public @NotNull NextAction processRequest(@NotNull Packet request) {
+        current = balancer.select(getHaInfo(request));
+        request.endpointAddress = current.address;
+        return doInvoke(transports[current.index], request);
+    }
+
+    @Override
+    public @NotNull NextAction processResponse(@NotNull Packet response) {
+        LoadBalancer.Instance instance = current;
+        current = null;
+        if (instance != null) {
+            balancer.succeeded(instance);
+        }
+        return doReturnWith(response);
+    }
+
+    @Override
+    public @NotNull NextAction processException(@NotNull Throwable t) {
+        LoadBalancer.Instance instance = current;
+        current = null;
+        if (instance != null) {
+            balancer.failed(instance, t);
+        }
+        return doThrow(t);
+    }
+
+    private static HaInfo getHaInfo(Packet request) {
+        Object haInfo = request.supports(Packet.HA_INFO)
+                ? request.get(Packet.HA_INFO)
+                : request.invocationProperties.get(Packet.HA_INFO);
+        return haInfo instanceof HaInfo ? (HaInfo) haInfo : null;
+    }
+
+    @Override
+    public void preDestroy() {
+        for (Tube transport : transports) {
+            transport.preDestroy();
+        }
+    }
+
+    @Override
+    public LoadBalancingTransportTube copy(TubeCloner cloner) {
+        return new LoadBalancingTransportTube(this, cloner);
+    }
+}
@@ -60,6 +60,7 @@ import com.sun.xml.ws.api.server.WSEndpoint;
 import com.sun.xml.ws.api.server.WebServiceContextDelegate;
 import com.sun.xml.ws.fault.SOAPFaultBuilder;
 import com.sun.xml.ws.resources.WsservletMessages;
+import com.sun.xml.ws.server.OperationStatistics;
 import com.sun.xml.ws.server.UnsupportedMediaException;
 import com.sun.xml.ws.util.ByteArrayBuffer;
 import com.sun.xml.ws.util.Pool;
@@ -100,6 +101,11 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
      */
     private ServiceDefinition serviceDefinition = null;
 
+    /**
+     * Documents of {@link #wsdls}, as they were sent by {@link #publishWSDL(WSHTTPConnection)}.
+     */
+    private final PublishedDocumentCache publishedDocuments = new PublishedDocumentCache(publishedDocumentCacheSize);
+
     public final HttpAdapterList<? extends HttpAdapter> owner;
 
     /**
@@ -162,6 +168,7 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
      */
     public final void initWSDLMap(final ServiceDefinition serviceDefinition) {
         this.serviceDefinition = serviceDefinition;
+        publishedDocuments.clear();
         if(serviceDefinition==null) {
             wsdls = Collections.emptyMap();
             revWsdls = Collections.emptyMap();
@@ -456,6 +463,7 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
         packet.soapAction = fixQuotesAroundSoapAction(con.getRequestHeader("SOAPAction"));
         packet.wasTransportSecure = con.isSecure();
         packet.acceptableMimeTypes = con.getRequestHeader("Accept");
+        packet.inboundContentLength = parseContentLength(con.getRequestHeader("Content-Length"));
         packet.addSatellite(con);
         addSatellites(packet);
         packet.isAdapterDeliversNonAnonymousResponse = true;
@@ -477,6 +485,17 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
     protected void addSatellites(Packet packet) {
     }
 
+    private static long parseContentLength(String contentLength) {
+        if (contentLength != null) {
+            try {
+                return Long.parseLong(contentLength.trim());
+            } catch (NumberFormatException e) {
+                // ignore, the length is only a hint
+            }
+        }
+        return -1;
+    }
+
     /**
      * Some stacks may send non WS-I BP 1.2 conforming SoapAction.
      * Make sure SOAPAction is quoted as {@link com.sun.xml.ws.api.message.Packet#soapAction} expects quoted soapAction value.
@@ -592,6 +611,7 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
             	  return;
             }
 
+            final OperationStatistics stats = packet.getSatellite(OperationStatistics.class);
             ContentType contentType = codec.getStaticContentType(packet);
             if (contentType != null) {
                 con.setContentTypeResponseHeader(contentType.getContentType());
@@ -601,6 +621,13 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
                     codec.encode(packet, buf);
                     dump(buf, "HTTP response " + con.getStatus(), con.getResponseHeaders());
                     buf.writeTo(os);
+                    if (stats != null) {
+                        stats.responseWritten(buf.size());
+                    }
+                } else if (stats != null) {
+                    CountingOutputStream counter = new CountingOutputStream(os);
+                    codec.encode(packet, counter);
+                    stats.responseWritten(counter.count);
                 } else {
                     codec.encode(packet, os);
                 }
@@ -616,6 +643,9 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
                 OutputStream os = con.getOutput();
                 buf.writeTo(os);
                 os.close();
+                if (stats != null) {
+                    stats.responseWritten(buf.size());
+                }
             }
         }
     }
@@ -765,6 +795,36 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
         }
     }
 
+    /**
+     * Counts the bytes of a response for {@link OperationStatistics}.
+     * Does not close the underlying stream.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream out;
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+    }
+
     static final class Oneway implements TransportBackChannel {
         WSHTTPConnection con;
         boolean closed;
@@ -875,6 +935,11 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
      * Sends out the WSDL (and other referenced documents)
      * in response to the GET requests to URLs like "?wsdl" or "?xsd=2".
      *
+     * <p>
+     * A document is written once per valid base address, and the bytes are sent
+     * again to the next requests, with an <code>ETag</code>. A request with a
+     * matching <code>If-None-Match</code> header gets a 304 response.
+     *
      * @param con
      *      The connection to which the data will be sent.
      *
@@ -889,18 +954,56 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
             return;
         }
 
-        con.setStatus(HttpURLConnection.HTTP_OK);
-        con.setContentTypeResponseHeader("text/xml;charset=utf-8");
+        // the base address comes from the request headers, only a valid one is kept
+        String baseAddress = PublishedDocumentCache.normalize(con.getBaseAddress());
+        PublishedDocumentCache.PublishedDocument published =
+                baseAddress == null ? null : publishedDocuments.get(baseAddress, doc);
+        if (published == null) {
+            PortAddressResolver portAddressResolver = getPortAddressResolver(
+                    baseAddress == null ? con.getBaseAddress() : baseAddress);
+            DocumentAddressResolver resolver = getDocumentAddressResolver(portAddressResolver);
+
+            ByteArrayOutputStream buf = new ByteArrayOutputStream();
+            doc.writeTo(portAddressResolver, resolver, buf);
+            published = baseAddress == null
+                    ? new PublishedDocumentCache.PublishedDocument(buf.toByteArray())
+                    : publishedDocuments.put(baseAddress, doc, buf.toByteArray());
+        }
 
-        OutputStream os = con.getProtocol().contains("1.1") ? con.getOutput() : new Http10OutputStream(con);
+        boolean gzip = compressPublishedDocuments
+                && PublishedDocumentCache.acceptsGzip(con.getRequestHeader("Accept-Encoding"));
+        String etag = gzip ? published.getGzippedETag() : published.getETag();
+        con.setResponseHeader("ETag", etag);
+        if (compressPublishedDocuments) {
+            con.setResponseHeader("Vary", "Accept-Encoding");
+        }
+        if (PublishedDocumentCache.matches(con.getRequestHeader("If-None-Match"), etag)) {
+            con.setStatus(HttpURLConnection.HTTP_NOT_MODIFIED);
+            con.getOutput().close();
+            return;
+        }
 
-        PortAddressResolver portAddressResolver = getPortAddressResolver(con.getBaseAddress());
-        DocumentAddressResolver resolver = getDocumentAddressResolver(portAddressResolver);
+        byte[] content = gzip ? published.getGzipped() : published.getContent();
+        con.setStatus(HttpURLConnection.HTTP_OK);
+        con.setContentTypeResponseHeader("text/xml;charset=utf-8");
+        if (gzip) {
+            con.setResponseHeader("Content-Encoding", "gzip");
+        }
+        con.setContentLengthResponseHeader(content.length);
 
-        doc.writeTo(portAddressResolver, resolver, os);
+        OutputStream os = con.getOutput();
+        os.write(content);
         os.close();
     }
 
+    /**
+     * Drops the documents kept by {@link #publishWSDL(WSHTTPConnection)}, so that they
+     * are written again with the current addresses of the endpoints.
+     */
+    void invalidatePublishedDocuments() {
+        publishedDocuments.clear();
+    }
+
     public PortAddressResolver getPortAddressResolver(String baseAddress) {
         return owner.createPortAddressResolver(baseAddress, endpoint.getImplementationClass());
     }
@@ -1091,6 +1194,16 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
 
     public static volatile boolean publishStatusPage = true;
 
+    /**
+     * Number of base addresses for which the published documents are kept.
+     */
+    public static volatile int publishedDocumentCacheSize = 16;
+
+    /**
+     * Sends the published documents compressed with gzip to the clients that accept it.
+     */
+    public static volatile boolean compressPublishedDocuments = false;
+
     public static synchronized void setPublishStatus(boolean publish) {
         publishStatusPage = publish;
     }
@@ -1122,6 +1235,22 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
                         new Object[] {HttpAdapter.class.getName() + ".publishStatusPage"});
             }
         }
+        try {
+            publishedDocumentCacheSize = Integer.getInteger(HttpAdapter.class.getName() + ".publishedDocumentCacheSize", 16);
+        } catch (SecurityException se) {
+            if (LOGGER.isLoggable(Level.CONFIG)) {
+                LOGGER.log(Level.CONFIG, "Cannot read ''{0}'' property, using defaults.",
+                        new Object[] {HttpAdapter.class.getName() + ".publishedDocumentCacheSize"});
+            }
+        }
+        try {
+            compressPublishedDocuments = Boolean.getBoolean(HttpAdapter.class.getName() + ".compressPublishedDocuments");
+        } catch (SecurityException se) {
+            if (LOGGER.isLoggable(Level.CONFIG)) {
+                LOGGER.log(Level.CONFIG, "Cannot read ''{0}'' property, using defaults.",
+                        new Object[] {HttpAdapter.class.getName() + ".compressPublishedDocuments"});
+            }
+        }
     }
 
     public static void setDump(boolean dumpMessages) {
@@ -47,6 +47,10 @@ public abstract class HttpAdapterList<T extends HttpAdapter> extends AbstractLis
     @Override
     public T createAdapter(String name, String urlPattern, WSEndpoint<?> endpoint) {
         T t = createHttpAdapter(name, urlPattern, endpoint);
+        // documents published so far may lack the address of the new port
+        for (T adapter : adapters) {
+            adapter.invalidatePublishedDocuments();
+        }
         adapters.add(t);
         WSDLPort port = endpoint.getPort();
         if (port != null) {
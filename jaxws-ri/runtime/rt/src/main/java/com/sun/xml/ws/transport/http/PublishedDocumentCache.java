@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.transport.http;
+
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
+import com.sun.xml.ws.api.server.SDDocument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The documents an {@link HttpAdapter} publishes, as they are sent to the clients
+ * of one base address: with the addresses resolved and the
+ * {@link com.sun.xml.ws.server.SDDocumentImpl filters} applied.
+ *
+ * <p>
+ * The base address comes from the request, so it is {@link #normalize normalized} first,
+ * and the documents of the most recently used base addresses only are kept.
+ */
+final class PublishedDocumentCache {
+
+    private final Map<String, Map<SDDocument, PublishedDocument>> addresses;
+
+    /**
+     * @param maxAddresses
+     *      number of base addresses whose documents are kept. 0 disables the cache.
+     */
+    PublishedDocumentCache(final int maxAddresses) {
+        addresses = new LinkedHashMap<String, Map<SDDocument, PublishedDocument>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<SDDocument, PublishedDocument>> eldest) {
+                return size() > maxAddresses;
+            }
+        };
+    }
+
+    /**
+     * @return the document as it was sent to the given base address, or null
+     */
+    synchronized @Nullable PublishedDocument get(@NotNull String baseAddress, @NotNull SDDocument doc) {
+        Map<SDDocument, PublishedDocument> docs = addresses.get(baseAddress);
+        return docs == null ? null : docs.get(doc);
+    }
+
+    /**
+     * Keeps the document as it is sent to the given base address.
+     */
+    synchronized @NotNull PublishedDocument put(@NotNull String baseAddress, @NotNull SDDocument doc, @NotNull byte[] content) {
+        PublishedDocument published = new PublishedDocument(content);
+        Map<SDDocument, PublishedDocument> docs = addresses.get(baseAddress);
+        if (docs == null) {
+            docs = new HashMap<SDDocument, PublishedDocument>();
+            addresses.put(baseAddress, docs);
+        }
+        docs.put(doc, published);
+        return published;
+    }
+
+    /**
+     * Drops all the documents, for example when the service definition or the
+     * addresses of the endpoints change.
+     */
+    synchronized void clear() {
+        addresses.clear();
+    }
+
+    /**
+     * Returns the base address in the form used as a key, with the scheme and the host
+     * in lower case and without a default port, so that the spellings of an address
+     * share the documents.
+     *
+     * @param baseAddress base address of a request, as built from its headers
+     * @return the normalized address, or null if it is not a valid http or https address
+     */
+    static @Nullable String normalize(@NotNull String baseAddress) {
+        URI uri;
+        try {
+            uri = new URI(baseAddress).normalize();
+        } catch (URISyntaxException e) {
+            return null;
+        }
+        String scheme = uri.getScheme();
+        // null for an authority that is not a server name, as in "Host: a b"
+        String host = uri.getHost();
+        if (scheme == null || host == null || uri.getRawUserInfo() != null
+                || uri.getRawQuery() != null || uri.getRawFragment() != null) {
+            return null;
+        }
+        scheme = scheme.toLowerCase(Locale.ENGLISH);
+        int port = uri.getPort();
+        if (scheme.equals("http")) {
+            port = port == 80 ? -1 : port;
+        } else if (scheme.equals("https")) {
+            port = port == 443 ? -1 : port;
+        } else {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(scheme).append("://").append(host.toLowerCase(Locale.ENGLISH));
+        if (port != -1) {
+            sb.append(':').append(port);
+        }
+        String path = uri.getRawPath();
+        if (path != null) {
+            sb.append(path);
+        }
+        int end = sb.length();
+        while (sb.charAt(end - 1) == '/') {
+            end--;
+        }
+        sb.setLength(end);
+        return sb.toString();
+    }
+
+    /**
+     * @param ifNoneMatch value of the <code>If-None-Match</code> request header, can be null
+     * @return true if the header matches the entity tag, using the weak comparison
+     */
+    static boolean matches(@Nullable String ifNoneMatch, @NotNull String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param acceptEncoding value of the <code>Accept-Encoding</code> request header, can be null
+     * @return true if the client accepts a gzip content coding
+     */
+    static boolean acceptsGzip(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] params = coding.split(";");
+            String name = params[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equalsIgnoreCase("x-gzip")) {
+                continue;
+            }
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * A document as it is sent, with its entity tag.
+     */
+    static final class PublishedDocument {
+        private final byte[] content;
+        private final String etag;
+        private volatile byte[] gzipped;
+
+        PublishedDocument(byte[] content) {
+            this.content = content;
+            this.etag = createETag(content);
+        }
+
+        @NotNull byte[] getContent() {
+            return content;
+        }
+
+        @NotNull String getETag() {
+            return etag;
+        }
+
+        /**
+         * @return the content compressed with gzip, compressed once
+         */
+        @NotNull byte[] getGzipped() throws IOException {
+            byte[] g = gzipped;
+            if (g == null) {
+                ByteArrayOutputStream baos = new ByteArrayOutputStream(content.length / 4);
+                try (GZIPOutputStream os = new GZIPOutputStream(baos)) {
+                    os.write(content);
+                }
+                g = baos.toByteArray();
+                gzipped = g;
+            }
+            return g;
+        }
+
+        /**
+         * @return the entity tag of the gzip compressed content
+         */
+        @NotNull String getGzippedETag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+
+        private static String createETag(byte[] content) {
+            try {
+                StringBuilder sb = new StringBuilder("\"");
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+                for (int i = 0; i < 16; i++) {
+                    sb.append(Character.forDigit((digest[i] >> 4) & 0xf, 16));
+                    sb.append(Character.forDigit(digest[i] & 0xf, 16));
+                }
+                return sb.append('"').toString();
+            } catch (NoSuchAlgorithmException e) {
+                // every Java platform supports SHA-256
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -17,7 +17,6 @@ import static com.sun.xml.ws.client.BindingProviderProperties.*;
 import com.sun.xml.ws.client.ClientTransportException;
 import com.sun.xml.ws.resources.ClientMessages;
 import com.sun.xml.ws.transport.Headers;
-import com.sun.xml.ws.developer.JAXWSProperties;
 import com.sun.xml.ws.util.AuthUtil;
 import com.sun.istack.Nullable;
 import com.sun.istack.NotNull;
@@ -29,7 +28,6 @@ import javax.net.ssl.SSLSession;
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.ws.WebServiceException;
-import jakarta.xml.ws.handler.MessageContext;
 import java.io.FilterInputStream;
 import java.io.FilterOutputStream;
 import java.io.IOException;
@@ -77,7 +75,7 @@ public class HttpClientTransport {
         endpoint = packet.endpointAddress;
         context = packet;
         this.reqHeaders = reqHeaders;
-        chunkSize = (Integer)context.invocationProperties.get(JAXWSProperties.HTTP_CLIENT_STREAMING_CHUNK_SIZE);
+        chunkSize = (Integer)context.getInvocationProperty(Packet.STREAMING_CHUNK_SIZE_SLOT);
     }
 
     /*
@@ -205,14 +203,14 @@ public class HttpClientTransport {
 
             // Set application's HostNameVerifier for this connection
             HostnameVerifier verifier =
-                (HostnameVerifier) context.invocationProperties.get(JAXWSProperties.HOSTNAME_VERIFIER);
+                (HostnameVerifier) context.getInvocationProperty(Packet.HOSTNAME_VERIFIER_SLOT);
             if (verifier != null) {
                 ((HttpsURLConnection) connection).setHostnameVerifier(verifier);
             }
 
             // Set application's SocketFactory for this connection
             SSLSocketFactory sslSocketFactory =
-                (SSLSocketFactory) context.invocationProperties.get(JAXWSProperties.SSL_SOCKET_FACTORY);
+                (SSLSocketFactory) context.getInvocationProperty(Packet.SSL_SOCKET_FACTORY_SLOT);
             if (sslSocketFactory != null) {
                 ((HttpsURLConnection) connection).setSSLSocketFactory(sslSocketFactory);
             }
@@ -243,7 +241,7 @@ public class HttpClientTransport {
         httpConnection.setDoOutput(true);
         httpConnection.setDoInput(true);
 
-        String requestMethod = (String) context.invocationProperties.get(MessageContext.HTTP_REQUEST_METHOD);
+        String requestMethod = (String) context.getInvocationProperty(Packet.HTTP_REQUEST_METHOD_SLOT);
         String method = (requestMethod != null) ? requestMethod : "POST";
         httpConnection.setRequestMethod(method);
 
@@ -256,22 +254,22 @@ public class HttpClientTransport {
         }
        */     
 
-        Integer reqTimeout = (Integer)context.invocationProperties.get(BindingProviderProperties.REQUEST_TIMEOUT);
+        Integer reqTimeout = (Integer)context.getInvocationProperty(Packet.REQUEST_TIMEOUT_SLOT);
         if (reqTimeout != null) {
             httpConnection.setReadTimeout(reqTimeout);
         }
 
-        Integer connectTimeout = (Integer)context.invocationProperties.get(JAXWSProperties.CONNECT_TIMEOUT);
+        Integer connectTimeout = (Integer)context.getInvocationProperty(Packet.CONNECT_TIMEOUT_SLOT);
         if (connectTimeout != null) {
             httpConnection.setConnectTimeout(connectTimeout);
         }
 
-        Integer chunkSize = (Integer)context.invocationProperties.get(JAXWSProperties.HTTP_CLIENT_STREAMING_CHUNK_SIZE);
+        Integer chunkSize = (Integer)context.getInvocationProperty(Packet.STREAMING_CHUNK_SIZE_SLOT);
         if (chunkSize != null) {
             httpConnection.setChunkedStreamingMode(chunkSize);
         }
 
-        Authenticator auth = (Authenticator)context.invocationProperties.get(JAXWSProperties.REQUEST_AUTHENTICATOR);
+        Authenticator auth = (Authenticator)context.getInvocationProperty(Packet.REQUEST_AUTHENTICATOR_SLOT);
         if ( auth != null ) {
             AuthUtil.setAuthenticator(auth, httpConnection);
         }
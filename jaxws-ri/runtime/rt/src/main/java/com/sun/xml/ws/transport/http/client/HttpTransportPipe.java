@@ -28,10 +28,8 @@ import com.sun.xml.ws.util.RuntimeVersion;
 import com.sun.xml.ws.util.StreamUtils;
 
 import jakarta.xml.bind.DatatypeConverter;
-import jakarta.xml.ws.BindingProvider;
 import jakarta.xml.ws.WebServiceException;
 import jakarta.xml.ws.WebServiceFeature;
-import jakarta.xml.ws.handler.MessageContext;
 import jakarta.xml.ws.soap.SOAPBinding;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -140,7 +138,7 @@ public class HttpTransportPipe extends AbstractTubeImpl {
             // get transport headers from message
             Map<String, List<String>> reqHeaders = new Headers();
             @SuppressWarnings("unchecked")
-            Map<String, List<String>> userHeaders = (Map<String, List<String>>) request.invocationProperties.get(MessageContext.HTTP_REQUEST_HEADERS);
+            Map<String, List<String>> userHeaders = (Map<String, List<String>>) request.getInvocationProperty(Packet.HTTP_REQUEST_HEADERS_SLOT);
             boolean addUserAgent = true;
             if (userHeaders != null) {
                 // userHeaders may not be modifiable like SingletonMap, just copy them
@@ -266,6 +264,7 @@ public class HttpTransportPipe extends AbstractTubeImpl {
             if (contentType != null && contentType.contains("text/html") && binding instanceof SOAPBinding) {
                 throw new ClientTransportException(ClientMessages.localizableHTTP_STATUS_CODE(con.statusCode, con.statusMessage));
             }
+            reply.inboundContentLength = con.getContentLength();
             codec.decode(responseStream, contentType, reply);
         }
         return reply;
@@ -320,7 +319,7 @@ public class HttpTransportPipe extends AbstractTubeImpl {
 
     private void addCookies(Packet context, Map<String, List<String>> reqHeaders) throws IOException {
         Boolean shouldMaintainSessionProperty =
-                (Boolean) context.invocationProperties.get(BindingProvider.SESSION_MAINTAIN_PROPERTY);
+                (Boolean) context.getInvocationProperty(Packet.SESSION_MAINTAIN_SLOT);
         if (shouldMaintainSessionProperty != null && !shouldMaintainSessionProperty) {
             return;         // explicitly turned off
         }
@@ -363,7 +362,7 @@ public class HttpTransportPipe extends AbstractTubeImpl {
 
     private void recordCookies(Packet context, HttpClientTransport con) throws IOException {
         Boolean shouldMaintainSessionProperty =
-                (Boolean) context.invocationProperties.get(BindingProvider.SESSION_MAINTAIN_PROPERTY);
+                (Boolean) context.getInvocationProperty(Packet.SESSION_MAINTAIN_SLOT);
         if (shouldMaintainSessionProperty != null && !shouldMaintainSessionProperty) {
             return;         // explicitly turned off
         }
@@ -373,9 +372,9 @@ public class HttpTransportPipe extends AbstractTubeImpl {
     }
 
     private void addBasicAuth(Packet context, Map<String, List<String>> reqHeaders) {
-        String user = (String) context.invocationProperties.get(BindingProvider.USERNAME_PROPERTY);
+        String user = (String) context.getInvocationProperty(Packet.USERNAME_SLOT);
         if (user != null) {
-            String pw = (String) context.invocationProperties.get(BindingProvider.PASSWORD_PROPERTY);
+            String pw = (String) context.getInvocationProperty(Packet.PASSWORD_SLOT);
             if (pw != null) {
                 StringBuilder buf = new StringBuilder(user);
                 buf.append(":");
@@ -18,9 +18,7 @@ import org.w3c.dom.*;
 import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.FactoryConfigurationError;
-import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 import java.util.ArrayList;
@@ -32,23 +30,20 @@ import java.util.List;
  */
 public class DOMUtil {
 
-    private static DocumentBuilder db;
-
     /**
      * Creates a new DOM document.
      */
     public static Document createDom() {
-        synchronized (DOMUtil.class) {
-            if (db == null) {
-                try {
-                    DocumentBuilderFactory dbf = XmlUtil.newDocumentBuilderFactory(true);
-                    dbf.setNamespaceAware(true);
-                    db = dbf.newDocumentBuilder();
-                } catch (ParserConfigurationException e) {
-                    throw new FactoryConfigurationError(e);
-                }
-            }
+        DocumentBuilder db;
+        try {
+            db = XmlUtil.takeDocumentBuilder(true);
+        } catch (IllegalStateException e) {
+            throw new FactoryConfigurationError(e);
+        }
+        try {
             return db.newDocument();
+        } finally {
+            XmlUtil.recycleDocumentBuilder(true, db);
         }
     }
 
@@ -0,0 +1,379 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link Map} of properties that keeps well-known keys in an array.
+ *
+ * <p>
+ * Well-known keys are given a slot with {@link #slot(String)}, typically
+ * from a static initializer, so that the slot is resolved once at class-init
+ * time. Values of such keys are stored in an array indexed by the slot, and
+ * any other key goes to a {@link HashMap}. Both are allocated only when the
+ * first value is stored, so a map that is never written to costs a single
+ * object.
+ *
+ * <p>
+ * A key may get its slot after a map has already stored a value for it
+ * among the other keys. Such a value is read from there, and moved to the
+ * slot the next time the key is written, so the map behaves the same no
+ * matter in which order the classes registering slots are initialized.
+ * Reading never modifies the map.
+ *
+ * <p>
+ * Like {@link HashMap}, this class is not thread-safe for writers, and permits
+ * {@code null} values but not {@code null} keys.
+ *
+ * @see com.sun.xml.ws.api.message.Packet#invocationProperties
+ */
+public final class IndexedPropertyMap extends AbstractMap<String, Object> {
+
+    /**
+     * Registry of the well-known keys. Slots are only ever added.
+     */
+    static final class Slots {
+        private final ConcurrentHashMap<String, Integer> slots = new ConcurrentHashMap<>();
+        private volatile String[] keys = new String[0];
+
+        Integer get(Object key) {
+            return key == null ? null : slots.get(key);
+        }
+
+        int register(String key) {
+            Integer slot = slots.get(key);
+            if (slot != null) {
+                return slot;
+            }
+            synchronized (this) {
+                slot = slots.get(key);
+                if (slot == null) {
+                    String[] current = keys;
+                    slot = current.length;
+                    String[] newKeys = Arrays.copyOf(current, current.length + 1);
+                    newKeys[slot] = key;
+                    keys = newKeys;
+                    slots.put(key, slot);
+                }
+                return slot;
+            }
+        }
+
+        int size() {
+            return keys.length;
+        }
+
+        String key(int slot) {
+            return keys[slot];
+        }
+    }
+
+    private static final Slots SLOTS = new Slots();
+
+    /**
+     * Marks a slot that holds a {@code null} value.
+     */
+    private static final Object NULL = new Object();
+
+    private final Slots slots;
+
+    /**
+     * Values of the well-known keys, or null until the first one is stored.
+     */
+    private Object[] values;
+    private int slotCount;
+
+    /**
+     * Values of the other keys, or null until the first one is stored.
+     */
+    private HashMap<String, Object> others;
+
+    /**
+     * Number of registered slots when {@link #others} was created. Only keys
+     * registered later can have a value left in {@link #others}.
+     */
+    private int othersSince;
+
+    public IndexedPropertyMap() {
+        this(SLOTS);
+    }
+
+    IndexedPropertyMap(Slots slots) {
+        this.slots = slots;
+    }
+
+    /**
+     * Registers a well-known key, or returns its slot if it is
+     * already registered.
+     *
+     * @param key the property name
+     * @return the slot to be used with {@link #get(int)} and {@link #put(int, Object)}
+     */
+    public static int slot(String key) {
+        return SLOTS.register(key);
+    }
+
+    /**
+     * Gets the value of a well-known key.
+     */
+    public Object get(int slot) {
+        if (isOther(slot)) {
+            return others.get(slots.key(slot));
+        }
+        if (values == null || slot >= values.length) {
+            return null;
+        }
+        return unmask(values[slot]);
+    }
+
+    /**
+     * Sets the value of a well-known key.
+     */
+    public Object put(int slot, Object value) {
+        // a value stored before the key was registered is moved to the slot,
+        // which is empty then
+        boolean other = isOther(slot);
+        Object moved = other ? others.remove(slots.key(slot)) : null;
+        if (values == null || slot >= values.length) {
+            values = values == null ? new Object[slots.size()] : Arrays.copyOf(values, slots.size());
+        }
+        Object old = values[slot];
+        values[slot] = value == null ? NULL : value;
+        if (old == null) {
+            slotCount++;
+        }
+        return other ? moved : unmask(old);
+    }
+
+    /**
+     * Removes the value of a well-known key.
+     */
+    public Object remove(int slot) {
+        if (isOther(slot)) {
+            return others.remove(slots.key(slot));
+        }
+        if (values == null || slot >= values.length) {
+            return null;
+        }
+        Object old = values[slot];
+        if (old != null) {
+            values[slot] = null;
+            slotCount--;
+        }
+        return unmask(old);
+    }
+
+    /**
+     * Tells whether a well-known key has a value.
+     */
+    public boolean containsKey(int slot) {
+        if (isOther(slot)) {
+            return true;
+        }
+        return values != null && slot < values.length && values[slot] != null;
+    }
+
+    private static Object unmask(Object o) {
+        return o == NULL ? null : o;
+    }
+
+    /**
+     * Tells whether the value of a key is still among the other keys,
+     * as it was stored before the key was registered.
+     */
+    private boolean isOther(int slot) {
+        return others != null && slot >= othersSince && others.containsKey(slots.key(slot));
+    }
+
+    @Override
+    public Object get(Object key) {
+        Integer slot = slots.get(key);
+        if (slot != null) {
+            return get(slot.intValue());
+        }
+        return others == null ? null : others.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Integer slot = slots.get(key);
+        if (slot != null) {
+            return containsKey(slot.intValue());
+        }
+        return others != null && others.containsKey(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Integer slot = slots.get(key);
+        if (slot != null) {
+            return put(slot.intValue(), value);
+        }
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        return others().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        Integer slot = slots.get(key);
+        if (slot != null) {
+            return remove(slot.intValue());
+        }
+        return others == null ? null : others.remove(key);
+    }
+
+    private HashMap<String, Object> others() {
+        if (others == null) {
+            othersSince = slots.size();
+            others = new HashMap<>();
+        }
+        return others;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        if (m instanceof IndexedPropertyMap && ((IndexedPropertyMap) m).slots == slots) {
+            IndexedPropertyMap that = (IndexedPropertyMap) m;
+            if (that.values != null) {
+                for (int i = 0; i < that.values.length; i++) {
+                    if (that.values[i] != null) {
+                        put(i, unmask(that.values[i]));
+                    }
+                }
+            }
+            if (that.others != null) {
+                // goes through put(String, Object), as some of the keys
+                // may have been registered since they were stored
+                for (Entry<String, Object> e : that.others.entrySet()) {
+                    put(e.getKey(), e.getValue());
+                }
+            }
+        } else {
+            super.putAll(m);
+        }
+    }
+
+    @Override
+    public int size() {
+        return slotCount + (others == null ? 0 : others.size());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public void clear() {
+        if (values != null) {
+            Arrays.fill(values, null);
+            slotCount = 0;
+        }
+        if (others != null) {
+            others.clear();
+        }
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return IndexedPropertyMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Iterates over the well-known keys first, then over the others.
+     */
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+        private int next = advance(0);
+        private int current = -1;
+        private Iterator<Entry<String, Object>> othersIterator;
+
+        private int advance(int from) {
+            if (values != null) {
+                for (int i = from; i < values.length; i++) {
+                    if (values[i] != null) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next >= 0) {
+                return true;
+            }
+            if (othersIterator == null) {
+                if (others == null) {
+                    return false;
+                }
+                othersIterator = others.entrySet().iterator();
+            }
+            return othersIterator.hasNext();
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (next >= 0) {
+                current = next;
+                next = advance(next + 1);
+                final int slot = current;
+                return new SimpleEntry<String, Object>(slots.key(slot), unmask(values[slot])) {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    public Object setValue(Object value) {
+                        IndexedPropertyMap.this.put(slot, value);
+                        return super.setValue(value);
+                    }
+                };
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            current = -1;
+            return othersIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (current >= 0) {
+                IndexedPropertyMap.this.remove(current);
+                current = -1;
+            } else if (othersIterator != null) {
+                othersIterator.remove();
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.util;
+
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
+
+import javax.xml.namespace.QName;
+
+/**
+ * Canonical {@link QName} instances of a set of known names.
+ *
+ * <p>
+ * The names are added when a model is built, with their namespace URI and local name
+ * {@link String#intern() intern}ed, the same way the StAX parsers intern the names they
+ * read. Looking up a name read from a message then finds its canonical instance without
+ * creating a {@link QName}, and the strings of the message match those of the model on
+ * identity, which is the fast path of {@link QNameMap}.
+ *
+ * <p>
+ * Names are only added while the model is built. After that this class is only
+ * read, and can be shared by any number of threads. Names that are not known are
+ * never added on lookup, so messages can't grow it.
+ */
+public final class QNameInterner {
+
+    private final QNameMap<QName> names = new QNameMap<QName>();
+
+    /**
+     * Adds a known name.
+     *
+     * @return the canonical instance of the name
+     */
+    public @NotNull QName intern(@NotNull QName name) {
+        QName canonical = names.get(name);
+        if (canonical == null) {
+            String nsUri = name.getNamespaceURI().intern();
+            String localPart = name.getLocalPart().intern();
+            canonical = nsUri == name.getNamespaceURI() && localPart == name.getLocalPart()
+                    ? name : new QName(nsUri, localPart, name.getPrefix());
+            names.put(nsUri, localPart, canonical);
+        }
+        return canonical;
+    }
+
+    /**
+     * Gets the canonical instance of a known name.
+     *
+     * @return null if the name is not known
+     */
+    public @Nullable QName find(@NotNull String nsUri, @NotNull String localPart) {
+        return names.get(nsUri, localPart);
+    }
+
+    /**
+     * Gets the canonical instance of a name, or a new {@link QName} if it is not known.
+     */
+    public @NotNull QName get(@NotNull String nsUri, @NotNull String localPart) {
+        QName name = names.get(nsUri, localPart);
+        return name != null ? name : new QName(nsUri, localPart);
+    }
+
+    /**
+     * Number of known names.
+     */
+    public int size() {
+        return names.size();
+    }
+}
@@ -356,6 +356,7 @@ public final class QNameMap<V> {
         V value;
         final int hash;
         Entry<V> next;
+        private QName qname;
 
         /**
          * Create new entry.
@@ -369,10 +370,15 @@ public final class QNameMap<V> {
         }
 
         /**
-         * Creates a new QName object from {@link #nsUri} and {@link #localName}.
+         * Gets the QName object of {@link #nsUri} and {@link #localName}.
+         * It is created on first use, and the same instance is returned after that.
          */
         public QName createQName() {
-            return new QName(nsUri,localName);
+            QName name = qname;
+            if (name == null) {
+                qname = name = new QName(nsUri,localName);
+            }
+            return name;
         }
 
         public V getValue() {
@@ -449,6 +455,11 @@ public final class QNameMap<V> {
         int hash = hash(localName);
         int i = indexFor(hash, table.length);
         Entry<V> e = table[i];
+        // fast path for interned keys: no character is compared
+        for (Entry<V> x = e; x != null; x = x.next) {
+            if (x.localName == localName && x.nsUri == nsUri)
+                return x;
+        }
         while (e != null && !(localName.equals(e.localName) && nsUri.equals(e.nsUri)))
             e = e.next;
         return e;
@@ -111,13 +111,15 @@ public abstract class AbstractSchemaValidationTube extends AbstractFilterTubeImp
         }
 
         // Convert infoset to DOM
-        Transformer trans = XmlUtil.newTransformer();
+        Transformer trans = XmlUtil.takeTransformer(true);
         Source source = new StreamSource(bab.newInputStream(), null); //doc.getURL().toExternalForm());
         DOMResult result = new DOMResult();
         try {
             trans.transform(source, result);
         } catch(TransformerException te) {
             throw new WebServiceException(te);
+        } finally {
+            XmlUtil.recycleTransformer(true, trans);
         }
         return (Document)result.getNode();
     }
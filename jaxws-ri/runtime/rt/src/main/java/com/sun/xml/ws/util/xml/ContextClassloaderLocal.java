@@ -15,26 +15,49 @@ import com.sun.xml.ws.resources.ContextClassloaderLocalMessages;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Simple utility ensuring that the value is cached only in case it is non-internal implementation
  */
 abstract class ContextClassloaderLocal<V> {
 
-    private WeakHashMap<ClassLoader, V> CACHE = new WeakHashMap<>();
+    private final WeakHashMap<ClassLoader, V> CACHE = new WeakHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
 
     public V get() throws Error {
         ClassLoader tccl = getContextClassLoader();
-        V instance = CACHE.get(tccl);
-        if (instance == null) {
-            instance = createNewInstance();
-            CACHE.put(tccl, instance);
+        V instance;
+        synchronized (CACHE) {
+            instance = CACHE.get(tccl);
+        }
+        if (instance != null) {
+            hits.increment();
+            return instance;
+        }
+        misses.increment();
+        // created outside of the lock, a concurrent creation for the same loader just wins the race
+        instance = createNewInstance();
+        synchronized (CACHE) {
+            V existing = CACHE.putIfAbsent(tccl, instance);
+            return existing != null ? existing : instance;
         }
-        return instance;
     }
 
     public void set(V instance) {
-        CACHE.put(getContextClassLoader(), instance);
+        synchronized (CACHE) {
+            CACHE.put(getContextClassLoader(), instance);
+        }
+    }
+
+    long getHitCount() {
+        return hits.sum();
+    }
+
+    long getMissCount() {
+        return misses.sum();
     }
 
     protected abstract V initialValue() throws Exception;
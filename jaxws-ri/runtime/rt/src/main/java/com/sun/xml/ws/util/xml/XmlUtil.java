@@ -12,6 +12,7 @@ package com.sun.xml.ws.util.xml;
 
 import com.sun.istack.Nullable;
 import com.sun.xml.ws.util.ByteArrayBuffer;
+import com.sun.xml.ws.util.Pool;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStreamWriter;
@@ -23,10 +24,12 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.StringTokenizer;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParserFactory;
@@ -211,13 +214,6 @@ public class XmlUtil {
         }
     }
 
-    static final ContextClassloaderLocal<TransformerFactory> transformerFactory = new ContextClassloaderLocal<TransformerFactory>() {
-        @Override
-        protected TransformerFactory initialValue() throws Exception {
-            return TransformerFactory.newInstance();
-        }
-    };
-
     static final ContextClassloaderLocal<SAXParserFactory> saxParserFactory = new ContextClassloaderLocal<SAXParserFactory>() {
         @Override
         protected SAXParserFactory initialValue() throws Exception {
@@ -227,12 +223,219 @@ public class XmlUtil {
         }
     };
 
+    /*
+     * Preconfigured factories, shared by the whole process, for each class loader
+     * and security mode. Indexed by mode(boolean).
+     */
+    private static final int SECURE = 0;
+    private static final int INSECURE = 1;
+
+    @SuppressWarnings("unchecked")
+    private static final ContextClassloaderLocal<DocumentBuilderFactory>[] documentBuilderFactories = new ContextClassloaderLocal[2];
+    @SuppressWarnings("unchecked")
+    private static final ContextClassloaderLocal<TransformerFactory>[] transformerFactories = new ContextClassloaderLocal[2];
+    @SuppressWarnings("unchecked")
+    private static final ContextClassloaderLocal<SAXParserFactory>[] saxParserFactories = new ContextClassloaderLocal[2];
+    @SuppressWarnings("unchecked")
+    private static final ContextClassloaderLocal<XPathFactory>[] xpathFactories = new ContextClassloaderLocal[2];
+
+    static {
+        for (int mode = SECURE; mode <= INSECURE; mode++) {
+            final boolean disableSecurity = mode == INSECURE;
+            documentBuilderFactories[mode] = new ContextClassloaderLocal<DocumentBuilderFactory>() {
+                @Override
+                protected DocumentBuilderFactory initialValue() {
+                    return newDocumentBuilderFactory(disableSecurity);
+                }
+            };
+            transformerFactories[mode] = new ContextClassloaderLocal<TransformerFactory>() {
+                @Override
+                protected TransformerFactory initialValue() {
+                    return newTransformerFactory(disableSecurity);
+                }
+            };
+            saxParserFactories[mode] = new ContextClassloaderLocal<SAXParserFactory>() {
+                @Override
+                protected SAXParserFactory initialValue() {
+                    return newSAXParserFactory(disableSecurity);
+                }
+            };
+            xpathFactories[mode] = new ContextClassloaderLocal<XPathFactory>() {
+                @Override
+                protected XPathFactory initialValue() {
+                    return newXPathFactory(disableSecurity);
+                }
+            };
+        }
+    }
+
+    /**
+     * Pools of {@link DocumentBuilder}s and {@link Transformer}s created from the
+     * factories above, for each class loader and security mode.
+     */
+    @SuppressWarnings("unchecked")
+    private static final ContextClassloaderLocal<Pool<DocumentBuilder>>[] documentBuilderPools = new ContextClassloaderLocal[2];
+    @SuppressWarnings("unchecked")
+    private static final ContextClassloaderLocal<Pool<Transformer>>[] transformerPools = new ContextClassloaderLocal[2];
+
+    static {
+        for (int mode = SECURE; mode <= INSECURE; mode++) {
+            final int m = mode;
+            documentBuilderPools[mode] = new ContextClassloaderLocal<Pool<DocumentBuilder>>() {
+                @Override
+                protected Pool<DocumentBuilder> initialValue() {
+                    final DocumentBuilderFactory factory = documentBuilderFactories[m].get();
+                    return new Pool<DocumentBuilder>() {
+                        @Override
+                        protected DocumentBuilder create() {
+                            pooledMisses.increment();
+                            try {
+                                return factory.newDocumentBuilder();
+                            } catch (ParserConfigurationException e) {
+                                throw new IllegalStateException(e);
+                            }
+                        }
+                    };
+                }
+            };
+            transformerPools[mode] = new ContextClassloaderLocal<Pool<Transformer>>() {
+                @Override
+                protected Pool<Transformer> initialValue() {
+                    final TransformerFactory factory = transformerFactories[m].get();
+                    return new Pool<Transformer>() {
+                        @Override
+                        protected Transformer create() {
+                            pooledMisses.increment();
+                            try {
+                                return factory.newTransformer();
+                            } catch (TransformerConfigurationException e) {
+                                throw new IllegalStateException("Unable to create a JAXP transformer", e);
+                            }
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    private static final LongAdder pooledTakes = new LongAdder();
+    private static final LongAdder pooledMisses = new LongAdder();
+
+    private static int mode(boolean disableSecurity) {
+        return xmlSecurityDisabled(disableSecurity) ? INSECURE : SECURE;
+    }
+
+    /**
+     * Gets the shared {@link DocumentBuilderFactory} of the context class loader,
+     * configured as by {@link #newDocumentBuilderFactory(boolean)}.
+     * The returned factory must not be reconfigured.
+     */
+    public static DocumentBuilderFactory getDocumentBuilderFactory(boolean disableSecurity) {
+        return documentBuilderFactories[mode(disableSecurity)].get();
+    }
+
+    /**
+     * Gets the shared {@link TransformerFactory} of the context class loader,
+     * configured as by {@link #newTransformerFactory(boolean)}.
+     * The returned factory must not be reconfigured.
+     */
+    public static TransformerFactory getTransformerFactory(boolean disableSecurity) {
+        return transformerFactories[mode(disableSecurity)].get();
+    }
+
+    /**
+     * Gets the shared {@link SAXParserFactory} of the context class loader,
+     * configured as by {@link #newSAXParserFactory(boolean)}.
+     * The returned factory must not be reconfigured.
+     */
+    public static SAXParserFactory getSAXParserFactory(boolean disableSecurity) {
+        return saxParserFactories[mode(disableSecurity)].get();
+    }
+
+    /**
+     * Gets the shared {@link XPathFactory} of the context class loader,
+     * configured as by {@link #newXPathFactory(boolean)}.
+     * The returned factory must not be reconfigured.
+     */
+    public static XPathFactory getXPathFactory(boolean disableSecurity) {
+        return xpathFactories[mode(disableSecurity)].get();
+    }
+
+    /**
+     * Takes a {@link DocumentBuilder} of the context class loader from a pool.
+     *
+     * <p>
+     * The builder must be given back with {@link #recycleDocumentBuilder(boolean, DocumentBuilder)}
+     * once the parsing is over, and must not be used after that.
+     */
+    public static DocumentBuilder takeDocumentBuilder(boolean disableSecurity) {
+        pooledTakes.increment();
+        return documentBuilderPools[mode(disableSecurity)].get().take();
+    }
+
+    /**
+     * Resets a {@link DocumentBuilder} taken with {@link #takeDocumentBuilder(boolean)}
+     * and puts it back into its pool.
+     */
+    public static void recycleDocumentBuilder(boolean disableSecurity, DocumentBuilder db) {
+        db.reset();
+        documentBuilderPools[mode(disableSecurity)].get().recycle(db);
+    }
+
+    /**
+     * Takes an identity {@link Transformer} of the context class loader from a pool.
+     *
+     * <p>
+     * The transformer must be given back with {@link #recycleTransformer(boolean, Transformer)}
+     * once the transformation is over, and must not be used after that.
+     */
+    public static Transformer takeTransformer(boolean disableSecurity) {
+        pooledTakes.increment();
+        return transformerPools[mode(disableSecurity)].get().take();
+    }
+
+    /**
+     * Resets a {@link Transformer} taken with {@link #takeTransformer(boolean)}
+     * and puts it back into its pool.
+     */
+    public static void recycleTransformer(boolean disableSecurity, Transformer t) {
+        t.reset();
+        transformerPools[mode(disableSecurity)].get().recycle(t);
+    }
+
+    /**
+     * @return how many times a shared factory or a pooled instance was reused
+     */
+    public static long getCacheHitCount() {
+        long hits = pooledTakes.sum() - pooledMisses.sum();
+        for (int mode = SECURE; mode <= INSECURE; mode++) {
+            hits += documentBuilderFactories[mode].getHitCount() + transformerFactories[mode].getHitCount()
+                    + saxParserFactories[mode].getHitCount() + xpathFactories[mode].getHitCount();
+        }
+        return hits;
+    }
+
+    /**
+     * @return how many times a shared factory or a pooled instance had to be created
+     */
+    public static long getCacheMissCount() {
+        long misses = pooledMisses.sum();
+        for (int mode = SECURE; mode <= INSECURE; mode++) {
+            misses += documentBuilderFactories[mode].getMissCount() + transformerFactories[mode].getMissCount()
+                    + saxParserFactories[mode].getMissCount() + xpathFactories[mode].getMissCount();
+        }
+        return misses;
+    }
+
     /**
      * Creates a new identity transformer.
+     *
+     * <p>
+     * Prefer {@link #takeTransformer(boolean)} for a transformer used only once.
      */
     public static Transformer newTransformer() {
         try {
-            return transformerFactory.get().newTransformer();
+            return getTransformerFactory(true).newTransformer();
         } catch (TransformerConfigurationException tex) {
             throw new IllegalStateException("Unable to create a JAXP transformer");
         }
@@ -247,14 +450,19 @@ public class XmlUtil {
             // work around a bug in JAXP in JDK6u4 and earlier where the namespace processing
             // is not turned on by default
             StreamSource ssrc = (StreamSource) src;
-            TransformerHandler th = ((SAXTransformerFactory) transformerFactory.get()).newTransformerHandler();
+            TransformerHandler th = ((SAXTransformerFactory) getTransformerFactory(true)).newTransformerHandler();
             th.setResult(result);
             XMLReader reader = saxParserFactory.get().newSAXParser().getXMLReader();
             reader.setContentHandler(th);
             reader.setProperty(LEXICAL_HANDLER_PROPERTY, th);
             reader.parse(toInputSource(ssrc));
         } else {
-            newTransformer().transform(src, result);
+            Transformer t = takeTransformer(true);
+            try {
+                t.transform(src, result);
+            } finally {
+                recycleTransformer(true, t);
+            }
         }
         return result;
     }
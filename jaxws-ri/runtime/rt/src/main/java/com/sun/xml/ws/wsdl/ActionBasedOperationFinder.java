@@ -27,6 +27,7 @@ import com.sun.xml.ws.model.AbstractSEIModelImpl;
 import com.sun.xml.ws.model.JavaMethodImpl;
 import static com.sun.xml.ws.wsdl.PayloadQNameBasedOperationFinder.*;
 import com.sun.xml.ws.resources.AddressingMessages;
+import com.sun.xml.ws.util.QNameMap;
 
 import javax.xml.namespace.QName;
 import java.util.HashMap;
@@ -48,7 +49,11 @@ import java.util.logging.Logger;
 final class ActionBasedOperationFinder extends WSDLOperationFinder {
     
     private static final Logger LOGGER = Logger.getLogger(ActionBasedOperationFinder.class.getName());
-    private final Map<ActionBasedOperationSignature, WSDLOperationMapping> uniqueOpSignatureMap;
+    /**
+     * wsa:Action and payload QName of each {@link ActionBasedOperationSignature},
+     * so that a request is dispatched without creating a key.
+     */
+    private final Map<String, QNameMap<WSDLOperationMapping>> uniqueOpSignatureMap;
     private final Map<String, WSDLOperationMapping> actionMap;
 
     private final @NotNull AddressingVersion av;
@@ -58,7 +63,7 @@ final class ActionBasedOperationFinder extends WSDLOperationFinder {
 
         assert binding.getAddressingVersion() != null;    // this dispatcher can be only used when addressing is on.
         av = binding.getAddressingVersion();
-        uniqueOpSignatureMap = new HashMap<ActionBasedOperationSignature, WSDLOperationMapping>();
+        uniqueOpSignatureMap = new HashMap<String, QNameMap<WSDLOperationMapping>>();
         actionMap = new HashMap<String,WSDLOperationMapping>();
 
         if (seiModel != null) {
@@ -76,12 +81,12 @@ final class ActionBasedOperationFinder extends WSDLOperationFinder {
 //                    action = m.getInputAction();
                 }
                 if (action != null) {
-                    ActionBasedOperationSignature opSignature = new ActionBasedOperationSignature(action, payloadName);
-                    if(uniqueOpSignatureMap.get(opSignature) != null) {
+                    payloadName = ((AbstractSEIModelImpl) seiModel).getKnownNames().intern(payloadName);
+                    WSDLOperationMapping previous = putOpSignature(action, payloadName, wsdlOperationMapping(m));
+                    if(previous != null) {
                         LOGGER.warning(AddressingMessages.NON_UNIQUE_OPERATION_SIGNATURE(
-                                uniqueOpSignatureMap.get(opSignature),m.getOperationQName(),action,payloadName));
+                                previous,m.getOperationQName(),action,payloadName));
                     }
-                    uniqueOpSignatureMap.put(opSignature, wsdlOperationMapping(m));
                     actionMap.put(action,wsdlOperationMapping(m));
                 }
             }
@@ -91,19 +96,31 @@ final class ActionBasedOperationFinder extends WSDLOperationFinder {
                 if (payloadName == null)
                     payloadName = EMPTY_PAYLOAD;
                 String action = wsdlOp.getOperation().getInput().getAction();
-                ActionBasedOperationSignature opSignature = new ActionBasedOperationSignature(
-                        action, payloadName);
-                if(uniqueOpSignatureMap.get(opSignature) != null) {
+                WSDLOperationMapping previous = putOpSignature(action, payloadName, wsdlOperationMapping(wsdlOp));
+                if(previous != null) {
                     LOGGER.warning(AddressingMessages.NON_UNIQUE_OPERATION_SIGNATURE(
-                                    uniqueOpSignatureMap.get(opSignature),wsdlOp.getName(),action,payloadName));
+                                    previous,wsdlOp.getName(),action,payloadName));
 
                 }
-                uniqueOpSignatureMap.put(opSignature, wsdlOperationMapping(wsdlOp));
                 actionMap.put(action,wsdlOperationMapping(wsdlOp));
             }
         }
     }
 
+    /**
+     * @return the mapping that was replaced, if any
+     */
+    private WSDLOperationMapping putOpSignature(String action, QName payloadName, WSDLOperationMapping mapping) {
+        QNameMap<WSDLOperationMapping> payloads = uniqueOpSignatureMap.get(action);
+        if (payloads == null) {
+            payloads = new QNameMap<WSDLOperationMapping>();
+            uniqueOpSignatureMap.put(action, payloads);
+        }
+        WSDLOperationMapping previous = payloads.get(payloadName);
+        payloads.put(payloadName, mapping);
+        return previous;
+    }
+
 //    /**
 //     *
 //     * @param request  Request Packet that is used to find the associated WSDLOperation
@@ -126,18 +143,19 @@ final class ActionBasedOperationFinder extends WSDLOperationFinder {
             return null;
 
         Message message = request.getMessage();
-        QName payloadName;
+        String nsUri;
         String localPart = message.getPayloadLocalPart();
         if (localPart == null) {
-            payloadName = EMPTY_PAYLOAD;
+            localPart = EMPTY_PAYLOAD_LOCAL;
+            nsUri = EMPTY_PAYLOAD_NSURI;
         } else {
-            String nsUri = message.getPayloadNamespaceURI();
+            nsUri = message.getPayloadNamespaceURI();
             if (nsUri == null)
                 nsUri = EMPTY_PAYLOAD_NSURI;
-            payloadName = new QName(nsUri, localPart);
         }
 
-        WSDLOperationMapping opMapping = uniqueOpSignatureMap.get(new ActionBasedOperationSignature(action, payloadName));
+        QNameMap<WSDLOperationMapping> payloads = uniqueOpSignatureMap.get(action);
+        WSDLOperationMapping opMapping = payloads != null ? payloads.get(nsUri, localPart) : null;
         if (opMapping != null)
             return opMapping;
 
@@ -49,6 +49,11 @@ final class PayloadQNameBasedOperationFinder extends WSDLOperationFinder {
 
     private final QNameMap<WSDLOperationMapping> methodHandlers = new QNameMap<WSDLOperationMapping>();
     private final QNameMap<List<String>> unique = new QNameMap<List<String>>();
+    /**
+     * All the payload QNames of {@link #unique} and {@link #methodHandlers} in one table,
+     * or null if no perfect hash could be found for them.
+     */
+    private final PayloadQNameTable table;
 
 
     public PayloadQNameBasedOperationFinder(WSDLPort wsdlModel, WSBinding binding, @Nullable SEIModel seiModel) {
@@ -94,6 +99,16 @@ final class PayloadQNameBasedOperationFinder extends WSDLOperationFinder {
                 methodHandlers.put(name, wsdlOperationMapping(wsdlOp));
             }
         }
+
+        QNameMap<WSDLOperationMapping> keys = new QNameMap<WSDLOperationMapping>();
+        for (QNameMap.Entry<List<String>> e : unique.entrySet()) {
+            keys.put(e.nsUri, e.localName, null);
+        }
+        keys.putAll(methodHandlers);
+        table = PayloadQNameTable.create(keys);
+        if (table == null) {
+            LOGGER.fine("No perfect hash for the payload QNames of " + wsdlModel.getName() + ", using QNameMap lookups");
+        }
     }
 
     /**
@@ -118,10 +133,19 @@ final class PayloadQNameBasedOperationFinder extends WSDLOperationFinder {
             if(nsUri == null)
                 nsUri = EMPTY_PAYLOAD_NSURI;
         }
-        WSDLOperationMapping op = methodHandlers.get(nsUri, localPart);
+        WSDLOperationMapping op;
+        boolean known;
+        if (table != null) {
+            int slot = table.indexOf(nsUri, localPart);
+            known = slot >= 0;
+            op = known ? table.get(slot) : null;
+        } else {
+            op = methodHandlers.get(nsUri, localPart);
+            known = op != null || unique.containsKey(nsUri, localPart);
+        }
 
         // Check if payload itself is correct. Usually it is, so let us check last
-        if (op == null && !unique.containsKey(nsUri,localPart)) {
+        if (!known) {
             String dispatchKey = "{" + nsUri + "}" + localPart;
             String faultString = ServerMessages.DISPATCH_CANNOT_FIND_METHOD(dispatchKey);
             throw new DispatchException(SOAPFaultBuilder.createSOAPFaultMessage(
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.wsdl;
+
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
+import com.sun.xml.ws.api.model.WSDLOperationMapping;
+import com.sun.xml.ws.util.QNameMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Perfect hash table of the payload QNames of a port, built when the endpoint is deployed.
+ *
+ * <p>
+ * The keys are hashed into buckets, and each bucket has a seed that sends all of
+ * its keys to distinct slots (hash and displace). A lookup hashes the namespace URI
+ * and the local name of the payload, both of which cache their hash code, reads the
+ * seed of the bucket and compares the single slot it points to. Unlike {@link QNameMap}
+ * it never walks a chain, however many operations the port has.
+ *
+ * @see PayloadQNameBasedOperationFinder
+ */
+final class PayloadQNameTable {
+
+    /**
+     * Seeds tried for a bucket before giving up on the table.
+     */
+    private static final int MAX_SEED = 1 << 16;
+
+    private final int[] seeds;
+    private final String[] nsUris;
+    private final String[] localParts;
+    private final WSDLOperationMapping[] mappings;
+
+    private PayloadQNameTable(int[] seeds, String[] nsUris, String[] localParts, WSDLOperationMapping[] mappings) {
+        this.seeds = seeds;
+        this.nsUris = nsUris;
+        this.localParts = localParts;
+        this.mappings = mappings;
+    }
+
+    /**
+     * Builds the table of all the payload QNames accepted by a port.
+     *
+     * @param keys the payload QNames, with the operation they dispatch to, or
+     *             a null value for those shared by several operations
+     * @return null if no perfect hash could be found, which only happens when
+     *         two payload QNames have the same hash code
+     */
+    static @Nullable PayloadQNameTable create(@NotNull QNameMap<WSDLOperationMapping> keys) {
+        int n = Math.max(keys.size(), 1);
+        int bucketMask = tableSize(n / 2) - 1;
+        int slotMask = tableSize(2 * n) - 1;
+
+        List<List<QNameMap.Entry<WSDLOperationMapping>>> buckets = new ArrayList<>(bucketMask + 1);
+        for (int i = 0; i <= bucketMask; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (QNameMap.Entry<WSDLOperationMapping> e : keys.entrySet()) {
+            buckets.get(mix(hash(e.nsUri, e.localName), 0) & bucketMask).add(e);
+        }
+        // the largest buckets are the hardest to place, so they go first
+        Integer[] order = new Integer[buckets.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> buckets.get(b).size() - buckets.get(a).size());
+
+        int[] seeds = new int[bucketMask + 1];
+        String[] nsUris = new String[slotMask + 1];
+        String[] localParts = new String[slotMask + 1];
+        WSDLOperationMapping[] mappings = new WSDLOperationMapping[slotMask + 1];
+        int[] slots = new int[n];
+        for (int b : order) {
+            List<QNameMap.Entry<WSDLOperationMapping>> bucket = buckets.get(b);
+            if (bucket.isEmpty()) {
+                break;
+            }
+            int seed = place(bucket, localParts, slotMask, slots);
+            if (seed < 0) {
+                return null;
+            }
+            seeds[b] = seed;
+            for (int i = 0; i < bucket.size(); i++) {
+                QNameMap.Entry<WSDLOperationMapping> e = bucket.get(i);
+                nsUris[slots[i]] = e.nsUri.intern();
+                localParts[slots[i]] = e.localName.intern();
+                mappings[slots[i]] = e.getValue();
+            }
+        }
+        return new PayloadQNameTable(seeds, nsUris, localParts, mappings);
+    }
+
+    /**
+     * Finds a seed that sends all the keys of a bucket to distinct free slots.
+     *
+     * @return the seed, or -1 if there is none
+     */
+    private static int place(List<QNameMap.Entry<WSDLOperationMapping>> bucket, String[] used, int slotMask, int[] slots) {
+        next:
+        for (int seed = 1; seed < MAX_SEED; seed++) {
+            for (int i = 0; i < bucket.size(); i++) {
+                QNameMap.Entry<WSDLOperationMapping> e = bucket.get(i);
+                int slot = mix(hash(e.nsUri, e.localName), seed) & slotMask;
+                if (used[slot] != null) {
+                    continue next;
+                }
+                for (int j = 0; j < i; j++) {
+                    if (slots[j] == slot) {
+                        continue next;
+                    }
+                }
+                slots[i] = slot;
+            }
+            return seed;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the slot of a payload QName.
+     *
+     * @return -1 if the port does not accept this payload
+     */
+    int indexOf(@NotNull String nsUri, @NotNull String localPart) {
+        int h = hash(nsUri, localPart);
+        int slot = mix(h, seeds[mix(h, 0) & (seeds.length - 1)]) & (localParts.length - 1);
+        return localPart.equals(localParts[slot]) && nsUri.equals(nsUris[slot]) ? slot : -1;
+    }
+
+    /**
+     * Gets the operation of a slot returned by {@link #indexOf(String, String)}.
+     *
+     * @return null if the payload QName is shared by several operations
+     */
+    @Nullable WSDLOperationMapping get(int slot) {
+        return mappings[slot];
+    }
+
+    private static int hash(String nsUri, String localPart) {
+        return 31 * nsUri.hashCode() + localPart.hashCode();
+    }
+
+    private static int mix(int h, int seed) {
+        int x = h * 0x9E3779B9 + seed * 0x85EBCA6B;
+        x ^= x >>> 15;
+        x *= 0x2C1B3C6D;
+        return x ^ (x >>> 12);
+    }
+
+    private static int tableSize(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+}
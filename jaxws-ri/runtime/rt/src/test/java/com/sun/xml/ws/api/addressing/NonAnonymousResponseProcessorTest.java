@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.api.addressing;
+
+import com.sun.xml.ws.api.BindingID;
+import com.sun.xml.ws.api.EndpointAddress;
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.message.Messages;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.Fiber;
+import com.sun.xml.ws.api.pipe.NextAction;
+import com.sun.xml.ws.api.pipe.Tube;
+import com.sun.xml.ws.api.pipe.TubeCloner;
+import com.sun.xml.ws.api.pipe.helper.AbstractTubeImpl;
+import com.sun.xml.ws.api.server.WSEndpoint;
+import junit.framework.TestCase;
+
+import jakarta.xml.ws.Provider;
+import jakarta.xml.ws.ServiceMode;
+import jakarta.xml.ws.WebServiceProvider;
+import javax.xml.transform.Source;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class NonAnonymousResponseProcessorTest extends TestCase {
+
+    @WebServiceProvider(serviceName = "EchoService", portName = "EchoPort", targetNamespace = "urn:test")
+    @ServiceMode(jakarta.xml.ws.Service.Mode.PAYLOAD)
+    public static class Echo implements Provider<Source> {
+        @Override
+        public Source invoke(Source request) {
+            return request;
+        }
+    }
+
+    private WSEndpoint<Echo> endpoint;
+    /**
+     * Transport tubes created by the processor, one per address.
+     */
+    private final List<Transport> transports = new ArrayList<Transport>();
+    /**
+     * Deliveries suspended in the transport, in the order they arrived.
+     */
+    private final BlockingQueue<Fiber> delivering = new LinkedBlockingQueue<Fiber>();
+    private final AtomicInteger copies = new AtomicInteger();
+
+    @Override
+    protected void setUp() throws Exception {
+        BindingID bindingId = BindingID.SOAP11_HTTP;
+        endpoint = WSEndpoint.create(Echo.class, false, null, null, null, null,
+                bindingId.createBinding(), null, null, null, false);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        endpoint.dispose();
+    }
+
+    public void testCaching() throws Exception {
+        NonAnonymousResponseProcessor processor = processor(4, 0);
+        processor.process(packet("http://localhost/a"));
+        complete(delivering.poll(10, TimeUnit.SECONDS));
+        processor.process(packet("http://localhost/a"));
+        complete(delivering.poll(10, TimeUnit.SECONDS));
+        processor.process(packet("http://localhost/b"));
+        complete(delivering.poll(10, TimeUnit.SECONDS));
+
+        assertEquals(2, transports.size());
+        // the tube of the first delivery was reused by the second one
+        assertEquals(0, copies.get());
+    }
+
+    public void testEviction() throws Exception {
+        NonAnonymousResponseProcessor processor = processor(2, 0);
+        processor.process(packet("http://localhost/a"));
+        complete(delivering.poll(10, TimeUnit.SECONDS));
+        processor.process(packet("http://localhost/b"));
+        Fiber b = delivering.poll(10, TimeUnit.SECONDS);
+
+        // a is the least recently used one
+        processor.process(packet("http://localhost/c"));
+        complete(delivering.poll(10, TimeUnit.SECONDS));
+        assertEquals(1, transports.get(0).destroyed.get());
+
+        // b is dropped while its delivery is still running
+        processor.process(packet("http://localhost/a"));
+        complete(delivering.poll(10, TimeUnit.SECONDS));
+        assertEquals(0, transports.get(1).destroyed.get());
+        complete(b);
+        assertEquals(1, transports.get(1).destroyed.get());
+        assertEquals(0, transports.get(2).destroyed.get());
+    }
+
+    public void testConcurrencyBound() throws Exception {
+        NonAnonymousResponseProcessor processor = processor(4, 2);
+        for (int i = 0; i < 5; i++) {
+            // returns without waiting for a running delivery
+            assertNotNull(processor.process(packet("http://localhost/a")));
+        }
+        Fiber first = delivering.poll(10, TimeUnit.SECONDS);
+        Fiber second = delivering.poll(10, TimeUnit.SECONDS);
+        assertNotNull(second);
+        assertNull(delivering.poll(100, TimeUnit.MILLISECONDS));
+
+        // each completed delivery starts a waiting one
+        complete(first);
+        Fiber third = delivering.poll(10, TimeUnit.SECONDS);
+        assertNotNull(third);
+        assertNull(delivering.poll(100, TimeUnit.MILLISECONDS));
+        complete(second);
+        complete(third);
+        complete(delivering.poll(10, TimeUnit.SECONDS));
+        complete(delivering.poll(10, TimeUnit.SECONDS));
+        assertNull(delivering.poll(100, TimeUnit.MILLISECONDS));
+        // no more than two tubes were in use at the same time
+        assertEquals(1, copies.get());
+    }
+
+    private NonAnonymousResponseProcessor processor(int cacheSize, int maxConcurrency) {
+        return new NonAnonymousResponseProcessor(cacheSize, maxConcurrency) {
+            @Override
+            Tube createTransport(WSEndpoint<?> endpoint, EndpointAddress address) {
+                Transport transport = new Transport();
+                transports.add(transport);
+                return transport;
+            }
+        };
+    }
+
+    private Packet packet(String address) {
+        Packet packet = new Packet(Messages.createEmpty(SOAPVersion.SOAP_11));
+        packet.endpoint = endpoint;
+        packet.endpointAddress = EndpointAddress.create(address);
+        return packet;
+    }
+
+    private static void complete(Fiber fiber) {
+        assertNotNull(fiber);
+        // completes the delivery on this thread
+        fiber.resume(fiber.getPacket(), true);
+    }
+
+    private final class Transport extends AbstractTubeImpl {
+        final AtomicInteger destroyed;
+
+        Transport() {
+            destroyed = new AtomicInteger();
+        }
+
+        Transport(Transport that, TubeCloner cloner) {
+            super(that, cloner);
+            destroyed = that.destroyed;
+            copies.incrementAndGet();
+        }
+
+        @Override
+        public NextAction processRequest(Packet request) {
+            Fiber fiber = Fiber.current();
+            // handed over once the fiber is suspended
+            return doSuspend(() -> delivering.add(fiber));
+        }
+
+        @Override
+        public NextAction processResponse(Packet response) {
+            return doReturnWith(response);
+        }
+
+        @Override
+        public NextAction processException(Throwable t) {
+            return doThrow(t);
+        }
+
+        @Override
+        public void preDestroy() {
+            destroyed.incrementAndGet();
+        }
+
+        @Override
+        public AbstractTubeImpl copy(TubeCloner cloner) {
+            return new Transport(this, cloner);
+        }
+    }
+}
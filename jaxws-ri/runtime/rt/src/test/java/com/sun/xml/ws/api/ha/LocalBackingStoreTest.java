@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.api.ha;
+
+import junit.framework.TestCase;
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+import org.glassfish.ha.store.api.Storeable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.util.ConcurrentModificationException;
+
+public class LocalBackingStoreTest extends TestCase {
+
+    private File directory;
+
+    @Override
+    protected void setUp() throws Exception {
+        directory = Files.createTempDirectory("local-store").toFile();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    public void testReopen() throws Exception {
+        LocalBackingStore<String, Data> store = open(Data.class);
+        store.save("a", new Data("1"), true);
+        store.save("b", new Data("2"), true);
+        store.save("a", new Data("3"), false);
+        store.remove("b");
+        store.close();
+
+        store = open(Data.class);
+        assertEquals(1, store.size());
+        assertEquals("3", store.load("a", null).value);
+        assertNull(store.load("b", null));
+        store.destroy();
+        assertFalse(store.getFile().exists());
+    }
+
+    public void testWriteBehind() throws Exception {
+        LocalBackingStore<String, Data> store = open(Data.class);
+        Data data = new Data("1");
+        store.save("a", data, true);
+        // serialized when it is written, in its latest state
+        data.value = "2";
+        store.flush();
+
+        // as if the process stopped without closing the store
+        LocalBackingStore<String, Data> other = open(Data.class);
+        assertEquals("2", other.load("a", null).value);
+        other.close();
+        store.close();
+    }
+
+    public void testUnserializable() throws Exception {
+        LocalBackingStore<String, Data> store = open(Data.class);
+        Data data = new Data("1");
+        data.other = new Object();
+        store.save("a", data, true);
+        store.close();
+
+        store = open(Data.class);
+        assertEquals(0, store.size());
+        store.close();
+    }
+
+    public void testChangedWhileWritten() throws Exception {
+        LocalBackingStore<String, Changing> store = open(Changing.class);
+        Changing value = new Changing();
+        value.failures = 1;
+        store.save("a", value, true);
+        store.flush();
+        assertEquals(0, value.failures);
+        // still dirty, written with the next flush
+        store.flush();
+
+        LocalBackingStore<String, Changing> other = open(Changing.class);
+        assertEquals(1, other.size());
+        other.close();
+        store.close();
+    }
+
+    public void testNotAStoreFile() throws Exception {
+        LocalBackingStore<String, Data> store = open(Data.class);
+        File file = store.getFile();
+        store.destroy();
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write("not a store file".getBytes("US-ASCII"));
+        }
+        try {
+            open(Data.class);
+            fail();
+        } catch (BackingStoreException e) {
+            // left as it is
+            assertEquals(16, file.length());
+        }
+    }
+
+    public void testStoreable() throws Exception {
+        LocalBackingStore<String, State> store = open(State.class);
+        State expired = new State(7);
+        expired.lastAccess = System.currentTimeMillis() - 1000;
+        expired.maxIdle = 10;
+        store.save("expired", expired, true);
+        store.save("live", new State(42), true);
+        store.close();
+
+        store = open(State.class);
+        assertEquals(42, store.load("live", null).value);
+        assertEquals(1, store.removeExpired());
+        assertNull(store.load("expired", null));
+        store.close();
+
+        store = open(State.class);
+        assertEquals(1, store.size());
+        store.close();
+    }
+
+    public void testCompaction() throws Exception {
+        LocalBackingStore<String, Data> store = open(Data.class);
+        char[] chars = new char[4096];
+        for (int i = 0; i < 1000; i++) {
+            chars[0] = (char) ('a' + i % 26);
+            store.save("a", new Data(new String(chars)), false);
+            store.flush();
+        }
+        assertTrue(store.getFile().length() < 2 * 1024 * 1024);
+        store.close();
+
+        store = open(Data.class);
+        assertEquals('a' + 999 % 26, store.load("a", null).value.charAt(0));
+        store.close();
+    }
+
+    public void testInterruptedWrite() throws Exception {
+        LocalBackingStore<String, Data> store = open(Data.class);
+        store.save("a", new Data("1"), true);
+        store.close();
+        long length = store.getFile().length();
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(store.getFile(), true))) {
+            out.writeByte(1);
+            out.writeInt(1000);
+            out.write(new byte[10]);
+        }
+
+        store = open(Data.class);
+        assertEquals(length, store.getFile().length());
+        store.save("b", new Data("2"), true);
+        store.close();
+
+        store = open(Data.class);
+        assertEquals("1", store.load("a", null).value);
+        assertEquals("2", store.load("b", null).value);
+        store.close();
+    }
+
+    public void testProvider() throws Exception {
+        HighAvailabilityProvider provider = HighAvailabilityProvider.INSTANCE;
+        provider.initLocalStore(directory);
+        try {
+            assertTrue(provider.isLocalStoreConfigured());
+            BackingStoreFactory factory = provider.getBackingStoreFactory(HighAvailabilityProvider.StoreType.LOCAL);
+            assertTrue(factory instanceof LocalBackingStoreFactory);
+            BackingStore<String, Data> store = provider.createBackingStore(factory, "test", String.class, Data.class);
+            HighAvailabilityProvider.saveTo(store, "a", new Data("1"), true);
+            HighAvailabilityProvider.close(store);
+            assertEquals(1, directory.listFiles().length);
+        } finally {
+            provider.initLocalStore(null);
+        }
+    }
+
+    private <V extends Serializable> LocalBackingStore<String, V> open(Class<V> valueClass) throws Exception {
+        BackingStoreConfiguration<String, V> conf = new BackingStoreConfiguration<String, V>()
+                .setStoreName("{urn:test}Service:{urn:test}Port")
+                .setKeyClazz(String.class)
+                .setValueClazz(valueClass)
+                .setBaseDirectory(directory);
+        return (LocalBackingStore<String, V>) new LocalBackingStoreFactory().createBackingStore(conf);
+    }
+
+    static final class Data implements Serializable {
+        String value;
+        Object other;
+
+        Data(String value) {
+            this.value = value;
+        }
+    }
+
+    static final class Changing implements Serializable {
+        transient int failures;
+
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            if (failures > 0) {
+                failures--;
+                throw new ConcurrentModificationException();
+            }
+            out.defaultWriteObject();
+        }
+    }
+
+    static final class State implements Storeable {
+        int value;
+        long lastAccess = System.currentTimeMillis();
+        long maxIdle;
+
+        State() {
+        }
+
+        State(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public long _storeable_getVersion() {
+            return 0;
+        }
+
+        @Override
+        public void _storeable_setVersion(long version) {
+        }
+
+        @Override
+        public long _storeable_getLastAccessTime() {
+            return lastAccess;
+        }
+
+        @Override
+        public void _storeable_setLastAccessTime(long time) {
+            lastAccess = time;
+        }
+
+        @Override
+        public long _storeable_getMaxIdleTime() {
+            return maxIdle;
+        }
+
+        @Override
+        public void _storeable_setMaxIdleTime(long time) {
+            maxIdle = time;
+        }
+
+        @Override
+        public String[] _storeable_getAttributeNames() {
+            return new String[0];
+        }
+
+        @Override
+        public boolean[] _storeable_getDirtyStatus() {
+            return new boolean[0];
+        }
+
+        @Override
+        public void _storeable_writeState(OutputStream os) throws IOException {
+            new DataOutputStream(os).writeInt(value);
+        }
+
+        @Override
+        public void _storeable_readState(InputStream is) throws IOException {
+            value = new DataInputStream(is).readInt();
+        }
+    }
+}
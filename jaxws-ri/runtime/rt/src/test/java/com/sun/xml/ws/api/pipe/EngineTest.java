@@ -111,6 +111,66 @@ public class EngineTest extends TestCase {
         assertEquals(testContainer, firstCall.container);
     }
     
+    public void testFiberStatistics() {
+        Engine e = new Engine("engine1", new Container() {}, new InlineExecutor());
+        assertNull(e.getFiberStatistics());
+
+        FiberStatistics stats = e.enableFiberStatistics();
+        assertSame(stats, e.getFiberStatistics());
+        assertSame(stats, e.enableFiberStatistics());
+
+        SimpleCompletionCallback callback = new SimpleCompletionCallback();
+        e.createFiber().start(new TestTube(), new Packet(), callback);
+        assertNotNull(callback.response);
+
+        assertEquals(1, stats.getCreatedCount());
+        assertEquals(1, stats.getCompletedCount());
+        assertEquals(0, stats.getActiveCount());
+        assertEquals(0, stats.getQueuedCount());
+        assertEquals(1, stats.getQueueTime().getCount());
+        assertEquals(1, stats.getTubeTimes().get(TestTube.class.getName() + ".processRequest").getCount());
+
+        e.disableFiberStatistics();
+        assertFalse(e.isFiberStatisticsEnabled());
+        e.createFiber().start(new TestTube(), new Packet(), callback);
+        assertEquals(1, stats.getCreatedCount());
+
+        // the values collected before are kept
+        assertSame(stats, e.enableFiberStatistics());
+        assertTrue(e.isFiberStatisticsEnabled());
+        e.createFiber().start(new TestTube(), new Packet(), callback);
+        assertEquals(2, stats.getCreatedCount());
+        assertEquals(2, stats.getTubeTimes().get(TestTube.class.getName() + ".processRequest").getCount());
+    }
+
+    public void testFiberStatisticsCancelSuspended() {
+        Engine e = new Engine("engine1", new Container() {}, new InlineExecutor());
+        FiberStatistics stats = e.enableFiberStatistics();
+
+        Fiber fiber = e.createFiber();
+        fiber.start(new SuspendingTube(), new Packet(), new SimpleCompletionCallback());
+        assertEquals(1, stats.getSuspendedCount());
+
+        fiber.cancel(false);
+        assertEquals(0, stats.getSuspendedCount());
+        assertEquals(1, stats.getCanceledCount());
+        assertEquals(0, stats.getActiveCount());
+
+        // a resume after the cancel is not counted twice
+        fiber.resume(new Packet());
+        assertEquals(0, stats.getSuspendedCount());
+        assertEquals(1, stats.getSuspendTime().getCount());
+    }
+
+    static class SuspendingTube extends TestTube {
+        @Override
+        @NotNull
+        public NextAction processRequest(@NotNull Packet request) {
+            // nothing to do once the fiber is suspended, the test resumes it
+            return doSuspend(() -> { });
+        }
+    }
+
     static class SimpleCompletionCallback implements CompletionCallback {
         public Packet response = null;
         public Throwable error = null;
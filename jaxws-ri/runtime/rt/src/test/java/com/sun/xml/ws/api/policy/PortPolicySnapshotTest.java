@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.api.policy;
+
+import com.sun.xml.ws.api.model.wsdl.WSDLModel;
+import com.sun.xml.ws.api.model.wsdl.WSDLPort;
+import com.sun.xml.ws.api.server.Container;
+import com.sun.xml.ws.policy.Policy;
+import com.sun.xml.ws.policy.PolicyMap;
+import com.sun.xml.ws.util.xml.XmlUtil;
+import com.sun.xml.ws.wsdl.parser.RuntimeWSDLParser;
+import junit.framework.TestCase;
+
+import javax.xml.namespace.QName;
+import javax.xml.transform.stream.StreamSource;
+import java.net.URL;
+
+public class PortPolicySnapshotTest extends TestCase {
+    private static final QName SERVICE = new QName("urn:test", "QuoteService");
+    private static final QName PORT = new QName("urn:test", "QuotePort");
+    private static final QName MTOM = new QName(
+            "http://schemas.xmlsoap.org/ws/2004/09/policy/optimizedmimeserialization", "OptimizedMimeSerialization");
+
+    private WSDLPort port;
+    private PolicyMap map;
+
+    @Override
+    protected void setUp() throws Exception {
+        URL wsdl = getClass().getResource("policies.wsdl");
+        WSDLModel model = RuntimeWSDLParser.parse(wsdl, new StreamSource(wsdl.toExternalForm()),
+                XmlUtil.createDefaultCatalogResolver(), true, Container.NONE);
+        port = model.getService(SERVICE).get(PORT);
+        // getPolicyMap is deprecated because it is only supposed to be used by Metro code
+        // and not by other clients.
+        @SuppressWarnings("deprecation")
+        PolicyMap policyMap = model.getPolicyMap();
+        map = policyMap;
+    }
+
+    public void testPolicies() throws Exception {
+        PortPolicySnapshot snapshot = PortPolicySnapshot.create(map, port);
+
+        assertNull(snapshot.getServicePolicy());
+        assertTrue(snapshot.getEndpointPolicy().contains(MTOM));
+        assertEquals(2, snapshot.getOperationCount());
+
+        int get = snapshot.ordinal(new QName("urn:test", "get"));
+        int list = snapshot.ordinal(port.getBinding().get(new QName("urn:test", "list")));
+        assertEquals("get", snapshot.getOperation(get).getName().getLocalPart());
+        assertEquals("list", snapshot.getOperation(list).getName().getLocalPart());
+        assertEquals(-1, snapshot.ordinal(new QName("urn:test", "delete")));
+
+        Policy shared = snapshot.getOperationPolicy(get);
+        assertTrue(shared.contains(MTOM));
+        assertEquals(shared, snapshot.getInputMessagePolicy(get));
+        assertEquals(shared, snapshot.getFaultMessagePolicy(get, "failed"));
+        assertEquals(shared, snapshot.getOutputMessagePolicy(list));
+        assertNull(snapshot.getOutputMessagePolicy(get));
+        assertNull(snapshot.getOperationPolicy(list));
+        assertNull(snapshot.getInputMessagePolicy(list));
+        assertNull(snapshot.getFaultMessagePolicy(list, "failed"));
+
+        assertEquals(map.getInputMessageEffectivePolicy(PolicyMap.createWsdlMessageScopeKey(SERVICE, PORT, new QName("urn:test", "get"))),
+                snapshot.getInputMessagePolicy(get));
+    }
+
+    public void testWithoutPolicyMap() throws Exception {
+        PortPolicySnapshot snapshot = PortPolicySnapshot.create(null, port);
+
+        assertNull(snapshot.getEndpointPolicy());
+        int get = snapshot.ordinal(new QName("urn:test", "get"));
+        assertTrue(get >= 0);
+        assertNull(snapshot.getOperationPolicy(get));
+        assertNull(snapshot.getFaultMessagePolicy(get, "failed"));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.assembler;
+
+import com.sun.xml.ws.api.BindingID;
+import com.sun.xml.ws.api.pipe.ServerTubeAssemblerContext;
+import com.sun.xml.ws.api.policy.PortPolicySnapshot;
+import com.sun.xml.ws.api.server.SDDocumentSource;
+import com.sun.xml.ws.api.server.WSEndpoint;
+import junit.framework.TestCase;
+
+import jakarta.xml.ws.Provider;
+import jakarta.xml.ws.ServiceMode;
+import jakarta.xml.ws.WebServiceProvider;
+import javax.xml.namespace.QName;
+import javax.xml.transform.Source;
+import java.net.URL;
+
+public class DefaultServerTubelineAssemblyContextTest extends TestCase {
+    private static final QName MTOM = new QName(
+            "http://schemas.xmlsoap.org/ws/2004/09/policy/optimizedmimeserialization", "OptimizedMimeSerialization");
+
+    @WebServiceProvider(serviceName = "QuoteService", portName = "QuotePort", targetNamespace = "urn:test")
+    @ServiceMode(jakarta.xml.ws.Service.Mode.PAYLOAD)
+    public static class Quote implements Provider<Source> {
+        @Override
+        public Source invoke(Source request) {
+            return request;
+        }
+    }
+
+    public void testPolicySnapshot() {
+        URL wsdl = getClass().getResource("/com/sun/xml/ws/api/policy/policies.wsdl");
+        BindingID bindingId = BindingID.SOAP11_HTTP;
+        WSEndpoint<Quote> endpoint = WSEndpoint.create(Quote.class, false, null, null, null, null,
+                bindingId.createBinding(), SDDocumentSource.create(wsdl), null, null, false);
+        try {
+            DefaultServerTubelineAssemblyContext context = context(endpoint);
+            PortPolicySnapshot snapshot = context.getPolicySnapshot();
+            // the tubes of the pipeline share it
+            assertSame(snapshot, context.getPolicySnapshot());
+
+            assertTrue(snapshot.getEndpointPolicy().contains(MTOM));
+            int get = snapshot.ordinal(new QName("urn:test", "get"));
+            assertTrue(snapshot.getInputMessagePolicy(get).contains(MTOM));
+            assertNull(snapshot.getOutputMessagePolicy(get));
+        } finally {
+            endpoint.dispose();
+        }
+    }
+
+    public void testWithoutWsdl() {
+        BindingID bindingId = BindingID.SOAP11_HTTP;
+        WSEndpoint<Quote> endpoint = WSEndpoint.create(Quote.class, false, null, null, null, null,
+                bindingId.createBinding(), null, null, null, false);
+        try {
+            assertNull(context(endpoint).getPolicySnapshot());
+        } finally {
+            endpoint.dispose();
+        }
+    }
+
+    private static DefaultServerTubelineAssemblyContext context(WSEndpoint<?> endpoint) {
+        return new DefaultServerTubelineAssemblyContext(
+                new ServerTubeAssemblerContext(null, endpoint.getPort(), endpoint, null, true));
+    }
+}
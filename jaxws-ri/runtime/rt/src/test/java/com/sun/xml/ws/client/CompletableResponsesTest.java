@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.client;
+
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
+import com.sun.xml.ws.api.BindingID;
+import com.sun.xml.ws.api.Component;
+import com.sun.xml.ws.api.ComponentFeature;
+import com.sun.xml.ws.api.ComponentFeature.Target;
+import com.sun.xml.ws.api.client.AsyncCompletionFeature;
+import com.sun.xml.ws.api.client.CompletableResponses;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.ClientTubeAssemblerContext;
+import com.sun.xml.ws.api.pipe.NextAction;
+import com.sun.xml.ws.api.pipe.ServerTubeAssemblerContext;
+import com.sun.xml.ws.api.pipe.Tube;
+import com.sun.xml.ws.api.pipe.TubeCloner;
+import com.sun.xml.ws.api.pipe.TubelineAssembler;
+import com.sun.xml.ws.api.pipe.TubelineAssemblerFactory;
+import com.sun.xml.ws.api.pipe.helper.AbstractTubeImpl;
+import junit.framework.TestCase;
+
+import javax.xml.namespace.QName;
+import jakarta.xml.ws.Dispatch;
+import jakarta.xml.ws.Response;
+import jakarta.xml.ws.Service;
+import jakarta.xml.ws.Service.Mode;
+import jakarta.xml.ws.WebServiceException;
+import jakarta.xml.ws.WebServiceFeature;
+import jakarta.xml.ws.soap.SOAPBinding;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CompletableResponsesTest extends TestCase {
+    private static final QName SERVICE_NAME = new QName("http://test.oracle.com", "TestService");
+    private static final QName PORT_A = new QName("http://test.oracle.com", "PortA");
+    private static final QName PORT_B = new QName("http://test.oracle.com", "PortB");
+    private static final QName FAILING_PORT = new QName("http://test.oracle.com", "FailingPort");
+
+    public void testAllOf() throws Exception {
+        Packet a = new Packet();
+        Packet b = new Packet();
+        CompletableFuture<Packet> ra = CompletableResponses.invoke(dispatch(PORT_A), a);
+        CompletableFuture<Packet> rb = CompletableResponses.invoke(dispatch(PORT_B), b);
+
+        CompletableFuture.allOf(ra, rb).get(5, TimeUnit.SECONDS);
+        assertSame(a, ra.join());
+        assertSame(b, rb.join());
+    }
+
+    public void testResponse() throws Exception {
+        Packet request = new Packet();
+        Response<Packet> response = dispatch(PORT_A).invokeAsync(request);
+        CompletableFuture<Packet> cf = CompletableResponses.of(response);
+
+        assertSame(request, cf.get(5, TimeUnit.SECONDS));
+        assertSame(request, response.get());
+        assertSame(cf, CompletableResponses.of(response));
+    }
+
+    public void testFailure() throws Exception {
+        CompletableFuture<Packet> cf = CompletableResponses.invoke(dispatch(FAILING_PORT), new Packet());
+        try {
+            cf.get(5, TimeUnit.SECONDS);
+            fail("the invocation fails");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof WebServiceException);
+        }
+    }
+
+    public void testCompletionExecutor() throws Exception {
+        final AtomicInteger completions = new AtomicInteger();
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                completions.incrementAndGet();
+                command.run();
+            }
+        };
+        AsyncResponseImpl<String> response = new AsyncResponseImpl<String>(new Runnable() {
+            @Override
+            public void run() {}
+        }, null);
+        response.setCompletionExecutor(executor);
+        CompletableFuture<String> cf = response.toCompletableFuture();
+
+        response.set("done", null);
+        assertEquals(1, completions.get());
+        assertEquals("done", cf.getNow(null));
+
+        Packet request = new Packet();
+        CompletableFuture<Packet> invoked = CompletableResponses.invoke(dispatch(PORT_A, new AsyncCompletionFeature(executor)), request);
+        assertSame(request, invoked.get(5, TimeUnit.SECONDS));
+    }
+
+    public void testCompletedResponse() throws Exception {
+        AsyncResponseImpl<String> response = new AsyncResponseImpl<String>(new Runnable() {
+            @Override
+            public void run() {}
+        }, null);
+        CompletableFuture<String> cf = response.toCompletableFuture();
+        assertFalse(cf.isDone());
+
+        response.set("done", null);
+        assertEquals("done", cf.getNow(null));
+
+        AsyncResponseImpl<String> done = new AsyncResponseImpl<String>(new Runnable() {
+            @Override
+            public void run() {}
+        }, null);
+        done.set(null, new WebServiceException("failed"));
+        assertTrue(done.toCompletableFuture().isCompletedExceptionally());
+    }
+
+    public void testCancel() {
+        AsyncResponseImpl<String> response = new AsyncResponseImpl<String>(new Runnable() {
+            @Override
+            public void run() {}
+        }, null);
+        response.toCompletableFuture().cancel(false);
+
+        assertTrue(response.isCancelled());
+        assertTrue(response.toCompletableFuture().isCancelled());
+    }
+
+    public void testNotRIResponse() {
+        try {
+            CompletableResponses.of(new Response<String>() {
+                public java.util.Map<String, Object> getContext() { return null; }
+                public boolean cancel(boolean mayInterruptIfRunning) { return false; }
+                public boolean isCancelled() { return false; }
+                public boolean isDone() { return true; }
+                public String get() { return null; }
+                public String get(long timeout, TimeUnit unit) { return null; }
+            });
+            fail("not a response of the RI");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    private static Dispatch<Packet> dispatch(QName port, WebServiceFeature... features) {
+        Service service = Service.create(SERVICE_NAME, serviceFeatures());
+        service.addPort(port, SOAPBinding.SOAP11HTTP_BINDING, "http://localhost:7001/TestService/" + port.getLocalPart());
+        return service.createDispatch(port, Packet.class, Mode.MESSAGE, features);
+    }
+
+    private static WebServiceFeature[] serviceFeatures() {
+        ComponentFeature cf = new ComponentFeature(new Component() {
+
+            @Override
+            @Nullable
+            public <S> S getSPI(@NotNull Class<S> spiType) {
+                if (spiType.equals(TubelineAssemblerFactory.class)) {
+                    return spiType.cast(new TubelineAssemblerFactory() {
+
+                        @Override
+                        public TubelineAssembler doCreate(BindingID bindingId) {
+                            return new TubelineAssemblerImpl();
+                        }
+
+                    });
+                }
+                return null;
+            }
+
+        }, Target.CONTAINER);
+
+        return new WebServiceFeature[] { cf };
+    }
+
+    private static class TubelineAssemblerImpl implements TubelineAssembler {
+
+        @Override
+        @NotNull
+        public Tube createClient(@NotNull ClientTubeAssemblerContext context) {
+            return new EchoTube(context.getAddress().toString().endsWith(FAILING_PORT.getLocalPart()));
+        }
+
+        @Override
+        @NotNull
+        public Tube createServer(@NotNull ServerTubeAssemblerContext context) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Returns the request as the response, or fails.
+     */
+    private static class EchoTube extends AbstractTubeImpl {
+        private final boolean fail;
+
+        EchoTube(boolean fail) {
+            this.fail = fail;
+        }
+
+        EchoTube(EchoTube that, TubeCloner cloner) {
+            super(that, cloner);
+            this.fail = that.fail;
+        }
+
+        @Override
+        @NotNull
+        public NextAction processRequest(@NotNull Packet request) {
+            if (fail) {
+                throw new WebServiceException("Exception intentionally thrown for test");
+            }
+            return doReturnWith(request);
+        }
+
+        @Override
+        @NotNull
+        public NextAction processResponse(@NotNull Packet response) {
+            throw new IllegalStateException();
+        }
+
+        @Override
+        @NotNull
+        public NextAction processException(@NotNull Throwable t) {
+            return doThrow(t);
+        }
+
+        @Override
+        public void preDestroy() {
+        }
+
+        @Override
+        public EchoTube copy(TubeCloner cloner) {
+            return new EchoTube(this, cloner);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.client;
+
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
+import com.sun.xml.ws.api.BindingID;
+import com.sun.xml.ws.api.Component;
+import com.sun.xml.ws.api.ComponentFeature;
+import com.sun.xml.ws.api.ComponentFeature.Target;
+import com.sun.xml.ws.api.client.DispatchBatch;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.ClientTubeAssemblerContext;
+import com.sun.xml.ws.api.pipe.NextAction;
+import com.sun.xml.ws.api.pipe.ServerTubeAssemblerContext;
+import com.sun.xml.ws.api.pipe.Tube;
+import com.sun.xml.ws.api.pipe.TubeCloner;
+import com.sun.xml.ws.api.pipe.TubelineAssembler;
+import com.sun.xml.ws.api.pipe.TubelineAssemblerFactory;
+import com.sun.xml.ws.api.pipe.helper.AbstractTubeImpl;
+import junit.framework.TestCase;
+
+import javax.xml.namespace.QName;
+import jakarta.xml.ws.Dispatch;
+import jakarta.xml.ws.Service;
+import jakarta.xml.ws.Service.Mode;
+import jakarta.xml.ws.WebServiceException;
+import jakarta.xml.ws.WebServiceFeature;
+import jakarta.xml.ws.soap.SOAPBinding;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DispatchBatchTest extends TestCase {
+    private static final QName SERVICE_NAME = new QName("http://test.oracle.com", "TestService");
+    private static final QName PORT_NAME = new QName("http://test.oracle.com", "TestPort");
+    private static final String FAIL = "fail";
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @Override
+    protected void setUp() {
+        maxInFlight.set(0);
+    }
+
+    public void testBoundedConcurrency() throws Exception {
+        List<Packet> requests = new ArrayList<Packet>();
+        for (int i = 0; i < 200; i++) {
+            Packet p = new Packet();
+            if (i % 50 == 7) {
+                p.invocationProperties.put(FAIL, Boolean.TRUE);
+            }
+            requests.add(p);
+        }
+        final Set<Integer> responses = ConcurrentHashMap.newKeySet();
+        final Set<Integer> failures = ConcurrentHashMap.newKeySet();
+
+        DispatchBatch.Statistics stats = new DispatchBatch<Packet>(dispatch(), 4).invokeAll(requests, new DispatchBatch.Listener<Packet>() {
+            @Override
+            public void onResponse(int index, Packet response) {
+                responses.add(index);
+            }
+
+            @Override
+            public void onFailure(int index, Throwable error) {
+                assertTrue(error instanceof WebServiceException);
+                failures.add(index);
+            }
+        });
+
+        assertEquals(196, responses.size());
+        assertEquals(Set.of(7, 57, 107, 157), failures);
+        assertEquals(200, stats.getCount());
+        assertEquals(4, stats.getFailures());
+        assertTrue(maxInFlight.get() <= 4);
+        assertTrue(stats.getThroughput() > 0);
+        assertTrue(stats.getLatency(50, TimeUnit.NANOSECONDS) <= stats.getLatency(99, TimeUnit.NANOSECONDS));
+        assertTrue(stats.getLatency(99, TimeUnit.NANOSECONDS) <= stats.getLatency(100, TimeUnit.NANOSECONDS));
+        assertTrue(stats.getLatency(100, TimeUnit.NANOSECONDS) <= stats.getElapsed(TimeUnit.NANOSECONDS));
+    }
+
+    public void testEmptyBatch() throws Exception {
+        DispatchBatch.Statistics stats = new DispatchBatch<Packet>(dispatch(), 4).invokeAll(new ArrayList<Packet>(), new DispatchBatch.Listener<Packet>() {
+            @Override
+            public void onResponse(int index, Packet response) {
+                fail();
+            }
+
+            @Override
+            public void onFailure(int index, Throwable error) {
+                fail();
+            }
+        });
+
+        assertEquals(0, stats.getCount());
+        assertEquals(0, stats.getLatency(99, TimeUnit.NANOSECONDS));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testInvokeThrows() throws Exception {
+        Dispatch<Packet> dispatch = (Dispatch<Packet>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {Dispatch.class}, (proxy, method, args) -> {
+                    throw new IllegalStateException("Exception intentionally thrown for test");
+                });
+        List<Packet> requests = new ArrayList<Packet>();
+        for (int i = 0; i < 3; i++) {
+            requests.add(new Packet());
+        }
+        final Set<Integer> failures = ConcurrentHashMap.newKeySet();
+
+        // would wait forever for the permits of the requests that were never sent
+        DispatchBatch.Statistics stats = new DispatchBatch<Packet>(dispatch, 1).invokeAll(requests, new DispatchBatch.Listener<Packet>() {
+            @Override
+            public void onResponse(int index, Packet response) {
+                fail();
+            }
+
+            @Override
+            public void onFailure(int index, Throwable error) {
+                assertTrue(error instanceof IllegalStateException);
+                failures.add(index);
+            }
+        });
+
+        assertEquals(Set.of(0, 1, 2), failures);
+        assertEquals(3, stats.getFailures());
+    }
+
+    private static Dispatch<Packet> dispatch() {
+        Service service = Service.create(SERVICE_NAME, serviceFeatures());
+        service.addPort(PORT_NAME, SOAPBinding.SOAP11HTTP_BINDING, "http://localhost:7001/TestService/TestPort");
+        return service.createDispatch(PORT_NAME, Packet.class, Mode.MESSAGE);
+    }
+
+    private static WebServiceFeature[] serviceFeatures() {
+        ComponentFeature cf = new ComponentFeature(new Component() {
+
+            @Override
+            @Nullable
+            public <S> S getSPI(@NotNull Class<S> spiType) {
+                if (spiType.equals(TubelineAssemblerFactory.class)) {
+                    return spiType.cast(new TubelineAssemblerFactory() {
+
+                        @Override
+                        public TubelineAssembler doCreate(BindingID bindingId) {
+                            return new TubelineAssemblerImpl();
+                        }
+
+                    });
+                }
+                return null;
+            }
+
+        }, Target.CONTAINER);
+
+        return new WebServiceFeature[] { cf };
+    }
+
+    private static class TubelineAssemblerImpl implements TubelineAssembler {
+
+        @Override
+        @NotNull
+        public Tube createClient(@NotNull ClientTubeAssemblerContext context) {
+            return new EchoTube();
+        }
+
+        @Override
+        @NotNull
+        public Tube createServer(@NotNull ServerTubeAssemblerContext context) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Returns the request as the response after a while, or fails the requests
+     * that have the {@link #FAIL} property.
+     */
+    private static class EchoTube extends AbstractTubeImpl {
+
+        EchoTube() {
+        }
+
+        EchoTube(EchoTube that, TubeCloner cloner) {
+            super(that, cloner);
+        }
+
+        @Override
+        @NotNull
+        public NextAction processRequest(@NotNull Packet request) {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            if (request.invocationProperties.containsKey(FAIL)) {
+                throw new WebServiceException("Exception intentionally thrown for test");
+            }
+            return doReturnWith(request);
+        }
+
+        @Override
+        @NotNull
+        public NextAction processResponse(@NotNull Packet response) {
+            throw new IllegalStateException();
+        }
+
+        @Override
+        @NotNull
+        public NextAction processException(@NotNull Throwable t) {
+            return doThrow(t);
+        }
+
+        @Override
+        public void preDestroy() {
+        }
+
+        @Override
+        public EchoTube copy(TubeCloner cloner) {
+            return new EchoTube(this, cloner);
+        }
+    }
+}
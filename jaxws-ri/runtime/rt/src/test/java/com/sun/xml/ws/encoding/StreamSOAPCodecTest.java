@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.encoding;
+
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.Packet;
+import junit.framework.TestCase;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests the size based choice between buffered and streaming decoding.
+ */
+public class StreamSOAPCodecTest extends TestCase {
+
+    private static final String MESSAGE = "<S:Envelope xmlns:S='http://schemas.xmlsoap.org/soap/envelope/'>" +
+            "<S:Header><h:id xmlns:h='urn:test'>1</h:id></S:Header>" +
+            "<S:Body><p:echo xmlns:p='urn:test'>hello</p:echo></S:Body>" +
+            "</S:Envelope>";
+
+    private static final byte[] BYTES = MESSAGE.getBytes(StandardCharsets.UTF_8);
+
+    public void testSmallMessageIsBuffered() throws Exception {
+        long buffered = StreamSOAPCodec.getBufferedDecodeCount();
+        Message msg = decode(BYTES.length);
+        assertEquals(buffered + 1, StreamSOAPCodec.getBufferedDecodeCount());
+        assertEquals("echo", msg.getPayloadLocalPart());
+        assertTrue(msg.getHeaders().hasHeaders());
+    }
+
+    public void testUnknownLengthIsStreamed() throws Exception {
+        long streaming = StreamSOAPCodec.getStreamingDecodeCount();
+        Message msg = decode(-1);
+        assertEquals(streaming + 1, StreamSOAPCodec.getStreamingDecodeCount());
+        assertEquals("echo", msg.getPayloadLocalPart());
+    }
+
+    public void testLongerThanAnnouncedFallsBackToStreaming() throws Exception {
+        long buffered = StreamSOAPCodec.getBufferedDecodeCount();
+        long streaming = StreamSOAPCodec.getStreamingDecodeCount();
+        Message msg = decode(10);
+        assertEquals(buffered, StreamSOAPCodec.getBufferedDecodeCount());
+        assertEquals(streaming + 1, StreamSOAPCodec.getStreamingDecodeCount());
+        assertEquals("echo", msg.getPayloadLocalPart());
+    }
+
+    public void testTransportReleasedBeforeParsing() throws Exception {
+        final boolean[] closed = new boolean[1];
+        InputStream in = new ByteArrayInputStream(BYTES) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        Message msg = decode(in, BYTES.length);
+        assertTrue(closed[0]);
+        // the message is read from memory after the transport is released
+        StringWriter sw = new StringWriter();
+        XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(sw);
+        msg.writePayloadTo(writer);
+        writer.flush();
+        assertTrue(sw.toString(), sw.toString().contains("hello"));
+    }
+
+    public void testDisabled() throws Exception {
+        StreamSOAPCodec.setBufferedDecodeThreshold(0);
+        try {
+            long buffered = StreamSOAPCodec.getBufferedDecodeCount();
+            decode(BYTES.length);
+            assertEquals(buffered, StreamSOAPCodec.getBufferedDecodeCount());
+        } finally {
+            StreamSOAPCodec.setBufferedDecodeThreshold(2048);
+        }
+    }
+
+    private static Message decode(long contentLength) throws Exception {
+        return decode(new ByteArrayInputStream(BYTES), contentLength);
+    }
+
+    private static Message decode(InputStream in, long contentLength) throws Exception {
+        StreamSOAPCodec codec = StreamSOAPCodec.create(SOAPVersion.SOAP_11);
+        Packet packet = new Packet();
+        packet.inboundContentLength = contentLength;
+        codec.decode(in, "text/xml", packet);
+        return packet.getMessage();
+    }
+}
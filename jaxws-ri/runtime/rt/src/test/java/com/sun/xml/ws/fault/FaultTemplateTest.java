@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.fault;
+
+import com.oracle.webservices.api.databinding.DatabindingFactory;
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.Codecs;
+import com.sun.xml.ws.api.streaming.XMLStreamWriterFactory;
+import com.sun.xml.ws.db.DatabindingImpl;
+import com.sun.xml.ws.model.AbstractSEIModelImpl;
+import com.sun.xml.ws.model.CheckedExceptionImpl;
+import junit.framework.TestCase;
+import org.w3c.dom.Element;
+
+import jakarta.jws.WebService;
+import jakarta.xml.soap.SOAPMessage;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+
+public class FaultTemplateTest extends TestCase {
+
+    public void testSOAP11Fault() throws Exception {
+        checkFault(SOAPVersion.SOAP_11);
+    }
+
+    public void testSOAP12Fault() throws Exception {
+        checkFault(SOAPVersion.SOAP_12);
+    }
+
+    private void checkFault(SOAPVersion soapVersion) throws Exception {
+        CheckedExceptionImpl ce = checkedException();
+        Message msg = SOAPFaultBuilder.createSOAPFaultMessage(soapVersion, ce, new BadInputException("bad input", 42));
+
+        assertTrue(msg instanceof TemplateFaultMessage);
+        assertSame(FaultTemplate.get(soapVersion, ce), FaultTemplate.get(soapVersion, ce));
+        assertTrue(msg.isFault());
+        assertEquals(new QName(soapVersion.nsUri, "Fault"), new QName(msg.getPayloadNamespaceURI(), msg.getPayloadLocalPart()));
+        assertEquals(ce.getDetailType().tagName, msg.getFirstDetailEntryName());
+
+        checkRoundTrip(msg.copy());
+        checkRoundTrip(msg);
+
+        SOAPMessage saaj = SOAPFaultBuilder.createSOAPFaultMessage(soapVersion, ce, new BadInputException("bad input", 42))
+                .readAsSOAPMessage();
+        assertTrue(saaj.getSOAPBody().hasFault());
+        assertEquals("bad input", saaj.getSOAPBody().getFault().getFaultString());
+        assertEquals(soapVersion.faultCodeServer, saaj.getSOAPBody().getFault().getFaultCodeAsQName());
+    }
+
+    public void testStreamedFault() throws Exception {
+        for (SOAPVersion soapVersion : new SOAPVersion[] {SOAPVersion.SOAP_11, SOAPVersion.SOAP_12}) {
+            Message msg = SOAPFaultBuilder.createSOAPFaultMessage(soapVersion, checkedException(),
+                    new BadInputException("bad <input> & more", 42));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            XMLStreamWriter w = XMLStreamWriterFactory.create(out, "UTF-8");
+            msg.writeTo(w);
+            w.flush();
+
+            Packet packet = new Packet();
+            Codecs.createSOAPEnvelopeXmlCodec(soapVersion).decode(new ByteArrayInputStream(out.toByteArray()),
+                    soapVersion.contentType, packet);
+            assertEquals(soapVersion.faultCodeServer, packet.getMessage().copy().readAsSOAPMessage()
+                    .getSOAPBody().getFault().getFaultCodeAsQName());
+            SOAPFaultBuilder fault = SOAPFaultBuilder.create(packet.getMessage());
+            assertEquals("bad <input> & more", fault.getFaultString());
+            Element detail = fault.getDetail().getDetails().get(0);
+            assertEquals("42", detail.getElementsByTagName("code").item(0).getTextContent());
+        }
+    }
+
+    public void testWriterPrefix() throws Exception {
+        SOAPVersion soapVersion = SOAPVersion.SOAP_11;
+        Message msg = SOAPFaultBuilder.createSOAPFaultMessage(soapVersion, checkedException(),
+                new BadInputException("bad input", 42));
+        StringWriter out = new StringWriter();
+        XMLStreamWriter w = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+        w.writeStartElement("soapenv", "Envelope", soapVersion.nsUri);
+        w.writeNamespace("soapenv", soapVersion.nsUri);
+        w.writeStartElement("soapenv", "Body", soapVersion.nsUri);
+        msg.writePayloadTo(w);
+        w.writeEndElement();
+        w.writeEndElement();
+        w.flush();
+        String xml = out.toString();
+        assertTrue(xml, xml.contains("<soapenv:Fault><faultcode>soapenv:Server</faultcode>"));
+    }
+
+    private static void checkRoundTrip(Message msg) throws Exception {
+        SOAPFaultBuilder fault = SOAPFaultBuilder.create(msg);
+        assertEquals("bad input", fault.getFaultString());
+        assertEquals(msg.getFirstDetailEntryName(), fault.getFirstDetailEntryName());
+        Element detail = fault.getDetail().getDetails().get(0);
+        assertEquals("BadInputException", detail.getLocalName());
+        assertEquals("42", detail.getElementsByTagName("code").item(0).getTextContent());
+    }
+
+    private static CheckedExceptionImpl checkedException() throws Exception {
+        DatabindingImpl databinding = (DatabindingImpl) DatabindingFactory.newInstance()
+                .createBuilder(Echo.class, null)
+                .serviceName(new QName("urn:test", "EchoService"))
+                .portName(new QName("urn:test", "EchoPort"))
+                .build();
+        AbstractSEIModelImpl model = (AbstractSEIModelImpl) databinding.getModel();
+        return model.getJavaMethod(Echo.class.getMethod("echo", String.class))
+                .getCheckedException(BadInputException.class);
+    }
+
+    @WebService(targetNamespace = "urn:test")
+    public interface Echo {
+        String echo(String s) throws BadInputException;
+    }
+
+    public static class BadInputException extends Exception {
+        private final int code;
+
+        public BadInputException(String message, int code) {
+            super(message);
+            this.code = code;
+        }
+
+        public int getCode() {
+            return code;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.handler;
+
+import com.sun.xml.ws.api.BindingID;
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.WSBinding;
+import com.sun.xml.ws.api.handler.HeaderHandler;
+import com.sun.xml.ws.api.handler.HeaderHandlerContext;
+import com.sun.xml.ws.api.message.Headers;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.Codecs;
+import com.sun.xml.ws.binding.BindingImpl;
+import com.sun.xml.ws.util.HandlerAnnotationInfo;
+import junit.framework.TestCase;
+
+import jakarta.xml.ws.handler.Handler;
+import jakarta.xml.ws.handler.MessageContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+public class HeaderHandlerTest extends TestCase {
+
+    private static final String MESSAGE = "<S:Envelope xmlns:S='http://schemas.xmlsoap.org/soap/envelope/' xmlns:p='urn:test'>" +
+            "<S:Header><p:id>1</p:id></S:Header>" +
+            "<S:Body><p:echo>hello</p:echo></S:Body>" +
+            "</S:Envelope>";
+
+    private static final String CHAIN = "<handler-chains xmlns='https://jakarta.ee/xml/ns/jakartaee' xmlns:p='urn:test'>" +
+            "<handler-chain><handler>" +
+            "<handler-class>" + CorrelationHandler.class.getName() + "</handler-class>" +
+            "<soap-header>p:id</soap-header>" +
+            "</handler></handler-chain>" +
+            "</handler-chains>";
+
+    private final WSBinding binding = BindingImpl.create(BindingID.SOAP11_HTTP);
+
+    public void testHeaderHandlerKeepsMessageAndProperties() throws Exception {
+        Packet packet = decode();
+        Message original = packet.getMessage();
+        CorrelationHandler handler = new CorrelationHandler();
+        SOAPHandlerProcessor<MessageHandlerContextImpl> processor = new SOAPHandlerProcessor<>(
+                false, null, binding, Collections.<Handler>singletonList(handler));
+        MessageHandlerContextImpl context = new MessageHandlerContextImpl(null, binding, null, packet, Collections.<String>emptySet());
+
+        assertTrue(processor.callHandlersRequest(HandlerProcessor.Direction.INBOUND, context, true));
+        context.updatePacket();
+
+        assertEquals("1", handler.id);
+        assertEquals(Boolean.FALSE, handler.outbound);
+        assertSame(original, packet.getMessage());
+        assertNotNull(packet.getMessage().getHeaders().get("urn:test", "correlation", false));
+        assertEquals("echo", packet.getMessage().getPayloadLocalPart());
+        // the property map was never needed
+        assertFalse(packet.invocationProperties.containsKey(MessageContext.MESSAGE_OUTBOUND_PROPERTY));
+        assertEquals(Boolean.FALSE, context.get(MessageContext.MESSAGE_OUTBOUND_PROPERTY));
+        // closed with the property map, as the other handlers
+        assertFalse(context.getMessageContext() instanceof HeaderHandlerContext);
+    }
+
+    public void testNoMessage() {
+        MessageHandlerContextImpl context = new MessageHandlerContextImpl(null, binding, null, new Packet(), Collections.<String>emptySet());
+        assertNull(context.getHeaders());
+    }
+
+    public void testSoapHeaderConfiguration() throws Exception {
+        XMLStreamReader reader = XMLInputFactory.newFactory().createXMLStreamReader(new StringReader(CHAIN));
+        reader.nextTag();
+        HandlerAnnotationInfo info = HandlerChainsModel.parseHandlerFile(reader, getClass().getClassLoader(),
+                new QName("urn:test", "service"), new QName("urn:test", "port"), binding);
+
+        List<Handler> handlers = info.getHandlers();
+        assertEquals(1, handlers.size());
+        assertEquals(Collections.singleton(new QName("urn:test", "id")), ((CorrelationHandler) handlers.get(0)).configured);
+        assertEquals(1, new com.sun.xml.ws.client.HandlerConfiguration(
+                Collections.<String>emptySet(), handlers).getMessageHandlers().size());
+    }
+
+    private static Packet decode() throws Exception {
+        Packet packet = new Packet();
+        Codecs.createSOAPEnvelopeXmlCodec(SOAPVersion.SOAP_11).decode(
+                new ByteArrayInputStream(MESSAGE.getBytes(StandardCharsets.UTF_8)), "text/xml", packet);
+        return packet;
+    }
+
+    public static class CorrelationHandler implements HeaderHandler {
+        Set<QName> configured;
+        String id;
+        Boolean outbound;
+
+        @Override
+        public void setHeaders(Set<QName> headers) {
+            configured = headers;
+        }
+
+        @Override
+        public Set<QName> getHeaders() {
+            return Collections.singleton(new QName("urn:test", "id"));
+        }
+
+        @Override
+        public boolean handleMessage(HeaderHandlerContext context) {
+            outbound = context.isOutbound();
+            id = context.getHeaders().get("urn:test", "id", true).getStringContent();
+            context.getHeaders().add(Headers.create(new QName("urn:test", "correlation"), id));
+            return true;
+        }
+
+        @Override
+        public boolean handleFault(HeaderHandlerContext context) {
+            return true;
+        }
+
+        @Override
+        public void close(MessageContext context) {
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.handler;
+
+import com.sun.xml.ws.api.BindingID;
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.WSBinding;
+import com.sun.xml.ws.api.message.Header;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.Codecs;
+import com.sun.xml.ws.binding.BindingImpl;
+import junit.framework.TestCase;
+
+import jakarta.xml.soap.SOAPHeader;
+import jakarta.xml.soap.SOAPHeaderElement;
+import jakarta.xml.soap.SOAPMessage;
+import jakarta.xml.ws.handler.MessageContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+
+public class SOAPMessageContextImplTest extends TestCase {
+
+    private static final String MESSAGE = "<S:Envelope xmlns:S='http://schemas.xmlsoap.org/soap/envelope/' xmlns:p='urn:test'>" +
+            "<S:Header><p:id>1</p:id><p:ref>p:target</p:ref></S:Header>" +
+            "<S:Body><p:echo>hello</p:echo></S:Body>" +
+            "</S:Envelope>";
+
+    private final WSBinding binding = BindingImpl.create(BindingID.SOAP11_HTTP);
+
+    public void testHeaderChangeKeepsStreamedBody() throws Exception {
+        Packet packet = decode();
+        Message original = packet.getMessage();
+        SOAPMessageContextImpl context = new SOAPMessageContextImpl(binding, packet, Collections.<String>emptySet());
+
+        SOAPHeader header = context.getMessage().getSOAPHeader();
+        Iterator<SOAPHeaderElement> it = header.examineAllHeaderElements();
+        assertEquals("id", it.next().getLocalName());
+        header.addHeaderElement(new QName("urn:test", "added")).setTextContent("2");
+
+        context.updatePacket();
+        assertSame(original, packet.getMessage());
+        assertNotNull(packet.getMessage().getHeaders().get("urn:test", "added", false));
+        assertNotNull(packet.getMessage().getHeaders().get("urn:test", "id", false));
+        assertEquals("echo", packet.getMessage().getPayloadLocalPart());
+    }
+
+    public void testReadHeadersAreKept() throws Exception {
+        Packet packet = decode();
+        Header id = packet.getMessage().getHeaders().get("urn:test", "id", false);
+        SOAPMessageContextImpl context = new SOAPMessageContextImpl(binding, packet, Collections.<String>emptySet());
+
+        SOAPHeader header = context.getMessage().getSOAPHeader();
+        Iterator<SOAPHeaderElement> it = header.examineAllHeaderElements();
+        assertEquals("1", it.next().getTextContent());
+        SOAPHeaderElement ref = it.next();
+        ref.setTextContent("p:other");
+        assertEquals("urn:test", ref.lookupNamespaceURI("p"));
+
+        context.updatePacket();
+        // the header that was only read is the original one
+        assertSame(id, packet.getMessage().getHeaders().get("urn:test", "id", false));
+
+        // the changed header still declares the prefix used in its content
+        Header changed = packet.getMessage().getHeaders().get("urn:test", "ref", false);
+        assertEquals("p:other", changed.getStringContent());
+        StringWriter sw = new StringWriter();
+        XMLStreamWriter w = XMLOutputFactory.newInstance().createXMLStreamWriter(sw);
+        changed.writeTo(w);
+        w.flush();
+        assertTrue(sw.toString(), sw.toString().contains("xmlns:p=\"urn:test\""));
+    }
+
+    public void testBodyAccessAfterHeaders() throws Exception {
+        Packet packet = decode();
+        SOAPMessageContextImpl context = new SOAPMessageContextImpl(binding, packet, Collections.<String>emptySet());
+
+        SOAPMessage msg = context.getMessage();
+        SOAPHeader header = msg.getSOAPHeader();
+        header.addHeaderElement(new QName("urn:test", "added"));
+        assertEquals("echo", msg.getSOAPBody().getFirstChild().getLocalName());
+        assertSame(header, msg.getSOAPHeader());
+        assertEquals(3, countHeaders(msg.getSOAPHeader()));
+
+        context.updatePacket();
+        Message updated = packet.getMessage();
+        assertNotNull(updated.getHeaders().get("urn:test", "added", false));
+        assertEquals("echo", updated.getPayloadLocalPart());
+    }
+
+    public void testResetForNextPacket() throws Exception {
+        Packet first = decode();
+        SOAPMessageContextImpl context = new SOAPMessageContextImpl(binding, first, Collections.<String>emptySet());
+        context.setOutbound(false);
+        context.put("custom", "value");
+        SOAPMessage firstMessage = context.getMessage();
+        context.updatePacket();
+
+        Packet second = decode();
+        context.reset(second);
+        assertNotSame(firstMessage, context.getMessage());
+        assertFalse(context.containsKey("custom"));
+        assertFalse(context.isOutbound());
+        context.setOutbound(true);
+        assertEquals(Boolean.TRUE, context.get(MessageContext.MESSAGE_OUTBOUND_PROPERTY));
+        context.updatePacket();
+        assertEquals("echo", second.getMessage().getPayloadLocalPart());
+    }
+
+    private static int countHeaders(SOAPHeader header) {
+        int count = 0;
+        for (Iterator<SOAPHeaderElement> it = header.examineAllHeaderElements(); it.hasNext(); it.next()) {
+            count++;
+        }
+        return count;
+    }
+
+    private static Packet decode() throws Exception {
+        Packet packet = new Packet();
+        Codecs.createSOAPEnvelopeXmlCodec(SOAPVersion.SOAP_11).decode(
+                new ByteArrayInputStream(MESSAGE.getBytes(StandardCharsets.UTF_8)), "text/xml", packet);
+        return packet;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.handler;
+
+import com.sun.xml.ws.api.BindingID;
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.Codecs;
+import com.sun.xml.ws.api.pipe.NextAction;
+import com.sun.xml.ws.api.pipe.ServerTubeAssemblerContext;
+import com.sun.xml.ws.api.pipe.Tube;
+import com.sun.xml.ws.api.pipe.TubeCloner;
+import com.sun.xml.ws.api.pipe.helper.AbstractTubeImpl;
+import com.sun.xml.ws.api.server.WSEndpoint;
+import junit.framework.TestCase;
+
+import jakarta.xml.ws.Provider;
+import jakarta.xml.ws.ServiceMode;
+import jakarta.xml.ws.WebServiceProvider;
+import jakarta.xml.ws.handler.Handler;
+import jakarta.xml.ws.handler.LogicalHandler;
+import jakarta.xml.ws.handler.LogicalMessageContext;
+import jakarta.xml.ws.handler.MessageContext;
+import jakarta.xml.ws.handler.soap.SOAPHandler;
+import jakarta.xml.ws.handler.soap.SOAPMessageContext;
+import javax.xml.namespace.QName;
+import javax.xml.transform.Source;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+public class ServerHandlerTubeTest extends TestCase {
+
+    private static final String MESSAGE = "<S:Envelope xmlns:S='http://schemas.xmlsoap.org/soap/envelope/'>" +
+            "<S:Body><p:echo xmlns:p='urn:test'>hello</p:echo></S:Body>" +
+            "</S:Envelope>";
+
+    @WebServiceProvider(serviceName = "EchoService", portName = "EchoPort", targetNamespace = "urn:test")
+    @ServiceMode(jakarta.xml.ws.Service.Mode.PAYLOAD)
+    public static class Echo implements Provider<Source> {
+        @Override
+        public Source invoke(Source request) {
+            return request;
+        }
+    }
+
+    private final List<String> events = new ArrayList<String>();
+    private final Tube terminal = new Terminal();
+    private WSEndpoint<Echo> endpoint;
+
+    @Override
+    protected void setUp() throws Exception {
+        BindingID bindingId = BindingID.SOAP11_HTTP;
+        endpoint = WSEndpoint.create(Echo.class, false, null, null, null, null,
+                bindingId.createBinding(), null, null, null, false);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        endpoint.dispose();
+    }
+
+    public void testNoHandlers() {
+        assertSame(terminal, createHandlerTube());
+    }
+
+    public void testSOAPHandlersOnly() {
+        setHandlers(new Soap());
+        Tube tube = createHandlerTube();
+        assertTrue(tube instanceof ServerSOAPHandlerTube);
+        // no logical handler tube is created for it to drive
+        assertNull(((HandlerTube) tube).cousinTube);
+        assertFalse(((HandlerTube) tube).hasOuterTube);
+    }
+
+    public void testLogicalHandlersOnly() throws Exception {
+        setHandlers(new Logical());
+        Tube tube = createHandlerTube();
+        assertTrue(tube instanceof ServerLogicalHandlerTube);
+        assertFalse(((HandlerTube) tube).hasOuterTube);
+
+        Packet packet = decode();
+        tube.processRequest(packet);
+        tube.processResponse(packet);
+        // without an outer tube the logical handler tube closes its handlers
+        assertEquals(Arrays.asList("logical.request", "logical.response", "logical.close"), events);
+    }
+
+    public void testCloseOrder() throws Exception {
+        setHandlers(new Logical(), new Soap());
+        Tube tube = createHandlerTube();
+        assertTrue(tube instanceof ServerSOAPHandlerTube);
+        HandlerTube logical = ((HandlerTube) tube).cousinTube;
+        assertTrue(logical instanceof ServerLogicalHandlerTube);
+        assertTrue(logical.hasOuterTube);
+
+        Packet packet = decode();
+        tube.processRequest(packet);
+        logical.processRequest(packet);
+        logical.processResponse(packet);
+        // the outer tube drives the closing
+        assertFalse(events.contains("logical.close"));
+        tube.processResponse(packet);
+        assertEquals(Arrays.asList("soap.request", "logical.request", "logical.response", "soap.response",
+                "logical.close", "soap.close"), events);
+    }
+
+    private Tube createHandlerTube() {
+        return new ServerTubeAssemblerContext(null, null, endpoint, terminal, true).createHandlerTube(terminal);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void setHandlers(Handler... handlers) {
+        endpoint.getBinding().setHandlerChain(Arrays.<Handler>asList(handlers));
+    }
+
+    private static Packet decode() throws Exception {
+        Packet packet = new Packet();
+        Codecs.createSOAPEnvelopeXmlCodec(SOAPVersion.SOAP_11).decode(
+                new ByteArrayInputStream(MESSAGE.getBytes(StandardCharsets.UTF_8)), "text/xml", packet);
+        packet.expectReply = true;
+        return packet;
+    }
+
+    private void record(String handler, MessageContext context) {
+        boolean outbound = (Boolean) context.get(MessageContext.MESSAGE_OUTBOUND_PROPERTY);
+        events.add(handler + (outbound ? ".response" : ".request"));
+    }
+
+    private final class Logical implements LogicalHandler<LogicalMessageContext> {
+        @Override
+        public boolean handleMessage(LogicalMessageContext context) {
+            record("logical", context);
+            return true;
+        }
+
+        @Override
+        public boolean handleFault(LogicalMessageContext context) {
+            return true;
+        }
+
+        @Override
+        public void close(MessageContext context) {
+            events.add("logical.close");
+        }
+    }
+
+    private final class Soap implements SOAPHandler<SOAPMessageContext> {
+        @Override
+        public Set<QName> getHeaders() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public boolean handleMessage(SOAPMessageContext context) {
+            record("soap", context);
+            return true;
+        }
+
+        @Override
+        public boolean handleFault(SOAPMessageContext context) {
+            return true;
+        }
+
+        @Override
+        public void close(MessageContext context) {
+            events.add("soap.close");
+        }
+    }
+
+    private static final class Terminal extends AbstractTubeImpl {
+        @Override
+        public NextAction processRequest(Packet request) {
+            return doReturnWith(request);
+        }
+
+        @Override
+        public NextAction processResponse(Packet response) {
+            return doReturnWith(response);
+        }
+
+        @Override
+        public NextAction processException(Throwable t) {
+            return doThrow(t);
+        }
+
+        @Override
+        public void preDestroy() {
+        }
+
+        @Override
+        public AbstractTubeImpl copy(TubeCloner cloner) {
+            return this;
+        }
+    }
+}
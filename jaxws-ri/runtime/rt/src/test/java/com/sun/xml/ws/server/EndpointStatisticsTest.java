@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.server;
+
+import com.sun.xml.ws.api.message.Packet;
+import junit.framework.TestCase;
+
+import javax.xml.namespace.QName;
+
+public class EndpointStatisticsTest extends TestCase {
+
+    private static final QName ECHO = new QName("urn:test", "echo");
+
+    public void testOperationStatistics() {
+        EndpointStatistics stats = new EndpointStatistics();
+        OperationStatistics echo = stats.get(ECHO);
+        assertSame(echo, stats.get(new QName("urn:test", "echo")));
+
+        echo.invoked(2000, false, 100);
+        echo.invoked(4000, true, -1);
+        echo.responseWritten(300);
+
+        assertEquals(2, echo.getInvocationCount());
+        assertEquals(1, echo.getFaultCount());
+        assertEquals(100, echo.getBytesIn());
+        assertEquals(300, echo.getBytesOut());
+        assertEquals(2, echo.getLatency().getCount());
+        assertEquals(4000, echo.getLatency().getMax());
+        assertEquals(1, stats.getOperations().size());
+    }
+
+    public void testNotVisibleToHandlers() {
+        OperationStatistics echo = new EndpointStatistics().get(ECHO);
+        Packet response = new Packet();
+        response.addSatellite(echo);
+        assertSame(echo, response.getSatellite(OperationStatistics.class));
+        assertTrue(response.invocationProperties.isEmpty());
+        assertFalse(response.asMap().containsValue(echo));
+    }
+}
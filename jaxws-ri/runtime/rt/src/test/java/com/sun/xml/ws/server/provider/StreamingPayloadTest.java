@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.server.provider;
+
+import com.sun.xml.ws.api.BindingID;
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.WSBinding;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.Codecs;
+import com.sun.xml.ws.api.server.AsyncProvider;
+import com.sun.xml.ws.api.server.AsyncProviderCallback;
+import com.sun.xml.ws.api.server.StreamingPayload;
+import com.sun.xml.ws.binding.BindingImpl;
+import junit.framework.TestCase;
+
+import jakarta.xml.ws.WebServiceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+public class StreamingPayloadTest extends TestCase {
+
+    private static final QName RESULT = new QName("urn:test", "result");
+
+    private static final String REQUEST = "<S:Envelope xmlns:S='http://schemas.xmlsoap.org/soap/envelope/' xmlns:p='urn:test'>" +
+            "<S:Body><p:item>1</p:item><p:item>2</p:item><p:item>3</p:item></S:Body>" +
+            "</S:Envelope>";
+
+    private final WSBinding binding = BindingImpl.create(BindingID.SOAP11_HTTP);
+
+    @SuppressWarnings("unchecked")
+    private ProviderArgumentsBuilder<StreamingPayload> builder() {
+        return (ProviderArgumentsBuilder<StreamingPayload>) ProviderArgumentsBuilder.create(
+                new ProviderEndpointModel<>(BulkImport.class, binding), binding);
+    }
+
+    public void testReadRequestElementByElement() throws Exception {
+        Packet packet = new Packet();
+        Codecs.createSOAPEnvelopeXmlCodec(SOAPVersion.SOAP_11).decode(
+                new ByteArrayInputStream(REQUEST.getBytes(StandardCharsets.UTF_8)), "text/xml", packet);
+
+        XMLStreamReader reader = builder().getParameter(packet).getReader();
+        StringBuilder items = new StringBuilder();
+        while (reader.isStartElement()) {
+            assertEquals("item", reader.getLocalName());
+            items.append(reader.getElementText());
+            reader.nextTag();
+        }
+        assertEquals("123", items.toString());
+        assertTrue(reader.isEndElement());
+        assertEquals("Body", reader.getLocalName());
+    }
+
+    public void testWriteResponse() throws Exception {
+        Message msg = builder().getResponseMessage(response());
+
+        assertEquals("result", msg.getPayloadLocalPart());
+        assertFalse(msg.isFault());
+        StringWriter out = new StringWriter();
+        XMLStreamWriter w = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+        msg.writeTo(w);
+        w.flush();
+        assertTrue(out.toString(), out.toString().contains("<p:result xmlns:p=\"urn:test\">1</p:result><p:result xmlns:p=\"urn:test\">2</p:result></S:Body>"));
+
+        try {
+            msg.readPayload();
+            fail("the writer can only be called once");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    public void testBufferedResponse() throws Exception {
+        Message msg = response().getMessage();
+        Message copy = msg.copy();
+
+        XMLStreamReader reader = copy.readPayload();
+        assertEquals("result", reader.getLocalName());
+        assertEquals("1", reader.getElementText());
+        StringWriter out = new StringWriter();
+        XMLStreamWriter w = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+        w.writeStartElement("Body");
+        msg.writePayloadTo(w);
+        w.writeEndElement();
+        w.flush();
+        assertTrue(out.toString(), out.toString().endsWith(">2</p:result></Body>"));
+    }
+
+    private static StreamingPayload response() {
+        return StreamingPayload.create(SOAPVersion.SOAP_11, RESULT, w -> {
+            for (int i = 1; i <= 2; i++) {
+                w.writeStartElement("p", "result", "urn:test");
+                w.writeNamespace("p", "urn:test");
+                w.writeCharacters(String.valueOf(i));
+                w.writeEndElement();
+            }
+        });
+    }
+
+    public static class BulkImport implements AsyncProvider<StreamingPayload> {
+        @Override
+        public void invoke(StreamingPayload request, AsyncProviderCallback<StreamingPayload> callback, WebServiceContext context) {
+            callback.send(response());
+        }
+    }
+}
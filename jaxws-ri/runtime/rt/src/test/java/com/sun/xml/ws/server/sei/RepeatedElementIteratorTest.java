@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.server.sei;
+
+import com.oracle.webservices.api.databinding.Databinding;
+import com.oracle.webservices.api.databinding.DatabindingFactory;
+import com.oracle.webservices.api.databinding.JavaCallInfo;
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.Codecs;
+import com.sun.xml.ws.db.DatabindingImpl;
+import com.sun.xml.ws.model.RuntimeModeler;
+import junit.framework.TestCase;
+
+import jakarta.jws.WebParam;
+import jakarta.jws.WebService;
+import javax.xml.namespace.QName;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class RepeatedElementIteratorTest extends TestCase {
+
+    private static final String LABEL = "<label>total</label>";
+    private static final String ITEMS = "<items>1</items><items>2</items><items>3</items>";
+
+    private static final String REQUEST = "<S:Envelope xmlns:S='http://schemas.xmlsoap.org/soap/envelope/' xmlns:p='urn:test'>" +
+            "<S:Body><p:%1$s>%2$s</p:%1$s></S:Body>" +
+            "</S:Envelope>";
+
+    public void testIterator() throws Exception {
+        JavaCallInfo call = deserialize("sum", LABEL + ITEMS);
+
+        assertEquals("total", call.getParameters()[0]);
+        Iterator<?> items = (Iterator<?>) call.getParameters()[1];
+        int sum = 0;
+        while (items.hasNext()) {
+            sum += (Integer) items.next();
+        }
+        assertEquals(6, sum);
+        assertFalse(items.hasNext());
+    }
+
+    public void testStream() throws Exception {
+        JavaCallInfo call = deserialize("join", LABEL + ITEMS);
+
+        assertEquals("total", call.getParameters()[0]);
+        try (Stream<?> items = (Stream<?>) call.getParameters()[1]) {
+            assertEquals("1,2,3", items.map(String::valueOf).collect(Collectors.joining(",")));
+        }
+    }
+
+    public void testNotLastPartIsRead() throws Exception {
+        JavaCallInfo call = deserialize("count", ITEMS + LABEL);
+
+        Iterator<?> items = (Iterator<?>) call.getParameters()[0];
+        assertEquals(1, items.next());
+        assertEquals(2, items.next());
+        assertEquals(3, items.next());
+        assertFalse(items.hasNext());
+        assertEquals("total", call.getParameters()[1]);
+    }
+
+    public void testClosedWhenInvocationCompletes() throws Exception {
+        DatabindingImpl databinding = databinding(Bulk.class, true);
+        JavaCallInfo call = databinding.deserializeRequest(request("sum", LABEL + ITEMS));
+        Iterator<?> items = (Iterator<?>) call.getParameters()[1];
+        assertEquals(1, items.next());
+        call.setReturnValue(1);
+        databinding.serializeResponse(call);
+        // the reader was closed before the endpoint read all the items
+        assertFalse(items.hasNext());
+
+        call = databinding.deserializeRequest(request("join", LABEL + ITEMS));
+        Stream<?> stream = (Stream<?>) call.getParameters()[1];
+        call.setReturnValue("");
+        databinding.serializeResponse(call);
+        try {
+            stream.count();
+            fail("the stream is closed");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    public void testGeneratedWrappers() throws Exception {
+        DatabindingImpl databinding = databinding(GeneratedBulk.class, false);
+        JavaCallInfo call = databinding.deserializeRequest(request("total", LABEL + ITEMS));
+        assertEquals("total", call.getParameters()[0]);
+        Iterator<?> items = (Iterator<?>) call.getParameters()[1];
+        assertEquals(1, items.next());
+        assertEquals(2, items.next());
+        assertEquals(3, items.next());
+        assertFalse(items.hasNext());
+
+        call = databinding.deserializeRequest(request("concat", LABEL + ITEMS));
+        try (Stream<?> stream = (Stream<?>) call.getParameters()[1]) {
+            assertEquals("1,2,3", stream.map(String::valueOf).collect(Collectors.joining(",")));
+        }
+    }
+
+    private static JavaCallInfo deserialize(String operation, String parts) throws Exception {
+        return databinding(Bulk.class, true).deserializeRequest(request(operation, parts));
+    }
+
+    private static DatabindingImpl databinding(Class<?> sei, boolean dynamicWrappers) {
+        Databinding databinding = DatabindingFactory.newInstance()
+                .createBuilder(sei, null)
+                .serviceName(new QName("urn:test", "BulkService"))
+                .portName(new QName("urn:test", "BulkPort"))
+                .property(RuntimeModeler.SuppressDocLitWrapperGeneration, dynamicWrappers)
+                .build();
+        return (DatabindingImpl) databinding;
+    }
+
+    private static Packet request(String operation, String parts) throws Exception {
+        String request = String.format(REQUEST, operation, parts);
+        Packet packet = new Packet();
+        Codecs.createSOAPEnvelopeXmlCodec(SOAPVersion.SOAP_11).decode(
+                new ByteArrayInputStream(request.getBytes(StandardCharsets.UTF_8)), "text/xml", packet);
+        return packet;
+    }
+
+    @WebService(targetNamespace = "urn:test")
+    public interface Bulk {
+        int sum(@WebParam(name = "label") String label, @WebParam(name = "items") Iterator<Integer> items);
+
+        String join(@WebParam(name = "label") String label, @WebParam(name = "items") Stream<Integer> items);
+
+        int count(@WebParam(name = "items") Iterator<Integer> items, @WebParam(name = "label") String label);
+    }
+
+    /**
+     * Operations whose wrapper beans are generated, with other names than the
+     * ones of {@link Bulk} so that the dynamic wrappers don't find the beans.
+     */
+    @WebService(targetNamespace = "urn:test")
+    public interface GeneratedBulk {
+        int total(@WebParam(name = "label") String label, @WebParam(name = "items") Iterator<Integer> items);
+
+        String concat(@WebParam(name = "label") String label, @WebParam(name = "items") Stream<Integer> items);
+    }
+}
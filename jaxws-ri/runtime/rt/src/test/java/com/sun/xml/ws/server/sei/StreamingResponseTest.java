@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.server.sei;
+
+import com.oracle.webservices.api.databinding.Databinding;
+import com.oracle.webservices.api.databinding.DatabindingFactory;
+import com.oracle.webservices.api.databinding.JavaCallInfo;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.streaming.XMLStreamWriterFactory;
+import com.sun.xml.ws.db.DatabindingImpl;
+import com.sun.xml.ws.model.RuntimeModeler;
+import junit.framework.TestCase;
+
+import jakarta.jws.WebParam;
+import jakarta.jws.WebService;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class StreamingResponseTest extends TestCase {
+
+    private final AtomicInteger produced = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    public void testStreamIsWrittenItemByItem() throws Exception {
+        Message msg = response("list", stream(3));
+
+        assertEquals(0, produced.get());
+        assertEquals("listResponse", msg.getPayloadLocalPart());
+        assertEquals(0, produced.get());
+        assertEquals("<w:listResponse><return>1</return><return>2</return><return>3</return></w:listResponse>", write(msg));
+        assertEquals(3, produced.get());
+        assertEquals(1, closed.get());
+
+        try {
+            write(msg);
+            fail("the items can only be written once");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    public void testIterator() throws Exception {
+        Message msg = response("iterate", stream(2).iterator());
+
+        assertEquals("<w:iterateResponse><return>1</return><return>2</return></w:iterateResponse>", write(msg));
+    }
+
+    public void testList() throws Exception {
+        Message msg = response("collect", Arrays.asList(1, 2));
+        String expected = "<w:collectResponse><return>1</return><return>2</return></w:collectResponse>";
+        assertEquals(expected, write(msg.copy()));
+        assertEquals(expected, write(msg));
+    }
+
+    public void testWriteToTransport() throws Exception {
+        Message msg = response("list", stream(2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XMLStreamWriter w = XMLStreamWriterFactory.create(out);
+        msg.writeTo(w);
+        w.flush();
+
+        assertTrue(out.toString("UTF-8"), out.toString("UTF-8").contains("<return>1</return><return>2</return></w:listResponse>"));
+        assertEquals(1, closed.get());
+    }
+
+    public void testCopyIsBuffered() throws Exception {
+        Message msg = response("list", stream(2));
+        Message copy = msg.copy();
+        assertEquals(2, produced.get());
+
+        XMLStreamReader reader = copy.readPayload();
+        assertEquals("listResponse", reader.getLocalName());
+        String expected = "<w:listResponse><return>1</return><return>2</return></w:listResponse>";
+        assertEquals(expected, write(msg));
+        assertEquals(expected, write(copy));
+        assertEquals(2, produced.get());
+    }
+
+    public void testConsumedPayload() throws Exception {
+        Message msg = response("list", stream(2));
+        write(msg);
+        try {
+            msg.copy();
+            fail("the items went to the writer");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            msg.readPayload();
+            fail("the items went to the writer");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    public void testGeneratedWrappers() throws Exception {
+        Message msg = response(GeneratedReport.class, "listAll", stream(2), false);
+        // the items are collected into the wrapper bean
+        assertEquals(2, produced.get());
+        assertEquals(1, closed.get());
+        assertEquals("<ns2:listAllResponse><return>1</return><return>2</return></ns2:listAllResponse>", write(msg));
+
+        msg = response(GeneratedReport.class, "iterateAll", stream(2).iterator(), false);
+        Message copy = msg.copy();
+        assertEquals(write(msg), write(copy));
+    }
+
+    private Stream<Integer> stream(int count) {
+        return IntStream.rangeClosed(1, count).peek(i -> produced.incrementAndGet()).boxed()
+                .onClose(closed::incrementAndGet);
+    }
+
+    private static Message response(String operation, Object returnValue) throws Exception {
+        return response(Report.class, operation, returnValue, true);
+    }
+
+    private static Message response(Class<?> sei, String operation, Object returnValue, boolean dynamicWrappers) throws Exception {
+        Databinding databinding = DatabindingFactory.newInstance()
+                .createBuilder(sei, null)
+                .serviceName(new QName("urn:test", "ReportService"))
+                .portName(new QName("urn:test", "ReportPort"))
+                .property(RuntimeModeler.SuppressDocLitWrapperGeneration, dynamicWrappers)
+                .build();
+        JavaCallInfo call = databinding.createJavaCallInfo(sei.getMethod(operation, int.class), new Object[] {0});
+        call.setReturnValue(returnValue);
+        return ((DatabindingImpl) databinding).serializeResponse(call).getMessage();
+    }
+
+    /**
+     * Writes the payload, without the namespace declarations.
+     */
+    private static String write(Message msg) throws Exception {
+        StringWriter out = new StringWriter();
+        XMLStreamWriter w = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+        msg.writePayloadTo(w);
+        w.flush();
+        return out.toString().replaceAll(" xmlns:\\w+=\"[^\"]*\"", "");
+    }
+
+    @WebService(targetNamespace = "urn:test")
+    public interface Report {
+        Stream<Integer> list(@WebParam(name = "size") int size);
+
+        Iterator<Integer> iterate(@WebParam(name = "size") int size);
+
+        List<Integer> collect(@WebParam(name = "size") int size);
+    }
+
+    /**
+     * Operations whose wrapper beans are generated, with other names than the
+     * ones of {@link Report} so that the dynamic wrappers don't find the beans.
+     */
+    @WebService(targetNamespace = "urn:test")
+    public interface GeneratedReport {
+        Stream<Integer> listAll(@WebParam(name = "size") int size);
+
+        Iterator<Integer> iterateAll(@WebParam(name = "size") int size);
+    }
+}
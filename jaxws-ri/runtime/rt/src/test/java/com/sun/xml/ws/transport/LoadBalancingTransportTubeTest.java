@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.transport;
+
+import com.sun.net.httpserver.HttpServer;
+import com.sun.xml.ws.api.client.LoadBalancingFeature;
+import com.sun.xml.ws.api.client.LoadBalancingFeature.Policy;
+import com.sun.xml.ws.api.ha.HaInfo;
+import com.sun.xml.ws.api.message.Packet;
+import junit.framework.TestCase;
+
+import javax.xml.namespace.QName;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import jakarta.xml.ws.Dispatch;
+import jakarta.xml.ws.Service;
+import jakarta.xml.ws.WebServiceException;
+import jakarta.xml.ws.soap.SOAPBinding;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LoadBalancingTransportTubeTest extends TestCase {
+    private static final QName SERVICE_NAME = new QName("urn:test", "TestService");
+    private static final QName PORT_NAME = new QName("urn:test", "TestPort");
+    private static final String RESPONSE = "<S:Envelope xmlns:S='http://schemas.xmlsoap.org/soap/envelope/'>"
+            + "<S:Body><r xmlns='urn:test'/></S:Body></S:Envelope>";
+
+    private final List<HttpServer> servers = new ArrayList<HttpServer>();
+    private final List<AtomicInteger> hits = new ArrayList<AtomicInteger>();
+
+    @Override
+    protected void tearDown() throws Exception {
+        for (HttpServer server : servers) {
+            server.stop(0);
+        }
+    }
+
+    public void testSpread() throws Exception {
+        Dispatch<Source> dispatch = dispatch(new LoadBalancingFeature(Policy.LEAST_OUTSTANDING_REQUESTS,
+                start(), start(), start()));
+        for (int i = 0; i < 30; i++) {
+            dispatch.invoke(request());
+        }
+        int total = 0;
+        for (AtomicInteger h : hits) {
+            assertTrue(h.get() > 0);
+            total += h.get();
+        }
+        assertEquals(30, total);
+    }
+
+    public void testEjection() throws Exception {
+        String live = start();
+        String dead = start();
+        servers.get(1).stop(0);
+        LoadBalancingFeature feature = new LoadBalancingFeature(Policy.POWER_OF_TWO_CHOICES, live, dead);
+        feature.setMaxConsecutiveFailures(2);
+        feature.setBaseEjectionTime(1, TimeUnit.MINUTES);
+        Dispatch<Source> dispatch = dispatch(feature);
+
+        int failures = 0;
+        for (int i = 0; i < 40; i++) {
+            try {
+                dispatch.invoke(request());
+            } catch (WebServiceException e) {
+                failures++;
+            }
+        }
+        assertEquals(2, failures);
+        assertEquals(38, hits.get(0).get());
+    }
+
+    public void testSticky() throws Exception {
+        Dispatch<Source> dispatch = dispatch(new LoadBalancingFeature(Policy.POWER_OF_TWO_CHOICES,
+                start(), start(), start()));
+        dispatch.getRequestContext().put(Packet.HA_INFO, new HaInfo("session-1", null, false));
+        for (int i = 0; i < 10; i++) {
+            dispatch.invoke(request());
+        }
+        int served = 0;
+        for (AtomicInteger h : hits) {
+            if (h.get() > 0) {
+                served++;
+                assertEquals(10, h.get());
+            }
+        }
+        assertEquals(1, served);
+    }
+
+    public void testReplica() {
+        Map<String, String> instances = new LinkedHashMap<String, String>();
+        for (int i = 0; i < 4; i++) {
+            instances.put("instance" + i, "http://localhost:" + (8080 + i) + "/test");
+        }
+        LoadBalancingFeature feature = new LoadBalancingFeature(Policy.LEAST_OUTSTANDING_REQUESTS, instances);
+        feature.setMaxConsecutiveFailures(1);
+        LoadBalancer balancer = new LoadBalancer(feature);
+
+        HaInfo haInfo = new HaInfo("session-1", null, false);
+        LoadBalancer.Instance primary = balancer.select(haInfo);
+        balancer.succeeded(primary);
+        assertSame(primary, balancer.select(haInfo));
+        balancer.failed(primary, new WebServiceException());
+
+        LoadBalancer.Instance replica = balancer.getInstances()[(primary.index + 1) % 4];
+        LoadBalancer.Instance selected = balancer.select(new HaInfo("session-1", replica.name, true));
+        assertSame(replica, selected);
+        balancer.succeeded(selected);
+        selected = balancer.select(new HaInfo("session-1", primary.name, true));
+        assertNotSame(primary, selected);
+        assertSame(selected, balancer.select(new HaInfo("session-1", null, true)));
+    }
+
+    public void testLastInstanceNotEjected() {
+        LoadBalancingFeature feature = new LoadBalancingFeature(Policy.LEAST_OUTSTANDING_REQUESTS,
+                "http://localhost:8080/a", "http://localhost:8080/b");
+        feature.setMaxConsecutiveFailures(1);
+        LoadBalancer balancer = new LoadBalancer(feature);
+        LoadBalancer.Instance a = balancer.getInstances()[0];
+        LoadBalancer.Instance b = balancer.getInstances()[1];
+
+        balancer.failed(a, new WebServiceException());
+        balancer.failed(b, new WebServiceException());
+        for (int i = 0; i < 10; i++) {
+            LoadBalancer.Instance selected = balancer.select(null);
+            assertSame(b, selected);
+            balancer.failed(selected, new WebServiceException());
+        }
+    }
+
+    public void testLeastOutstanding() {
+        LoadBalancer balancer = new LoadBalancer(new LoadBalancingFeature(Policy.LEAST_OUTSTANDING_REQUESTS,
+                "http://localhost:8080/a", "http://localhost:8080/b", "http://localhost:8080/c"));
+        for (int i = 0; i < 30; i++) {
+            balancer.select(null);
+        }
+        for (LoadBalancer.Instance instance : balancer.getInstances()) {
+            assertEquals(10, instance.getOutstanding());
+        }
+    }
+
+    private String start() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        final AtomicInteger count = new AtomicInteger();
+        server.createContext("/test", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            count.incrementAndGet();
+            byte[] response = RESPONSE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/xml;charset=utf-8");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(response);
+            }
+        });
+        server.start();
+        servers.add(server);
+        hits.add(count);
+        return "http://localhost:" + server.getAddress().getPort() + "/test";
+    }
+
+    private static Dispatch<Source> dispatch(LoadBalancingFeature feature) {
+        Service service = Service.create(SERVICE_NAME);
+        service.addPort(PORT_NAME, SOAPBinding.SOAP11HTTP_BINDING, "http://localhost:1/unused");
+        return service.createDispatch(PORT_NAME, Source.class, Service.Mode.PAYLOAD, feature);
+    }
+
+    private static Source request() {
+        return new StreamSource(new StringReader("<hi xmlns='urn:test'/>"));
+    }
+}
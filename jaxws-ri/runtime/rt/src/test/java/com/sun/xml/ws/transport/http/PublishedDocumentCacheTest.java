@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.transport.http;
+
+import com.sun.xml.ws.api.server.SDDocument;
+import com.sun.xml.ws.transport.http.PublishedDocumentCache.PublishedDocument;
+import junit.framework.TestCase;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+public class PublishedDocumentCacheTest extends TestCase {
+
+    private static final byte[] WSDL = "<definitions/>".getBytes(StandardCharsets.UTF_8);
+
+    public void testBaseAddresses() throws Exception {
+        SDDocument wsdl = document();
+        SDDocument xsd = document();
+        PublishedDocumentCache cache = new PublishedDocumentCache(2);
+
+        PublishedDocument a = cache.put("http://a", wsdl, WSDL);
+        cache.put("http://a", xsd, WSDL);
+        assertSame(a, cache.get("http://a", wsdl));
+        assertNull(cache.get("http://b", wsdl));
+
+        cache.put("http://b", wsdl, WSDL);
+        cache.get("http://a", wsdl);
+        cache.put("http://c", wsdl, WSDL);
+        // the least recently used base address is dropped
+        assertNull(cache.get("http://b", wsdl));
+        assertSame(a, cache.get("http://a", wsdl));
+        assertNotNull(cache.get("http://a", xsd));
+
+        cache.clear();
+        assertNull(cache.get("http://a", wsdl));
+    }
+
+    public void testDisabled() {
+        SDDocument wsdl = document();
+        PublishedDocumentCache cache = new PublishedDocumentCache(0);
+        assertNotNull(cache.put("http://a", wsdl, WSDL));
+        assertNull(cache.get("http://a", wsdl));
+    }
+
+    public void testNormalize() {
+        assertEquals("http://localhost:8080/ctx", PublishedDocumentCache.normalize("http://localhost:8080/ctx"));
+        // the spellings of an address share one key
+        assertEquals("http://example.com/ctx", PublishedDocumentCache.normalize("HTTP://Example.COM:80/ctx/"));
+        assertEquals("https://example.com", PublishedDocumentCache.normalize("https://example.com:443"));
+        assertEquals("https://[::1]:8443/a/b", PublishedDocumentCache.normalize("https://[::1]:8443/a/./b"));
+
+        assertNull(PublishedDocumentCache.normalize("http://a b/ctx"));
+        assertNull(PublishedDocumentCache.normalize("http://user@example.com/ctx"));
+        assertNull(PublishedDocumentCache.normalize("http://example.com/ctx?x"));
+        assertNull(PublishedDocumentCache.normalize("ftp://example.com/ctx"));
+        assertNull(PublishedDocumentCache.normalize("/ctx"));
+    }
+
+    public void testETag() throws Exception {
+        PublishedDocument doc = new PublishedDocument(WSDL);
+        String etag = doc.getETag();
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+        assertEquals(etag, new PublishedDocument(WSDL.clone()).getETag());
+        assertFalse(etag.equals(new PublishedDocument("<definitions />".getBytes(StandardCharsets.UTF_8)).getETag()));
+        assertFalse(etag.equals(doc.getGzippedETag()));
+
+        assertTrue(PublishedDocumentCache.matches(etag, etag));
+        assertTrue(PublishedDocumentCache.matches("\"x\", W/" + etag, etag));
+        assertTrue(PublishedDocumentCache.matches("*", etag));
+        assertFalse(PublishedDocumentCache.matches(null, etag));
+        assertFalse(PublishedDocumentCache.matches(doc.getGzippedETag(), etag));
+    }
+
+    public void testGzip() throws Exception {
+        PublishedDocument doc = new PublishedDocument(WSDL);
+        byte[] gzipped = doc.getGzipped();
+        assertSame(gzipped, doc.getGzipped());
+        try (GZIPInputStream is = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertTrue(Arrays.equals(WSDL, is.readAllBytes()));
+        }
+
+        assertTrue(PublishedDocumentCache.acceptsGzip("gzip, deflate"));
+        assertTrue(PublishedDocumentCache.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertFalse(PublishedDocumentCache.acceptsGzip("gzip;q=0"));
+        assertFalse(PublishedDocumentCache.acceptsGzip("identity"));
+        assertFalse(PublishedDocumentCache.acceptsGzip(null));
+    }
+
+    private static SDDocument document() {
+        return (SDDocument) Proxy.newProxyInstance(SDDocument.class.getClassLoader(), new Class<?>[] {SDDocument.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.util;
+
+import junit.framework.TestCase;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+public class IndexedPropertyMapTest extends TestCase {
+
+    // the tests use their own registry, so that they do not add slots
+    // to the maps of the runtime
+    private final IndexedPropertyMap.Slots slots = new IndexedPropertyMap.Slots();
+    private final int known = slots.register("test.known");
+
+    public void testSlotIsStable() {
+        assertEquals(known, slots.register("test.known"));
+        assertEquals(known + 1, slots.register("test.other"));
+    }
+
+    public void testLateRegistration() {
+        IndexedPropertyMap map = new IndexedPropertyMap(slots);
+        map.put("test.late", "a");
+        map.put("test.other", "b");
+        int late = slots.register("test.late");
+
+        assertTrue(map.containsKey("test.late"));
+        assertEquals("a", map.get("test.late"));
+        assertEquals("a", map.get(late));
+        assertEquals(2, map.size());
+
+        IndexedPropertyMap copy = new IndexedPropertyMap(slots);
+        map.put("test.late2", "c");
+        int late2 = slots.register("test.late2");
+        copy.putAll(map);
+        assertEquals("c", copy.get(late2));
+        assertEquals(map, copy);
+
+        assertEquals("c", map.remove("test.late2"));
+        assertFalse(map.containsKey("test.late2"));
+        assertEquals(2, map.size());
+    }
+
+    public void testReadsDoNotModify() {
+        IndexedPropertyMap map = new IndexedPropertyMap(slots);
+        map.put("test.read", "a");
+        int read = slots.register("test.read");
+
+        assertEquals("a", map.get("test.read"));
+        assertTrue(map.containsKey(read));
+        // still among the other keys, so that concurrent readers are safe
+        assertEquals("a", map.get(read));
+        Map.Entry<String, Object> e = map.entrySet().iterator().next();
+        assertEquals("test.read", e.getKey());
+        assertEquals(1, map.size());
+    }
+
+    public void testPutBySlotMovesLateKey() {
+        IndexedPropertyMap map = new IndexedPropertyMap(slots);
+        map.put("test.moved", "a");
+        int moved = slots.register("test.moved");
+
+        assertEquals("a", map.put(moved, "b"));
+        assertEquals("b", map.get("test.moved"));
+        // only in the slot
+        assertEquals(1, map.size());
+        assertEquals(1, map.entrySet().size());
+        int count = 0;
+        for (Map.Entry<String, Object> e : map.entrySet()) {
+            assertEquals("b", e.getValue());
+            count++;
+        }
+        assertEquals(1, count);
+
+        map.put("test.moved2", "c");
+        int moved2 = slots.register("test.moved2");
+        assertEquals("c", map.remove(moved2));
+        assertFalse(map.containsKey("test.moved2"));
+        assertEquals(1, map.size());
+    }
+
+    public void testWellKnownAndOtherKeys() {
+        IndexedPropertyMap map = new IndexedPropertyMap(slots);
+        assertTrue(map.isEmpty());
+
+        map.put("test.known", "a");
+        map.put("test.other", "b");
+        assertEquals("a", map.get(known));
+        assertEquals("a", map.get("test.known"));
+        assertEquals("b", map.get("test.other"));
+        assertEquals(2, map.size());
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("test.known", "a");
+        expected.put("test.other", "b");
+        assertEquals(expected, map);
+
+        assertEquals("a", map.remove("test.known"));
+        assertFalse(map.containsKey("test.known"));
+        assertEquals(1, map.size());
+    }
+
+    public void testNullValue() {
+        IndexedPropertyMap map = new IndexedPropertyMap(slots);
+        map.put(known, null);
+        assertTrue(map.containsKey("test.known"));
+        assertNull(map.get("test.known"));
+        assertEquals(1, map.size());
+    }
+
+    public void testPutAllAndIteratorRemove() {
+        IndexedPropertyMap source = new IndexedPropertyMap(slots);
+        source.put("test.known", "a");
+        source.put("test.other", "b");
+
+        IndexedPropertyMap copy = new IndexedPropertyMap(slots);
+        copy.putAll(source);
+        assertEquals(source, copy);
+
+        for (Iterator<Map.Entry<String, Object>> it = copy.entrySet().iterator(); it.hasNext();) {
+            it.next();
+            it.remove();
+        }
+        assertTrue(copy.isEmpty());
+        assertEquals(2, source.size());
+    }
+}
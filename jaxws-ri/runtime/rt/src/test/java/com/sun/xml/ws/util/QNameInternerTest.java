@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.util;
+
+import junit.framework.TestCase;
+
+import javax.xml.namespace.QName;
+
+public class QNameInternerTest extends TestCase {
+
+    public void testCanonicalInstances() {
+        QNameInterner names = new QNameInterner();
+        QName echo = names.intern(new QName(new String("urn:test"), new String("echo")));
+
+        assertSame("urn:test", echo.getNamespaceURI());
+        assertSame("echo", echo.getLocalPart());
+        assertSame(echo, names.intern(new QName("urn:test", "echo")));
+        assertSame(echo, names.find(new String("urn:test"), new String("echo")));
+        assertSame(echo, names.get("urn:test", "echo"));
+        assertEquals(1, names.size());
+    }
+
+    public void testUnknownNamesAreNotAdded() {
+        QNameInterner names = new QNameInterner();
+        names.intern(new QName("urn:test", "echo"));
+
+        assertNull(names.find("urn:test", "other"));
+        assertEquals(new QName("urn:test", "other"), names.get("urn:test", "other"));
+        assertNull(names.find("urn:other", "echo"));
+        assertEquals(1, names.size());
+    }
+
+    public void testQNameMapLookups() {
+        QNameMap<String> map = new QNameMap<String>();
+        map.put("urn:test", "echo", "interned");
+        map.put(new String("urn:test"), new String("ping"), "not interned");
+
+        assertEquals("interned", map.get("urn:test", "echo"));
+        assertEquals("interned", map.get(new String("urn:test"), new String("echo")));
+        assertEquals("not interned", map.get("urn:test", "ping"));
+        assertNull(map.get("urn:other", "echo"));
+
+        QNameMap.Entry<String> e = map.entrySet().iterator().next();
+        assertSame(e.createQName(), e.createQName());
+    }
+}
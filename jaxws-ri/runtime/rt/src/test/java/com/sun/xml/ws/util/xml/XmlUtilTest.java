@@ -13,6 +13,9 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.transform.Transformer;
+
 import junit.framework.TestCase;
 
 public class XmlUtilTest extends TestCase {
@@ -56,5 +59,44 @@ public class XmlUtilTest extends TestCase {
           fieldDisabledBySetting.set(com.sun.xml.ws.util.xml.XmlUtil.class, disabledBySetting);
        }
     }
-}
 
+    public void testCachedFactoriesAndPools() throws Exception {
+        assertSame(XmlUtil.getDocumentBuilderFactory(false), XmlUtil.getDocumentBuilderFactory(false));
+        assertSame(XmlUtil.getTransformerFactory(false), XmlUtil.getTransformerFactory(false));
+        assertSame(XmlUtil.getSAXParserFactory(false), XmlUtil.getSAXParserFactory(false));
+        assertSame(XmlUtil.getXPathFactory(false), XmlUtil.getXPathFactory(false));
+
+        DocumentBuilder db = XmlUtil.takeDocumentBuilder(false);
+        assertTrue(db.isNamespaceAware());
+        // a nested use gets its own builder
+        DocumentBuilder nested = XmlUtil.takeDocumentBuilder(false);
+        assertNotSame(db, nested);
+        XmlUtil.recycleDocumentBuilder(false, nested);
+        XmlUtil.recycleDocumentBuilder(false, db);
+
+        long hits = XmlUtil.getCacheHitCount();
+        db = XmlUtil.takeDocumentBuilder(false);
+        assertTrue(XmlUtil.getCacheHitCount() > hits);
+        XmlUtil.recycleDocumentBuilder(false, db);
+
+        Transformer t = XmlUtil.takeTransformer(false);
+        t.setOutputProperty("indent", "yes");
+        XmlUtil.recycleTransformer(false, t);
+        t = XmlUtil.takeTransformer(false);
+        assertFalse("yes".equals(t.getOutputProperty("indent")));
+        XmlUtil.recycleTransformer(false, t);
+
+        // another class loader has its own pool
+        Thread thread = Thread.currentThread();
+        ClassLoader old = thread.getContextClassLoader();
+        thread.setContextClassLoader(new ClassLoader(old) { });
+        try {
+            DocumentBuilder other = XmlUtil.takeDocumentBuilder(false);
+            assertNotSame(db, other);
+            assertNotSame(nested, other);
+            XmlUtil.recycleDocumentBuilder(false, other);
+        } finally {
+            thread.setContextClassLoader(old);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.wsdl;
+
+import com.sun.xml.ws.api.model.JavaMethod;
+import com.sun.xml.ws.api.model.WSDLOperationMapping;
+import com.sun.xml.ws.api.model.wsdl.WSDLBoundOperation;
+import com.sun.xml.ws.util.QNameMap;
+import junit.framework.TestCase;
+
+import javax.xml.namespace.QName;
+
+public class PayloadQNameTableTest extends TestCase {
+
+    public void testPorts() {
+        for (int size : new int[] {1, 10, 100, 1000}) {
+            checkPort(size);
+        }
+    }
+
+    public void testEmptyPort() {
+        PayloadQNameTable table = PayloadQNameTable.create(new QNameMap<WSDLOperationMapping>());
+        assertNotNull(table);
+        assertEquals(-1, table.indexOf("urn:test", "op"));
+        assertEquals(-1, table.indexOf("", ""));
+    }
+
+    public void testSharedPayload() {
+        QNameMap<WSDLOperationMapping> keys = new QNameMap<WSDLOperationMapping>();
+        keys.put("urn:test", "shared", null);
+        keys.put("", "", new Mapping(new QName("urn:test", "empty")));
+        PayloadQNameTable table = PayloadQNameTable.create(keys);
+
+        int slot = table.indexOf("urn:test", "shared");
+        assertTrue(slot >= 0);
+        assertNull(table.get(slot));
+        assertEquals(new QName("urn:test", "empty"), table.get(table.indexOf("", "")).getOperationName());
+    }
+
+    private static void checkPort(int size) {
+        QNameMap<WSDLOperationMapping> keys = new QNameMap<WSDLOperationMapping>();
+        for (int i = 0; i < size; i++) {
+            keys.put("urn:test:" + (i % 3), "op" + i, new Mapping(new QName("urn:test", "op" + i)));
+        }
+        PayloadQNameTable table = PayloadQNameTable.create(keys);
+        assertNotNull(table);
+        for (int i = 0; i < size; i++) {
+            // lookups use strings of the message, not the ones of the model
+            int slot = table.indexOf(new String("urn:test:" + (i % 3)), new String("op" + i));
+            assertTrue(slot >= 0);
+            assertEquals(new QName("urn:test", "op" + i), table.get(slot).getOperationName());
+            assertEquals(-1, table.indexOf("urn:test:" + ((i + 1) % 3), "op" + i));
+        }
+        assertEquals(-1, table.indexOf("urn:test:0", "op" + size));
+        assertEquals(-1, table.indexOf("", ""));
+    }
+
+    private static final class Mapping implements WSDLOperationMapping {
+        private final QName name;
+
+        Mapping(QName name) {
+            this.name = name;
+        }
+
+        @Override
+        public WSDLBoundOperation getWSDLBoundOperation() {
+            return null;
+        }
+
+        @Override
+        public JavaMethod getJavaMethod() {
+            return null;
+        }
+
+        @Override
+        public QName getOperationName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.transport.http.servlet;
+
+import com.sun.istack.NotNull;
+import com.sun.xml.ws.transport.http.HttpAdapter;
+import com.sun.xml.ws.util.ByteArrayBuffer;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link ServletConnectionImpl} that talks to the container through the
+ * non-blocking {@link ReadListener}/{@link WriteListener} API.
+ *
+ * <p>
+ * The request body is collected into pooled chunks as the container
+ * signals that data is available, and the request is only handed to the
+ * {@link HttpAdapter} once the last byte has been read. The encoded response
+ * is written out as the container signals writability, so a slow client never
+ * pins a container worker thread. Only the part of the response the container
+ * cannot take yet is buffered.
+ *
+ * @see ServletAdapter#setNonBlockingIO(boolean)
+ */
+final class NonBlockingServletConnection extends ServletConnectionImpl {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    /**
+     * Request body chunks, shared by all the connections. Chunks that are not
+     * given back, or do not fit in the pool, are left to the garbage collector.
+     */
+    private static final BlockingQueue<byte[]> CHUNKS = new ArrayBlockingQueue<byte[]>(256);
+
+    private final ServletAdapter adapter;
+    private final AsyncContext asyncContext;
+    private final ServletAdapter.AsyncCompletionCheck completionCheck;
+
+    private final List<byte[]> chunks = new ArrayList<byte[]>();
+    /**
+     * Number of valid bytes in the last chunk.
+     */
+    private int lastChunkSize = CHUNK_SIZE;
+    private ChunkInputStream requestBody;
+    private ResponseStream responseStream;
+
+    /**
+     * Both have to happen before the {@link AsyncContext} can be completed.
+     */
+    private boolean adapterCompleted;
+    private boolean responseWritten;
+
+    NonBlockingServletConnection(@NotNull ServletAdapter adapter, ServletContext context,
+                                 HttpServletRequest request, HttpServletResponse response,
+                                 AsyncContext asyncContext, ServletAdapter.AsyncCompletionCheck completionCheck) {
+        super(adapter, context, request, response);
+        this.adapter = adapter;
+        this.asyncContext = asyncContext;
+        this.completionCheck = completionCheck;
+    }
+
+    /**
+     * Starts reading the request body. Once all the data is read the request
+     * is dispatched to the {@link HttpAdapter} on the container thread that
+     * delivered the last chunk.
+     */
+    void start() throws IOException {
+        final ServletInputStream sis = getRequest().getInputStream();
+        sis.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                while (sis.isReady()) {
+                    if (lastChunkSize == CHUNK_SIZE) {
+                        byte[] chunk = CHUNKS.poll();
+                        chunks.add(chunk != null ? chunk : new byte[CHUNK_SIZE]);
+                        lastChunkSize = 0;
+                    }
+                    int len = sis.read(chunks.get(chunks.size() - 1), lastChunkSize, CHUNK_SIZE - lastChunkSize);
+                    if (len < 0) {
+                        break;
+                    }
+                    lastChunkSize += len;
+                }
+            }
+
+            @Override
+            public void onAllDataRead() throws IOException {
+                try {
+                    adapter.invokeAsync(NonBlockingServletConnection.this, new HttpAdapter.CompletionCallback() {
+                        @Override
+                        public void onCompletion() {
+                            onAdapterCompletion();
+                        }
+                    });
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.log(Level.SEVERE, e.getMessage(), e);
+                    getResponse().setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                    recycleChunks();
+                    close();
+                    complete();
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                LOGGER.log(Level.FINE, "Error reading request: " + getRequestURL(), t);
+                recycleChunks();
+                close();
+                complete();
+            }
+        });
+    }
+
+    @Override
+    public @NotNull InputStream getInput() {
+        if (requestBody == null) {
+            requestBody = new ChunkInputStream();
+        }
+        return requestBody;
+    }
+
+    @Override
+    public @NotNull OutputStream getOutput() {
+        ResponseStream stream;
+        synchronized (this) {
+            stream = responseStream;
+            if (stream == null) {
+                commitResponseHeaders();
+                stream = responseStream = new ResponseStream();
+            }
+        }
+        return stream;
+    }
+
+    private void onAdapterCompletion() {
+        // the adapter does not read the request any more
+        recycleChunks();
+        ResponseStream stream;
+        synchronized (this) {
+            adapterCompleted = true;
+            stream = responseStream;
+            if (stream == null) {
+                responseWritten = true;
+            }
+        }
+        if (stream != null) {
+            // in case nobody closed the response, writes whatever was written
+            stream.close();
+        }
+        completeIfDone();
+    }
+
+    private void onResponseWritten() {
+        synchronized (this) {
+            responseWritten = true;
+        }
+        completeIfDone();
+    }
+
+    private void completeIfDone() {
+        synchronized (this) {
+            if (!adapterCompleted || !responseWritten) {
+                return;
+            }
+        }
+        complete();
+    }
+
+    private void complete() {
+        synchronized (completionCheck) {
+            if (!completionCheck.isCompleted()) {
+                asyncContext.complete();
+                completionCheck.markComplete();
+            }
+        }
+    }
+
+    /**
+     * @return number of request body chunks in the pool
+     */
+    static int getPooledChunks() {
+        return CHUNKS.size();
+    }
+
+    private synchronized void recycleChunks() {
+        for (byte[] chunk : chunks) {
+            if (!CHUNKS.offer(chunk)) {
+                break;
+            }
+        }
+        chunks.clear();
+    }
+
+    /**
+     * Reads the collected request body. The chunks are given back
+     * to the pool when the stream is closed.
+     */
+    private final class ChunkInputStream extends InputStream {
+        private int chunk;
+        private int pos;
+        private boolean closed;
+
+        private int limit() {
+            return chunk == chunks.size() - 1 ? lastChunkSize : CHUNK_SIZE;
+        }
+
+        private boolean ensureAvailable() {
+            if (closed) {
+                return false;
+            }
+            while (chunk < chunks.size() && pos == limit()) {
+                chunk++;
+                pos = 0;
+            }
+            return chunk < chunks.size();
+        }
+
+        @Override
+        public int read() {
+            if (!ensureAvailable()) {
+                return -1;
+            }
+            return chunks.get(chunk)[pos++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!ensureAvailable()) {
+                return -1;
+            }
+            int n = Math.min(len, limit() - pos);
+            System.arraycopy(chunks.get(chunk), pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            if (!ensureAvailable()) {
+                return 0;
+            }
+            return limit() - pos;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                recycleChunks();
+            }
+        }
+    }
+
+    /**
+     * Writes the encoded response as the container signals writability.
+     * The bytes the container cannot take yet are buffered, and written
+     * from {@link #onWritePossible()}.
+     */
+    private final class ResponseStream extends OutputStream implements WriteListener {
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final ByteArrayBuffer pending = new ByteArrayBuffer();
+        private int pendingPos;
+        private ServletOutputStream sos;
+        private Throwable failure;
+        private boolean written;
+
+        private ServletOutputStream stream() throws IOException {
+            if (sos == null) {
+                sos = getResponse().getOutputStream();
+                sos.setWriteListener(this);
+            }
+            return sos;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) throws IOException {
+            if (closed.get()) {
+                throw new IOException("Response stream is closed");
+            }
+            if (failure != null) {
+                throw new IOException("Cannot write response", failure);
+            }
+            ServletOutputStream out = stream();
+            // isReady() has to be checked before each write, and when it returns false
+            // the container calls onWritePossible() once the pending bytes can be written
+            if (pendingPos == pending.size() && out.isReady()) {
+                out.write(b, off, len);
+            } else {
+                pending.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void onWritePossible() throws IOException {
+            boolean done;
+            synchronized (this) {
+                while (pendingPos < pending.size()) {
+                    if (!sos.isReady()) {
+                        return;
+                    }
+                    int len = Math.min(CHUNK_SIZE, pending.size() - pendingPos);
+                    sos.write(pending.getRawData(), pendingPos, len);
+                    pendingPos += len;
+                }
+                pending.reset();
+                pendingPos = 0;
+                done = finished();
+            }
+            if (done) {
+                onResponseWritten();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            LOGGER.log(Level.FINE, "Error writing response: " + getRequestURL(), t);
+            boolean done;
+            synchronized (this) {
+                failure = t;
+                pending.reset();
+                pendingPos = 0;
+                done = finished();
+            }
+            if (done) {
+                onResponseWritten();
+            }
+        }
+
+        /**
+         * @return true the first time it is called once the stream is closed and all is written
+         */
+        private boolean finished() {
+            if (written || !closed.get() || (failure == null && pendingPos < pending.size())) {
+                return false;
+            }
+            written = true;
+            return true;
+        }
+
+        @Override
+        public void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            boolean done;
+            synchronized (this) {
+                try {
+                    // the WriteListener is needed for an empty response too
+                    stream();
+                } catch (IOException e) {
+                    LOGGER.log(Level.FINE, "Cannot write response: " + getRequestURL(), e);
+                    failure = e;
+                }
+                done = finished();
+            }
+            if (done) {
+                onResponseWritten();
+            }
+        }
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(NonBlockingServletConnection.class.getName());
+}
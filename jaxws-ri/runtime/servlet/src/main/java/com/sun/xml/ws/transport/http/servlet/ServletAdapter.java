@@ -175,7 +175,15 @@ public class ServletAdapter extends HttpAdapter implements BoundEndpoint {
                 isServlet30Based = false;
             }
 
-            if (asyncRequest) {
+            if (asyncRequest && nonBlockingIO && "POST".equals(request.getMethod())) {
+                final jakarta.servlet.AsyncContext asyncContext = request.startAsync(request, response);
+                final AsyncCompletionCheck completionCheck = new AsyncCompletionCheck();
+                NonBlockingServletConnection nbConnection = new NonBlockingServletConnection(
+                        this, context, request, response, asyncContext, completionCheck);
+                new WSAsyncListener(nbConnection, callback).addListenerTo(asyncContext,completionCheck);
+                nbConnection.start();
+                asyncStarted = true;
+            } else if (asyncRequest) {
                 final jakarta.servlet.AsyncContext asyncContext = request.startAsync(request, response);
                 final AsyncCompletionCheck completionCheck = new AsyncCompletionCheck();
                 new WSAsyncListener(connection, callback).addListenerTo(asyncContext,completionCheck);
@@ -202,6 +210,26 @@ public class ServletAdapter extends HttpAdapter implements BoundEndpoint {
         }
     }
 
+    /**
+     * Enables or disables non-blocking request reading and response writing.
+     *
+     * <p>
+     * When enabled, POST requests that can be processed asynchronously are read
+     * with a {@link jakarta.servlet.ReadListener} and answered with a
+     * {@link jakarta.servlet.WriteListener}, so that container threads are not
+     * blocked on slow clients. Requests are decoded after the last byte is read.
+     *
+     * @param nonBlockingIO true to use the Servlet non-blocking I/O
+     * @see WSServlet#JAXWS_RI_PROPERTY_NON_BLOCKING_IO
+     */
+    public void setNonBlockingIO(boolean nonBlockingIO) {
+        this.nonBlockingIO = nonBlockingIO;
+    }
+
+    public boolean isNonBlockingIO() {
+        return nonBlockingIO;
+    }
+
     /**
      * Synchronizes the CompletionHandler action and Container's timeout action.
      */
@@ -239,4 +267,6 @@ public class ServletAdapter extends HttpAdapter implements BoundEndpoint {
 
     private boolean isServlet30Based = ServletUtil.isServlet30Based();
 
+    private volatile boolean nonBlockingIO = Boolean.getBoolean(ServletAdapter.class.getName() + ".nonBlockingIO");
+
 }
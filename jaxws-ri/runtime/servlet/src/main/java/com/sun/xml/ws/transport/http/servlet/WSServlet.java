@@ -93,5 +93,7 @@ public class WSServlet extends HttpServlet {
         "com.sun.xml.ws.server.http.publishWSDL";
     public static final String JAXWS_RI_PROPERTY_PUBLISH_STATUS_PAGE =
         "com.sun.xml.ws.server.http.publishStatusPage";
+    public static final String JAXWS_RI_PROPERTY_NON_BLOCKING_IO =
+        "com.sun.xml.ws.server.http.nonBlockingIO";
 
 }
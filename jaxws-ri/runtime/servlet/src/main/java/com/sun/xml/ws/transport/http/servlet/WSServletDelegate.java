@@ -75,6 +75,15 @@ public class WSServletDelegate {
         if (publishStatusPageParam != null) {
             HttpAdapter.setPublishStatus(Boolean.parseBoolean(publishStatusPageParam));
         }
+
+        String nonBlockingIOParam =
+            context.getInitParameter(WSServlet.JAXWS_RI_PROPERTY_NON_BLOCKING_IO);
+        if (nonBlockingIOParam != null) {
+            boolean nonBlockingIO = Boolean.parseBoolean(nonBlockingIOParam);
+            for (ServletAdapter adapter : adapters) {
+                adapter.setNonBlockingIO(nonBlockingIO);
+            }
+        }
     }
 
     public void destroy() {
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.transport.http.servlet;
+
+import com.sun.xml.ws.api.BindingID;
+import com.sun.xml.ws.api.server.WSEndpoint;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.xml.ws.Provider;
+import jakarta.xml.ws.ServiceMode;
+import jakarta.xml.ws.WebServiceProvider;
+import junit.framework.TestCase;
+
+import javax.xml.transform.Source;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class NonBlockingServletConnectionTest extends TestCase {
+
+    private static final String REQUEST = "<S:Envelope xmlns:S='http://schemas.xmlsoap.org/soap/envelope/'>"
+            + "<S:Body><echo xmlns='urn:test'>%s</echo></S:Body></S:Envelope>";
+
+    @WebServiceProvider(serviceName = "EchoService", portName = "EchoPort", targetNamespace = "urn:test")
+    @ServiceMode(jakarta.xml.ws.Service.Mode.PAYLOAD)
+    public static class Echo implements Provider<Source> {
+        @Override
+        public Source invoke(Source request) {
+            return request;
+        }
+    }
+
+    private ServletAdapter adapter;
+    private final AtomicInteger completions = new AtomicInteger();
+    private final CountDownLatch completed = new CountDownLatch(1);
+
+    @Override
+    protected void setUp() throws Exception {
+        BindingID bindingId = BindingID.SOAP11_HTTP;
+        WSEndpoint<Echo> endpoint = WSEndpoint.create(Echo.class, false, null, null, null, null,
+                bindingId.createBinding(), null, null, null, false);
+        adapter = new ServletAdapterList(proxy(ServletContext.class, new HashMap<String, Object>()))
+                .createAdapter("echo", "/echo", endpoint);
+        adapter.setNonBlockingIO(true);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        adapter.getEndpoint().dispose();
+    }
+
+    public void testSlowClient() throws Exception {
+        String text = String.join("", Collections.nCopies(5000, "payload "));
+        TestInputStream in = new TestInputStream(String.format(REQUEST, text).getBytes(StandardCharsets.UTF_8));
+        TestOutputStream out = new TestOutputStream();
+        invoke(in, out);
+
+        // the request arrives in several events
+        in.deliver(1000);
+        in.deliver(20000);
+        in.deliver(Integer.MAX_VALUE);
+        in.listener.onAllDataRead();
+
+        // the client only accepts one write at a time, the stream fails on
+        // writes the container is not ready for
+        while (!completed.await(10, TimeUnit.MILLISECONDS)) {
+            out.makeReady();
+        }
+        assertEquals(1, completions.get());
+        String response = new String(out.bytes.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(response, response.contains(text.trim()));
+    }
+
+    public void testReadError() throws Exception {
+        int pooled = NonBlockingServletConnection.getPooledChunks();
+        TestInputStream in = new TestInputStream(new byte[3 * 8192]);
+        invoke(in, new TestOutputStream());
+        in.deliver(Integer.MAX_VALUE);
+        in.listener.onError(new IOException("reset"));
+
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+        // the chunks of the failed request are back in the pool
+        assertEquals(Math.max(pooled, 3), NonBlockingServletConnection.getPooledChunks());
+    }
+
+    private void invoke(ServletInputStream in, ServletOutputStream out) throws IOException {
+        Map<String, Object> asyncContext = new HashMap<String, Object>();
+        asyncContext.put("complete", (Runnable) () -> {
+            completions.incrementAndGet();
+            completed.countDown();
+        });
+        Map<String, Object> request = new HashMap<String, Object>();
+        request.put("getMethod", "POST");
+        request.put("isAsyncSupported", true);
+        request.put("getInputStream", in);
+        request.put("getContentType", "text/xml");
+        request.put("getHeader", "text/xml");
+        request.put("getHeaderNames", Collections.enumeration(Collections.singleton("Content-Type")));
+        request.put("getHeaders", Collections.enumeration(Collections.singleton("text/xml")));
+        request.put("getRequestURL", new StringBuffer("http://localhost/echo"));
+        request.put("getProtocol", "HTTP/1.1");
+        request.put("getScheme", "http");
+        request.put("getServerName", "localhost");
+        request.put("getServerPort", 80);
+        request.put("getContextPath", "");
+        request.put("startAsync", proxy(AsyncContext.class, asyncContext));
+        Map<String, Object> response = new HashMap<String, Object>();
+        response.put("getOutputStream", out);
+        adapter.invokeAsync(proxy(ServletContext.class, new HashMap<String, Object>()),
+                proxy(HttpServletRequest.class, request), proxy(HttpServletResponse.class, response), () -> { });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Map<String, Object> results) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            Object result = results.get(method.getName());
+            if (result instanceof Runnable) {
+                ((Runnable) result).run();
+                return null;
+            }
+            if (result != null) {
+                return result;
+            }
+            switch (method.getName()) {
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return type.getSimpleName();
+            }
+            Class<?> returnType = method.getReturnType();
+            if (returnType == boolean.class) {
+                return false;
+            }
+            if (returnType == int.class) {
+                return 0;
+            }
+            if (returnType == long.class) {
+                return 0L;
+            }
+            return null;
+        });
+    }
+
+    private static final class TestInputStream extends ServletInputStream {
+        private final byte[] data;
+        private int pos;
+        private int limit;
+        ReadListener listener;
+
+        TestInputStream(byte[] data) {
+            this.data = data;
+        }
+
+        void deliver(int length) throws IOException {
+            limit = (int) Math.min(data.length, (long) pos + length);
+            listener.onDataAvailable();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return pos == data.length;
+        }
+
+        @Override
+        public boolean isReady() {
+            return pos < limit;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            listener = readListener;
+        }
+
+        @Override
+        public int read() {
+            return pos < limit ? data[pos++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (pos == limit) {
+                return -1;
+            }
+            int n = Math.min(len, limit - pos);
+            System.arraycopy(data, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+    }
+
+    private static final class TestOutputStream extends ServletOutputStream {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private WriteListener listener;
+        private boolean ready;
+
+        void makeReady() throws IOException {
+            WriteListener l;
+            synchronized (this) {
+                if (listener == null || ready) {
+                    return;
+                }
+                ready = true;
+                l = listener;
+            }
+            l.onWritePossible();
+        }
+
+        @Override
+        public synchronized boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public synchronized void setWriteListener(WriteListener writeListener) {
+            listener = writeListener;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            if (!ready) {
+                throw new IllegalStateException("not ready");
+            }
+            bytes.write(b, off, len);
+            // the next write has to wait for onWritePossible
+            ready = false;
+        }
+    }
+}